@@ -19,20 +19,27 @@
 
 package org.apache.tinkerpop.gremlin.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.UnionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -80,6 +87,7 @@ public final class GraphFilter implements Cloneable, Serializable {
 
     private Traversal.Admin<Vertex, Vertex> vertexFilter = null;
     private Traversal.Admin<Vertex, Edge> edgeFilter = null;
+    private List<HasContainer> vertexLabelContainers = null;
     private Map<Direction, Map<String, Legal>> edgeLegality = new HashMap<>();
     private boolean allowNoEdges = false;
 
@@ -105,6 +113,23 @@ public final class GraphFilter implements Cloneable, Serializable {
         if (!TraversalHelper.isLocalProperties(vertexFilter.asAdmin()))
             throw GraphComputer.Exceptions.vertexFilterAccessesIncidentEdges(vertexFilter);
         this.vertexFilter = vertexFilter.asAdmin().clone();
+        ////
+        this.vertexLabelContainers = new ArrayList<>();
+        for (final Step<?, ?> step : this.vertexFilter.getSteps()) {
+            if (!(step instanceof HasStep) || !step.getLabels().isEmpty()) {
+                this.vertexLabelContainers = null;   // the vertex filter can not be reasoned on by label alone
+                break;
+            }
+            for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                if (!T.label.getAccessor().equals(hasContainer.getKey())) {
+                    this.vertexLabelContainers = null;
+                    break;
+                }
+                this.vertexLabelContainers.add(hasContainer);
+            }
+            if (null == this.vertexLabelContainers)
+                break;
+        }
     }
 
     /**
@@ -192,6 +217,26 @@ public final class GraphFilter implements Cloneable, Serializable {
         return null == this.vertexFilter || TraversalUtil.test(vertex, this.vertexFilter);
     }
 
+    /**
+     * Get the legality of a vertex given only its label. If the vertex filter is composed solely of label
+     * {@link HasContainer}s (e.g. {@code hasLabel("person")}), then the label is sufficient to determine legality.
+     * Otherwise, {@link Legal#MAYBE} is returned and {@link #legalVertex(Vertex)} must be consulted.
+     *
+     * @param label the label of the vertex.
+     * @return the {@link Legal} of the vertex label.
+     */
+    public Legal checkVertexLegality(final String label) {
+        if (null == this.vertexFilter)
+            return Legal.YES;
+        else if (null == this.vertexLabelContainers)
+            return Legal.MAYBE;
+        for (final HasContainer hasContainer : this.vertexLabelContainers) {
+            if (!((P) hasContainer.getPredicate()).test(label))
+                return Legal.NO;
+        }
+        return Legal.YES;
+    }
+
     /**
      * Returns an iterator of legal edges incident to the provided vertex.
      * If no edge filter is provided, then all incident edges are returned.
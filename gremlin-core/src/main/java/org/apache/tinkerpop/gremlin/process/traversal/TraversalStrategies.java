@@ -33,9 +33,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RangeByIsCountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.StandardVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OptimizedTraversalCache;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.tools.MultiMap;
@@ -50,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -198,6 +201,7 @@ public interface TraversalStrategies extends Serializable, Cloneable {
 
         private static final Map<Class<? extends Graph>, TraversalStrategies> GRAPH_CACHE = new HashMap<>();
         private static final Map<Class<? extends GraphComputer>, TraversalStrategies> GRAPH_COMPUTER_CACHE = new HashMap<>();
+        private static final Map<Class<? extends Graph>, OptimizedTraversalCache> TRAVERSAL_CACHE = new ConcurrentHashMap<>();
 
         static {
             final TraversalStrategies graphStrategies = new DefaultTraversalStrategies();
@@ -209,6 +213,7 @@ public interface TraversalStrategies extends Serializable, Cloneable {
                     FilterRankingStrategy.instance(),
                     MatchPredicateStrategy.instance(),
                     RepeatUnrollStrategy.instance(),
+                    ShortestPathStrategy.instance(),
                     RangeByIsCountStrategy.instance(),
                     PathRetractionStrategy.instance(),
                     LazyBarrierStrategy.instance(),
@@ -237,6 +242,36 @@ public interface TraversalStrategies extends Serializable, Cloneable {
                 throw new IllegalArgumentException("The TraversalStrategies.GlobalCache only supports Graph and GraphComputer strategy caching: " + graphOrGraphComputerClass.getCanonicalName());
         }
 
+        /**
+         * Keeps the last {@code maximumSize} root traversals of the {@link Graph} class after their strategies are
+         * applied. A traversal with the same {@link Bytecode}, strategies and graph instance as a cached one takes a
+         * clone of its optimized steps rather than applying the strategies again. A {@code maximumSize} of zero
+         * removes the cache for the {@link Graph} class. The cached traversals hold their graph, so the
+         * {@link Graph#close()} of a graph class with a cache should call {@link #clearTraversalCache(Graph)}.
+         */
+        public static void registerTraversalCache(final Class<? extends Graph> graphClass, final int maximumSize) {
+            if (maximumSize < 0)
+                throw new IllegalArgumentException("The maximum size of the traversal cache can not be negative: " + maximumSize);
+            if (0 == maximumSize)
+                TRAVERSAL_CACHE.remove(graphClass);
+            else
+                TRAVERSAL_CACHE.put(graphClass, new OptimizedTraversalCache(maximumSize));
+        }
+
+        public static Optional<OptimizedTraversalCache> getTraversalCache(final Class<? extends Graph> graphClass) {
+            return Optional.ofNullable(TRAVERSAL_CACHE.get(graphClass));
+        }
+
+        /**
+         * Removes the cached traversals of a {@link Graph} instance so that it does not stay reachable from the
+         * cache of its class once it is closed.
+         */
+        public static void clearTraversalCache(final Graph graph) {
+            final OptimizedTraversalCache cache = TRAVERSAL_CACHE.get(graph.getClass());
+            if (null != cache)
+                cache.clear(graph);
+        }
+
         public static TraversalStrategies getStrategies(final Class graphOrGraphComputerClass) {
             try {
                 // be sure to load the class so that its static{} traversal strategy registration component is loaded.
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+/**
+ * A {@code Batching} step can pull the traversers of its previous step and process them an array at a time rather
+ * than one at a time. A step that pulls from a {@code Batching} step with batching turned on takes the traversers
+ * from it with {@link #nextBatch(Traverser.Admin[])}, which saves the {@code hasNext()}/{@code next()} calls per
+ * traverser along a chain of such steps. Batching is off by default and is typically turned on by
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchingStrategy}.
+ */
+public interface Batching<E> {
+
+    /**
+     * Sets the number of traversers that the step pulls from its previous step at a time.
+     *
+     * @param batchSize the number of traversers to pull at a time or {@code 1} to process one traverser at a time
+     */
+    public void setBatchSize(final int batchSize);
+
+    public int getBatchSize();
+
+    /**
+     * Moves up to {@code batch.length} of the traversers that the step emits into the array as {@code next()} would
+     * return them one at a time.
+     *
+     * @return the number of traversers moved into the array, which is {@code 0} only if the step has no more
+     */
+    public int nextBatch(final Traverser.Admin<E>[] batch);
+}
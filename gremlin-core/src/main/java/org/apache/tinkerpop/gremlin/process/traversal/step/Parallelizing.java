@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+/**
+ * A {@code Parallelizing} step is a {@link Barrier} that can reduce the traversers of the steps before it on several
+ * threads. The objects of the start step of the traversal are handed out in chunks to clones of the traversal that
+ * each reduce their chunk up to the step, and the partial results are merged with the reducer of the step. Parallel
+ * reduction is off by default and is typically turned on by
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy}.
+ */
+public interface Parallelizing {
+
+    /**
+     * Sets the number of threads that the step reduces with.
+     *
+     * @param parallelism the number of threads or {@code 1} to reduce on the calling thread only
+     * @param chunkSize   the number of start objects that each clone of the traversal reduces
+     */
+    public void setParallelism(final int parallelism, final int chunkSize);
+
+    public int getParallelism();
+}
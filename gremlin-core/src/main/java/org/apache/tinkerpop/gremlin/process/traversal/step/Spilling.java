@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+
+/**
+ * A {@code Spilling} step is a {@link Barrier} that can write part of what it holds to temporary files when it holds
+ * more than a set number of objects in memory. The files are read back in a streaming fashion when the step emits its
+ * results. Spilling is off by default and is typically turned on by
+ * {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy}. The files are written to
+ * the {@link org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile#getDirectory(Traversal.Admin)} of the
+ * traversal.
+ */
+public interface Spilling extends AutoCloseable {
+
+    /**
+     * Sets the number of objects (traversers, keys or groups depending on the step) that the step holds in memory
+     * before it spills to disk.
+     *
+     * @param spillThreshold the number of objects to hold in memory or {@code Integer.MAX_VALUE} to never spill
+     */
+    public void setSpillThreshold(final int spillThreshold);
+
+    public int getSpillThreshold();
+
+    /**
+     * Deletes the temporary files of the step. This is called when the traversal of the step is closed, which may be
+     * before the step has emitted all of its results.
+     */
+    @Override
+    public void close();
+}
@@ -28,29 +28,47 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * When a spill threshold is set and that many keys are held in memory, a traverser with a key that is not in memory
+ * is written to one of the hash partitions of {@link SpillFile}s rather than being emitted, along with the order in
+ * which it arrived. Once the starts are exhausted, each partition is deduplicated on its own against the keys that the
+ * partition has already emitted, which are themselves kept on disk, and the first traverser of each new key is written
+ * to a file of survivors. A partition that would hold more than the threshold of keys in memory is split into child
+ * partitions by a differently salted hash, so that no more than the threshold of keys is ever held in memory besides
+ * those of the step itself. The survivors of all partitions are then merged back into the order in which they
+ * arrived, so the traversers are emitted in the same order as if all of the keys had been held in memory. The emitted
+ * keys of a step in a child traversal, which may be given more starts later, are only deleted when the step is reset
+ * or closed.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Spilling {
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -58,6 +76,13 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private final Set<String> dedupLabels;
     private Set<String> keepLabels;
     private boolean executingAtMaster = false;
+    private int spillThreshold = Integer.MAX_VALUE;
+    private transient Kryo spillKryo = null;
+    private transient File spillDirectory = null;
+    private transient SpillPartition spillRoot = null;
+    private transient List<SpillFile<Object[]>> drainingTraversers = null;
+    private transient long spillSequence = 0;
+    private transient Iterator<Traverser.Admin<S>> drainIterator = Collections.emptyIterator();
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -68,13 +93,114 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1);
+        final Object object;
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            object = TraversalUtil.applyNullable(traverser, this.dedupTraversal);
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            object = objects;
+        }
+        if (this.duplicateSet.size() < this.spillThreshold)
+            return this.duplicateSet.add(object);
+        if (!this.duplicateSet.contains(object))
+            this.spill(object, traverser);
+        return false;
+    }
+
+    private void spill(final Object object, final Traverser.Admin<S> traverser) {
+        if (null == this.spillRoot) {
+            if (null == this.spillKryo) {
+                this.spillKryo = SpillFile.createKryo(this.getTraversal());
+                this.spillDirectory = SpillFile.getDirectory(this.getTraversal());
+            }
+            this.spillRoot = new SpillPartition(0);
+            this.spillRoot.split();
+        }
+        final Object key = SpillFile.detachObject(object);
+        this.spillRoot.leaf(key).traversers.write(new Object[]{key, this.spillSequence++, SpillFile.detach(traverser)});
+    }
+
+    /**
+     * Starts to emit the spilled traversers with keys that have not been emitted yet. Each partition writes the first
+     * traverser of each of its new keys to a file of survivors, which are then merged by the order in which they
+     * arrived.
+     *
+     * @return whether there were spilled traversers
+     */
+    private boolean drainSpilledTraversers() {
+        this.closeDrainingTraversers();
+        final List<SpillFile<Object[]>> survivors = new ArrayList<>();
+        this.spillRoot.drain(survivors);
+        if (survivors.isEmpty()) {
+            // no more starts can arrive at a step of the root traversal, so the emitted keys are no longer needed
+            if (this.getTraversal().getParent() instanceof EmptyStep)
+                this.closeSpillFiles();
+            return false;
         }
+        this.drainingTraversers = survivors;
+        this.drainIterator = this.mergeSurvivors(survivors);
+        return true;
+    }
+
+    /**
+     * Merges the survivors of the partitions, each of which is in the order of arrival, by always taking the head
+     * record that arrived first.
+     */
+    private Iterator<Traverser.Admin<S>> mergeSurvivors(final List<SpillFile<Object[]>> survivors) {
+        final PriorityQueue<SurvivorHead> heads = new PriorityQueue<>(survivors.size(), (a, b) -> Long.compare((Long) a.record[0], (Long) b.record[0]));
+        for (final SpillFile<Object[]> partitionSurvivors : survivors) {
+            final SurvivorHead head = new SurvivorHead(partitionSurvivors.read());
+            if (head.advance())
+                heads.add(head);
+        }
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (heads.isEmpty())
+                    throw FastNoSuchElementException.instance();
+                final SurvivorHead head = heads.poll();
+                final Traverser.Admin<S> traverser = (Traverser.Admin<S>) head.record[1];
+                if (head.advance())
+                    heads.add(head);
+                return SpillFile.attach(traverser, getTraversal());
+            }
+        };
+    }
+
+    private void closeDrainingTraversers() {
+        if (null != this.drainingTraversers)
+            this.drainingTraversers.forEach(SpillFile::close);
+        this.drainingTraversers = null;
+        this.drainIterator = Collections.emptyIterator();
+    }
+
+    private void closeSpillFiles() {
+        this.closeDrainingTraversers();
+        if (null != this.spillRoot)
+            this.spillRoot.close();
+        this.spillRoot = null;
+        this.spillSequence = 0;
+    }
+
+    @Override
+    public void setSpillThreshold(final int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public int getSpillThreshold() {
+        return this.spillThreshold;
+    }
+
+    @Override
+    public void close() {
+        this.closeSpillFiles();
     }
 
     @Override
@@ -89,7 +215,21 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
-        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        if (Integer.MAX_VALUE == this.spillThreshold)
+            return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        while (true) {
+            if (this.drainIterator.hasNext())
+                return PathProcessor.processTraverserPathLabels(this.drainIterator.next(), this.keepLabels);
+            if (this.starts.hasNext()) {
+                try {
+                    return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+                } catch (final NoSuchElementException e) {
+                    // the remaining starts were all filtered or spilled
+                }
+            }
+            if (null == this.spillRoot || !this.drainSpilledTraversers())
+                throw FastNoSuchElementException.instance();
+        }
     }
 
     @Override
@@ -106,6 +246,12 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.spillKryo = null;
+        clone.spillDirectory = null;
+        clone.spillRoot = null;
+        clone.drainingTraversers = null;
+        clone.spillSequence = 0;
+        clone.drainIterator = Collections.emptyIterator();
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -131,6 +277,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public void reset() {
         super.reset();
         this.duplicateSet.clear();
+        this.closeSpillFiles();
     }
 
     @Override
@@ -215,4 +362,114 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public Set<String> getKeepLabels() {
         return this.keepLabels;
     }
+
+    ////////////////
+
+    /**
+     * A hash partition of the spilled traversers and of the keys that it emitted. A partition with children has
+     * handed its traversers and keys to them, and its children are chosen by a hash that is salted with its depth.
+     */
+    private final class SpillPartition {
+
+        private final int depth;
+        private SpillFile<Object[]> traversers;
+        private SpillFile<Object> keys;
+        private List<SpillPartition> children = null;
+
+        private SpillPartition(final int depth) {
+            this.depth = depth;
+            this.traversers = new SpillFile<>(spillKryo, spillDirectory);
+            this.keys = new SpillFile<>(spillKryo, spillDirectory);
+        }
+
+        private SpillPartition leaf(final Object key) {
+            SpillPartition partition = this;
+            while (null != partition.children) {
+                partition = partition.children.get(SpillFile.partition(key, partition.depth));
+            }
+            return partition;
+        }
+
+        private SpillPartition child(final Object key) {
+            return this.children.get(SpillFile.partition(key, this.depth));
+        }
+
+        private void split() {
+            this.children = new ArrayList<>(SpillFile.PARTITIONS);
+            for (int i = 0; i < SpillFile.PARTITIONS; i++) {
+                this.children.add(new SpillPartition(this.depth + 1));
+            }
+            this.keys.read().forEachRemaining(key -> this.child(key).keys.write(key));
+            this.traversers.read().forEachRemaining(record -> this.child(record[0]).traversers.write(record));
+            this.keys.close();
+            this.traversers.close();
+        }
+
+        /**
+         * Writes the survivors of the traversers that were spilled to this partition. A partition that reaches the
+         * spill threshold of emitted keys is split and the traversers that it has not read yet are deduplicated by
+         * its children.
+         */
+        private void drain(final List<SpillFile<Object[]>> survivors) {
+            if (null == this.children) {
+                if (this.traversers.isEmpty())
+                    return;
+                if (this.keys.size() >= spillThreshold && this.depth < SpillFile.MAX_DEPTH) {
+                    this.split();
+                } else {
+                    // traversers spilled while the survivors are emitted go to a new file
+                    final SpillFile<Object[]> partition = this.traversers;
+                    this.traversers = new SpillFile<>(spillKryo, spillDirectory);
+                    final Set<Object> emitted = new HashSet<>();
+                    this.keys.read().forEachRemaining(emitted::add);
+                    final SpillFile<Object[]> partitionSurvivors = new SpillFile<>(spillKryo, spillDirectory);
+                    final Iterator<Object[]> records = partition.read();
+                    while (records.hasNext()) {
+                        final Object[] record = records.next();
+                        if (duplicateSet.contains(record[0]) || emitted.contains(record[0]))
+                            continue;
+                        if (emitted.size() >= spillThreshold && this.depth < SpillFile.MAX_DEPTH) {
+                            emitted.clear();
+                            this.split();
+                            this.child(record[0]).traversers.write(record);
+                            records.forEachRemaining(remaining -> this.child(remaining[0]).traversers.write(remaining));
+                            break;
+                        }
+                        emitted.add(record[0]);
+                        this.keys.write(record[0]);
+                        partitionSurvivors.write(new Object[]{record[1], record[2]});
+                    }
+                    partition.close();
+                    if (partitionSurvivors.isEmpty())
+                        partitionSurvivors.close();
+                    else
+                        survivors.add(partitionSurvivors);
+                }
+            }
+            if (null != this.children)
+                this.children.forEach(child -> child.drain(survivors));
+        }
+
+        private void close() {
+            this.traversers.close();
+            this.keys.close();
+            if (null != this.children)
+                this.children.forEach(SpillPartition::close);
+        }
+    }
+
+    private static final class SurvivorHead {
+
+        private final Iterator<Object[]> records;
+        private Object[] record;
+
+        private SurvivorHead(final Iterator<Object[]> records) {
+            this.records = records;
+        }
+
+        private boolean advance() {
+            this.record = this.records.hasNext() ? this.records.next() : null;
+            return null != this.record;
+        }
+    }
 }
@@ -20,12 +20,19 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public abstract class FilterStep<S> extends AbstractStep<S, S> {
+public abstract class FilterStep<S> extends AbstractStep<S, S> implements Batching<S> {
+
+    private int batchSize = 1;
+    private Traverser.Admin<S>[] batch = null;
+    private int batchIndex = 0;
+    private int batchCount = 0;
 
     public FilterStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -33,6 +40,8 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
+        if (this.batchSize > 1)
+            return this.processNextBatchedStart();
         while (true) {
             final Traverser.Admin<S> traverser = this.starts.next();
             if (this.filter(traverser))
@@ -40,5 +49,61 @@ public abstract class FilterStep<S> extends AbstractStep<S, S> {
         }
     }
 
+    private Traverser.Admin<S> processNextBatchedStart() {
+        while (this.batchIndex == this.batchCount) {
+            if (null == this.batch)
+                this.batch = new Traverser.Admin[this.batchSize];
+            final int count = this.starts.next(this.batch);
+            if (0 == count)
+                throw FastNoSuchElementException.instance();
+            // filter the batch in place so that it holds the traversers that passed in the order they came
+            int passed = 0;
+            for (int i = 0; i < count; i++) {
+                final Traverser.Admin<S> traverser = this.batch[i];
+                this.batch[i] = null;
+                if (this.filter(traverser))
+                    this.batch[passed++] = traverser;
+            }
+            this.batchIndex = 0;
+            this.batchCount = passed;
+        }
+        final Traverser.Admin<S> traverser = this.batch[this.batchIndex];
+        this.batch[this.batchIndex++] = null;
+        return traverser;
+    }
+
     protected abstract boolean filter(final Traverser.Admin<S> traverser);
+
+    @Override
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        this.batch = null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public int nextBatch(final Traverser.Admin<S>[] batch) {
+        return this.processNextStarts(batch);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        // emitted slots are already cleared, so the array only has to be dropped if it holds traversers
+        if (this.batchIndex < this.batchCount)
+            this.batch = null;
+        this.batchIndex = 0;
+        this.batchCount = 0;
+    }
+
+    @Override
+    public FilterStep<S> clone() {
+        final FilterStep<S> clone = (FilterStep<S>) super.clone();
+        clone.batch = null;
+        return clone;
+    }
 }
@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
 
 import java.util.Iterator;
@@ -28,11 +30,16 @@ import java.util.Iterator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
+public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> implements Batching<E> {
 
     private Traverser.Admin<S> head = null;
     private Iterator<E> iterator = EmptyIterator.instance();
 
+    private int batchSize = 1;
+    private Traverser.Admin<S>[] batch = null;
+    private int batchIndex = 0;
+    private int batchCount = 0;
+
     public FlatMapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -43,17 +50,59 @@ public abstract class FlatMapStep<S, E> extends AbstractStep<S, E> {
             if (this.iterator.hasNext()) {
                 return this.head.split(this.iterator.next(), this);
             } else {
-                this.head = this.starts.next();
+                this.head = this.batchSize > 1 ? this.nextBatchedStart() : this.starts.next();
                 this.iterator = this.flatMap(this.head);
             }
         }
     }
 
+    private Traverser.Admin<S> nextBatchedStart() {
+        if (this.batchIndex == this.batchCount) {
+            if (null == this.batch)
+                this.batch = new Traverser.Admin[this.batchSize];
+            this.batchIndex = 0;
+            this.batchCount = this.starts.next(this.batch);
+            if (0 == this.batchCount)
+                throw FastNoSuchElementException.instance();
+        }
+        final Traverser.Admin<S> traverser = this.batch[this.batchIndex];
+        this.batch[this.batchIndex++] = null;
+        return traverser;
+    }
+
     protected abstract Iterator<E> flatMap(final Traverser.Admin<S> traverser);
 
+    @Override
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        this.batch = null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        return this.processNextStarts(batch);
+    }
+
     @Override
     public void reset() {
         super.reset();
         this.iterator = EmptyIterator.instance();
+        // emitted slots are already cleared, so the array only has to be dropped if it holds traversers
+        if (this.batchIndex < this.batchCount)
+            this.batch = null;
+        this.batchIndex = 0;
+        this.batchCount = 0;
+    }
+
+    @Override
+    public FlatMapStep<S, E> clone() {
+        final FlatMapStep<S, E> clone = (FlatMapStep<S, E>) super.clone();
+        clone.batch = null;
+        return clone;
     }
 }
@@ -30,38 +30,58 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
+ * When a spill threshold is set and that many groups are held in memory, a traverser with a key that is not in memory
+ * is written to one of the hash partitions of {@link SpillFile}s. When the result is generated, each partition is
+ * reduced on its own and its groups are added to the result. As no key is in more than one partition, only the groups
+ * of a single partition are being reduced at any one time, and a partition with more groups than the threshold writes
+ * the traversers of the groups that do not fit to child partitions of a differently salted hash, which are reduced
+ * after it. Only the reduction is bounded in this way, as the result is a single {@link Map} that the step emits and
+ * that is therefore held in memory as a whole.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent {
+public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent, Spilling {
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal;
     private Traversal.Admin<S, ?> preTraversal;
     private Traversal.Admin<S, V> valueTraversal;
+    private int spillThreshold = Integer.MAX_VALUE;
+    private transient Kryo spillKryo = null;
+    private transient File spillDirectory = null;
+    private transient List<SpillFile<Object[]>> spillPartitions = null;
+    private transient Map<K, V> spillSeed = null;
+    private transient boolean spillProcessedOnce = false;
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -88,9 +108,13 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> projectTraverser(final Traverser.Admin<S> traverser) {
+        return this.projectTraverser(traverser, TraversalUtil.applyNullable(traverser, this.keyTraversal));
+    }
+
+    private Map<K, V> projectTraverser(final Traverser.Admin<S> traverser, final K key) {
         final Map<K, V> map = new HashMap<>(1);
         if (null == this.preTraversal) {
-            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) traverser);
+            map.put(key, (V) traverser);
         } else {
             final TraverserSet traverserSet = new TraverserSet<>();
             this.preTraversal.reset();
@@ -98,11 +122,125 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             while(this.preTraversal.hasNext()) {
                 traverserSet.add(this.preTraversal.nextTraverser());
             }
-            map.put(TraversalUtil.applyNullable(traverser, this.keyTraversal), (V) traverserSet);
+            map.put(key, (V) traverserSet);
         }
         return map;
     }
 
+    @Override
+    public void processAllStarts() {
+        if (Integer.MAX_VALUE == this.spillThreshold) {
+            super.processAllStarts();
+            return;
+        }
+        if (this.spillProcessedOnce && !this.starts.hasNext())
+            return;
+        this.spillProcessedOnce = true;
+        if (null == this.spillSeed) this.spillSeed = this.seedSupplier.get();
+        while (this.starts.hasNext()) {
+            final Traverser.Admin<S> traverser = this.starts.next();
+            final K key = TraversalUtil.applyNullable(traverser, this.keyTraversal);
+            if (this.spillSeed.size() < this.spillThreshold || this.spillSeed.containsKey(key))
+                this.spillSeed = this.reducingBiOperator.apply(this.spillSeed, this.projectTraverser(traverser, key));
+            else
+                this.spill(key, traverser);
+        }
+    }
+
+    @Override
+    public Traverser.Admin<Map<K, V>> processNextStart() {
+        if (Integer.MAX_VALUE == this.spillThreshold)
+            return super.processNextStart();
+        this.processAllStarts();
+        if (null == this.spillSeed)
+            throw FastNoSuchElementException.instance();
+        final Map<K, V> result = this.generateFinalResult(this.spillSeed);
+        this.spillSeed = null;
+        if (null != this.spillPartitions) {
+            for (final SpillFile<Object[]> partition : this.spillPartitions) {
+                this.reducePartition(partition, 0, result);
+            }
+        }
+        return this.getTraversal().getTraverserGenerator().generate(result, (Step) this, 1l);
+    }
+
+    /**
+     * Reduces the groups of a partition at the given depth and adds them to the result. Once the threshold of groups
+     * is reached, the traversers of any other group are written to child partitions that are reduced afterwards.
+     */
+    private void reducePartition(final SpillFile<Object[]> partition, final int depth, final Map<K, V> result) {
+        Map<K, V> seed = this.seedSupplier.get();
+        List<SpillFile<Object[]>> children = null;
+        final Iterator<Object[]> records = partition.read();
+        while (records.hasNext()) {
+            final Object[] record = records.next();
+            final K key = SpillFile.attachObject((K) record[0], this.getTraversal());
+            if (seed.size() < this.spillThreshold || seed.containsKey(key) || depth >= SpillFile.MAX_DEPTH) {
+                final Traverser.Admin<S> traverser = SpillFile.attach((Traverser.Admin<S>) record[1], this.getTraversal());
+                seed = this.reducingBiOperator.apply(seed, this.projectTraverser(traverser, key));
+            } else {
+                if (null == children)
+                    children = this.createSpillPartitions();
+                children.get(SpillFile.partition(record[0], depth + 1)).write(record);
+            }
+        }
+        partition.clear();
+        result.putAll(this.generateFinalResult(seed));
+        if (null != children) {
+            for (final SpillFile<Object[]> child : children) {
+                this.reducePartition(child, depth + 1, result);
+            }
+        }
+    }
+
+    private List<SpillFile<Object[]>> createSpillPartitions() {
+        final List<SpillFile<Object[]>> partitions = new ArrayList<>(SpillFile.PARTITIONS);
+        for (int i = 0; i < SpillFile.PARTITIONS; i++) {
+            partitions.add(new SpillFile<>(this.spillKryo, this.spillDirectory));
+        }
+        return partitions;
+    }
+
+    private void spill(final K key, final Traverser.Admin<S> traverser) {
+        if (null == this.spillPartitions) {
+            if (null == this.spillKryo) {
+                this.spillKryo = SpillFile.createKryo(this.getTraversal());
+                this.spillDirectory = SpillFile.getDirectory(this.getTraversal());
+            }
+            this.spillPartitions = this.createSpillPartitions();
+        }
+        this.spillPartitions.get(SpillFile.partition(key, 0)).write(new Object[]{SpillFile.detachObject(key), SpillFile.detach(traverser)});
+    }
+
+    private void closeSpillFiles() {
+        if (null != this.spillPartitions)
+            this.spillPartitions.forEach(SpillFile::close);
+        this.spillPartitions = null;
+        this.spillSeed = null;
+        this.spillProcessedOnce = false;
+    }
+
+    @Override
+    public void setSpillThreshold(final int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public int getSpillThreshold() {
+        return this.spillThreshold;
+    }
+
+    @Override
+    public void close() {
+        this.closeSpillFiles();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpillFiles();
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal, this.valueTraversal);
@@ -130,7 +268,16 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         if (null != this.keyTraversal)
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
-        clone.preTraversal = (Traversal.Admin<S, ?>) GroupStep.generatePreTraversal(clone.valueTraversal);
+        if (null != this.preTraversal)
+            clone.preTraversal = this.preTraversal.clone();
+        // the operator gets its own copy of the value traversal as the clone's value traversal is integrated into the
+        // parent traversal and its side-effects (e.g. the memory of a GraphComputer) which can not be serialized
+        clone.setReducingBiOperator(new GroupBiOperator<>(this.valueTraversal.clone()));
+        clone.spillKryo = null;
+        clone.spillDirectory = null;
+        clone.spillPartitions = null;
+        clone.spillSeed = null;
+        clone.spillProcessedOnce = false;
         return clone;
     }
 
@@ -20,12 +20,19 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public abstract class MapStep<S, E> extends AbstractStep<S, E> {
+public abstract class MapStep<S, E> extends AbstractStep<S, E> implements Batching<E> {
+
+    private int batchSize = 1;
+    private Traverser.Admin[] batch = null;
+    private int batchIndex = 0;
+    private int batchCount = 0;
 
     public MapStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -33,11 +40,65 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
 
     @Override
     protected Traverser.Admin<E> processNextStart() {
+        if (this.batchSize > 1)
+            return this.processNextBatchedStart();
         final Traverser.Admin<S> traverser = this.starts.next();
         return traverser.split(this.map(traverser), this);
     }
 
+    private Traverser.Admin<E> processNextBatchedStart() {
+        if (this.batchIndex == this.batchCount) {
+            if (null == this.batch)
+                this.batch = new Traverser.Admin[this.batchSize];
+            final int count = this.starts.next(this.batch);
+            if (0 == count)
+                throw FastNoSuchElementException.instance();
+            // map the batch in place so that it holds the split traversers in the order they came
+            for (int i = 0; i < count; i++) {
+                final Traverser.Admin<S> traverser = this.batch[i];
+                this.batch[i] = traverser.split(this.map(traverser), this);
+            }
+            this.batchIndex = 0;
+            this.batchCount = count;
+        }
+        final Traverser.Admin<E> traverser = this.batch[this.batchIndex];
+        this.batch[this.batchIndex++] = null;
+        return traverser;
+    }
+
     protected abstract E map(final Traverser.Admin<S> traverser);
 
+    @Override
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        this.batch = null;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        return this.processNextStarts(batch);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        // emitted slots are already cleared, so the array only has to be dropped if it holds traversers
+        if (this.batchIndex < this.batchCount)
+            this.batch = null;
+        this.batchIndex = 0;
+        this.batchCount = 0;
+    }
+
+    @Override
+    public MapStep<S, E> clone() {
+        final MapStep<S, E> clone = (MapStep<S, E>) super.clone();
+        clone.batch = null;
+        return clone;
+    }
 }
 
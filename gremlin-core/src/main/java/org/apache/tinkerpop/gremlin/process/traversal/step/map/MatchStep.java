@@ -18,12 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
@@ -35,6 +37,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
@@ -44,6 +47,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSe
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
@@ -54,12 +60,15 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -791,4 +800,103 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * A {@link CountMatchAlgorithm} that does not start from scratch. Each pattern starts out with the multiplicity
+     * that was learned for it by earlier executions against the same {@link Graph}. If there is none, and the graph
+     * implements {@link GraphStatistics}, the multiplicity is estimated from the degree of the edge labels and the
+     * selectivity of the {@code has()}-filters in the pattern. The starting multiplicity counts as
+     * {@link #PRIOR_STARTS} starts so that the counts of the current execution take over as they grow.
+     */
+    public static class StatisticsMatchAlgorithm extends CountMatchAlgorithm {
+
+        public static final long PRIOR_STARTS = 100L;
+        public static final int MAX_LEARNED_PATTERNS = 1000;
+        private static final double DEFAULT_SELECTIVITY = 0.5d;
+
+        private static final Map<Graph, Map<String, Double>> LEARNED_MULTIPLICITIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+        protected transient Map<String, Double> learnedMultiplicities;
+        protected transient Map<Traversal.Admin<Object, Object>, String> patterns;
+
+        @Override
+        public void initialize(final TraversalEngine.Type traversalEngineType, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(traversalEngineType, traversals);
+            final Graph graph = traversals.isEmpty() ? null : traversals.get(0).getGraph().orElse(null);
+            final GraphStatistics statistics = graph instanceof GraphStatistics ? (GraphStatistics) graph : null;
+            this.learnedMultiplicities = null == graph ? createLearnedMultiplicities() :
+                    LEARNED_MULTIPLICITIES.computeIfAbsent(graph, g -> createLearnedMultiplicities());
+            this.patterns = new IdentityHashMap<>();
+            for (final Bundle bundle : this.bundles) {
+                final String pattern = bundle.traversal.toString();
+                this.patterns.put(bundle.traversal, pattern);
+                Double multiplicity = this.learnedMultiplicities.get(pattern);
+                if (null == multiplicity && null != statistics && bundle.traversalType == TraversalType.MATCH_TRAVERSAL)
+                    multiplicity = estimateMultiplicity(bundle.traversal, statistics);
+                if (null != multiplicity) {
+                    bundle.startsCount = PRIOR_STARTS;
+                    bundle.endsCount = Math.round(multiplicity * PRIOR_STARTS);
+                    bundle.multiplicity = multiplicity;
+                }
+            }
+            Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+        }
+
+        @Override
+        public void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
+            super.recordEnd(traverser, traversal);
+            final Bundle bundle = this.getBundle(traversal);
+            // publish the multiplicity for later executions at exponentially growing intervals
+            if ((bundle.endsCount & (bundle.endsCount - 1)) == 0 || bundle.endsCount % 1024 == 0)
+                this.learnedMultiplicities.put(this.patterns.get(traversal), bundle.multiplicity);
+        }
+
+        /**
+         * Estimates the number of traversers that a pattern emits per traverser that enters it.
+         */
+        public static double estimateMultiplicity(final Traversal.Admin<?, ?> traversal, final GraphStatistics statistics) {
+            double multiplicity = 1.0d;
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                if (step instanceof VertexStep) {
+                    final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                    if (0 == vertexStep.getEdgeLabels().length)
+                        multiplicity *= statistics.getAverageDegree(vertexStep.getDirection(), null);
+                    else {
+                        double degree = 0.0d;
+                        for (final String edgeLabel : vertexStep.getEdgeLabels()) {
+                            degree += statistics.getAverageDegree(vertexStep.getDirection(), edgeLabel);
+                        }
+                        multiplicity *= degree;
+                    }
+                } else if (step instanceof HasContainerHolder) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                        multiplicity *= estimateSelectivity(hasContainer, statistics);
+                    }
+                }
+            }
+            return multiplicity;
+        }
+
+        private static double estimateSelectivity(final HasContainer hasContainer, final GraphStatistics statistics) {
+            if (hasContainer.getBiPredicate() != Compare.eq)
+                return DEFAULT_SELECTIVITY;
+            if (hasContainer.getKey().equals(T.label.getAccessor())) {
+                final long vertexCount = statistics.getVertexCount(null);
+                return 0L == vertexCount || !(hasContainer.getValue() instanceof String) ?
+                        DEFAULT_SELECTIVITY :
+                        (double) statistics.getVertexCount((String) hasContainer.getValue()) / (double) vertexCount;
+            }
+            final long cardinality = statistics.getIndexCardinality(hasContainer.getKey());
+            return 0L == cardinality ? DEFAULT_SELECTIVITY : 1.0d / (double) cardinality;
+        }
+
+        private static Map<String, Double> createLearnedMultiplicities() {
+            return Collections.synchronizedMap(new LinkedHashMap<String, Double>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Double> eldest) {
+                    return this.size() > MAX_LEARNED_PATTERNS;
+                }
+            });
+        }
+    }
 }
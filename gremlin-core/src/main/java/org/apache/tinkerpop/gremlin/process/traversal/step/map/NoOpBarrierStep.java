@@ -33,11 +33,24 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * An adaptive {@code NoOpBarrierStep} starts with a barrier of {@code maxBarrierSize} traversers and then resizes it
+ * by the bulking ratio it observes, which is the number of traversers it pulled to fill the barrier over the number of
+ * distinct traversers it holds. A ratio close to one means that the barrier is holding traversers back without
+ * merging them, so the barrier is halved. A high ratio means that the traversers are being merged, so the barrier is
+ * doubled up to {@link #ADAPTIVE_GROWTH_LIMIT} times its initial size.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements LocalBarrier<S> {
 
+    public static final int ADAPTIVE_GROWTH_LIMIT = 4;
+    private static final int MIN_ADAPTIVE_BARRIER_SIZE = 64;
+    private static final double GROW_RATIO = 2.0d;
+    private static final double SHRINK_RATIO = 1.1d;
+
     private int maxBarrierSize;
+    private final boolean adaptive;
+    private int barrierSize;
     private TraverserSet<S> barrier = new TraverserSet<>();
 
     public NoOpBarrierStep(final Traversal.Admin traversal) {
@@ -45,8 +58,30 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     }
 
     public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize) {
+        this(traversal, maxBarrierSize, false);
+    }
+
+    public NoOpBarrierStep(final Traversal.Admin traversal, final int maxBarrierSize, final boolean adaptive) {
         super(traversal);
         this.maxBarrierSize = maxBarrierSize;
+        this.adaptive = adaptive && Integer.MAX_VALUE != maxBarrierSize;
+        this.barrierSize = maxBarrierSize;
+    }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    /**
+     * Gets the number of traversers that the barrier currently holds at most, which only differs from
+     * {@link #getMaxBarrierSize()} when the barrier is adaptive.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
     }
 
     @Override
@@ -63,11 +98,27 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
 
     @Override
     public void processAllStarts() {
-        while (this.starts.hasNext() && (this.maxBarrierSize == Integer.MAX_VALUE || this.barrier.size() < this.maxBarrierSize)) {
+        final int startSize = this.barrier.size();
+        long pulled = 0;
+        while (this.starts.hasNext() && (this.barrierSize == Integer.MAX_VALUE || this.barrier.size() < this.barrierSize)) {
             final Traverser.Admin<S> traverser = this.starts.next();
             traverser.setStepId(this.getNextStep().getId()); // when barrier is reloaded, the traversers should be at the next step
             this.barrier.add(traverser);
+            pulled++;
         }
+        // only a full barrier says anything about whether its size is right
+        if (this.adaptive && this.barrier.size() >= this.barrierSize)
+            this.adapt(pulled, this.barrier.size() - startSize);
+    }
+
+    private void adapt(final long pulled, final int added) {
+        if (added <= 0)
+            return;
+        final double ratio = (double) pulled / added;
+        if (ratio >= GROW_RATIO)
+            this.barrierSize = (int) Math.min((long) this.barrierSize * 2, (long) this.maxBarrierSize * ADAPTIVE_GROWTH_LIMIT);
+        else if (ratio < SHRINK_RATIO)
+            this.barrierSize = Math.max(this.barrierSize / 2, Math.min(MIN_ADAPTIVE_BARRIER_SIZE, this.maxBarrierSize));
     }
 
     @Override
@@ -97,6 +148,7 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public NoOpBarrierStep<S> clone() {
         final NoOpBarrierStep<S> clone = (NoOpBarrierStep<S>) super.clone();
         clone.barrier = new TraverserSet<>();
+        clone.barrierSize = clone.maxBarrierSize;
         return clone;
     }
 
@@ -114,5 +166,6 @@ public final class NoOpBarrierStep<S> extends AbstractStep<S, S> implements Loca
     public void reset() {
         super.reset();
         this.barrier.clear();
+        this.barrierSize = this.maxBarrierSize;
     }
 }
@@ -25,32 +25,49 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.ChainedComparator;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
+ * When a spill threshold is set, the traversers are sorted in runs of at most that many traversers. Each run is
+ * written to a {@link SpillFile} along with the {@code by()} values of its traversers, so that the runs can be merged
+ * back together without evaluating the {@code by()} modulators again.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Spilling {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private ChainedComparator<S, C> chainedComparator = null;
     private long limit = Long.MAX_VALUE;
+    private int spillThreshold = Integer.MAX_VALUE;
+    private transient Kryo spillKryo = null;
+    private transient File spillDirectory = null;
+    private transient List<SpillFile<Object[]>> spillRuns = null;
+    private transient Iterator<Traverser.Admin<S>> spillIterator = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -66,6 +83,203 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
             traverserSet.sort((Comparator) this.chainedComparator);
     }
 
+    @Override
+    public void processAllStarts() {
+        if (Integer.MAX_VALUE == this.spillThreshold)
+            super.processAllStarts();
+        else if (this.starts.hasNext() && (null == this.spillIterator || !this.spillIterator.hasNext()))
+            this.spillAllStarts();
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (Integer.MAX_VALUE == this.spillThreshold)
+            return super.processNextStart();
+        this.processAllStarts();
+        if (null == this.spillIterator || !this.spillIterator.hasNext())
+            throw FastNoSuchElementException.instance();
+        final Traverser.Admin<S> traverser = this.spillIterator.next();
+        if (!this.spillIterator.hasNext())
+            this.closeSpillRuns();
+        return traverser;
+    }
+
+    private void spillAllStarts() {
+        if (null == this.chainedComparator)
+            this.chainedComparator = new ChainedComparator<>(true, this.comparators);
+        this.closeSpillRuns();
+        final TraverserSet<S> traverserSet = new TraverserSet<>();
+        while (this.starts.hasNext()) {
+            traverserSet.add(this.starts.next());
+            if (traverserSet.size() >= this.spillThreshold) {
+                this.spillRuns.add(this.writeRun(traverserSet));
+                traverserSet.clear();
+            }
+        }
+        if (this.spillRuns.isEmpty()) {
+            this.barrierConsumer(traverserSet);
+            this.spillIterator = traverserSet.iterator();
+        } else {
+            if (!traverserSet.isEmpty())
+                this.spillRuns.add(this.writeRun(traverserSet));
+            this.spillIterator = this.chainedComparator.isShuffle() ? this.shuffleRuns() : this.mergeRuns();
+        }
+    }
+
+    /**
+     * Writes the traversers sorted to a new run where each record is the traverser followed by its {@code by()}
+     * values. Records of a shuffled run only hold the traverser.
+     */
+    private SpillFile<Object[]> writeRun(final TraverserSet<S> traverserSet) {
+        if (null == this.spillKryo) {
+            this.spillKryo = SpillFile.createKryo(this.getTraversal());
+            this.spillDirectory = SpillFile.getDirectory(this.getTraversal());
+        }
+        final List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = this.getSortComparators();
+        final List<Object[]> records = new ArrayList<>(traverserSet.size());
+        for (final Traverser.Admin<S> traverser : traverserSet) {
+            final Object[] record = new Object[comparators.size() + 1];
+            for (int i = 0; i < comparators.size(); i++) {
+                record[i + 1] = TraversalUtil.apply(traverser, comparators.get(i).getValue0());
+            }
+            record[0] = SpillFile.detach(traverser);
+            records.add(record);
+        }
+        if (this.chainedComparator.isShuffle())
+            Collections.shuffle(records);
+        else
+            records.sort(this.recordComparator(comparators));
+        final SpillFile<Object[]> run = new SpillFile<>(this.spillKryo, this.spillDirectory);
+        records.forEach(run::write);
+        return run;
+    }
+
+    /**
+     * Merges the sorted runs by always taking the smallest head record, where a tie goes to the earlier run so that
+     * the order of the traversers is the same as if they had been sorted in memory.
+     */
+    private Iterator<Traverser.Admin<S>> mergeRuns() {
+        final Comparator<Object[]> recordComparator = this.recordComparator(this.getSortComparators());
+        final PriorityQueue<RunHead> heads = new PriorityQueue<>((a, b) -> {
+            final int comparison = recordComparator.compare(a.record, b.record);
+            return 0 != comparison ? comparison : Integer.compare(a.run, b.run);
+        });
+        for (int i = 0; i < this.spillRuns.size(); i++) {
+            final RunHead head = new RunHead(i, this.spillRuns.get(i).read());
+            if (head.advance())
+                heads.add(head);
+        }
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (heads.isEmpty())
+                    throw FastNoSuchElementException.instance();
+                final RunHead head = heads.poll();
+                final Traverser.Admin<S> traverser = (Traverser.Admin<S>) head.record[0];
+                if (head.advance())
+                    heads.add(head);
+                return SpillFile.attach(traverser, getTraversal());
+            }
+        };
+    }
+
+    /**
+     * Interleaves the shuffled runs by taking the next traverser from a run chosen at random in proportion to the
+     * number of traversers left in each run.
+     */
+    private Iterator<Traverser.Admin<S>> shuffleRuns() {
+        final Random random = new Random();
+        final List<Iterator<Object[]>> runs = new ArrayList<>(this.spillRuns.size());
+        final long[] remaining = new long[this.spillRuns.size()];
+        for (int i = 0; i < this.spillRuns.size(); i++) {
+            runs.add(this.spillRuns.get(i).read());
+            remaining[i] = this.spillRuns.get(i).size();
+        }
+        return new Iterator<Traverser.Admin<S>>() {
+            private long total = 0;
+
+            {
+                for (final long count : remaining) {
+                    this.total = this.total + count;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return this.total > 0;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                if (this.total <= 0)
+                    throw FastNoSuchElementException.instance();
+                long choice = (long) (random.nextDouble() * this.total);
+                int run = 0;
+                while (choice >= remaining[run]) {
+                    choice = choice - remaining[run++];
+                }
+                remaining[run]--;
+                this.total--;
+                return SpillFile.attach((Traverser.Admin<S>) runs.get(run).next()[0], getTraversal());
+            }
+        };
+    }
+
+    private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> getSortComparators() {
+        if (this.chainedComparator.isShuffle())
+            return Collections.emptyList();
+        final List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
+        for (final Pair<Traversal.Admin<S, C>, Comparator<C>> pair : this.getComparators()) {
+            if ((Comparator) pair.getValue1() != Order.shuffle)
+                comparators.add(pair);
+        }
+        return comparators;
+    }
+
+    private Comparator<Object[]> recordComparator(final List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators) {
+        return (a, b) -> {
+            for (int i = 0; i < comparators.size(); i++) {
+                final int comparison = comparators.get(i).getValue1().compare((C) a[i + 1], (C) b[i + 1]);
+                if (comparison != 0)
+                    return comparison;
+            }
+            return 0;
+        };
+    }
+
+    private void closeSpillRuns() {
+        if (null != this.spillRuns)
+            this.spillRuns.forEach(SpillFile::close);
+        this.spillRuns = new ArrayList<>();
+        this.spillIterator = null;
+    }
+
+    @Override
+    public void setSpillThreshold(final int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public int getSpillThreshold() {
+        return this.spillThreshold;
+    }
+
+    @Override
+    public void close() {
+        this.closeSpillRuns();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpillRuns();
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -126,6 +340,10 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
         clone.chainedComparator = null;
+        clone.spillKryo = null;
+        clone.spillDirectory = null;
+        clone.spillRuns = null;
+        clone.spillIterator = null;
         return clone;
     }
 
@@ -144,6 +362,23 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     ////////////////
 
+    private static final class RunHead {
+
+        private final int run;
+        private final Iterator<Object[]> records;
+        private Object[] record;
+
+        private RunHead(final int run, final Iterator<Object[]> records) {
+            this.run = run;
+            this.records = records;
+        }
+
+        private boolean advance() {
+            this.record = this.records.hasNext() ? this.records.next() : null;
+            return null != this.record;
+        }
+    }
+
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
 
         private ChainedComparator chainedComparator;
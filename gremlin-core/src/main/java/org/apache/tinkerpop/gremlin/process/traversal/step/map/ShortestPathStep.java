@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Emits, for each incoming vertex, a single shortest simple path to a vertex matching the target id
+ * {@link HasContainer}s. It is the execution of {@code repeat(out().simplePath()).until(hasId(x)).limit(1)} as put in
+ * place by {@link org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy}. When the
+ * target vertices can be looked up in the graph, the search runs breadth-first from both the source and the targets,
+ * always growing the smaller frontier, until the two meet. Otherwise it runs breadth-first from the source alone. As
+ * with {@code simplePath()}, the objects already in the path of the incoming traverser are never visited again.
+ */
+public final class ShortestPathStep extends AbstractStep<Vertex, Vertex> {
+
+    private final Direction direction;
+    private final String[] edgeLabels;
+    private final List<HasContainer> targetContainers;
+
+    public ShortestPathStep(final Traversal.Admin traversal, final Direction direction, final String[] edgeLabels,
+                            final List<HasContainer> targetContainers) {
+        super(traversal);
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+        this.targetContainers = targetContainers;
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    public List<HasContainer> getTargetContainers() {
+        return Collections.unmodifiableList(this.targetContainers);
+    }
+
+    @Override
+    protected Traverser.Admin<Vertex> processNextStart() throws NoSuchElementException {
+        while (true) {
+            final Traverser.Admin<Vertex> start = this.starts.next();
+            final List<Vertex> path = this.shortestPath(start);
+            if (null != path) {
+                // extend the path one vertex at a time just as the unlabeled vertex step of repeat() would have
+                Traverser.Admin<Vertex> traverser = start;
+                for (final Vertex vertex : path) {
+                    traverser = traverser.split(vertex, EmptyStep.instance());
+                }
+                traverser.resetLoops();
+                return traverser;
+            }
+        }
+    }
+
+    private List<Vertex> shortestPath(final Traverser.Admin<Vertex> start) {
+        final Vertex source = start.get();
+        final Set<Object> excluded = new HashSet<>(start.path().objects());
+        excluded.add(source);
+        final List<Vertex> targets = this.getTargets();
+        if (null == targets)
+            return this.forwardSearch(source, excluded);
+        targets.removeIf(excluded::contains);
+        return targets.isEmpty() ? null : this.bidirectionalSearch(source, targets, excluded);
+    }
+
+    /**
+     * Looks up the vertices the target id {@link HasContainer}s match or returns {@code null} if they can not all be
+     * looked up, because the traversal has no graph or the graph does not resolve the ids as given (e.g. ids tested by
+     * their {@code toString()}), in which case the search must test the vertices it reaches instead.
+     */
+    private List<Vertex> getTargets() {
+        final Optional<Graph> graph = this.getTraversal().getGraph();
+        if (!graph.isPresent())
+            return null;
+        final Object value = this.targetContainers.get(0).getValue();
+        final Set<Object> ids = value instanceof Collection ? new HashSet<>((Collection<?>) value) : Collections.singleton(value);
+        final List<Vertex> targets = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            final Iterator<Vertex> vertices = graph.get().vertices(ids.toArray());
+            while (vertices.hasNext()) {
+                final Vertex vertex = vertices.next();
+                if (HasContainer.testAll(vertex, this.targetContainers))
+                    targets.add(vertex);
+            }
+        }
+        return targets.size() == ids.size() ? targets : null;
+    }
+
+    private List<Vertex> forwardSearch(final Vertex source, final Set<Object> excluded) {
+        final Map<Vertex, Vertex> parents = new HashMap<>();
+        parents.put(source, null);
+        List<Vertex> frontier = Collections.singletonList(source);
+        while (!frontier.isEmpty()) {
+            final List<Vertex> nextFrontier = new ArrayList<>();
+            for (final Vertex vertex : frontier) {
+                final Iterator<Vertex> adjacents = vertex.vertices(this.direction, this.edgeLabels);
+                while (adjacents.hasNext()) {
+                    final Vertex adjacent = adjacents.next();
+                    if (parents.containsKey(adjacent) || excluded.contains(adjacent))
+                        continue;
+                    parents.put(adjacent, vertex);
+                    if (HasContainer.testAll(adjacent, this.targetContainers)) {
+                        return join(adjacent, parents, Collections.emptyMap());
+                    }
+                    nextFrontier.add(adjacent);
+                }
+            }
+            frontier = nextFrontier;
+        }
+        return null;
+    }
+
+    private List<Vertex> bidirectionalSearch(final Vertex source, final List<Vertex> targets, final Set<Object> excluded) {
+        final Map<Vertex, Vertex> forward = new HashMap<>();
+        final Map<Vertex, Vertex> backward = new HashMap<>();
+        forward.put(source, null);
+        List<Vertex> forwardFrontier = Collections.singletonList(source);
+        List<Vertex> backwardFrontier = new ArrayList<>();
+        for (final Vertex target : targets) {
+            if (!backward.containsKey(target)) {
+                backward.put(target, null);
+                backwardFrontier.add(target);
+            }
+        }
+        // expand a full level of the smaller frontier at a time. the first vertex found by one side that was already
+        // reached by the other side closes a shortest path as any shorter path would have been closed by a prior level
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+            final boolean expandForward = forwardFrontier.size() <= backwardFrontier.size();
+            final List<Vertex> frontier = expandForward ? forwardFrontier : backwardFrontier;
+            final Map<Vertex, Vertex> visited = expandForward ? forward : backward;
+            final Map<Vertex, Vertex> other = expandForward ? backward : forward;
+            final Direction direction = expandForward ? this.direction : this.direction.opposite();
+            final List<Vertex> nextFrontier = new ArrayList<>();
+            for (final Vertex vertex : frontier) {
+                final Iterator<Vertex> adjacents = vertex.vertices(direction, this.edgeLabels);
+                while (adjacents.hasNext()) {
+                    final Vertex adjacent = adjacents.next();
+                    if (visited.containsKey(adjacent))
+                        continue;
+                    if (other.containsKey(adjacent)) {
+                        visited.put(adjacent, vertex);
+                        return join(adjacent, forward, backward);
+                    }
+                    if (excluded.contains(adjacent))
+                        continue;
+                    visited.put(adjacent, vertex);
+                    nextFrontier.add(adjacent);
+                }
+            }
+            if (expandForward)
+                forwardFrontier = nextFrontier;
+            else
+                backwardFrontier = nextFrontier;
+        }
+        return null;
+    }
+
+    /**
+     * Builds the path from the vertex after the source through the vertex where the searches met to the target.
+     */
+    private static List<Vertex> join(final Vertex meeting, final Map<Vertex, Vertex> forward, final Map<Vertex, Vertex> backward) {
+        final List<Vertex> path = new ArrayList<>();
+        for (Vertex vertex = meeting; null != vertex; vertex = forward.get(vertex)) {
+            path.add(vertex);
+        }
+        path.remove(path.size() - 1); // the source is already the head of the path of the traverser
+        Collections.reverse(path);
+        for (Vertex vertex = backward.get(meeting); null != vertex; vertex = backward.get(vertex)) {
+            path.add(vertex);
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction, Arrays.asList(this.edgeLabels), this.targetContainers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.direction.hashCode() ^ this.targetContainers.hashCode();
+        for (final String edgeLabel : this.edgeLabels) {
+            result ^= edgeLabel.hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.PATH);
+    }
+}
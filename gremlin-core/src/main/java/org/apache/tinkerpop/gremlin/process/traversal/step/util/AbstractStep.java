@@ -164,6 +164,32 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected abstract Traverser.Admin<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Moves up to {@code batch.length} of the traversers that {@link #next()} would return into the array by calling
+     * {@link #processNextStart()} directly, which is how {@link org.apache.tinkerpop.gremlin.process.traversal.step.Batching}
+     * steps hand their traversers to the next step.
+     *
+     * @return the number of traversers moved into the array, which is {@code 0} only if the step has no more
+     */
+    protected int processNextStarts(final Traverser.Admin<E>[] batch) {
+        if (Thread.interrupted()) throw new TraversalInterruptedException();
+        int count = 0;
+        if (null != this.nextEnd) {
+            batch[count++] = this.prepareTraversalForNextStep(this.nextEnd);
+            this.nextEnd = null;
+        }
+        try {
+            while (count < batch.length) {
+                final Traverser.Admin<E> traverser = this.processNextStart();
+                if (null != traverser.get() && 0 != traverser.bulk())
+                    batch[count++] = this.prepareTraversalForNextStep(traverser);
+            }
+        } catch (final NoSuchElementException e) {
+            // the step is exhausted and the batch holds whatever was left
+        }
+        return count;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this);
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 
 import java.io.Serializable;
@@ -53,6 +54,30 @@ public final class ExpandableStepIterator<S> implements Iterator<Traverser.Admin
         return this.traverserSet.remove();
     }
 
+    /**
+     * Moves up to {@code batch.length} traversers into the array. The traversers that were added to this iterator
+     * come first and otherwise the traversers are pulled from the previous step of the host step, a batch at a time
+     * if it is a {@link Batching} step with batching turned on.
+     *
+     * @return the number of traversers moved into the array, which is {@code 0} only if there are no more
+     */
+    public int next(final Traverser.Admin<S>[] batch) {
+        int count = 0;
+        if (!this.traverserSet.isEmpty()) {
+            while (count < batch.length && !this.traverserSet.isEmpty()) {
+                batch[count++] = this.traverserSet.remove();
+            }
+            return count;
+        }
+        final Step<?, S> previousStep = this.hostStep.getPreviousStep();
+        if (previousStep instanceof Batching && ((Batching) previousStep).getBatchSize() > 1)
+            return ((Batching<S>) previousStep).nextBatch(batch);
+        while (count < batch.length && previousStep.hasNext()) {
+            batch[count++] = previousStep.next();
+        }
+        return count;
+    }
+
     public void add(final Iterator<Traverser.Admin<S>> iterator) {
         iterator.forEachRemaining(this.traverserSet::add);
     }
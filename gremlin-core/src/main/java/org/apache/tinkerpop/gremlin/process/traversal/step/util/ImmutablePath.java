@@ -23,13 +23,17 @@ import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
+ * A {@link Path} built as a linked list of path sections, newest first, where extending a path creates a single new
+ * section that points to the path it extends. Traversers that split from the same traverser therefore share their
+ * common prefix and the labels of each section are interned so that sections with the same labels share them too.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class ImmutablePath implements Path, Serializable, Cloneable {
@@ -38,7 +42,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     private ImmutablePath previousPath;
     private Object currentObject;
-    private Set<String> currentLabels;
+    private LabelSet currentLabels;
 
     public static Path make() {
         return TAIL_PATH;
@@ -50,7 +54,7 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         return this;
     }
 
-    private ImmutablePath(final ImmutablePath previousPath, final Object currentObject, final Set<String> currentLabels) {
+    private ImmutablePath(final ImmutablePath previousPath, final Object currentObject, final LabelSet currentLabels) {
         this.previousPath = previousPath;
         this.currentObject = currentObject;
         this.currentLabels = currentLabels;
@@ -83,19 +87,15 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public Path extend(final Object object, final Set<String> labels) {
-        return new ImmutablePath(this, object, labels);
+        return new ImmutablePath(this, object, PathLabels.intern(labels));
     }
 
     @Override
     public Path extend(final Set<String> labels) {
         if (labels.isEmpty() || this.currentLabels.containsAll(labels))
             return this;
-        else {
-            final Set<String> newLabels = new LinkedHashSet<>();
-            newLabels.addAll(this.currentLabels);
-            newLabels.addAll(labels);
-            return new ImmutablePath(this.previousPath, this.currentObject, newLabels);
-        }
+        else
+            return new ImmutablePath(this.previousPath, this.currentObject, PathLabels.union(this.currentLabels, labels));
     }
 
     @Override
@@ -103,22 +103,28 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
         if (labels.isEmpty())
             return this;
 
-        // get all the immutable path sections
+        // get all the immutable path sections (newest first) and find the oldest section that is to be rewritten as
+        // sections losing all their labels are removed. the sections prior to it are shared by the retracted path.
         final List<ImmutablePath> immutablePaths = new ArrayList<>();
+        int oldestRetracted = -1;
         ImmutablePath currentPath = this;
         while (true) {
             if (currentPath.isTail())
                 break;
-            immutablePaths.add(0, currentPath);
+            if (currentPath.currentLabels.isEmpty() || PathLabels.intersects(currentPath.currentLabels, labels))
+                oldestRetracted = immutablePaths.size();
+            immutablePaths.add(currentPath);
             currentPath = currentPath.previousPath;
         }
-        // build a new immutable path using the respective path sections that are not to be retracted
-        Path newPath = TAIL_PATH;
-        for (final ImmutablePath immutablePath : immutablePaths) {
-            final Set<String> temp = new LinkedHashSet<>(immutablePath.currentLabels);
-            temp.removeAll(labels);
+        if (-1 == oldestRetracted)
+            return this;
+        // build the new immutable path on the shared prefix using the path sections that are not to be retracted
+        ImmutablePath newPath = immutablePaths.get(oldestRetracted).previousPath;
+        for (int i = oldestRetracted; i >= 0; i--) {
+            final ImmutablePath immutablePath = immutablePaths.get(i);
+            final LabelSet temp = PathLabels.difference(immutablePath.currentLabels, labels);
             if (!temp.isEmpty())
-                newPath = newPath.extend(immutablePath.currentObject, temp);
+                newPath = new ImmutablePath(newPath, immutablePath.currentObject, temp);
         }
         return newPath;
     }
@@ -146,9 +152,10 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
                 if (currentPath.isTail())
                     break;
                 else if (currentPath.currentLabels.contains(label))
-                    list.add(0, currentPath.currentObject);
+                    list.add(currentPath.currentObject);
                 currentPath = currentPath.previousPath;
             }
+            Collections.reverse(list);
             return (A) list;
         } else if (Pop.last == pop) {
             ImmutablePath currentPath = this;
@@ -191,28 +198,30 @@ public class ImmutablePath implements Path, Serializable, Cloneable {
 
     @Override
     public List<Object> objects() {
-        final List<Object> objects = new ArrayList<>();
+        final Object[] objects = new Object[this.size()];
+        int index = objects.length - 1;
         ImmutablePath currentPath = this;
         while (true) {
             if (currentPath.isTail())
                 break;
-            objects.add(0, currentPath.currentObject);
+            objects[index--] = currentPath.currentObject;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(objects);
+        return Collections.unmodifiableList(Arrays.asList(objects));
     }
 
     @Override
     public List<Set<String>> labels() {
-        final List<Set<String>> labels = new ArrayList<>();
+        final Set<String>[] labels = new Set[this.size()];
+        int index = labels.length - 1;
         ImmutablePath currentPath = this;
         while (true) {
             if (currentPath.isTail())
                 break;
-            labels.add(0, currentPath.currentLabels);
+            labels[index--] = currentPath.currentLabels;
             currentPath = currentPath.previousPath;
         }
-        return Collections.unmodifiableList(labels);
+        return Collections.unmodifiableList(Arrays.asList(labels));
     }
 
     @Override
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The immutable, ordered set of labels of a {@link Path} section. Instances are interned so that all sections with
+ * the same labels, in the same order, share one of them, and as they can not be modified {@link Path#labels()} hands
+ * them out directly.
+ */
+public final class LabelSet extends AbstractSet<String> implements Serializable {
+
+    static final LabelSet EMPTY = new LabelSet(new String[0]);
+
+    private final String[] labels;
+    private final int hashCode;
+
+    LabelSet(final String[] labels) {
+        this.labels = labels;
+        int hashCode = 0;
+        for (final String label : labels) {
+            hashCode += label.hashCode();
+        }
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Gets the interned {@code LabelSet} of the provided labels, in their iteration order.
+     */
+    public static LabelSet of(final Collection<String> labels) {
+        return PathLabels.intern(labels instanceof Set ? (Set<String>) labels : new LinkedHashSet<>(labels));
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < labels.length;
+            }
+
+            @Override
+            public String next() {
+                if (this.index == labels.length)
+                    throw new NoSuchElementException();
+                return labels[this.index++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return this.labels.length;
+    }
+
+    @Override
+    public boolean contains(final Object label) {
+        for (final String l : this.labels) {
+            if (l.equals(label))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    private Object readResolve() {
+        return PathLabels.intern(this);
+    }
+}
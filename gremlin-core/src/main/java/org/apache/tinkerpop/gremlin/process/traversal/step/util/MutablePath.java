@@ -22,28 +22,47 @@ import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * A {@link Path} backed by an array of objects and an array of their interned {@link LabelSet}s. A clone shares
+ * both arrays with the original rather than copying them. The arrays are append-only for the paths sharing them:
+ * the first path to extend past the shared sections claims the next slot and writes it in place, while any other
+ * path sharing them copies its own sections before extending. Sections visible to another path are never changed
+ * in place, so adding labels to a shared last section or retracting labels copies the arrays as well.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class MutablePath implements Path, Serializable {
 
-    protected final List<Object> objects;
-    protected final List<Set<String>> labels;
+    private Object[] objects;
+    private LabelSet[] labels;
+    private int size;
+
+    /**
+     * The number of slots written to the arrays, shared by all paths sharing the arrays. A path may only write the
+     * slot after its last section if no other path wrote it first.
+     */
+    private transient AtomicInteger written;
+
+    /**
+     * Whether a clone may share the last section of this path.
+     */
+    private transient boolean shared;
 
     protected MutablePath() {
         this(10);
     }
 
-    private MutablePath(final int capacity) {
-        this.objects = new ArrayList<>(capacity);
-        this.labels = new ArrayList<>(capacity);
+    protected MutablePath(final int capacity) {
+        this.objects = new Object[capacity];
+        this.labels = new LabelSet[capacity];
+        this.written = new AtomicInteger(0);
     }
 
     public static Path make() {
@@ -53,62 +72,96 @@ public class MutablePath implements Path, Serializable {
     @Override
     @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
     public MutablePath clone() {
-        final MutablePath clone = new MutablePath(this.objects.size());
-        // TODO: Why is this not working Hadoop serialization-wise?... Its cause DetachedPath's clone needs to detach on clone.
-        /*final MutablePath clone = (MutablePath) super.clone();
-        clone.objects = new ArrayList<>();
-        clone.labels = new ArrayList<>();*/
-        clone.objects.addAll(this.objects);
-        for (final Set<String> labels : this.labels) {
-            clone.labels.add(new LinkedHashSet<>(labels));
-        }
+        // DetachedPath and ReferencePath clone to a MutablePath as their clone would otherwise need to detach
+        final MutablePath clone = new MutablePath(0);
+        clone.objects = this.objects;
+        clone.labels = this.labels;
+        clone.size = this.size;
+        clone.written = this.getWritten();
+        clone.shared = true;
+        this.shared = true;
         return clone;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.objects.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public <A> A head() {
-        return (A) this.objects.get(this.objects.size() - 1);
+        return (A) this.objects[this.size - 1];
     }
 
     @Override
     public int size() {
-        return this.objects.size();
+        return this.size;
     }
 
     @Override
     public Path extend(final Object object, final Set<String> labels) {
-        this.objects.add(object);
-        this.labels.add(new LinkedHashSet<>(labels));
+        final LabelSet interned = PathLabels.intern(labels);
+        if (this.size == this.objects.length || !this.getWritten().compareAndSet(this.size, this.size + 1)) {
+            this.copy(this.size + (this.size >> 1) + 1);
+            this.written.incrementAndGet();
+        }
+        this.objects[this.size] = object;
+        this.labels[this.size] = interned;
+        this.size++;
+        this.shared = false;
         return this;
     }
 
     @Override
     public Path extend(final Set<String> labels) {
-        if (!labels.isEmpty() && !this.labels.get(this.labels.size() - 1).containsAll(labels))
-            this.labels.get(this.labels.size() - 1).addAll(labels);
+        final int last = this.size - 1;
+        if (!labels.isEmpty() && !this.labels[last].containsAll(labels)) {
+            final LabelSet union = PathLabels.union(this.labels[last], labels);
+            if (this.shared)
+                this.copy(this.objects.length);
+            this.labels[last] = union;
+        }
         return this;
     }
 
     @Override
     public Path retract(final Set<String> removeLabels) {
-        for (int i = this.labels.size() - 1; i >= 0; i--) {
-            this.labels.get(i).removeAll(removeLabels);
-            if (this.labels.get(i).isEmpty()) {
-                this.labels.remove(i);
-                this.objects.remove(i);
+        final LabelSet[] differences = new LabelSet[this.size];
+        int retained = 0;
+        boolean changed = false;
+        for (int i = 0; i < this.size; i++) {
+            differences[i] = PathLabels.difference(this.labels[i], removeLabels);
+            if (!differences[i].isEmpty())
+                retained++;
+            changed = changed || differences[i] != this.labels[i];
+        }
+        if (!changed)
+            return this;
+
+        // compact the retained sections into arrays of this path alone as the current ones may be shared
+        final Object[] objects = new Object[retained + 1];
+        final LabelSet[] labels = new LabelSet[retained + 1];
+        int index = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (!differences[i].isEmpty()) {
+                objects[index] = this.objects[i];
+                labels[index] = differences[i];
+                index++;
             }
         }
+        this.objects = objects;
+        this.labels = labels;
+        this.size = retained;
+        this.written = new AtomicInteger(retained);
+        this.shared = false;
         return this;
     }
 
     @Override
     public <A> A get(int index) {
-        return (A) this.objects.get(index);
+        if (index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        return (A) this.objects[index];
     }
 
     @Override
@@ -128,14 +181,14 @@ public class MutablePath implements Path, Serializable {
         } else {
             // Override default to avoid building temporary list, and to stop looking when we find the label.
             if (Pop.last == pop) {
-                for (int i = this.labels.size() - 1; i >= 0; i--) {
-                    if (labels.get(i).contains(label))
-                        return (A) objects.get(i);
+                for (int i = this.size - 1; i >= 0; i--) {
+                    if (this.labels[i].contains(label))
+                        return (A) this.objects[i];
                 }
             } else {
-                for (int i = 0; i != this.labels.size(); i++) {
-                    if (labels.get(i).contains(label))
-                        return (A) objects.get(i);
+                for (int i = 0; i != this.size; i++) {
+                    if (this.labels[i].contains(label))
+                        return (A) this.objects[i];
                 }
             }
             throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
@@ -144,8 +197,8 @@ public class MutablePath implements Path, Serializable {
 
     @Override
     public boolean hasLabel(final String label) {
-        for (final Set<String> set : this.labels) {
-            if (set.contains(label))
+        for (int i = 0; i < this.size; i++) {
+            if (this.labels[i].contains(label))
                 return true;
         }
         return false;
@@ -153,27 +206,27 @@ public class MutablePath implements Path, Serializable {
 
     @Override
     public List<Object> objects() {
-        return Collections.unmodifiableList(this.objects);
+        return Collections.unmodifiableList(Arrays.asList(this.objects).subList(0, this.size));
     }
 
     @Override
     public List<Set<String>> labels() {
-        return Collections.unmodifiableList(this.labels);
+        return Collections.unmodifiableList(Arrays.<Set<String>>asList(this.labels).subList(0, this.size));
     }
 
     @Override
     public Iterator<Object> iterator() {
-        return this.objects.iterator();
+        return this.objects().iterator();
     }
 
     @Override
     public String toString() {
-        return this.objects.toString();
+        return this.objects().toString();
     }
 
     @Override
     public int hashCode() {
-        return this.objects.hashCode();
+        return this.objects().hashCode();
     }
 
     @Override
@@ -181,17 +234,40 @@ public class MutablePath implements Path, Serializable {
         if (!(other instanceof Path))
             return false;
         final Path otherPath = (Path) other;
-        if (otherPath.size() != this.objects.size())
+        if (otherPath.size() != this.size)
             return false;
 
         final List<Object> otherPathObjects = otherPath.objects();
         final List<Set<String>> otherPathLabels = otherPath.labels();
-        for (int i = this.objects.size() - 1; i >= 0; i--) {
-            if (!this.objects.get(i).equals(otherPathObjects.get(i)))
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (!this.objects[i].equals(otherPathObjects.get(i)))
                 return false;
-            if (!this.labels.get(i).equals(otherPathLabels.get(i)))
+            if (!this.labels[i].equals(otherPathLabels.get(i)))
                 return false;
         }
         return true;
     }
+
+    /**
+     * Gets the shared count of written slots, which is not serialized and starts at the size of a deserialized path.
+     */
+    private AtomicInteger getWritten() {
+        if (null == this.written)
+            this.written = new AtomicInteger(this.size);
+        return this.written;
+    }
+
+    /**
+     * Copies the sections of this path into arrays of its own.
+     */
+    private void copy(final int capacity) {
+        // only the sections of this path are read as other paths may be writing past them
+        final Object[] objects = new Object[capacity];
+        final LabelSet[] labels = new LabelSet[capacity];
+        System.arraycopy(this.objects, 0, objects, 0, this.size);
+        System.arraycopy(this.labels, 0, labels, 0, this.size);
+        this.objects = objects;
+        this.labels = labels;
+        this.written = new AtomicInteger(this.size);
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the label sets held by {@link ImmutablePath} and {@link MutablePath} so that every path section labeled
+ * with the same labels, in the same order, refers to the same {@link LabelSet}. As those can not be modified, paths
+ * share them across clones and splits rather than copying them. The number of distinct label sets in a traversal is
+ * bounded by its step labels, but as the pool is shared by all traversals it stops growing at
+ * {@link #MAX_INTERNED_SETS} after which sets are simply copied.
+ */
+final class PathLabels {
+
+    static final int MAX_INTERNED_SETS = 10000;
+
+    private static final Map<Set<String>, LabelSet> INTERNED = new ConcurrentHashMap<>();
+
+    private PathLabels() {
+    }
+
+    /**
+     * Gets the canonical {@link LabelSet} of the provided labels.
+     */
+    static LabelSet intern(final Set<String> labels) {
+        if (labels.isEmpty())
+            return LabelSet.EMPTY;
+        final LabelSet interned = INTERNED.get(labels);
+        if (null != interned && sameOrder(interned, labels))
+            return interned;
+        final LabelSet copy = labels instanceof LabelSet ? (LabelSet) labels : new LabelSet(labels.toArray(new String[labels.size()]));
+        if (null != interned || INTERNED.size() >= MAX_INTERNED_SETS)
+            return copy;
+        final LabelSet previous = INTERNED.putIfAbsent(copy, copy);
+        return null == previous || !sameOrder(previous, copy) ? copy : previous;
+    }
+
+    /**
+     * Gets the canonical union of the two label sets preserving the order of the {@code current} labels or the
+     * {@code current} labels themselves if they already hold all the {@code labels}.
+     */
+    static LabelSet union(final LabelSet current, final Set<String> labels) {
+        if (labels.isEmpty() || current.containsAll(labels))
+            return current;
+        final Set<String> union = new LinkedHashSet<>(current);
+        union.addAll(labels);
+        return intern(union);
+    }
+
+    /**
+     * Gets the canonical {@code current} labels without the {@code labels} to remove or the {@code current} labels
+     * themselves if they hold none of the {@code labels}.
+     */
+    static LabelSet difference(final LabelSet current, final Set<String> labels) {
+        if (!intersects(current, labels))
+            return current;
+        final Set<String> difference = new LinkedHashSet<>(current);
+        difference.removeAll(labels);
+        return intern(difference);
+    }
+
+    /**
+     * Path labels are ordered, so equal label sets are only interchangeable if they iterate in the same order.
+     */
+    private static boolean sameOrder(final Set<String> interned, final Set<String> labels) {
+        if (interned == labels)
+            return true;
+        final Iterator<String> iterator = labels.iterator();
+        for (final String label : interned) {
+            if (!label.equals(iterator.next()))
+                return false;
+        }
+        return true;
+    }
+
+    static boolean intersects(final Set<String> current, final Set<String> labels) {
+        if (current.isEmpty() || labels.isEmpty())
+            return false;
+        for (final String label : current) {
+            if (labels.contains(label))
+                return true;
+        }
+        return false;
+    }
+}
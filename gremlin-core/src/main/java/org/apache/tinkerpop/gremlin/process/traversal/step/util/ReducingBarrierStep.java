@@ -24,8 +24,22 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Generating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizing;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Element;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BinaryOperator;
 import java.util.function.Supplier;
 
@@ -33,12 +47,14 @@ import java.util.function.Supplier;
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 
-public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> implements Barrier<E>, Generating<E, E> {
+public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> implements Barrier<E>, Generating<E, E>, Parallelizing {
 
     protected Supplier<E> seedSupplier;
     protected BinaryOperator<E> reducingBiOperator;
     private boolean hasProcessedOnce = false;
     private E seed = null;
+    private int parallelism = 1;
+    private int chunkSize = Integer.MAX_VALUE;
 
     public ReducingBarrierStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -78,12 +94,108 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
     public void processAllStarts() {
         if (this.hasProcessedOnce && !this.starts.hasNext())
             return;
+        if (!this.hasProcessedOnce && this.parallelism > 1) {
+            this.hasProcessedOnce = true;
+            this.processAllStartsInParallel();
+            return;
+        }
         this.hasProcessedOnce = true;
         if (this.seed == null) this.seed = this.seedSupplier.get();
         while (this.starts.hasNext())
             this.seed = this.reducingBiOperator.apply(this.seed, this.projectTraverser(this.starts.next()));
     }
 
+    /**
+     * Hands the objects of the {@link GraphStep} that starts the traversal out in chunks to {@code parallelism}
+     * workers on a pool that is shared by all traversals. Each worker reduces its chunks with its own clone of the
+     * steps up to this one and the partial results are added as barriers in the order of the chunks. The workers are
+     * only started once there is more than one chunk.
+     */
+    private void processAllStartsInParallel() {
+        final Traversal.Admin<?, ?> traversal = this.getTraversal();
+        final Step<?, ?> startStep = traversal.getStartStep();
+        final int index = traversal.getSteps().indexOf(this);
+        final List<Element> first = nextChunk(startStep, this.chunkSize);
+        if (!startStep.hasNext()) {
+            final Traversal.Admin<?, ?> prefix = this.clonePrefix(traversal, index);
+            final E barrier = reduceChunk(prefix, index, first);
+            if (null != barrier)
+                this.addBarrier(barrier);
+        } else {
+            // workers take a chunk when they are ready for it, so that the start objects are not all held at once
+            final Chunks chunks = new Chunks(startStep, this.chunkSize, first);
+            final Map<Integer, E> barriers = new ConcurrentHashMap<>();
+            final List<Future<?>> futures = new ArrayList<>();
+            try {
+                for (int i = 0; i < this.parallelism; i++) {
+                    final Traversal.Admin<?, ?> prefix = this.clonePrefix(traversal, index);
+                    futures.add(WorkerPool.INSTANCE.submit(() -> {
+                        for (Chunk chunk = chunks.next(); null != chunk; chunk = chunks.next()) {
+                            if (Thread.interrupted())
+                                throw new TraversalInterruptedException();
+                            final E barrier = reduceChunk(prefix, index, chunk.elements);
+                            if (null != barrier)
+                                barriers.put(chunk.index, barrier);
+                        }
+                        return null;
+                    }));
+                }
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (final InterruptedException e) {
+                cancel(futures);
+                throw new TraversalInterruptedException();
+            } catch (final ExecutionException e) {
+                cancel(futures);
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                else if (e.getCause() instanceof Error)
+                    throw (Error) e.getCause();
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+            }
+            for (int i = 0; i < chunks.count; i++) {
+                final E barrier = barriers.get(i);
+                if (null != barrier)
+                    this.addBarrier(barrier);
+            }
+        }
+        if (null == this.seed)
+            this.seed = this.seedSupplier.get();
+    }
+
+    /**
+     * Clones the steps of the traversal up to this one, with this one reducing on the calling thread.
+     */
+    private Traversal.Admin<?, ?> clonePrefix(final Traversal.Admin<?, ?> traversal, final int index) {
+        final Traversal.Admin<?, ?> prefix = traversal instanceof DefaultTraversal ?
+                ((DefaultTraversal<?, ?>) traversal).clone(index + 1) :
+                traversal.clone();
+        ((ReducingBarrierStep<?, ?>) prefix.getSteps().get(index)).parallelism = 1;
+        return prefix;
+    }
+
+    private static <E> E reduceChunk(final Traversal.Admin<?, ?> prefix, final int index, final List<Element> chunk) {
+        prefix.reset();
+        ((GraphStep<?, Element>) prefix.getStartStep()).setIteratorSupplier(chunk::iterator);
+        final ReducingBarrierStep<?, E> reducer = (ReducingBarrierStep<?, E>) prefix.getSteps().get(index);
+        return reducer.hasNextBarrier() ? reducer.nextBarrier() : null;
+    }
+
+    private static List<Element> nextChunk(final Step<?, ?> startStep, final int chunkSize) {
+        final List<Element> chunk = new ArrayList<>();
+        while (chunk.size() < chunkSize && startStep.hasNext()) {
+            chunk.add((Element) startStep.next().get());
+        }
+        return chunk;
+    }
+
+    private static void cancel(final List<Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
     @Override
     public boolean hasNextBarrier() {
         this.processAllStarts();
@@ -126,9 +238,68 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         return clone;
     }
 
+    @Override
+    public void setParallelism(final int parallelism, final int chunkSize) {
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
     @Override
     public MemoryComputeKey<E> getMemoryComputeKey() {
         return MemoryComputeKey.of(this.getId(), this.getBiOperator(), false, true);
     }
 
+    private static final class Chunk {
+        private final int index;
+        private final List<Element> elements;
+
+        private Chunk(final int index, final List<Element> elements) {
+            this.index = index;
+            this.elements = elements;
+        }
+    }
+
+    /**
+     * Pulls the chunks of the start step for the workers, one at a time.
+     */
+    private static final class Chunks {
+        private final Step<?, ?> startStep;
+        private final int chunkSize;
+        private List<Element> first;
+        private int count = 0;
+
+        private Chunks(final Step<?, ?> startStep, final int chunkSize, final List<Element> first) {
+            this.startStep = startStep;
+            this.chunkSize = chunkSize;
+            this.first = first;
+        }
+
+        private synchronized Chunk next() {
+            if (null != this.first) {
+                final Chunk chunk = new Chunk(this.count++, this.first);
+                this.first = null;
+                return chunk;
+            }
+            return this.startStep.hasNext() ? new Chunk(this.count++, nextChunk(this.startStep, this.chunkSize)) : null;
+        }
+    }
+
+    /**
+     * The threads that reduce the chunks of all parallel traversals, created on first use. There is one thread per
+     * available processor no matter how many traversals run at once, so concurrent traversals queue for the threads
+     * rather than each starting {@code parallelism} threads of its own.
+     */
+    private static final class WorkerPool {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            final Thread thread = new Thread(runnable, "gremlin-parallel-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
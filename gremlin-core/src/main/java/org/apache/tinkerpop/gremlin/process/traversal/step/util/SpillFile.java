@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A temporary file that a {@link org.apache.tinkerpop.gremlin.process.traversal.step.Spilling} step writes objects to
+ * with Gryo. The objects are read back in the order that they were written and more objects may be written after
+ * they have been read. The file is only created on the first write and is deleted when the {@code SpillFile} is
+ * cleared or closed, or when the JVM exits if it was never closed.
+ */
+public final class SpillFile<T> implements AutoCloseable {
+
+    /**
+     * The configuration key of a {@link Graph} for the directory that the spill files of its traversals are written
+     * to. If the graph does not set it, the files are written to a {@code gremlin-spill} directory in the default
+     * temporary directory of the JVM.
+     */
+    public static final String SPILL_DIRECTORY = "gremlin.spill.directory";
+
+    /**
+     * The number of hash partitions that a spilling step writes to and that a partition is split into when it holds
+     * more keys than the step may hold in memory.
+     */
+    public static final int PARTITIONS = 16;
+
+    /**
+     * The depth after which a partition is no longer split, as its keys no longer differ in their hash.
+     */
+    public static final int MAX_DEPTH = 8;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Kryo kryo;
+    private final File directory;
+    private File file = null;
+    private Output output = null;
+    private Input input = null;
+    private long size = 0;
+
+    public SpillFile(final Kryo kryo, final File directory) {
+        this.kryo = kryo;
+        this.directory = directory;
+    }
+
+    public void write(final T object) {
+        if (null == this.output) {
+            this.closeInput();
+            try {
+                if (null == this.file) {
+                    this.file = File.createTempFile("gremlin-spill-", ".kryo", this.directory);
+                    this.file.deleteOnExit();
+                }
+                this.output = new Output(new FileOutputStream(this.file, true), BUFFER_SIZE);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+        this.kryo.writeClassAndObject(this.output, object);
+        this.size++;
+    }
+
+    /**
+     * Gets the number of objects that have been written.
+     */
+    public long size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    /**
+     * Reads all of the objects that have been written so far. Only one iterator may be open at a time and a write
+     * closes the iterator that is open.
+     */
+    public Iterator<T> read() {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+        this.closeInput();
+        if (0 == this.size)
+            return Collections.emptyIterator();
+        try {
+            this.input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        final Input input = this.input;
+        final long count = this.size;
+        return new Iterator<T>() {
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.position < count;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.position++;
+                final T object = (T) kryo.readClassAndObject(input);
+                if (this.position == count)
+                    input.close();
+                return object;
+            }
+        };
+    }
+
+    /**
+     * Removes all of the objects and deletes the file.
+     */
+    public void clear() {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+        this.closeInput();
+        if (null != this.file) {
+            this.file.delete();
+            this.file = null;
+        }
+        this.size = 0;
+    }
+
+    @Override
+    public void close() {
+        this.clear();
+    }
+
+    private void closeInput() {
+        if (null != this.input) {
+            this.input.close();
+            this.input = null;
+        }
+    }
+
+    /**
+     * Creates the {@code Kryo} instance that the spill files of a step share, which is aware of the serializers that
+     * the {@link Graph} of the traversal registers.
+     */
+    public static Kryo createKryo(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph> graph = traversal.getGraph();
+        return graph.isPresent() ?
+                graph.get().io(IoCore.gryo()).mapper().create().createMapper() :
+                GryoMapper.build().create().createMapper();
+    }
+
+    /**
+     * Gets the directory that the spill files of a traversal are written to, which is {@link #SPILL_DIRECTORY} of the
+     * {@link Graph} of the traversal if it is set. The directory is only ever taken from the configuration of the
+     * graph and never from the traversal itself, so that a remote traversal can not choose where files are written.
+     */
+    public static File getDirectory(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph> graph = traversal.getGraph();
+        final File directory = graph.isPresent() && graph.get().configuration().containsKey(SPILL_DIRECTORY) ?
+                new File(graph.get().configuration().getString(SPILL_DIRECTORY)) :
+                new File(System.getProperty("java.io.tmpdir"), "gremlin-spill");
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory())
+            throw new IllegalStateException("The spill directory could not be created: " + directory);
+        return directory;
+    }
+
+    /**
+     * Gets the index of the child partition that a key is written to among the {@link #PARTITIONS} children of a
+     * partition at the given depth. The hash of the key is mixed with the depth so that the keys of a partition that
+     * grew too large are spread over all of the children of that partition when it is split.
+     */
+    public static int partition(final Object key, final int depth) {
+        int hash = (null == key ? 0 : key.hashCode()) ^ (depth * 0x9E3779B9);
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % PARTITIONS;
+    }
+
+    /**
+     * Prepares a traverser to be written by replacing the graph objects it holds with references to them, including
+     * those nested in lists, sets, maps and paths.
+     */
+    public static <S> Traverser.Admin<S> detach(final Traverser.Admin<S> traverser) {
+        traverser.detach();
+        final S object = traverser.get();
+        final S detached = detachObject(object);
+        if (detached != object)
+            traverser.set(detached);
+        return traverser;
+    }
+
+    /**
+     * Replaces the graph objects of an object that is about to be written with references to them, including those
+     * nested in lists, sets, maps and paths.
+     */
+    public static <T> T detachObject(final T object) {
+        return (T) rewrite(object, ReferenceFactory::detach);
+    }
+
+    /**
+     * Restores a traverser that was read back, giving it the side-effects of the traversal and attaching the
+     * referenced graph objects to the graph of the traversal.
+     */
+    public static <S> Traverser.Admin<S> attach(final Traverser.Admin<S> traverser, final Traversal.Admin<?, ?> traversal) {
+        traverser.setSideEffects(traversal.getSideEffects());
+        final S object = traverser.get();
+        final S attached = attachObject(object, traversal);
+        if (attached != object)
+            traverser.set(attached);
+        return traverser;
+    }
+
+    /**
+     * Attaches the graph objects of an object that was read back to the graph of the traversal, including those
+     * nested in lists, sets, maps and paths.
+     */
+    public static <T> T attachObject(final T object, final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph> graph = traversal.getGraph();
+        if (!graph.isPresent())
+            return object;
+        final Function<Attachable<Object>, Object> method = Attachable.Method.get(graph.get());
+        return (T) rewrite(object, o -> o instanceof Attachable ? ((Attachable<Object>) o).attach(method) : o);
+    }
+
+    /**
+     * Applies the function to the object or, for a list, set or map, to each of its members. A collection is only
+     * copied if one of its members changed and a {@link BulkSet} or {@link Tree} is copied into its own type.
+     */
+    private static Object rewrite(final Object object, final Function<Object, Object> function) {
+        if (object instanceof BulkSet) {
+            final BulkSet<Object> bulkSet = (BulkSet<Object>) object;
+            final BulkSet<Object> rewritten = new BulkSet<>();
+            final boolean[] changed = {false};
+            bulkSet.forEach((member, bulk) -> {
+                final Object rewrittenMember = rewrite(member, function);
+                changed[0] |= rewrittenMember != member;
+                rewritten.add(rewrittenMember, bulk);
+            });
+            return changed[0] ? rewritten : object;
+        } else if (object instanceof Tree) {
+            final Tree<Object> rewritten = new Tree<>();
+            boolean changed = false;
+            for (final Map.Entry<Object, Tree<Object>> entry : ((Tree<Object>) object).entrySet()) {
+                final Object key = rewrite(entry.getKey(), function);
+                final Tree<Object> value = (Tree<Object>) rewrite(entry.getValue(), function);
+                changed |= key != entry.getKey() || value != entry.getValue();
+                rewritten.put(key, value);
+            }
+            return changed ? rewritten : object;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> rewritten = new LinkedHashMap<>();
+            boolean changed = false;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                final Object key = rewrite(entry.getKey(), function);
+                final Object value = rewrite(entry.getValue(), function);
+                changed |= key != entry.getKey() || value != entry.getValue();
+                rewritten.put(key, value);
+            }
+            return changed ? rewritten : object;
+        } else if (object instanceof List || object instanceof Set) {
+            final Collection<Object> rewritten = object instanceof List ? new ArrayList<>() : new LinkedHashSet<>();
+            boolean changed = false;
+            for (final Object member : (Collection<?>) object) {
+                final Object rewrittenMember = rewrite(member, function);
+                changed |= rewrittenMember != member;
+                rewritten.add(rewrittenMember);
+            }
+            return changed ? rewritten : object;
+        } else
+            return function.apply(object);
+    }
+}
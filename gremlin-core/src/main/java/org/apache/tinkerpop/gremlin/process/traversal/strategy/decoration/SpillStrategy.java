@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.decoration.VertexProgramStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code SpillStrategy} bounds the memory that the {@link OrderGlobalStep}, {@link GroupStep} and
+ * {@link DedupGlobalStep} barriers of an OLTP traversal use. Each of these steps holds at most
+ * {@link Builder#threshold(int)} traversers, groups or keys in memory and writes the rest to temporary files with Gryo,
+ * which are read back in a streaming fashion when the step emits its results. Graph objects are written as references
+ * and attached to the graph again when they are read back. The files are written to the directory that the
+ * {@link SpillFile#SPILL_DIRECTORY} of the graph configuration sets, which can not be set through the strategy so that
+ * a remote traversal can not choose where the server writes files. The files are deleted when the traversal is
+ * closed.
+ * <p/>
+ * The strategy does not apply to traversals that execute on a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}
+ * or to traversals that require path history, as the path of a spilled traverser would no longer hold the graph
+ * objects themselves.
+ * <p/>
+ * <pre>
+ * g.withStrategies(SpillStrategy.build().threshold(100000).create())
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy> implements TraversalStrategy.DecorationStrategy {
+
+    private static final Set<Class<? extends DecorationStrategy>> PRIORS = Collections.singleton(VertexProgramStrategy.class);
+
+    private final int threshold;
+
+    private SpillStrategy(final int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be greater than zero: " + threshold);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.anyStepRecursively(step -> !step.getLabels().isEmpty() ||
+                        step.getRequirements().contains(TraverserRequirement.PATH) ||
+                        step.getRequirements().contains(TraverserRequirement.LABELED_PATH), TraversalHelper.getRootTraversal(traversal)))
+            return;
+        for (final Spilling step : TraversalHelper.getStepsOfAssignableClass(Spilling.class, traversal)) {
+            step.setSpillThreshold(this.threshold);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends DecorationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public int getThreshold() {
+        return this.threshold;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static final String THRESHOLD = "threshold";
+
+    public static SpillStrategy create(final Configuration configuration) {
+        final Builder builder = SpillStrategy.build();
+        if (configuration.containsKey(THRESHOLD))
+            builder.threshold(configuration.getInt(THRESHOLD));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, SpillStrategy.class.getCanonicalName());
+        map.put(THRESHOLD, this.threshold);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int threshold = 100000;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers, groups or keys that each step holds in memory before it writes to disk, which
+         * is 100000 by default.
+         */
+        public Builder threshold(final int threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.threshold);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyKeyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyValueStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code BatchingStrategy} turns on {@link Batching} for the steps of an OLTP traversal that map, filter or
+ * flat-map each traverser on its own without side-effects, e.g. {@code out()}, {@code has()} and {@code values()}.
+ * Such a step pulls {@link Builder#batchSize(int)} traversers from its previous step at a time and processes the
+ * whole array in one loop, and a chain of such steps hands the arrays along without the {@code hasNext()}/{@code next()}
+ * calls per traverser. The traversers are emitted in the same order as they would be otherwise, but as each step
+ * reads a batch ahead, a traversal that is not iterated to the end may have done more work than it had to. Steps of
+ * any other class, including provider specific subclasses of the steps above, process one traverser at a time.
+ * <p/>
+ * The strategy does not apply to traversals that execute on a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}.
+ * <p/>
+ * <pre>
+ * g.withStrategies(BatchingStrategy.build().batchSize(256).create())
+ * </pre>
+ */
+public final class BatchingStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final Set<Class<? extends Step>> BATCHING_STEPS = new HashSet<>(Arrays.asList(
+            VertexStep.class,
+            EdgeVertexStep.class,
+            EdgeOtherVertexStep.class,
+            PropertiesStep.class,
+            PropertyValueStep.class,
+            PropertyKeyStep.class,
+            IdStep.class,
+            LabelStep.class,
+            HasStep.class,
+            IsStep.class));
+
+    private final int batchSize;
+
+    private BatchingStrategy(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (BATCHING_STEPS.contains(step.getClass()))
+                ((Batching) step).setBatchSize(this.batchSize);
+        }
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static final String BATCH_SIZE = "batchSize";
+
+    public static BatchingStrategy create(final Configuration configuration) {
+        final Builder builder = BatchingStrategy.build();
+        if (configuration.containsKey(BATCH_SIZE))
+            builder.batchSize(configuration.getInt(BATCH_SIZE));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, BatchingStrategy.class.getCanonicalName());
+        map.put(BATCH_SIZE, this.batchSize);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int batchSize = 64;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers that each step pulls from its previous step at a time, which is 64 by default.
+         */
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public BatchingStrategy create() {
+            return new BatchingStrategy(this.batchSize);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizing;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TimeLimitStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * {@code ParallelStrategy} reduces an OLTP traversal of the form {@code g.V()...count()} on several threads. The
+ * vertices or edges of the {@link GraphStep} are handed out in chunks of {@link Builder#chunkSize(int)} to
+ * {@link Builder#parallelism(int)} workers, which each run a clone of the steps up to the first {@link Barrier} over
+ * their chunks. The workers run on a pool of one thread per available processor that all parallel traversals share,
+ * so concurrent traversals queue for those threads. The partial results are merged with the reducer of the barrier, the
+ * same as they are when the traversal executes on a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer},
+ * and the rest of the traversal runs on the calling thread.
+ * <p/>
+ * The strategy only applies when the first barrier of the traversal is a {@link Parallelizing} step, such as
+ * {@code count()}, {@code group()} or {@code fold()}, and the steps before it handle each traverser on its own, so
+ * steps with side-effects, lambdas, global ranges, mutations and other barriers leave the traversal as it is. Graphs
+ * that support transactions are left alone too, as the other threads would not see the transaction of the caller.
+ * <p/>
+ * <pre>
+ * g.withStrategies(ParallelStrategy.build().parallelism(8).create()).V().out().groupCount().by("country")
+ * </pre>
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final Predicate<Step> UNSAFE = step -> step instanceof SideEffectCapable ||
+            step instanceof Mutating ||
+            step instanceof LambdaHolder ||
+            step instanceof Ranging ||
+            step instanceof TimeLimitStep;
+
+    private final int parallelism;
+    private final int chunkSize;
+
+    private ParallelStrategy(final int parallelism, final int chunkSize) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be greater than zero: " + parallelism);
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be greater than zero: " + chunkSize);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) ||
+                TraversalHelper.onGraphComputer(traversal) ||
+                !GraphStep.isStartStep(traversal.getStartStep()) ||
+                !traversal.getGraph().isPresent() ||
+                traversal.getGraph().get().features().graph().supportsTransactions())
+            return;
+        final List<Step> steps = traversal.getSteps();
+        for (int i = 0; i < steps.size(); i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (step instanceof Barrier && !(step instanceof LocalBarrier)) {
+                if (step instanceof Parallelizing && i > 0 && !UNSAFE.test(step) && !isSpilling(step) &&
+                        !(step instanceof TraversalParent && TraversalHelper.anyStepRecursively(UNSAFE, (TraversalParent) step)))
+                    ((Parallelizing) step).setParallelism(this.parallelism, this.chunkSize);
+                return;
+            }
+            if (UNSAFE.test(step) || (step instanceof TraversalParent && isUnsafeParent((TraversalParent) step)))
+                return;
+        }
+    }
+
+    /**
+     * Local children are reset for each traverser, but the traversers of all chunks would pass through a barrier of
+     * a global child, so a barrier there would reduce each chunk on its own.
+     */
+    private static boolean isUnsafeParent(final TraversalParent parent) {
+        for (final Traversal.Admin<?, ?> localChild : parent.getLocalChildren()) {
+            if (TraversalHelper.anyStepRecursively(UNSAFE, localChild))
+                return true;
+        }
+        for (final Traversal.Admin<?, ?> globalChild : parent.getGlobalChildren()) {
+            if (TraversalHelper.anyStepRecursively(step -> UNSAFE.test(step) || (step instanceof Barrier && !(step instanceof LocalBarrier)), globalChild))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isSpilling(final Step<?, ?> step) {
+        return step instanceof Spilling && Integer.MAX_VALUE != ((Spilling) step).getSpillThreshold();
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static final String PARALLELISM = "parallelism";
+    public static final String CHUNK_SIZE = "chunkSize";
+
+    public static ParallelStrategy create(final Configuration configuration) {
+        final Builder builder = ParallelStrategy.build();
+        if (configuration.containsKey(PARALLELISM))
+            builder.parallelism(configuration.getInt(PARALLELISM));
+        if (configuration.containsKey(CHUNK_SIZE))
+            builder.chunkSize(configuration.getInt(CHUNK_SIZE));
+        return builder.create();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(STRATEGY, ParallelStrategy.class.getCanonicalName());
+        map.put(PARALLELISM, this.parallelism);
+        map.put(CHUNK_SIZE, this.chunkSize);
+        return new MapConfiguration(map);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int chunkSize = 1000;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of workers to reduce with, which is the number of available processors by default.
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * The number of vertices or edges of the start step that a thread reduces at a time, which is 1000 by default.
+         */
+        public Builder chunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.parallelism, this.chunkSize);
+        }
+    }
+}
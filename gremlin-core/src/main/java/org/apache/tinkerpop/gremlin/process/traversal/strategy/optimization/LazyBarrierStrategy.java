@@ -23,6 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
@@ -33,6 +34,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PathUtil;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Arrays;
@@ -40,6 +42,13 @@ import java.util.HashSet;
 import java.util.Set;
 
 /**
+ * {@code LazyBarrierStrategy} inserts adaptive {@link NoOpBarrierStep}s after the flatMap steps of a traversal that
+ * follow another flatMap step, where the traversers are likely to have been multiplied, so that equal traversers can
+ * be bulked. The steps of a {@code repeat()} traversal are taken to follow a flatMap step, as the traversers that
+ * loop through them have already been multiplied by the previous iteration. Barriers are not inserted while the
+ * traversers hold path labels that are still referenced, but are inserted again once {@link PathRetractionStrategy}
+ * has dropped those labels.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
@@ -69,15 +78,23 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                         TraversalHelper.hasStepOfAssignableClass(ProfileSideEffectStep.class, TraversalHelper.getRootTraversal(traversal)))) // necessary cause ProfileTest analyzes counts
             return;
 
-        boolean foundFlatMap = false;
+        // labels that no step refers to can not keep traversers from being bulked
+        final Set<String> referencedLabels = new HashSet<>();
+        TraversalHelper.applyTraversalRecursively(t -> t.getSteps().forEach(s -> referencedLabels.addAll(PathUtil.getReferencedLabels(s))), TraversalHelper.getRootTraversal(traversal));
+        final Set<String> pathLabels = new HashSet<>();
+
+        boolean foundFlatMap = traversal.getParent() instanceof RepeatStep &&
+                ((RepeatStep<?>) traversal.getParent()).getGlobalChildren().stream().anyMatch(child -> child == traversal);
         boolean labeledPath = false;
         for (int i = 0; i < traversal.getSteps().size(); i++) {
             final Step<?, ?> step = traversal.getSteps().get(i);
 
             if (step instanceof PathProcessor) {
                 final Set<String> keepLabels = ((PathProcessor) step).getKeepLabels();
-                if (null != keepLabels && keepLabels.isEmpty()) // if no more path data, then start barrier'ing again
-                    labeledPath = false;
+                if (null != keepLabels) { // if no more path data, then start barrier'ing again
+                    pathLabels.retainAll(keepLabels);
+                    labeledPath = !pathLabels.isEmpty();
+                }
             }
             if (step instanceof FlatMapStep &&
                     !(step instanceof VertexStep && ((VertexStep) step).returnsEdge()) ||
@@ -87,14 +104,18 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                 if (foundFlatMap && !labeledPath &&
                         !(step.getNextStep() instanceof Barrier) &&
                         (!(step.getNextStep() instanceof EmptyStep) || step.getTraversal().getParent() instanceof EmptyStep)) {
-                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE);
+                    final Step noOpBarrierStep = new NoOpBarrierStep<>(traversal, MAX_BARRIER_SIZE, true);
                     TraversalHelper.copyLabels(step, noOpBarrierStep, true);
                     TraversalHelper.insertAfterStep(noOpBarrierStep, step, traversal);
                 } else
                     foundFlatMap = true;
             }
-            if (!step.getLabels().isEmpty())
-                labeledPath = true;
+            for (final String label : step.getLabels()) {
+                if (referencedLabels.contains(label)) {
+                    pathLabels.add(label);
+                    labeledPath = true;
+                }
+            }
 
         }
     }
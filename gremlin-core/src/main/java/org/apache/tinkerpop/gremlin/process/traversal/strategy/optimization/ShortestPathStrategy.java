@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SimplePathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ShortestPathStrategy} recognizes a point-to-point shortest path query in OLTP and replaces its
+ * {@link RepeatStep} with a {@link ShortestPathStep}, which searches breadth-first from both ends rather than
+ * expanding every simple path from the source. The {@code repeat()} must only take a single vertex step and
+ * {@code simplePath()}, must be ended by an id test and must be followed by {@code limit(1)}, optionally after
+ * {@code path()}, as it is only then that any one of the simple paths to the target is a valid result.
+ *
+ * @example <pre>
+ * __.V(1).repeat(out().simplePath()).until(hasId(6)).limit(1)             // the repeat() is replaced by ShortestPathStep(OUT,[~id.eq(6)])
+ * __.V(1).repeat(both("knows").simplePath()).until(hasId(5,6)).path().limit(1)
+ * __.V(1).repeat(out().simplePath()).until(hasId(6))                      // is not replaced as all paths are requested
+ * __.V(1).repeat(out().simplePath()).emit().until(hasId(6)).limit(1)      // is not replaced as emitted paths are not shortest paths
+ * </pre>
+ */
+public final class ShortestPathStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final ShortestPathStrategy INSTANCE = new ShortestPathStrategy();
+
+    private ShortestPathStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        // nested repeat() steps share the loop counter of their traverser which this strategy does not replicate
+        if (!(traversal.getParent() instanceof EmptyStep) || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final RepeatStep<?> repeatStep : TraversalHelper.getStepsOfClass(RepeatStep.class, traversal)) {
+            if (!isShortestPath(repeatStep))
+                continue;
+            final VertexStep<?> vertexStep = (VertexStep<?>) repeatStep.getGlobalChildren().get(0).getStartStep();
+            final HasStep<?> hasStep = (HasStep<?>) repeatStep.getUntilTraversal().getStartStep();
+            final ShortestPathStep shortestPathStep = new ShortestPathStep(traversal, vertexStep.getDirection(),
+                    vertexStep.getEdgeLabels(), new ArrayList<>(hasStep.getHasContainers()));
+            TraversalHelper.replaceStep((Step) repeatStep, shortestPathStep, traversal);
+            TraversalHelper.copyLabels(repeatStep, shortestPathStep, false);
+        }
+    }
+
+    private static boolean isShortestPath(final RepeatStep<?> repeatStep) {
+        if (null != repeatStep.getEmitTraversal() || null == repeatStep.getUntilTraversal() || repeatStep.untilFirst)
+            return false;
+
+        // only the first path is requested
+        Step<?, ?> nextStep = repeatStep.getNextStep();
+        if (nextStep instanceof PathStep)
+            nextStep = nextStep.getNextStep();
+        if (!(nextStep instanceof RangeGlobalStep) ||
+                ((RangeGlobalStep) nextStep).getLowRange() != 0 || ((RangeGlobalStep) nextStep).getHighRange() != 1)
+            return false;
+
+        // repeat(out().simplePath())
+        final List<Step> repeatSteps = repeatStep.getGlobalChildren().get(0).getSteps();
+        if (repeatSteps.size() != 3 ||
+                !(repeatSteps.get(0) instanceof VertexStep) || !((VertexStep) repeatSteps.get(0)).returnsVertex() ||
+                !(repeatSteps.get(1) instanceof SimplePathStep) ||
+                !(repeatSteps.get(2) instanceof RepeatStep.RepeatEndStep) ||
+                isLabeled(repeatSteps.get(0)) || isLabeled(repeatSteps.get(1)))
+            return false;
+
+        // until(hasId(x))
+        final List<Step> untilSteps = repeatStep.getUntilTraversal().getSteps();
+        if (untilSteps.size() != 1 || !(untilSteps.get(0) instanceof HasStep) || isLabeled(untilSteps.get(0)))
+            return false;
+        final List<HasContainer> hasContainers = ((HasStep<?>) untilSteps.get(0)).getHasContainers();
+        return hasContainers.size() == 1 &&
+                hasContainers.get(0).getKey().equals(T.id.getAccessor()) &&
+                (hasContainers.get(0).getBiPredicate() == Compare.eq || hasContainers.get(0).getBiPredicate() == Contains.within);
+    }
+
+    /**
+     * Hidden labels are markers left by other strategies and do not end up in the path.
+     */
+    private static boolean isLabeled(final Step<?, ?> step) {
+        for (final String label : step.getLabels()) {
+            if (!Graph.Hidden.isHidden(label))
+                return true;
+        }
+        return false;
+    }
+
+    public static ShortestPathStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -19,79 +19,105 @@
 package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
+ * A {@link Set} of traversers that merges the bulk of equal traversers and iterates them in insertion order. The
+ * traversers are held in an array in the order they were added and are found with an open addressing hash table of
+ * indices into that array. The hash code of each traverser is computed once when it is added.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final Traverser.Admin[] EMPTY_TRAVERSERS = new Traverser.Admin[0];
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final int MINIMUM_CAPACITY = 8;
+
+    // the traversers in insertion order with null where a traverser was removed, along with their hash codes
+    private transient Traverser.Admin<S>[] traversers = EMPTY_TRAVERSERS;
+    private transient int[] hashes = EMPTY_INTS;
+    // linear probing table of traverser index + 1 where 0 marks an empty slot
+    private transient int[] slots = EMPTY_INTS;
+    private transient int head = 0;
+    private transient int tail = 0;
+    private transient int size = 0;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int slot = this.slotOf(traverser, hash(traverser));
+        return slot < 0 ? null : this.traversers[this.slots[slot] - 1];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
         long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
         }
         return bulk;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return null != traverser && this.slotOf(traverser, hash(traverser)) >= 0;
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
-            return true;
-        } else {
-            existing.merge(traverser);
-            return false;
+        return this.add(traverser, hash(traverser));
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends Traverser.Admin<S>> traversers) {
+        if (!(traversers instanceof TraverserSet))
+            return super.addAll(traversers);
+        // the hash codes of the other set are reused rather than computed again
+        final TraverserSet<S> other = (TraverserSet<S>) traversers;
+        boolean modified = false;
+        for (int i = other.head; i < other.tail; i++) {
+            if (null != other.traversers[i] && this.add(other.traversers[i], other.hashes[i]))
+                modified = true;
         }
+        return modified;
     }
 
     @Override
@@ -101,63 +127,275 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
-        return next;
+        final int index = this.head;
+        final Traverser.Admin<S> traverser = this.traversers[index];
+        this.removeAt(this.slotOfIndex(index), index);
+        return traverser;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.head];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.traversers[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        if (null == traverser)
+            return false;
+        final int slot = this.slotOf(traverser, hash(traverser));
+        if (slot < 0)
+            return false;
+        this.removeAt(slot, this.slots[slot] - 1);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        if (0 != this.tail) {
+            Arrays.fill(this.traversers, this.head, this.tail, null);
+            Arrays.fill(this.slots, 0);
+        }
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
-    }
-
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED | Spliterator.NONNULL);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.compact();
+        Arrays.sort(this.traversers, 0, this.size, comparator);
+        for (int i = 0; i < this.size; i++) {
+            this.hashes[i] = hash(this.traversers[i]);
+        }
+        this.rehash(this.slots.length);
     }
 
     public void shuffle() {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.shuffle(list);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.compact();
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = this.size - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Traverser.Admin<S> traverser = this.traversers[i];
+            this.traversers[i] = this.traversers[j];
+            this.traversers[j] = traverser;
+            final int hash = this.hashes[i];
+            this.hashes[i] = this.hashes[j];
+            this.hashes[j] = hash;
+        }
+        this.rehash(this.slots.length);
+    }
+
+    private boolean add(final Traverser.Admin<S> traverser, final int hash) {
+        int slot = this.slotOf(traverser, hash);
+        if (slot >= 0) {
+            this.traversers[this.slots[slot] - 1].merge(traverser);
+            return false;
+        }
+        if (this.tail == this.traversers.length || (this.size + 1) * 2 > this.slots.length) {
+            this.ensureCapacity();
+            slot = this.slotOf(traverser, hash);
+        }
+        final int index = this.tail++;
+        this.traversers[index] = traverser;
+        this.hashes[index] = hash;
+        this.slots[-slot - 1] = index + 1;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Gets the slot that holds the given traverser or, if it is not present, {@code -(slot + 1)} of the empty slot that
+     * it would be placed in.
+     */
+    private int slotOf(final Object traverser, final int hash) {
+        if (0 == this.slots.length)
+            return -1;
+        final int mask = this.slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int index = this.slots[slot] - 1;
+            if (index < 0)
+                return -slot - 1;
+            if (this.hashes[index] == hash && areEqual(traverser, this.traversers[index]))
+                return slot;
+        }
+    }
+
+    private int slotOfIndex(final int index) {
+        final int mask = this.slots.length - 1;
+        int slot = this.hashes[index] & mask;
+        while (this.slots[slot] != index + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeAt(final int slot, final int index) {
+        this.traversers[index] = null;
+        this.size--;
+        // shift later entries of the probe sequence back into the hole so that lookups never stop early
+        final int mask = this.slots.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; this.slots[next] != 0; next = (next + 1) & mask) {
+            final int ideal = this.hashes[this.slots[next] - 1] & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                this.slots[hole] = this.slots[next];
+                hole = next;
+            }
+        }
+        this.slots[hole] = 0;
+        if (0 == this.size) {
+            this.head = 0;
+            this.tail = 0;
+        } else if (index == this.head) {
+            while (null == this.traversers[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    private void ensureCapacity() {
+        boolean compacted = false;
+        if (this.tail == this.traversers.length) {
+            if (this.size < this.traversers.length / 2) {
+                // at least half of the array is removed traversers so reclaim that space rather than grow
+                this.compact();
+                compacted = true;
+            } else {
+                final int capacity = Math.max(MINIMUM_CAPACITY, this.traversers.length * 2);
+                this.traversers = Arrays.copyOf(this.traversers, capacity);
+                this.hashes = Arrays.copyOf(this.hashes, capacity);
+            }
+        }
+        if ((this.size + 1) * 2 > this.slots.length)
+            this.rehash(Math.max(MINIMUM_CAPACITY * 2, this.slots.length * 2));
+        else if (compacted)
+            this.rehash(this.slots.length);
+    }
+
+    /**
+     * Moves the traversers to the front of the array in the same order, leaving no removed traversers between them.
+     */
+    private void compact() {
+        if (this.head == 0 && this.tail == this.size)
+            return;
+        int index = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) {
+                this.traversers[index] = this.traversers[i];
+                this.hashes[index++] = this.hashes[i];
+            }
+        }
+        Arrays.fill(this.traversers, index, this.tail, null);
+        this.head = 0;
+        this.tail = index;
+    }
+
+    private void rehash(final int capacity) {
+        if (capacity == this.slots.length)
+            Arrays.fill(this.slots, 0);
+        else
+            this.slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) {
+                int slot = this.hashes[i] & mask;
+                while (this.slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                this.slots[slot] = i + 1;
+            }
+        }
+    }
+
+    private static int hash(final Object traverser) {
+        // sequential hash codes like those of numbers and numeric ids would otherwise fill runs of adjacent slots
+        final int hash = traverser.hashCode() * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Determines if the given object is equal to a traverser in the set, checking the object and step of the most
+     * common {@link B_O_Traverser} directly.
+     */
+    private static boolean areEqual(final Object traverser, final Traverser.Admin<?> existing) {
+        if (traverser == existing)
+            return true;
+        if (traverser.getClass() == B_O_Traverser.class && existing.getClass() == B_O_Traverser.class) {
+            final Object object = ((B_O_Traverser) traverser).get();
+            final Object existingObject = existing.get();
+            final String stepId = ((B_O_Traverser) traverser).getStepId();
+            final String existingStepId = existing.getStepId();
+            return (object == existingObject || object.equals(existingObject)) &&
+                    (stepId == existingStepId || stepId.equals(existingStepId));
+        }
+        return traverser.equals(existing);
+    }
+
+    private void writeObject(final ObjectOutputStream outputStream) throws IOException {
+        outputStream.defaultWriteObject();
+        outputStream.writeInt(this.size);
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                outputStream.writeObject(this.traversers[i]);
+        }
     }
 
+    private void readObject(final ObjectInputStream inputStream) throws IOException, ClassNotFoundException {
+        inputStream.defaultReadObject();
+        this.traversers = EMPTY_TRAVERSERS;
+        this.hashes = EMPTY_INTS;
+        this.slots = EMPTY_INTS;
+        final int size = inputStream.readInt();
+        for (int i = 0; i < size; i++) {
+            this.add((Traverser.Admin<S>) inputStream.readObject());
+        }
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int next = head;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (this.next < tail && null == traversers[this.next]) {
+                this.next++;
+            }
+            return this.next < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            this.last = this.next++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0 || null == traversers[this.last])
+                throw new IllegalStateException();
+            removeAt(slotOfIndex(this.last), this.last);
+            this.last = -1;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
@@ -111,21 +112,30 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     public void applyStrategies() throws IllegalStateException {
         if (this.locked) throw Traversal.Exceptions.traversalIsLocked();
         TraversalHelper.reIdSteps(this.stepPosition, this);
-        this.strategies.applyStrategies(this);
-        boolean hasGraph = null != this.graph;
-        for (final Step<?, ?> step : this.getSteps()) {
-            if (step instanceof TraversalParent) {
-                for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
-                    globalChild.setStrategies(this.strategies);
-                    globalChild.setSideEffects(this.sideEffects);
-                    if (hasGraph) globalChild.setGraph(this.graph);
-                    globalChild.applyStrategies();
-                }
-                for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
-                    localChild.setStrategies(this.strategies);
-                    localChild.setSideEffects(this.sideEffects);
-                    if (hasGraph) localChild.setGraph(this.graph);
-                    localChild.applyStrategies();
+        // a root traversal that was compiled before takes a clone of the compiled steps from the traversal cache
+        final OptimizedTraversalCache cache = this.parent instanceof EmptyStep && null != this.graph ?
+                TraversalStrategies.GlobalCache.getTraversalCache(this.graph.getClass()).orElse(null) : null;
+        final OptimizedTraversalCache.Key key = null == cache ? null : cache.key(this);
+        final Traversal.Admin<?, ?> optimized = null == key ? null : cache.get(key);
+        if (null != optimized)
+            this.applyOptimizedTraversal(optimized);
+        else {
+            this.strategies.applyStrategies(this);
+            boolean hasGraph = null != this.graph;
+            for (final Step<?, ?> step : this.getSteps()) {
+                if (step instanceof TraversalParent) {
+                    for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
+                        globalChild.setStrategies(this.strategies);
+                        globalChild.setSideEffects(this.sideEffects);
+                        if (hasGraph) globalChild.setGraph(this.graph);
+                        globalChild.applyStrategies();
+                    }
+                    for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
+                        localChild.setStrategies(this.strategies);
+                        localChild.setSideEffects(this.sideEffects);
+                        if (hasGraph) localChild.setGraph(this.graph);
+                        localChild.applyStrategies();
+                    }
                 }
             }
         }
@@ -136,6 +146,48 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
             this.getTraverserRequirements();
         }
         this.locked = true;
+        if (null != key && null == optimized)
+            cache.put(key, this);
+    }
+
+    /**
+     * Replaces the steps of this traversal with those of a clone of a compiled traversal. Strategies may register
+     * side-effects and a sack so those are merged in from the compiled traversal as well.
+     */
+    private void applyOptimizedTraversal(final Traversal.Admin<?, ?> optimized) {
+        this.steps.clear();
+        for (final Step<?, ?> step : optimized.getSteps()) {
+            step.setTraversal(this);
+            final Step previousStep = this.steps.isEmpty() ? EmptyStep.instance() : this.steps.get(this.steps.size() - 1);
+            step.setPreviousStep(previousStep);
+            previousStep.setNextStep(step);
+            step.setNextStep(EmptyStep.instance());
+            this.steps.add(step);
+        }
+        final TraversalSideEffects optimizedSideEffects = optimized.getSideEffects();
+        optimizedSideEffects.mergeInto(this.sideEffects);
+        if (null == this.sideEffects.getSackInitialValue() && null != optimizedSideEffects.getSackInitialValue())
+            this.sideEffects.setSack(optimizedSideEffects.getSackInitialValue(), optimizedSideEffects.getSackSplitter(), optimizedSideEffects.getSackMerger());
+        this.integrateOptimizedChildren(this);
+    }
+
+    private void integrateOptimizedChildren(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    child.setStrategies(this.strategies);
+                    child.setSideEffects(this.sideEffects);
+                    child.setGraph(this.graph);
+                    this.integrateOptimizedChildren(child);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    child.setStrategies(this.strategies);
+                    child.setSideEffects(this.sideEffects);
+                    child.setGraph(this.graph);
+                    this.integrateOptimizedChildren(child);
+                }
+            }
+        }
     }
 
     @Override
@@ -203,6 +255,17 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
         this.lastTraverser = EmptyTraverser.instance();
     }
 
+    /**
+     * Closes the {@link Spilling} steps of the traversal and of its child traversals, which deletes any temporary
+     * files that they still hold when the traversal is not fully iterated.
+     */
+    @Override
+    public void close() {
+        for (final Spilling step : TraversalHelper.getStepsOfAssignableClassRecursively(Spilling.class, this)) {
+            step.close();
+        }
+    }
+
     @Override
     public void addStart(final Traverser.Admin<S> start) {
         if (!this.locked) this.applyStrategies();
@@ -232,13 +295,21 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
 
     @Override
     public DefaultTraversal<S, E> clone() {
+        return this.clone(this.steps.size());
+    }
+
+    /**
+     * Clones the traversal with only the steps before {@code endIndex}, which allows the section of a traversal that
+     * leads up to a step to run on its own without the cost of cloning the steps after it.
+     */
+    public DefaultTraversal<S, E> clone(final int endIndex) {
         try {
             final DefaultTraversal<S, E> clone = (DefaultTraversal<S, E>) super.clone();
             clone.steps = new ArrayList<>();
             clone.unmodifiableSteps = Collections.unmodifiableList(clone.steps);
             clone.sideEffects = this.sideEffects.clone();
             clone.strategies = this.strategies;
-            for (final Step<?, ?> step : this.steps) {
+            for (final Step<?, ?> step : this.steps.subList(0, endIndex)) {
                 final Step<?, ?> clonedStep = step.clone();
                 clonedStep.setTraversal(clone);
                 final Step previousStep = clone.steps.isEmpty() ? EmptyStep.instance() : clone.steps.get(clone.steps.size() - 1);
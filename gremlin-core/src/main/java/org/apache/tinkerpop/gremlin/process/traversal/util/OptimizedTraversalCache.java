@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.VertexComputing;
+import org.apache.tinkerpop.gremlin.process.remote.traversal.step.map.RemoteStep;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of root traversals that have had their strategies applied. A traversal is looked up by a
+ * fingerprint made of its {@link Bytecode}, its steps, its {@link TraversalStrategies} and the {@link Graph} it is
+ * bound to. On a hit, {@link DefaultTraversal#applyStrategies()} takes a clone of the cached steps rather than applying
+ * the strategies again. The least recently used traversal is removed once the cache holds more than its maximum size.
+ * A cache is registered for a {@link Graph} class with
+ * {@link TraversalStrategies.GlobalCache#registerTraversalCache(Class, int)} and the traversals of a closed graph are
+ * removed with {@link TraversalStrategies.GlobalCache#clearTraversalCache(Graph)}.
+ */
+public final class OptimizedTraversalCache {
+
+    private final int maximumSize;
+    private final Map<Key, Traversal.Admin<?, ?>> cache;
+
+    public OptimizedTraversalCache(final int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("The maximum size of the traversal cache must be greater than zero: " + maximumSize);
+        this.maximumSize = maximumSize;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<Key, Traversal.Admin<?, ?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Traversal.Admin<?, ?>> eldest) {
+                return this.size() > OptimizedTraversalCache.this.maximumSize;
+            }
+        });
+    }
+
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    public int size() {
+        return this.cache.size();
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    /**
+     * Removes the traversals cached for a {@link Graph} instance.
+     */
+    public void clear(final Graph graph) {
+        synchronized (this.cache) {
+            this.cache.keySet().removeIf(key -> key.graph == graph);
+        }
+    }
+
+    /**
+     * Gets the fingerprint of a traversal that has not had its strategies applied yet or {@code null} if the
+     * traversal can not be cached because it was not built from {@link Bytecode} or is not bound to a {@link Graph}.
+     */
+    Key key(final Traversal.Admin<?, ?> traversal) {
+        final Bytecode bytecode = traversal.getBytecode();
+        if (bytecode.getStepInstructions().isEmpty() || !traversal.getGraph().isPresent())
+            return null;
+        return new Key(traversal.getGraph().get(), traversal.getStrategies().toList(), bytecode, traversal.hashCode());
+    }
+
+    /**
+     * Gets a clone of the optimized traversal cached for the fingerprint or {@code null} if there is none.
+     */
+    Traversal.Admin<?, ?> get(final Key key) {
+        final Traversal.Admin<?, ?> traversal = this.cache.get(key);
+        return null == traversal ? null : traversal.clone();
+    }
+
+    /**
+     * Caches a clone of a traversal that just had its strategies applied. The clone is taken before iteration
+     * changes the state of the steps. Traversals that are submitted to a {@link RemoteStep} or a
+     * {@link VertexComputing} step are not cached as their cost lies outside of strategy application.
+     */
+    void put(final Key key, final Traversal.Admin<?, ?> traversal) {
+        if (!TraversalHelper.hasStepOfAssignableClass(RemoteStep.class, traversal) &&
+                !TraversalHelper.hasStepOfAssignableClass(VertexComputing.class, traversal))
+            this.cache.put(key, traversal.clone());
+    }
+
+    static final class Key {
+        private final Graph graph;
+        private final List<TraversalStrategy<?>> strategies;
+        private final Bytecode bytecode;
+        private final int stepsHashCode;
+        private final int hashCode;
+
+        private Key(final Graph graph, final List<TraversalStrategy<?>> strategies, final Bytecode bytecode, final int stepsHashCode) {
+            this.graph = graph;
+            // strategies and bytecode may be added to after the traversal is compiled so the key holds copies
+            this.strategies = new ArrayList<>(strategies);
+            this.bytecode = bytecode.clone();
+            this.stepsHashCode = stepsHashCode;
+            int hashCode = System.identityHashCode(graph) ^ this.bytecode.hashCode() ^ stepsHashCode;
+            for (final TraversalStrategy<?> strategy : this.strategies) {
+                hashCode = 31 * hashCode + System.identityHashCode(strategy);
+            }
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Key))
+                return false;
+            final Key key = (Key) other;
+            return this.hashCode == key.hashCode &&
+                    this.graph == key.graph &&
+                    this.stepsHashCode == key.stepsHashCode &&
+                    sameStrategies(this.strategies, key.strategies) &&
+                    this.bytecode.equals(key.bytecode);
+        }
+
+        /**
+         * Strategies of the same class are equal to each other so instances are compared instead, as two instances of
+         * a decoration strategy like {@code PartitionStrategy} may be configured differently.
+         */
+        private static boolean sameStrategies(final List<TraversalStrategy<?>> strategies, final List<TraversalStrategy<?>> otherStrategies) {
+            if (strategies.size() != otherStrategies.size())
+                return false;
+            for (int i = 0; i < strategies.size(); i++) {
+                if (strategies.get(i) != otherStrategies.get(i))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
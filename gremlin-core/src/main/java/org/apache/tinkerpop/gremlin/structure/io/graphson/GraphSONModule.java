@@ -38,8 +38,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.Elemen
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.HaltedTraverserStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.PartitionStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchingStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.AdjacentToIncidentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
@@ -52,6 +55,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Path
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.PathRetractionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RangeByIsCountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RepeatUnrollStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.LambdaRestrictionStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ReadOnlyStrategy;
@@ -155,9 +159,12 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             EventStrategy.class,
                             HaltedTraverserStrategy.class,
                             PartitionStrategy.class,
+                            SpillStrategy.class,
                             SubgraphStrategy.class,
+                            BatchingStrategy.class,
                             LazyBarrierStrategy.class,
                             MatchAlgorithmStrategy.class,
+                            ParallelStrategy.class,
                             AdjacentToIncidentStrategy.class,
                             FilterRankingStrategy.class,
                             IdentityRemovalStrategy.class,
@@ -169,6 +176,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                             PathRetractionStrategy.class,
                             RangeByIsCountStrategy.class,
                             RepeatUnrollStrategy.class,
+                            ShortestPathStrategy.class,
                             ComputerVerificationStrategy.class,
                             LambdaRestrictionStrategy.class,
                             ReadOnlyStrategy.class,
@@ -263,9 +271,12 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     EventStrategy.class,
                     HaltedTraverserStrategy.class,
                     PartitionStrategy.class,
+                    SpillStrategy.class,
                     SubgraphStrategy.class,
+                    BatchingStrategy.class,
                     LazyBarrierStrategy.class,
                     MatchAlgorithmStrategy.class,
+                    ParallelStrategy.class,
                     AdjacentToIncidentStrategy.class,
                     FilterRankingStrategy.class,
                     IdentityRemovalStrategy.class,
@@ -277,6 +288,7 @@ abstract class GraphSONModule extends TinkerPopJacksonModule {
                     PathRetractionStrategy.class,
                     RangeByIsCountStrategy.class,
                     RepeatUnrollStrategy.class,
+                    ShortestPathStrategy.class,
                     ComputerVerificationStrategy.class,
                     LambdaRestrictionStrategy.class,
                     ReadOnlyStrategy.class,
@@ -126,9 +126,12 @@ public final class GryoReader implements GraphReader {
         final Input input = new Input(inputStream);
         this.readHeader(input);
         final StarGraph starGraph = this.kryo.readObject(input, StarGraph.class, serializer);
+        // a filtered vertex may not have been read to its end so there is no terminator to read
+        if (null == starGraph)
+            return Optional.empty();
         // read the terminator
         this.kryo.readClassAndObject(input);
-        return Optional.ofNullable(starGraph == null ? null : starGraph.getStarVertex());
+        return Optional.of(starGraph.getStarVertex());
     }
 
     /**
@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraver
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.LabelSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
 import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
 import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
@@ -131,6 +132,29 @@ public final class GryoSerializers {
         }
     }
 
+    /**
+     * Serializes a {@link LabelSet} as its labels and interns it again when read.
+     */
+    public final static class LabelSetSerializer implements SerializerShim<LabelSet> {
+        @Override
+        public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final LabelSet labelSet) {
+            output.writeInt(labelSet.size());
+            for (final String label : labelSet) {
+                output.writeString(label);
+            }
+        }
+
+        @Override
+        public <I extends InputShim> LabelSet read(final KryoShim<I, ?> kryo, final I input, final Class<LabelSet> labelSetClass) {
+            final int size = input.readInt();
+            final List<String> labels = new ArrayList<>(size);
+            for (int ix = 0; ix < size; ix++) {
+                labels.add(input.readString());
+            }
+            return LabelSet.of(labels);
+        }
+    }
+
     public final static class BytecodeSerializer implements SerializerShim<Bytecode> {
         @Override
         public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final Bytecode bytecode) {
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.util;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+
+/**
+ * A {@link Graph} that can estimate the size of parts of its data implements {@code GraphStatistics} so that
+ * traversals can be planned around those estimates, as {@code MatchStep.StatisticsMatchAlgorithm} does. The values are
+ * estimates and may lag behind the latest mutations of the graph.
+ */
+public interface GraphStatistics {
+
+    /**
+     * Gets the estimated number of vertices with the label or of all vertices if the label is {@code null}.
+     */
+    public long getVertexCount(final String label);
+
+    /**
+     * Gets the estimated average number of edges with the label, or with any label if it is {@code null}, that a
+     * vertex has in the direction.
+     */
+    public double getAverageDegree(final Direction direction, final String edgeLabel);
+
+    /**
+     * Gets the number of distinct values of an indexed vertex property key or {@code 0} if the key is not indexed.
+     */
+    public long getIndexCardinality(final String key);
+}
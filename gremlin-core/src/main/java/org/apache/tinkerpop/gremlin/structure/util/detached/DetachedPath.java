@@ -24,7 +24,6 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 
-import java.util.LinkedHashSet;
 import java.util.function.Function;
 
 /**
@@ -41,20 +40,19 @@ public class DetachedPath extends MutablePath implements Attachable<Path> {
     }
 
     protected DetachedPath(final Path path, final boolean withProperties) {
+        super(path.size());
         path.forEach((object, labels) -> {
             if (object instanceof DetachedElement || object instanceof DetachedProperty || object instanceof DetachedPath) {
-                this.objects.add(object);
+                this.extend(object, labels);
             } else if (object instanceof Element) {
-                this.objects.add(DetachedFactory.detach((Element) object, withProperties));
+                this.extend(DetachedFactory.detach((Element) object, withProperties), labels);
             } else if (object instanceof Property) {
-                this.objects.add(DetachedFactory.detach((Property) object));
+                this.extend(DetachedFactory.detach((Property) object), labels);
             } else if (object instanceof Path) {
-                this.objects.add(DetachedFactory.detach((Path) object, withProperties));
+                this.extend(DetachedFactory.detach((Path) object, withProperties), labels);
             } else {
-                this.objects.add(object);
+                this.extend(object, labels);
             }
-            //Make a copy of the labels as its an UnmodifiableSet which can not be serialized.
-            this.labels.add(new LinkedHashSet<>(labels));
         });
     }
 
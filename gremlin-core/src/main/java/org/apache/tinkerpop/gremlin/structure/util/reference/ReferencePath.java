@@ -24,7 +24,6 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 
-import java.util.HashSet;
 import java.util.function.Function;
 
 /**
@@ -41,22 +40,18 @@ public class ReferencePath extends MutablePath implements Attachable<Path> {
     }
 
     protected ReferencePath(final Path path) {
+        super(path.size());
         path.forEach((object, labels) -> {
             if (object instanceof ReferenceElement || object instanceof ReferenceProperty || object instanceof ReferencePath) {
-                this.objects.add(object);
-                this.labels.add(new HashSet<>(labels));
+                this.extend(object, labels);
             } else if (object instanceof Element) {
-                this.objects.add(ReferenceFactory.detach((Element) object));
-                this.labels.add(new HashSet<>(labels));
+                this.extend(ReferenceFactory.detach((Element) object), labels);
             } else if (object instanceof Property) {
-                this.objects.add(ReferenceFactory.detach((Property) object));
-                this.labels.add(new HashSet<>(labels));
+                this.extend(ReferenceFactory.detach((Property) object), labels);
             } else if (object instanceof Path) {
-                this.objects.add(ReferenceFactory.detach((Path) object));
-                this.labels.add(new HashSet<>(labels));
+                this.extend(ReferenceFactory.detach((Path) object), labels);
             } else {
-                this.objects.add(object);
-                this.labels.add(new HashSet<>(labels));
+                this.extend(object, labels);
             }
         });
     }
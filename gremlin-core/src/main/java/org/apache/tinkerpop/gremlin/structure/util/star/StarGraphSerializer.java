@@ -38,6 +38,13 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.SerializerShim;
  * the correct deserialization mechanism.  The limitation is that this versioning won't help with backward
  * compatibility for custom serializers from providers.  Providers should be encouraged to write their serializers
  * with backward compatibility in mind.
+ * <p/>
+ * Version 2 writes the vertex id, label and properties ahead of the edges and edge properties so that a
+ * {@link GraphFilter} with a vertex filter can reject a vertex after reading its label (or its properties) without
+ * decoding its incident edges. When the vertex is filtered, the remaining bytes of the {@link StarGraph} are not
+ * consumed, so a filtering serializer should only be used on input that is delimited per vertex (e.g. by the
+ * {@link org.apache.tinkerpop.gremlin.structure.io.gryo.VertexTerminator}). Version 1 can still be read, but readers
+ * older than 3.3.0 do not check the version and misread version 2 (see the 3.3.0 upgrade documentation).
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
@@ -46,23 +53,71 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
 
     private final Direction edgeDirectionToSerialize;
     private GraphFilter graphFilter;
+    private GraphFilter edgeFilter;
 
     private final static byte VERSION_1 = Byte.MIN_VALUE;
+    private final static byte VERSION_2 = Byte.MIN_VALUE + 1;
 
     public StarGraphSerializer(final Direction edgeDirectionToSerialize, final GraphFilter graphFilter) {
         this.edgeDirectionToSerialize = edgeDirectionToSerialize;
         this.graphFilter = graphFilter;
+        // once the vertex filter has been tested on the partially read vertex only the edge filter remains
+        this.edgeFilter = new GraphFilter();
+        if (graphFilter.hasEdgeFilter())
+            this.edgeFilter.setEdgeFilter(graphFilter.getEdgeFilter());
     }
 
     @Override
     public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph) {
-        output.writeByte(VERSION_1);
-        kryo.writeObjectOrNull(output, starGraph.edgeProperties, HashMap.class);
-        kryo.writeObjectOrNull(output, starGraph.metaProperties, HashMap.class);
+        output.writeByte(VERSION_2);
         kryo.writeClassAndObject(output, starGraph.starVertex.id);
         kryo.writeObject(output, starGraph.starVertex.label);
+        kryo.writeObjectOrNull(output, starGraph.metaProperties, HashMap.class);
+        writeVertexProperties(kryo, output, starGraph);
+        kryo.writeObjectOrNull(output, starGraph.edgeProperties, HashMap.class);
         writeEdges(kryo, output, starGraph, Direction.IN);
         writeEdges(kryo, output, starGraph, Direction.OUT);
+    }
+
+    /**
+     * If the returned {@link StarGraph} is null, that means that the {@link GraphFilter} filtered the vertex.
+     */
+    @Override
+    public <I extends InputShim> StarGraph read(final KryoShim<I, ?> kryo, final I input, final Class<StarGraph> clazz) {
+        final byte version = input.readByte();
+        return VERSION_1 == version ? readVersion1(kryo, input) : readVersion2(kryo, input);
+    }
+
+    private <I extends InputShim> StarGraph readVersion2(final KryoShim<I, ?> kryo, final I input) {
+        final Object id = kryo.readClassAndObject(input);
+        final String label = kryo.readObject(input, String.class);
+        final GraphFilter.Legal vertexLegality = this.graphFilter.checkVertexLegality(label);
+        if (vertexLegality.negative())
+            return null;
+        final StarGraph starGraph = StarGraph.open();
+        starGraph.metaProperties = kryo.readObjectOrNull(input, HashMap.class);
+        starGraph.addVertex(T.id, id, T.label, label);
+        readVertexProperties(kryo, input, starGraph);
+        if (GraphFilter.Legal.MAYBE == vertexLegality && !this.graphFilter.legalVertex(starGraph.starVertex))
+            return null;
+        starGraph.edgeProperties = kryo.readObjectOrNull(input, HashMap.class);
+        readEdges(kryo, input, starGraph, Direction.IN);
+        readEdges(kryo, input, starGraph, Direction.OUT);
+        return this.edgeFilter.hasFilter() ? starGraph.applyGraphFilter(this.edgeFilter).orElse(null) : starGraph;
+    }
+
+    private <I extends InputShim> StarGraph readVersion1(final KryoShim<I, ?> kryo, final I input) {
+        final StarGraph starGraph = StarGraph.open();
+        starGraph.edgeProperties = kryo.readObjectOrNull(input, HashMap.class);
+        starGraph.metaProperties = kryo.readObjectOrNull(input, HashMap.class);
+        starGraph.addVertex(T.id, kryo.readClassAndObject(input), T.label, kryo.readObject(input, String.class));
+        readEdges(kryo, input, starGraph, Direction.IN);
+        readEdges(kryo, input, starGraph, Direction.OUT);
+        readVertexProperties(kryo, input, starGraph);
+        return this.graphFilter.hasFilter() ? starGraph.applyGraphFilter(this.graphFilter).orElse(null) : starGraph;
+    }
+
+    private <O extends OutputShim> void writeVertexProperties(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph) {
         kryo.writeObject(output, null != starGraph.starVertex.vertexProperties);
         if (null != starGraph.starVertex.vertexProperties) {
             kryo.writeObject(output, starGraph.starVertex.vertexProperties.size());
@@ -77,18 +132,7 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
         }
     }
 
-    /**
-     * If the returned {@link StarGraph} is null, that means that the {@link GraphFilter} filtered the vertex.
-     */
-    @Override
-    public <I extends InputShim> StarGraph read(final KryoShim<I, ?> kryo, final I input, final Class<StarGraph> clazz) {
-        final StarGraph starGraph = StarGraph.open();
-        input.readByte();  // version field ignored for now - for future use with backward compatibility
-        starGraph.edgeProperties = kryo.readObjectOrNull(input, HashMap.class);
-        starGraph.metaProperties = kryo.readObjectOrNull(input, HashMap.class);
-        starGraph.addVertex(T.id, kryo.readClassAndObject(input), T.label, kryo.readObject(input, String.class));
-        readEdges(kryo, input, starGraph, Direction.IN);
-        readEdges(kryo, input, starGraph, Direction.OUT);
+    private <I extends InputShim> void readVertexProperties(final KryoShim<I, ?> kryo, final I input, final StarGraph starGraph) {
         if (kryo.readObject(input, Boolean.class)) {
             final int numberOfUniqueKeys = kryo.readObject(input, Integer.class);
             for (int i = 0; i < numberOfUniqueKeys; i++) {
@@ -101,7 +145,6 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
                 }
             }
         }
-        return this.graphFilter.hasFilter() ? starGraph.applyGraphFilter(this.graphFilter).orElse(null) : starGraph;
     }
 
     private <O extends OutputShim> void writeEdges(final KryoShim<?, O> kryo, final O output, final StarGraph starGraph, final Direction direction) {
@@ -130,10 +173,11 @@ public class StarGraphSerializer implements SerializerShim<StarGraph> {
             for (int i = 0; i < numberOfUniqueLabels; i++) {
                 final String edgeLabel = kryo.readObject(input, String.class);
                 final int numberOfEdgesWithLabel = kryo.readObject(input, Integer.class);
+                final boolean legalLabel = this.graphFilter.checkEdgeLegality(direction, edgeLabel).positive();
                 for (int j = 0; j < numberOfEdgesWithLabel; j++) {
                     final Object edgeId = kryo.readClassAndObject(input);
                     final Object adjacentVertexId = kryo.readClassAndObject(input);
-                    if (this.graphFilter.checkEdgeLegality(direction, edgeLabel).positive()) {
+                    if (legalLabel) {
                         if (direction.equals(Direction.OUT))
                             starGraph.starVertex.addOutEdge(edgeLabel, starGraph.addVertex(T.id, adjacentVertexId), T.id, edgeId);
                         else
@@ -70,6 +70,27 @@ public class GraphFilterTest {
         }
     }
 
+    @Test
+    public void shouldCheckVertexLegalityByLabel() {
+        GraphFilter graphFilter = new GraphFilter();
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkVertexLegality("person"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("person"));
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkVertexLegality("person"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkVertexLegality("software"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("person", "software"));
+        assertEquals(GraphFilter.Legal.YES, graphFilter.checkVertexLegality("software"));
+        assertEquals(GraphFilter.Legal.NO, graphFilter.checkVertexLegality("project"));
+        //
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.<Vertex>hasLabel("person").has("age", 32));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkVertexLegality("person"));
+        assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkVertexLegality("software"));
+    }
+
     @Test
     public void shouldGetLegallyPositiveEdgeLabels() {
         GraphFilter graphFilter = new GraphFilter();
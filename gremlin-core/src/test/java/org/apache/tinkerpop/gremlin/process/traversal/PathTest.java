@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -121,6 +122,35 @@ public class PathTest {
         });
     }
 
+    @Test
+    public void shouldShareLabelsAndSectionsAcrossPaths() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            Path path = supplier.get();
+            path = path.extend("marko", new LinkedHashSet<>(Arrays.asList("a", "b")));
+            path = path.extend("stephen", Collections.singleton("c"));
+            final Path clone = path.clone();
+            path = path.extend("matthias", new LinkedHashSet<>(Arrays.asList("a", "b")));
+            assertSame(path.labels().get(0), path.labels().get(2));
+            assertSame(path.labels().get(0), clone.labels().get(0));
+
+            // extending or retracting labels of one path must leave the paths it shares labels with untouched
+            path = path.extend(Collections.singleton("d"));
+            assertEquals(new LinkedHashSet<>(Arrays.asList("a", "b", "d")), path.labels().get(2));
+            assertEquals(new LinkedHashSet<>(Arrays.asList("a", "b")), path.labels().get(0));
+            path = path.retract(Collections.singleton("b"));
+            assertEquals(3, path.size());
+            assertEquals(Collections.singleton("a"), path.labels().get(0));
+            assertEquals(new LinkedHashSet<>(Arrays.asList("a", "b")), clone.labels().get(0));
+            assertEquals(2, clone.size());
+            path = path.retract(Collections.singleton("c"));
+            assertEquals(Arrays.asList("marko", "matthias"), path.objects());
+            assertEquals(Collections.singleton("c"), clone.labels().get(1));
+        });
+
+        final Path path = ImmutablePath.make().extend("marko", Collections.singleton("a")).extend("stephen", Collections.singleton("b"));
+        assertSame(path, path.retract(Collections.singleton("c")));
+    }
+
     @Test
     public void shouldExcludeUnlabeledLabelsFromPath() {
         PATH_SUPPLIERS.forEach(supplier -> {
@@ -140,6 +170,45 @@ public class PathTest {
         });
     }
 
+    @Test
+    public void shouldNotAllowLabelsToBeModified() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            final Path path = supplier.get().extend("marko", Collections.singleton("a")).extend("stephen", Collections.emptySet());
+            for (final Set<String> labels : path.labels()) {
+                try {
+                    labels.add("b");
+                    fail("Path labels should not be modifiable");
+                } catch (UnsupportedOperationException ignored) {
+                    // expected
+                }
+            }
+            assertEquals(Collections.singleton("a"), path.labels().get(0));
+        });
+    }
+
+    @Test
+    public void shouldKeepSplitPathsApart() {
+        PATH_SUPPLIERS.forEach(supplier -> {
+            final Path path = supplier.get().extend("marko", Collections.singleton("a")).extend("stephen", Collections.singleton("b"));
+            Path first = path.clone().extend("matthias", Collections.singleton("c"));
+            final Path second = path.clone().extend("daniel", Collections.singleton("d"));
+            final Path third = path.clone().extend(Collections.singleton("e"));
+            final Path fourth = first.clone().extend("josh", Collections.emptySet());
+            first = first.extend(Collections.singleton("f"));
+
+            assertEquals(Arrays.asList("marko", "stephen"), path.objects());
+            assertEquals(Arrays.asList(Collections.singleton("a"), Collections.singleton("b")), path.labels());
+            assertEquals(Arrays.asList("marko", "stephen", "matthias"), first.objects());
+            assertEquals(new LinkedHashSet<>(Arrays.asList("c", "f")), first.labels().get(2));
+            assertEquals(Arrays.asList("marko", "stephen", "daniel"), second.objects());
+            assertEquals(Collections.singleton("d"), second.labels().get(2));
+            assertEquals(Arrays.asList("marko", "stephen"), third.objects());
+            assertEquals(new LinkedHashSet<>(Arrays.asList("b", "e")), third.labels().get(1));
+            assertEquals(Arrays.asList("marko", "stephen", "matthias", "josh"), fourth.objects());
+            assertEquals(Collections.singleton("c"), fourth.labels().get(2));
+        });
+    }
+
     @Test
     public void shouldHaveOrderedPathLabels() {
         PATH_SUPPLIERS.forEach(supplier -> {
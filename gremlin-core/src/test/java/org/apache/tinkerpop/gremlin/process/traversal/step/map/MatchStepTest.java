@@ -31,7 +31,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversal
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -320,6 +322,66 @@ public class MatchStepTest extends StepTest {
         assertEquals(secondPattern, countMatchAlgorithm.bundles.get(2).traversal);
     }
 
+    @Test
+    public void testStatisticsMatchAlgorithm() {
+        // MAKE SURE MULTIPLICITIES LEARNED BY ONE EXECUTION ARE THE STARTING POINT OF THE NEXT
+        Traversal.Admin<?, ?> traversal = __.match(as("a").out("statsA").as("b"), as("c").in("statsB").as("d")).asAdmin();
+        MatchStep.StatisticsMatchAlgorithm statisticsMatchAlgorithm = new MatchStep.StatisticsMatchAlgorithm();
+        statisticsMatchAlgorithm.initialize(TraversalEngine.Type.STANDARD, ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren());
+        Traversal.Admin<Object, Object> firstPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(0);
+        Traversal.Admin<Object, Object> secondPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(1);
+        statisticsMatchAlgorithm.bundles.stream().forEach(bundle -> assertEquals(0.0d, bundle.multiplicity, 0.0d));
+        assertEquals(firstPattern, statisticsMatchAlgorithm.bundles.get(0).traversal);
+        statisticsMatchAlgorithm.recordStart(EmptyTraverser.instance(), firstPattern);
+        for (int i = 0; i < 8; i++) {
+            statisticsMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+        }
+        statisticsMatchAlgorithm.recordStart(EmptyTraverser.instance(), secondPattern);
+        statisticsMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        assertEquals(secondPattern, statisticsMatchAlgorithm.bundles.get(0).traversal);
+        //
+        traversal = __.match(as("a").out("statsA").as("b"), as("c").in("statsB").as("d")).asAdmin();
+        statisticsMatchAlgorithm = new MatchStep.StatisticsMatchAlgorithm();
+        statisticsMatchAlgorithm.initialize(TraversalEngine.Type.STANDARD, ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren());
+        firstPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(0);
+        secondPattern = ((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren().get(1);
+        assertEquals(secondPattern, statisticsMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(firstPattern, statisticsMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(8.0d, statisticsMatchAlgorithm.getBundle(firstPattern).multiplicity, 0.0d);
+        assertEquals(MatchStep.StatisticsMatchAlgorithm.PRIOR_STARTS, statisticsMatchAlgorithm.getBundle(firstPattern).startsCount);
+        assertEquals(8L * MatchStep.StatisticsMatchAlgorithm.PRIOR_STARTS, statisticsMatchAlgorithm.getBundle(firstPattern).endsCount);
+        assertEquals(1.0d, statisticsMatchAlgorithm.getBundle(secondPattern).multiplicity, 0.0d);
+        // the counts of the current execution take over from the learned multiplicity
+        statisticsMatchAlgorithm.recordStart(EmptyTraverser.instance(), firstPattern);
+        statisticsMatchAlgorithm.recordEnd(EmptyTraverser.instance(), firstPattern);
+        assertEquals(801.0d / 101.0d, statisticsMatchAlgorithm.getBundle(firstPattern).multiplicity, 0.0001d);
+    }
+
+    @Test
+    public void testStatisticsMatchAlgorithmEstimates() {
+        final GraphStatistics statistics = new GraphStatistics() {
+            @Override
+            public long getVertexCount(final String label) {
+                return null == label ? 100L : "person".equals(label) ? 25L : 0L;
+            }
+
+            @Override
+            public double getAverageDegree(final Direction direction, final String edgeLabel) {
+                return null == edgeLabel ? 10.0d : "knows".equals(edgeLabel) ? 2.0d : 3.0d;
+            }
+
+            @Override
+            public long getIndexCardinality(final String key) {
+                return "name".equals(key) ? 4L : 0L;
+            }
+        };
+        assertEquals(10.0d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(__.out().asAdmin(), statistics), 0.0001d);
+        assertEquals(5.0d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(__.out("knows", "created").asAdmin(), statistics), 0.0001d);
+        assertEquals(0.5d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(__.out("knows").has("name", "marko").asAdmin(), statistics), 0.0001d);
+        assertEquals(0.25d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(__.hasLabel("person").asAdmin(), statistics), 0.0001d);
+        assertEquals(1.0d, MatchStep.StatisticsMatchAlgorithm.estimateMultiplicity(__.out("knows").has("age", P.gt(30)).asAdmin(), statistics), 0.0001d);
+    }
+
     @Test
     public void testComputerAwareCountMatchAlgorithm() {
         // MAKE SURE OLAP JOBS ARE BIASED TOWARDS STAR GRAPH DATA
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class NoOpBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                __.barrier(),
+                __.barrier(10)
+        );
+    }
+
+    @Test
+    public void shouldGrowAdaptiveBarrierWhenTraversersAreBulked() {
+        // the traversers of inject() are bulked as they are added, so the duplicates have to come from a later step
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 100000).boxed().toArray(Integer[]::new)).map(t -> t.get() / 10).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100, true);
+        traversal.addStep(barrier);
+        assertEquals(100000, traversal.toList().size());
+        assertEquals(100 * NoOpBarrierStep.ADAPTIVE_GROWTH_LIMIT, barrier.getBarrierSize());
+        barrier.reset();
+        assertEquals(100, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldShrinkAdaptiveBarrierWhenTraversersAreNotBulked() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 10000).boxed().toArray(Integer[]::new)).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 2500, true);
+        traversal.addStep(barrier);
+        assertEquals(10000, traversal.toList().size());
+        assertEquals(64, barrier.getBarrierSize());
+    }
+
+    @Test
+    public void shouldNotResizeBarrierThatIsNotAdaptive() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(IntStream.range(0, 10000).boxed().toArray(Integer[]::new)).asAdmin();
+        final NoOpBarrierStep<Integer> barrier = new NoOpBarrierStep<>(traversal, 100);
+        traversal.addStep(barrier);
+        assertEquals(10000, traversal.toList().size());
+        assertEquals(100, barrier.getBarrierSize());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.has;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasId;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class ShortestPathStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Parameterized.Parameter(value = 2)
+    public Collection<TraversalStrategy> otherStrategies;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(ShortestPathStrategy.instance());
+        for (final TraversalStrategy strategy : this.otherStrategies) {
+            strategies.addStrategies(strategy);
+        }
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    private static GraphTraversal.Admin<?, ?> shortestPath(final GraphTraversal<?, ?> traversal, final Direction direction,
+                                                           final P<?> target, final String... edgeLabels) {
+        final GraphTraversal.Admin<?, ?> admin = traversal.asAdmin();
+        return admin.addStep(new ShortestPathStep(admin, direction, edgeLabels,
+                Collections.singletonList(new HasContainer(T.id.getAccessor(), target))));
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        return Arrays.asList(new Object[][]{
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)).limit(1), shortestPath(__.V(1), Direction.OUT, P.eq(6)).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(both("knows").simplePath()).until(hasId(5, 6)).path().limit(1), shortestPath(__.V(1), Direction.BOTH, P.within(5, 6), "knows").path().limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).as("x").until(hasId(6)).limit(1).select("x"), shortestPath(__.V(1), Direction.OUT, P.eq(6)).as("x").limit(1).select("x"), Collections.emptyList()},
+                {__.V().out().repeat(__.in().simplePath()).until(hasId(1)).limit(1).out(), shortestPath(__.V().out(), Direction.IN, P.eq(1)).limit(1).out(), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)).path().limit(1), shortestPath(__.V(1), Direction.OUT, P.eq(6)).path().limit(1), Collections.singletonList(PathRetractionStrategy.instance())},
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)).limit(1), shortestPath(__.V(1), Direction.OUT, P.eq(6)).limit(1), Collections.singletonList(IncidentToAdjacentStrategy.instance())},
+                //
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)), __.V(1).repeat(out().simplePath()).until(hasId(6)), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)).limit(2), __.V(1).repeat(out().simplePath()).until(hasId(6)).limit(2), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)).range(1, 2), __.V(1).repeat(out().simplePath()).until(hasId(6)).range(1, 2), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).until(hasId(6)).out().limit(1), __.V(1).repeat(out().simplePath()).until(hasId(6)).out().limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).emit().until(hasId(6)).limit(1), __.V(1).repeat(out().simplePath()).emit().until(hasId(6)).limit(1), Collections.emptyList()},
+                {__.V(1).until(hasId(6)).repeat(out().simplePath()).limit(1), __.V(1).until(hasId(6)).repeat(out().simplePath()).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out()).until(hasId(6)).limit(1), __.V(1).repeat(out()).until(hasId(6)).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(__.outE().inV().simplePath()).until(hasId(6)).limit(1), __.V(1).repeat(__.outE().inV().simplePath()).until(hasId(6)).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out().as("a").simplePath()).until(hasId(6)).limit(1), __.V(1).repeat(out().as("a").simplePath()).until(hasId(6)).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).until(has("name", "peter")).limit(1), __.V(1).repeat(out().simplePath()).until(has("name", "peter")).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).until(hasId(P.gt(5))).limit(1), __.V(1).repeat(out().simplePath()).until(hasId(P.gt(5))).limit(1), Collections.emptyList()},
+                {__.V(1).repeat(out().simplePath()).times(3).limit(1), __.V(1).repeat(out().simplePath()).times(3).limit(1), Collections.emptyList()},
+                {__.V(1).local(__.repeat(out().simplePath()).until(hasId(6)).limit(1)), __.V(1).local(__.repeat(out().simplePath()).until(hasId(6)).limit(1)), Collections.emptyList()},
+        });
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeBulkOfEqualTraversers() {
+        final TraverserSet<String> traversers = new TraverserSet<>();
+        assertTrue(traversers.add(traverser("a", 1)));
+        assertTrue(traversers.add(traverser("b", 2)));
+        assertFalse(traversers.add(traverser("a", 3)));
+        assertTrue(traversers.add(traverser("a", 1, "x")));
+        assertEquals(3, traversers.size());
+        assertEquals(7, traversers.bulkSize());
+        assertEquals(4, traversers.get(traverser("a", 1)).bulk());
+        assertTrue(traversers.contains(traverser("b", 1)));
+        assertFalse(traversers.contains(traverser("c", 1)));
+        assertNull(traversers.get(traverser("c", 1)));
+    }
+
+    @Test
+    public void shouldIterateAndPollInInsertionOrder() {
+        final TraverserSet<String> traversers = new TraverserSet<>();
+        Arrays.asList("d", "b", "a", "c", "b").forEach(s -> traversers.add(traverser(s, 1)));
+        assertEquals(Arrays.asList("d", "b", "a", "c"), objects(traversers));
+        assertEquals("d", traversers.peek().get());
+        assertEquals("d", traversers.poll().get());
+        assertEquals("b", traversers.remove().get());
+        assertTrue(traversers.remove(traverser("c", 1)));
+        assertFalse(traversers.remove(traverser("c", 1)));
+        traversers.add(traverser("e", 1));
+        assertEquals(Arrays.asList("a", "e"), objects(traversers));
+        assertEquals("a", traversers.poll().get());
+        assertEquals("e", traversers.poll().get());
+        assertNull(traversers.poll());
+        assertNull(traversers.peek());
+        assertTrue(traversers.isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveThroughIterator() {
+        final TraverserSet<Integer> traversers = new TraverserSet<>();
+        for (int i = 0; i < 100; i++) {
+            traversers.add(traverser(i, 1));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = traversers.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 3 != 0)
+                iterator.remove();
+        }
+        assertEquals(34, traversers.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 3 == 0, traversers.contains(traverser(i, 1)));
+        }
+    }
+
+    @Test
+    public void shouldSortAndShuffle() {
+        final TraverserSet<Integer> traversers = new TraverserSet<>();
+        Arrays.asList(5, 3, 9, 1, 7).forEach(i -> traversers.add(traverser(i, i)));
+        traversers.remove(traverser(9, 1));
+        traversers.sort(Comparator.comparing(Traverser::get));
+        assertEquals(Arrays.asList(1, 3, 5, 7), objects(traversers));
+        traversers.shuffle();
+        assertEquals(4, traversers.size());
+        assertEquals(16, traversers.bulkSize());
+        traversers.sort(Comparator.comparing(t -> -t.get()));
+        assertEquals(Arrays.asList(7, 5, 3, 1), objects(traversers));
+        assertFalse(traversers.add(traverser(3, 1)));
+        assertEquals(4, traversers.get(traverser(3, 1)).bulk());
+    }
+
+    @Test
+    public void shouldAddAllFromTraverserSet() {
+        final TraverserSet<String> traversers = new TraverserSet<>();
+        Arrays.asList("a", "b").forEach(s -> traversers.add(traverser(s, 1)));
+        final TraverserSet<String> others = new TraverserSet<>();
+        Arrays.asList("b", "c").forEach(s -> others.add(traverser(s, 2)));
+        assertTrue(traversers.addAll(others));
+        assertEquals(Arrays.asList("a", "b", "c"), objects(traversers));
+        assertEquals(6, traversers.bulkSize());
+    }
+
+    @Test
+    public void shouldSerialize() {
+        final TraverserSet<String> traversers = new TraverserSet<>();
+        Arrays.asList("a", "b", "c").forEach(s -> traversers.add(traverser(s, 2)));
+        traversers.remove(traverser("a", 1));
+        final TraverserSet<String> copy = (TraverserSet<String>) SerializationUtils.clone(traversers);
+        assertEquals(Arrays.asList("b", "c"), objects(copy));
+        assertEquals(4, copy.bulkSize());
+        assertFalse(copy.add(traverser("c", 1)));
+        assertEquals(3, copy.get(traverser("c", 1)).bulk());
+    }
+
+    @Test
+    public void shouldBehaveLikeLinkedHashMap() {
+        final Random random = new Random(42);
+        final TraverserSet<Integer> traversers = new TraverserSet<>();
+        final Map<Integer, Long> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final int object = random.nextInt(500);
+            final int operation = random.nextInt(10);
+            if (operation < 6) {
+                traversers.add(traverser(object, 1));
+                expected.merge(object, 1L, Long::sum);
+            } else if (operation < 8) {
+                assertEquals(null != expected.remove(object), traversers.remove(traverser(object, 1)));
+            } else if (operation < 9) {
+                final Traverser.Admin<Integer> polled = traversers.poll();
+                if (expected.isEmpty())
+                    assertNull(polled);
+                else {
+                    final Map.Entry<Integer, Long> first = expected.entrySet().iterator().next();
+                    expected.remove(first.getKey());
+                    assertEquals(first.getKey(), polled.get());
+                    assertEquals(first.getValue().longValue(), polled.bulk());
+                }
+            } else {
+                final Traverser.Admin<Integer> existing = traversers.get(traverser(object, 1));
+                assertEquals(expected.get(object), null == existing ? null : existing.bulk());
+            }
+            assertEquals(expected.size(), traversers.size());
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), objects(traversers));
+    }
+
+    private static <S> Traverser.Admin<S> traverser(final S object, final long bulk) {
+        return new B_O_Traverser<>(object, bulk);
+    }
+
+    private static <S> Traverser.Admin<S> traverser(final S object, final long bulk, final String stepId) {
+        final Traverser.Admin<S> traverser = traverser(object, bulk);
+        traverser.setStepId(stepId);
+        return traverser;
+    }
+
+    private static <S> List<S> objects(final TraverserSet<S> traversers) {
+        return traversers.stream().map(Traverser::get).collect(Collectors.toList());
+    }
+}
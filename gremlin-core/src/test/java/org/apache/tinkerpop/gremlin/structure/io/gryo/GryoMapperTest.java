@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.structure.io.gryo;
 
 import org.apache.tinkerpop.gremlin.process.remote.traversal.DefaultRemoteTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalExplanation;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.IoX;
@@ -28,6 +30,8 @@ import org.apache.tinkerpop.gremlin.structure.io.IoY;
 import org.apache.tinkerpop.gremlin.structure.io.IoYIoRegistry;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONTokens;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
 import org.apache.tinkerpop.shaded.kryo.Kryo;
 import org.apache.tinkerpop.shaded.kryo.Registration;
@@ -57,6 +61,7 @@ import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +73,7 @@ import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 /**
@@ -251,6 +257,16 @@ public class GryoMapperTest {
         assertEquals(br.get(), inOut.get());
     }
 
+    @Test
+    public void shouldHandleReferencePathWithInternedLabels() throws Exception  {
+        final Path path = ReferenceFactory.detach(MutablePath.make().extend(1, Collections.singleton("a")));
+        path.extend(2, Collections.singleton("b")).extend(Collections.singleton("c"));
+        final ReferencePath inOut = serializeDeserialize(path, ReferencePath.class);
+        assertEquals(path.objects(), inOut.objects());
+        assertEquals(path.labels(), inOut.labels());
+        assertSame(path.labels().get(0), inOut.labels().get(0));
+    }
+
     @Test
     public void shouldHandleDuration() throws Exception  {
         final Duration o = Duration.ZERO;
@@ -18,18 +18,28 @@
  */
 package org.apache.tinkerpop.gremlin.structure.io.gryo;
 
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
 import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.HashMap;
+import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -100,4 +110,36 @@ public class GryoReaderWriterTest {
         assertTrue(assertProcess2.get());
         assertTrue(assertProcess3.get());
     }
+
+    @Test
+    public void shouldFilterVerticesAndEdgesWhenReadingWithGraphFilter() throws Exception {
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex marko = starGraph.addVertex(T.id, 1, T.label, "person", "name", "marko", "age", 29);
+        marko.addEdge("knows", starGraph.addVertex(T.id, 2), T.id, 7, "weight", 0.5d);
+        marko.addEdge("created", starGraph.addVertex(T.id, 3), T.id, 9, "weight", 0.4d);
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        GryoWriter.build().create().writeVertex(os, marko, Direction.BOTH);
+        final byte[] bytes = os.toByteArray();
+        final GryoReader reader = GryoReader.build().create();
+
+        GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("software"));
+        assertFalse(reader.readVertex(new ByteArrayInputStream(bytes), graphFilter).isPresent());
+
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.has("age", P.gt(30)));
+        assertFalse(reader.readVertex(new ByteArrayInputStream(bytes), graphFilter).isPresent());
+
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.<Vertex>hasLabel("person").has("age", P.lt(30)));
+        graphFilter.setEdgeFilter(__.outE("knows"));
+        final Optional<Vertex> vertex = reader.readVertex(new ByteArrayInputStream(bytes), graphFilter);
+        assertTrue(vertex.isPresent());
+        assertEquals(1, vertex.get().id());
+        assertEquals("marko", vertex.get().value("name"));
+        assertEquals(1, IteratorUtils.count(vertex.get().edges(Direction.BOTH)));
+        assertEquals(0.5d, vertex.get().edges(Direction.OUT, "knows").next().value("weight"), 0.0d);
+
+        assertEquals(2, IteratorUtils.count(reader.readVertex(new ByteArrayInputStream(bytes), new GraphFilter()).get().edges(Direction.OUT)));
+    }
 }
@@ -58,6 +58,13 @@ class PartitionStrategy(TraversalStrategy):
             self.configuration["includeMetaProperties"] = include_meta_properties
 
 
+class SpillStrategy(TraversalStrategy):
+    def __init__(self, threshold=None):
+        TraversalStrategy.__init__(self)
+        if threshold is not None:
+            self.configuration["threshold"] = threshold
+
+
 class SubgraphStrategy(TraversalStrategy):
     def __init__(self, vertices=None, edges=None, vertex_properties=None):
         TraversalStrategy.__init__(self)
@@ -93,6 +100,13 @@ class VertexProgramStrategy(TraversalStrategy):
 # FINALIZATION STRATEGIES #
 ###########################
 
+class BatchingStrategy(TraversalStrategy):
+    def __init__(self, batch_size=None):
+        TraversalStrategy.__init__(self)
+        if batch_size is not None:
+            self.configuration["batchSize"] = batch_size
+
+
 class MatchAlgorithmStrategy(TraversalStrategy):
     def __init__(self, match_algorithm=None):
         TraversalStrategy.__init__(self)
@@ -100,6 +114,15 @@ class MatchAlgorithmStrategy(TraversalStrategy):
             self.configuration["matchAlgorithm"] = match_algorithm
 
 
+class ParallelStrategy(TraversalStrategy):
+    def __init__(self, parallelism=None, chunk_size=None):
+        TraversalStrategy.__init__(self)
+        if parallelism is not None:
+            self.configuration["parallelism"] = parallelism
+        if chunk_size is not None:
+            self.configuration["chunkSize"] = chunk_size
+
+
 ###########################
 # OPTIMIZATION STRATEGIES #
 ###########################
@@ -164,6 +187,11 @@ class RepeatUnrollStrategy(TraversalStrategy):
         TraversalStrategy.__init__(self)
 
 
+class ShortestPathStrategy(TraversalStrategy):
+    def __init__(self):
+        TraversalStrategy.__init__(self)
+
+
 class GraphFilterStrategy(TraversalStrategy):
     def __init__(self):
         TraversalStrategy.__init__(self)
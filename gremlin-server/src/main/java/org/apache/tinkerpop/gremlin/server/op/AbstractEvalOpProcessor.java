@@ -263,6 +263,8 @@ public abstract class AbstractEvalOpProcessor extends AbstractOpProcessor {
                         ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR)
                                 .statusMessage(null == err || err.isEmpty() ? ex.getClass().getSimpleName() : err).create());
                         if (managedTransactionsForRequest) attemptRollback(msg, context.getGraphManager(), settings.strictTransactionManagement);
+                    } finally {
+                        closeTraversal(o);
                     }
                 }).create();
 
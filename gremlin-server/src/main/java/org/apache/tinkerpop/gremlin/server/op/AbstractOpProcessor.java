@@ -26,6 +26,7 @@ import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.server.Context;
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.OpProcessor;
@@ -287,6 +288,20 @@ public abstract class AbstractOpProcessor implements OpProcessor {
         }
     }
 
+    /**
+     * Closes the result of a request if it is a {@link Traversal}, whether or not it was fully iterated, so that it
+     * releases what it holds such as the temporary files of steps that spill to disk.
+     */
+    protected static void closeTraversal(final Object result) {
+        if (result instanceof Traversal) {
+            try {
+                ((Traversal) result).close();
+            } catch (Exception ex) {
+                logger.warn("Could not close the traversal of the request", ex);
+            }
+        }
+    }
+
     protected static void attemptCommit(final RequestMessage msg, final GraphManager graphManager, final boolean strict) {
         if (strict) {
             // validations should have already been performed in StandardOpProcessor, but a failure in bindings maker
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server.op.traversal;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.VertexComputing;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+
+/**
+ * A compiled {@link Traversal} held by the traversal cache of the {@link TraversalOpProcessor}.
+ * <p/>
+ * The values of the {@code has()} family of steps in {@link Bytecode}, literal or bound by a {@link Bytecode.Binding},
+ * are its slots (see {@link #getValues(Bytecode)}). When the traversal is compiled, each slot whose value ends up as
+ * the value of exactly one {@link HasContainer} predicate is located by the position of that predicate and is
+ * re-bindable. The traversal is cached under a template of the {@link Bytecode} in which the re-bindable slots are
+ * replaced by their type (see {@link #template(Bytecode, BitSet)}) and a clone of it is re-bound with the values of
+ * a later request. The other slots stay in the template by value, so a value that strategies fold anywhere else
+ * (e.g. an id folded into a {@code GraphStep} or a value merged into another predicate) is cached per value.
+ * <p/>
+ * Which slots are re-bindable is only known after compilation, so each shape of {@link Bytecode} (its template with
+ * all slots replaced) has a plan in the cache that lists the sets of re-bindable slots compiled for it so far.
+ */
+public final class CachedTraversal {
+
+    private static final Set<Class<?>> REBINDABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class));
+
+    /**
+     * The maximum number of sets of re-bindable slots a plan holds.
+     */
+    private static final int MAX_PLANS = 8;
+
+    private final Traversal.Admin<?, ?> traversal;
+    private final List<Site> sites;
+    private final BitSet rebindable;
+    private final List<BitSet> plans;
+
+    private CachedTraversal(final Traversal.Admin<?, ?> traversal, final List<Site> sites, final BitSet rebindable,
+                            final List<BitSet> plans) {
+        this.traversal = traversal;
+        this.sites = sites;
+        this.rebindable = rebindable;
+        this.plans = plans;
+    }
+
+    /**
+     * Wraps a compiled traversal that has no slots to re-bind.
+     */
+    public static CachedTraversal of(final Traversal.Admin<?, ?> traversal) {
+        return new CachedTraversal(traversal, Collections.emptyList(), new BitSet(), Collections.emptyList());
+    }
+
+    /**
+     * Wraps a compiled traversal and locates its re-bindable slots. A slot is re-bindable if exactly one
+     * {@link HasContainer} predicate of the traversal has its value, no other slot has an equal value and the
+     * predicate is not shared with the traversal the clone was made from. A traversal that runs on a
+     * {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} has no re-bindable slots as its
+     * {@link VertexComputing} steps keep the uncompiled traversal for the vertex program.
+     *
+     * @param clone     the clone of the compiled traversal to cache
+     * @param traversal the compiled traversal the clone was made from
+     * @param values    the slot values of the {@link Bytecode} it was compiled from
+     */
+    public static CachedTraversal of(final Traversal.Admin<?, ?> clone, final Traversal.Admin<?, ?> traversal,
+                                     final List<Object> values) {
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(VertexComputing.class, clone))
+            return of(clone);
+
+        final List<HasContainer> hasContainers = getHasContainers(clone);
+        final List<Site> leaves = new ArrayList<>();
+        for (int i = 0; i < hasContainers.size(); i++) {
+            collectLeaves(i, hasContainers.get(i).getPredicate(), new ArrayList<>(), leaves);
+        }
+
+        final List<HasContainer> originalHasContainers = getHasContainers(traversal);
+        final List<Site> sites = new ArrayList<>();
+        final BitSet rebindable = new BitSet();
+        for (int i = 0; i < values.size(); i++) {
+            final Object value = values.get(i);
+            if (count(value, values) != 1)
+                continue;
+            Site site = null;
+            int matches = 0;
+            for (final Site leaf : leaves) {
+                if (isEqual(value, leaf.getPredicate(hasContainers).getValue())) {
+                    site = leaf;
+                    matches++;
+                }
+            }
+            if (matches == 1 && site.getPredicate(hasContainers) != site.getPredicate(originalHasContainers)) {
+                sites.add(new Site(i, site.hasContainer, site.path));
+                rebindable.set(i);
+            }
+        }
+        return new CachedTraversal(clone, sites, rebindable, Collections.emptyList());
+    }
+
+    /**
+     * Creates the plan of a shape of {@link Bytecode} which has no compiled traversal.
+     */
+    public static CachedTraversal plan() {
+        return new CachedTraversal(null, Collections.emptyList(), new BitSet(), new CopyOnWriteArrayList<>());
+    }
+
+    /**
+     * Gets the slots of the compiled traversal that are re-bound by {@link #bind(List)}.
+     */
+    public BitSet getRebindable() {
+        return this.rebindable;
+    }
+
+    /**
+     * Gets the sets of re-bindable slots compiled for this plan.
+     */
+    public List<BitSet> getPlans() {
+        return this.plans;
+    }
+
+    /**
+     * Adds a set of re-bindable slots to this plan.
+     *
+     * @return {@code false} if the plan already holds the maximum number of sets and the set was not added
+     */
+    public boolean addPlan(final BitSet rebindable) {
+        if (this.plans.contains(rebindable))
+            return true;
+        if (this.plans.size() >= MAX_PLANS)
+            return false;
+        this.plans.add(rebindable);
+        return true;
+    }
+
+    /**
+     * Clones the compiled traversal and sets the values of the re-bindable slots into the clone.
+     *
+     * @param values the slot values of the request as returned by {@link #getValues(Bytecode)}
+     */
+    public Traversal.Admin<?, ?> bind(final List<Object> values) {
+        final Traversal.Admin<?, ?> clone = this.traversal.clone();
+        if (!this.sites.isEmpty()) {
+            final List<HasContainer> hasContainers = getHasContainers(clone);
+            for (final Site site : this.sites) {
+                site.getPredicate(hasContainers).setValue(values.get(site.slot));
+            }
+        }
+        return clone;
+    }
+
+    /**
+     * Gets the slot values in the order they appear in the {@link Bytecode}, child {@link Bytecode} included.
+     */
+    public static List<Object> getValues(final Bytecode bytecode) {
+        final List<Object> values = new ArrayList<>();
+        new Rewriter((slot, value) -> {
+            values.add(value);
+            return value;
+        }).rewrite(bytecode);
+        return values;
+    }
+
+    /**
+     * Copies the {@link Bytecode} with the value of each re-bindable slot replaced by its type which makes the cache
+     * key for all requests that only differ in those values.
+     *
+     * @param rebindable the re-bindable slots or {@code null} for the key of the plan with all slots replaced
+     */
+    public static Bytecode template(final Bytecode bytecode, final BitSet rebindable) {
+        return new Rewriter((slot, value) -> null == rebindable ?
+                new Slot(value.getClass(), true) :
+                rebindable.get(slot) ? new Slot(value.getClass(), false) : value).rewrite(bytecode);
+    }
+
+    private static int count(final Object value, final List<Object> values) {
+        int count = 0;
+        for (final Object other : values) {
+            if (isEqual(value, other)) count++;
+        }
+        return count;
+    }
+
+    private static boolean isEqual(final Object value, final Object other) {
+        return null != other && value.getClass().equals(other.getClass()) && value.equals(other);
+    }
+
+    private static List<HasContainer> getHasContainers(final Traversal.Admin<?, ?> traversal) {
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        for (final HasContainerHolder holder : TraversalHelper.getStepsOfAssignableClassRecursively(HasContainerHolder.class, traversal)) {
+            hasContainers.addAll(holder.getHasContainers());
+        }
+        return hasContainers;
+    }
+
+    private static void collectLeaves(final int hasContainer, final P<?> predicate, final List<Integer> path,
+                                      final List<Site> leaves) {
+        if (predicate instanceof ConnectiveP) {
+            final List<? extends P<?>> predicates = ((ConnectiveP<?>) predicate).getPredicates();
+            for (int i = 0; i < predicates.size(); i++) {
+                final List<Integer> childPath = new ArrayList<>(path);
+                childPath.add(i);
+                collectLeaves(hasContainer, predicates.get(i), childPath, leaves);
+            }
+        } else
+            leaves.add(new Site(-1, hasContainer, path));
+    }
+
+    /**
+     * Walks the slots of {@link Bytecode}, copying it with each slot value replaced by the result of a function of
+     * the slot index and value.
+     */
+    private static final class Rewriter {
+        private final BiFunction<Integer, Object, Object> function;
+        private int slot = 0;
+
+        private Rewriter(final BiFunction<Integer, Object, Object> function) {
+            this.function = function;
+        }
+
+        private Bytecode rewrite(final Bytecode bytecode) {
+            final Bytecode rewritten = new Bytecode();
+            for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+                rewritten.addSource(instruction.getOperator(), rewriteArguments(instruction.getArguments(), false));
+            }
+            for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+                rewritten.addStep(instruction.getOperator(),
+                        rewriteArguments(instruction.getArguments(), instruction.getOperator().startsWith("has")));
+            }
+            return rewritten;
+        }
+
+        private Object[] rewriteArguments(final Object[] arguments, final boolean filter) {
+            final Object[] rewritten = new Object[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                rewritten[i] = rewriteArgument(arguments[i], filter);
+            }
+            return rewritten;
+        }
+
+        private Object rewriteArgument(final Object argument, final boolean filter) {
+            if (argument instanceof Bytecode)
+                return rewrite((Bytecode) argument);
+            else if (!filter || null == argument)
+                return argument;
+            else if (argument instanceof Bytecode.Binding) {
+                final Bytecode.Binding<?> binding = (Bytecode.Binding<?>) argument;
+                final Object value = rewriteArgument(binding.value(), true);
+                return value == binding.value() ? binding : new Bytecode.Binding<>(binding.variable(), value);
+            } else if (argument instanceof AndP || argument instanceof OrP) {
+                final List<P> predicates = new ArrayList<>();
+                boolean rewritten = false;
+                for (final P<?> predicate : ((ConnectiveP<?>) argument).getPredicates()) {
+                    final P p = (P) rewriteArgument(predicate, true);
+                    rewritten = rewritten || p != predicate;
+                    predicates.add(p);
+                }
+                if (!rewritten)
+                    return argument;
+                return argument instanceof AndP ? new AndP(predicates) : new OrP(predicates);
+            } else if (argument.getClass().equals(P.class)) {
+                final P predicate = (P) argument;
+                if (null == predicate.getValue() || !REBINDABLE_TYPES.contains(predicate.getValue().getClass()))
+                    return argument;
+                final Object value = this.function.apply(this.slot++, predicate.getValue());
+                return value == predicate.getValue() ? argument : new P(predicate.getBiPredicate(), value);
+            } else if (REBINDABLE_TYPES.contains(argument.getClass()))
+                return this.function.apply(this.slot++, argument);
+            else
+                return argument;
+        }
+    }
+
+    /**
+     * Stands in for a slot value in a template. The slot of a plan key is distinct from that of an entry key so the
+     * two never collide.
+     */
+    private static final class Slot {
+        private final Class<?> type;
+        private final boolean plan;
+
+        private Slot(final Class<?> type, final boolean plan) {
+            this.type = type;
+            this.plan = plan;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Slot && ((Slot) other).type.equals(this.type) && ((Slot) other).plan == this.plan;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.type.hashCode() ^ (this.plan ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return this.type.getSimpleName();
+        }
+    }
+
+    /**
+     * The location of a slot value: the predicate of a {@link HasContainer}, descending into the predicates of
+     * a {@link ConnectiveP} along the path.
+     */
+    private static final class Site {
+        private final int slot;
+        private final int hasContainer;
+        private final List<Integer> path;
+
+        private Site(final int slot, final int hasContainer, final List<Integer> path) {
+            this.slot = slot;
+            this.hasContainer = hasContainer;
+            this.path = path;
+        }
+
+        private P getPredicate(final List<HasContainer> hasContainers) {
+            P<?> predicate = hasContainers.get(this.hasContainer).getPredicate();
+            for (final int index : this.path) {
+                predicate = ((ConnectiveP<?>) predicate).getPredicates().get(index);
+            }
+            return predicate;
+        }
+    }
+}
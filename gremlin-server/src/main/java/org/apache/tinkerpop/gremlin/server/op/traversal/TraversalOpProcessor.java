@@ -18,6 +18,7 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -52,11 +53,13 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.script.SimpleBindings;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -79,6 +82,8 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final ObjectMapper mapper = GraphSONMapper.build().version(GraphSONVersion.V2_0).create().createMapper();
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    public static final Meter traversalCacheHitMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "cache", "hits"));
+    public static final Meter traversalCacheMissMeter = MetricManager.INSTANCE.getMeter(name(GremlinServer.class, "op", "traversal", "cache", "misses"));
 
     public static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
 
@@ -102,16 +107,37 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
      */
     public static final long DEFAULT_CACHE_MAX_SIZE = 1000;
 
+    /**
+     * Configuration setting for the maximum number of compiled traversals the traversal cache will have. A value of
+     * zero disables the traversal cache.
+     */
+    public static final String CONFIG_TRAVERSAL_CACHE_MAX_SIZE = "traversalCacheMaxSize";
+
+    /**
+     * Default size of the max size of the traversal cache.
+     */
+    public static final long DEFAULT_TRAVERSAL_CACHE_MAX_SIZE = 1000;
+
     static {
         DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_CACHE_EXPIRATION_TIME, DEFAULT_CACHE_EXPIRATION_TIME);
             put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+            put(CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE);
         }};
     }
 
     protected static Cache<UUID, TraversalSideEffects> cache = null;
 
+    /**
+     * Holds traversals that were translated from {@link Bytecode} and had their strategies applied, keyed by the
+     * {@link TraversalSource} and the {@link Bytecode} they came from. A request for the same {@link Bytecode} gets a
+     * clone of the cached traversal rather than translating and compiling it again. {@link Bytecode} with
+     * slot values is keyed by its {@link CachedTraversal#template(Bytecode, BitSet)} so that requests which differ
+     * only in the values of re-bindable slots share the cached traversal.
+     */
+    protected static Cache<Pair<TraversalSource, Bytecode>, CachedTraversal> traversalCache = null;
+
     public TraversalOpProcessor() {
         super(false);
     }
@@ -141,6 +167,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         logger.info("Initialized cache for {} with size {} and expiration time of {} ms",
                 TraversalOpProcessor.class.getSimpleName(), maxSize, expirationTime);
+
+        final long traversalCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_TRAVERSAL_CACHE_MAX_SIZE, DEFAULT_TRAVERSAL_CACHE_MAX_SIZE).toString());
+        traversalCache = traversalCacheMaxSize > 0 ? Caffeine.newBuilder().maximumSize(traversalCacheMaxSize).build() : null;
+
+        logger.info("Initialized traversal cache for {} with size {}",
+                TraversalOpProcessor.class.getSimpleName(), traversalCacheMaxSize);
     }
 
     @Override
@@ -346,11 +379,21 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final TraversalSource g = graphManager.getTraversalSources().get(traversalSourceName);
 
         final Traversal.Admin<?, ?> traversal;
+        final boolean cacheable;
+        final List<Object> values;
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
+            cacheable = null != traversalCache && !lambdaLanguage.isPresent();
+            values = cacheable ? CachedTraversal.getValues(bytecode) : Collections.emptyList();
+            final CachedTraversal cachedTraversal = cacheable ? getCachedTraversal(g, bytecode, values) : null;
+
+            if (cachedTraversal != null) {
+                traversalCacheHitMeter.mark();
+                traversal = cachedTraversal.bind(values);
+            } else if (!lambdaLanguage.isPresent()) {
+                if (cacheable) traversalCacheMissMeter.mark();
                 traversal = JavaTranslator.of(g).translate(bytecode);
-            else {
+            } else {
                 final ScriptEngines engines = context.getGremlinExecutor().getScriptEngines();
                 final SimpleBindings b = new SimpleBindings();
                 b.put(Tokens.VAL_TRAVERSAL_SOURCE_ALIAS, g);
@@ -373,8 +416,13 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     beforeProcessing(graph, context);
 
                     try {
-                        // compile the traversal - without it getEndStep() has nothing in it
-                        traversal.applyStrategies();
+                        // compile the traversal - without it getEndStep() has nothing in it. a traversal cloned from
+                        // the traversal cache is already compiled. the clone is cached before iteration starts as
+                        // iteration changes the state of the steps.
+                        if (!traversal.isLocked()) {
+                            traversal.applyStrategies();
+                            if (cacheable) cacheTraversal(g, bytecode, values, traversal);
+                        }
                         handleIterator(context, new TraverserIterator(traversal), graph);
                     } catch (TimeoutException ex) {
                         final String errorMessage = String.format("Response iteration exceeded the configured threshold for request [%s] - %s", msg.getRequestId(), ex.getMessage());
@@ -393,17 +441,57 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                     ctx.writeAndFlush(ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
                     onError(graph, context);
                 } finally {
+                    closeTraversal(traversal);
                     timerContext.stop();
                 }
             });
 
         } catch (Exception ex) {
+            closeTraversal(traversal);
             timerContext.stop();
             throw new OpProcessorException("Could not iterate the Traversal instance",
                     ResponseMessage.build(msg).code(ResponseStatusCode.SERVER_ERROR).statusMessage(ex.getMessage()).create());
         }
     }
 
+    /**
+     * Gets the cached traversal for {@link Bytecode}. {@link Bytecode} without slot values is keyed by itself.
+     * Otherwise the plan of its shape lists the sets of re-bindable slots compiled so far and each is tried as the
+     * {@link CachedTraversal#template(Bytecode, BitSet)} key.
+     */
+    private static CachedTraversal getCachedTraversal(final TraversalSource g, final Bytecode bytecode,
+                                                      final List<Object> values) {
+        if (values.isEmpty())
+            return traversalCache.getIfPresent(Pair.with(g, bytecode));
+
+        final CachedTraversal plan = traversalCache.getIfPresent(Pair.with(g, CachedTraversal.template(bytecode, null)));
+        if (null == plan)
+            return null;
+        for (final BitSet rebindable : plan.getPlans()) {
+            final CachedTraversal cachedTraversal = traversalCache.getIfPresent(Pair.with(g, CachedTraversal.template(bytecode, rebindable)));
+            if (cachedTraversal != null)
+                return cachedTraversal;
+        }
+        return null;
+    }
+
+    /**
+     * Puts a clone of a compiled traversal in the traversal cache, keyed by the template of its re-bindable slots,
+     * and adds that set of slots to the plan of its shape.
+     */
+    private static void cacheTraversal(final TraversalSource g, final Bytecode bytecode, final List<Object> values,
+                                       final Traversal.Admin<?, ?> traversal) {
+        if (values.isEmpty())
+            traversalCache.put(Pair.with(g, bytecode), CachedTraversal.of(traversal.clone()));
+        else {
+            final CachedTraversal cachedTraversal = CachedTraversal.of(traversal.clone(), traversal, values);
+            final CachedTraversal plan = traversalCache.get(Pair.with(g, CachedTraversal.template(bytecode, null)),
+                    k -> CachedTraversal.plan());
+            if (plan.addPlan(cachedTraversal.getRebindable()))
+                traversalCache.put(Pair.with(g, CachedTraversal.template(bytecode, cachedTraversal.getRebindable())), cachedTraversal);
+        }
+    }
+
     @Override
     protected void iterateComplete(final ChannelHandlerContext ctx, final RequestMessage msg, final Iterator itty) {
         if (itty instanceof TraverserIterator) {
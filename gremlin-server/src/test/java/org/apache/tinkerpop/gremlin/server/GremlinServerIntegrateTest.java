@@ -46,13 +46,17 @@ import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.InterpreterModeCust
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.SimpleSandboxExtension;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.customizer.TimedInterruptCustomizerProvider;
 import org.apache.tinkerpop.gremlin.process.remote.RemoteGraph;
+import org.apache.tinkerpop.gremlin.process.traversal.Bindings;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.server.channel.NioChannelizer;
+import org.apache.tinkerpop.gremlin.server.op.traversal.TraversalOpProcessor;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
@@ -824,6 +828,84 @@ public class GremlinServerIntegrateTest extends AbstractGremlinServerIntegration
         assertEquals(50L, g.V().hasLabel("person").map(Lambda.function("it.get().value('age') + 10")).sum().next());
     }
 
+    @Test
+    public void shouldUseTraversalCacheForRepeatedBytecodeUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        g.addV("person").property("age", 20).iterate();
+        g.addV("person").property("age", 10).iterate();
+
+        final long hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        final long misses = TraversalOpProcessor.traversalCacheMissMeter.getCount();
+        assertEquals(2L, g.V().hasLabel("person").count().next().longValue());
+        assertEquals(2L, g.V().hasLabel("person").count().next().longValue());
+        assertEquals(30L, g.V().hasLabel("person").values("age").sum().next().longValue());
+        assertEquals(misses + 2, TraversalOpProcessor.traversalCacheMissMeter.getCount());
+        assertEquals(hits + 1, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+
+        // a cached mutation is executed again rather than replayed
+        g.addV("person").property("age", 10).iterate();
+        assertEquals(3L, g.V().hasLabel("person").count().next().longValue());
+        assertEquals(40L, g.V().hasLabel("person").values("age").sum().next().longValue());
+    }
+
+    @Test
+    public void shouldUseTraversalCacheForBytecodeWithDifferentBindingsUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        g.addV("person").property("name", "marko").property("age", 29).iterate();
+        g.addV("person").property("name", "vadas").property("age", 27).iterate();
+        g.addV("person").property("name", "josh").property("age", 32).iterate();
+
+        final Bindings b = Bindings.instance();
+        long hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        long misses = TraversalOpProcessor.traversalCacheMissMeter.getCount();
+        assertEquals("marko", g.V().has("person", "age", b.of("a", 29)).values("name").next());
+        assertEquals("vadas", g.V().has("person", "age", b.of("a", 27)).values("name").next());
+        assertEquals("josh", g.V().has("person", "age", b.of("a", 32)).values("name").next());
+        assertEquals("josh", g.V().hasLabel("person").where(__.has("name", b.of("n", "josh"))).values("name").next());
+        assertEquals("vadas", g.V().hasLabel("person").where(__.has("name", b.of("n", "vadas"))).values("name").next());
+        assertEquals(misses + 2, TraversalOpProcessor.traversalCacheMissMeter.getCount());
+        assertEquals(hits + 3, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+
+        // a bound value outside of a has() step is cached by its value
+        hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        misses = TraversalOpProcessor.traversalCacheMissMeter.getCount();
+        assertEquals(1L, g.V().hasLabel("person").limit(b.of("l", 1L)).count().next().longValue());
+        assertEquals(2L, g.V().hasLabel("person").limit(b.of("l", 2L)).count().next().longValue());
+        assertEquals(1L, g.V().hasLabel("person").limit(b.of("l", 1L)).count().next().longValue());
+        assertEquals(misses + 2, TraversalOpProcessor.traversalCacheMissMeter.getCount());
+        assertEquals(hits + 1, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+    }
+
+    @Test
+    public void shouldUseTraversalCacheForBytecodeWithDifferentLiteralsUsingWithRemote() throws Exception {
+        final Graph graph = EmptyGraph.instance();
+        final GraphTraversalSource g = graph.traversal().withRemote(conf);
+        g.addV("person").property("name", "marko").property("age", 29).iterate();
+        g.addV("person").property("name", "vadas").property("age", 27).iterate();
+        g.addV("person").property("name", "josh").property("age", 32).iterate();
+
+        long hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        long misses = TraversalOpProcessor.traversalCacheMissMeter.getCount();
+        assertEquals(29, g.V().has("person", "name", "marko").values("age").next());
+        assertEquals(27, g.V().has("person", "name", "vadas").values("age").next());
+        assertEquals(32, g.V().has("person", "name", "josh").values("age").next());
+        assertEquals(2L, g.V().has("age", P.gt(28).and(P.lt(40))).count().next().longValue());
+        assertEquals(1L, g.V().has("age", P.gt(30).and(P.lt(40))).count().next().longValue());
+        assertEquals(misses + 2, TraversalOpProcessor.traversalCacheMissMeter.getCount());
+        assertEquals(hits + 3, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+
+        // equal values can not be told apart in the compiled traversal and are cached by their value
+        hits = TraversalOpProcessor.traversalCacheHitMeter.getCount();
+        misses = TraversalOpProcessor.traversalCacheMissMeter.getCount();
+        assertEquals(2L, g.V().has("age", P.gt(29).or(P.eq(29))).count().next().longValue());
+        assertEquals(3L, g.V().has("age", P.gt(27).or(P.eq(27))).count().next().longValue());
+        assertEquals(2L, g.V().has("age", P.gt(29).or(P.eq(29))).count().next().longValue());
+        assertEquals(misses + 2, TraversalOpProcessor.traversalCacheMissMeter.getCount());
+        assertEquals(hits + 1, TraversalOpProcessor.traversalCacheHitMeter.getCount());
+    }
+
     @Test
     public void shouldGetSideEffectKeysUsingWithRemote() throws Exception {
         final Graph graph = EmptyGraph.instance();
@@ -48,6 +48,7 @@ public abstract class AbstractBenchmarkBase {
     protected static final int DEFAULT_MEASURE_ITERATIONS = 10;
     protected static final int DEFAULT_FORKS = 2;
     protected static final String DEFAULT_BENCHMARK_DIRECTORY = "./benchmarks/";
+    protected static final String PARAM_PROPERTY_PREFIX = "param.";
 
     protected static final String[] JVM_ARGS = {
             "-server", "-Xms2g", "-Xmx2g"
@@ -73,6 +74,14 @@ public abstract class AbstractBenchmarkBase {
             runnerOptions.forks(getForks());
         }
 
+        // benchmark parameters may be overridden with system properties like -Dparam.vertexCount=1000,100000
+        for (final String propertyName : System.getProperties().stringPropertyNames()) {
+            if (propertyName.startsWith(PARAM_PROPERTY_PREFIX)) {
+                runnerOptions.param(propertyName.substring(PARAM_PROPERTY_PREFIX.length()),
+                        System.getProperty(propertyName).split(","));
+            }
+        }
+
         if (getReportDir() != null) {
             final String dtmStr = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
             final String filePath = getReportDir() + className + "-" + dtmStr + ".json";
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.benchmark.util;
+
+import org.apache.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import org.apache.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Benchmarks that need a graph larger than the test data sets extend {@code AbstractScaleFreeGraphBenchmark}. The
+ * {@link TinkerGraph} is generated with power-law degree distributions, so that it has the few highly connected
+ * vertices and long tail of sparsely connected ones that real graphs tend to have. The size of the graph is
+ * controlled by the {@code vertexCount} and {@code averageDegree} parameters, which can be overridden when the
+ * benchmarks are run (e.g. {@code -Dparam.vertexCount=100000}).
+ */
+@State(Scope.Thread)
+public abstract class AbstractScaleFreeGraphBenchmark extends AbstractBenchmarkBase {
+
+    private static final long SEED = 123456789L;
+
+    @Param({"1000", "10000"})
+    protected int vertexCount;
+
+    @Param({"10"})
+    protected int averageDegree;
+
+    protected Graph graph;
+    protected GraphTraversalSource g;
+
+    @Setup
+    public void prepare() throws Exception {
+        graph = TinkerGraph.open();
+        generate(graph, vertexCount, averageDegree);
+        g = graph.traversal();
+    }
+
+    /**
+     * Adds {@code vertexCount} "person" vertices with a name and an age and roughly
+     * {@code vertexCount * averageDegree} "knows" edges with a weight to the graph. The same arguments always
+     * generate the same graph.
+     */
+    public static void generate(final Graph graph, final int vertexCount, final int averageDegree) {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertex(T.id, (long) i, T.label, "person", "name", "person" + i, "age", 18 + random.nextInt(60));
+        }
+        DistributionGenerator.build(graph)
+                .label("knows")
+                .seedGenerator(() -> SEED)
+                .edgeProcessor(edge -> edge.property("weight", random.nextDouble()))
+                .outDistribution(new PowerLawDistribution(2.1))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(vertexCount * averageDegree).create().generate();
+    }
+}
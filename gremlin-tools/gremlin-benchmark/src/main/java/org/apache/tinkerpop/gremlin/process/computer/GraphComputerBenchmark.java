@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer;
+
+import org.apache.tinkerpop.benchmark.util.AbstractScaleFreeGraphBenchmark;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * Runs {@link VertexProgram} benchmarks with {@link TinkerGraphComputer} against a generated scale-free graph.
+ */
+public class GraphComputerBenchmark extends AbstractScaleFreeGraphBenchmark {
+
+    @Param({"10"})
+    protected int iterations;
+
+    private GraphTraversalSource gc;
+
+    @Setup
+    @Override
+    public void prepare() throws Exception {
+        super.prepare();
+        gc = graph.traversal().withComputer(TinkerGraphComputer.class);
+    }
+
+    @Benchmark
+    public ComputerResult pageRank() throws Exception {
+        return graph.compute(TinkerGraphComputer.class)
+                .program(PageRankVertexProgram.build().iterations(iterations).create(graph)).submit().get();
+    }
+
+    @Benchmark
+    public ComputerResult peerPressure() throws Exception {
+        return graph.compute(TinkerGraphComputer.class)
+                .program(PeerPressureVertexProgram.build().maxIterations(iterations).create(graph)).submit().get();
+    }
+
+    @Benchmark
+    public Long g_V_out_out_count() throws Exception {
+        return gc.V().out().out().count().next();
+    }
+
+    @Benchmark
+    public List<Map<Object, Long>> g_V_repeatXoutX_timesX2X_groupCount_byXageX() throws Exception {
+        return gc.V().repeat(out()).times(2).<Object>groupCount().by("age").toList();
+    }
+
+    @Benchmark
+    public List<Object> g_V_pageRank_order_byXpageRank_decrX_limitX10X_valuesXnameX() throws Exception {
+        return gc.V().pageRank().order().by(PageRankVertexProgram.PAGE_RANK, Order.decr).limit(10).values("name").toList();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+
+/**
+ * Benchmarks the cost of {@link Traversal.Admin#applyStrategies()} for traversals of different shapes, which is paid
+ * every time a traversal is submitted. Each benchmark constructs the traversal and applies its strategies, so
+ * {@link #g_V_out_out_count_construct()} gives the construction cost to subtract.
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.MODERN)
+public class TraversalStrategiesBenchmark extends AbstractGraphBenchmark {
+
+    private GraphTraversalSource gc;
+
+    @Setup
+    @Override
+    public void prepare() throws IOException {
+        super.prepare();
+        gc = g.withComputer();
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_out_out_count_construct() {
+        return g.V().out().out().count().asAdmin();
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_out_out_count() {
+        return applyStrategies(g.V().out().out().count().asAdmin());
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_hasXname_markoX_outE_inV_hasXage_gtX30XX_valuesXnameX() {
+        return applyStrategies(g.V().has("name", "marko").outE().inV().has("age", P.gt(30)).values("name").asAdmin());
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_repeatXoutX_timesX3X_emit_path() {
+        return applyStrategies(g.V().repeat(out()).times(3).emit().path().asAdmin());
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_whereXnotXoutXcreatedXXX_groupCount_byXageX() {
+        return applyStrategies(g.V().where(__.not(out("created"))).groupCount().by("age").asAdmin());
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_matchXa_knows_b__b_created_cX_selectXa_cX() {
+        return applyStrategies(g.V().match(
+                __.as("a").out("knows").as("b"),
+                __.as("b").out("created").as("c")).select("a", "c").asAdmin());
+    }
+
+    @Benchmark
+    public Traversal.Admin<?, ?> g_V_out_out_count_withComputer() {
+        return applyStrategies(gc.V().out().out().count().asAdmin());
+    }
+
+    private static Traversal.Admin<?, ?> applyStrategies(final Traversal.Admin<?, ?> traversal) {
+        traversal.applyStrategies();
+        return traversal;
+    }
+}
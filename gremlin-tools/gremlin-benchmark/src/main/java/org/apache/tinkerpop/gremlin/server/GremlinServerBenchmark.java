@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.server;
+
+import org.apache.tinkerpop.benchmark.util.AbstractScaleFreeGraphBenchmark;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerGremlinV2d0;
+import org.apache.tinkerpop.gremlin.driver.ser.GryoMessageSerializerV1d0;
+import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Benchmarks round-trips from the driver to an embedded {@link GremlinServer} that serves a generated scale-free
+ * graph, for both scripts and bytecode and with each of the serializers the driver supports.
+ */
+public class GremlinServerBenchmark extends AbstractScaleFreeGraphBenchmark {
+
+    private static final int PORT = 45950;
+
+    @Param({"GRYO_V1D0", "GRAPHSON_V2D0"})
+    protected String serializer;
+
+    private File directory;
+    private GremlinServer server;
+    private Cluster cluster;
+    private Client client;
+    private GraphTraversalSource remote;
+
+    /**
+     * Starts the server once the graph is generated. This is a separate setup method rather than an override of
+     * {@link #prepare()} because JMH invokes an overridden setup method once for each class that declares it.
+     */
+    @Setup
+    public void startServer() throws Exception {
+        // the server loads the generated graph from a file in the gryo format
+        directory = Files.createTempDirectory(GremlinServerBenchmark.class.getSimpleName()).toFile();
+        final File graphFile = new File(directory, "graph.kryo");
+        try (final OutputStream out = new FileOutputStream(graphFile)) {
+            GryoWriter.build().create().writeGraph(out, graph);
+        }
+        final File graphProperties = new File(directory, "graph.properties");
+        Files.write(graphProperties.toPath(), String.join(System.lineSeparator(),
+                "gremlin.graph=" + TinkerGraph.class.getName(),
+                TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION + "=" + graphFile.getAbsolutePath(),
+                TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT + "=gryo").getBytes(StandardCharsets.UTF_8));
+        final File initScript = new File(directory, "init.groovy");
+        Files.write(initScript.toPath(), String.join(System.lineSeparator(),
+                "def globals = [:]",
+                "globals << [g : graph.traversal()]").getBytes(StandardCharsets.UTF_8));
+
+        final Settings settings = new Settings();
+        settings.port = PORT;
+        settings.graphs.put("graph", graphProperties.getAbsolutePath());
+        settings.scriptEngines.get("gremlin-groovy").scripts = Collections.singletonList(initScript.getAbsolutePath());
+        settings.serializers = Arrays.asList(
+                new Settings.SerializerSettings(GryoMessageSerializerV1d0.class.getName(), Collections.emptyMap()),
+                new Settings.SerializerSettings(GraphSONMessageSerializerGremlinV2d0.class.getName(), Collections.emptyMap()));
+        server = new GremlinServer(settings);
+        server.start().join();
+
+        cluster = Cluster.build("localhost").port(PORT).serializer(Serializers.valueOf(serializer)).create();
+        client = cluster.connect();
+        remote = EmptyGraph.instance().traversal().withRemote(DriverRemoteConnection.using(cluster, "g"));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        remote.close();
+        client.close();
+        cluster.close();
+        server.stop().join();
+        for (final File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public List<Result> submitScript_1plus1() throws Exception {
+        return client.submit("1+1").all().get();
+    }
+
+    @Benchmark
+    public List<Result> submitScript_g_V_limitX64X() throws Exception {
+        return client.submit("g.V().limit(x)", Collections.singletonMap("x", 64)).all().get();
+    }
+
+    @Benchmark
+    public List<Vertex> submitBytecode_g_V_limitX64X() throws Exception {
+        return remote.V().limit(64).toList();
+    }
+
+    @Benchmark
+    public Long submitBytecode_g_V_out_out_count() throws Exception {
+        return remote.V().out().out().count().next();
+    }
+}
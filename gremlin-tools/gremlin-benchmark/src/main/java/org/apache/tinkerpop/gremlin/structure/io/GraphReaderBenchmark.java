@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io;
+
+import org.apache.tinkerpop.benchmark.util.AbstractScaleFreeGraphBenchmark;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.graphml.GraphMLReader;
+import org.apache.tinkerpop.gremlin.structure.io.graphml.GraphMLWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Benchmarks bulk loading a generated scale-free graph into an empty {@link TinkerGraph} with the
+ * {@link GraphReader} of each format.
+ */
+public class GraphReaderBenchmark extends AbstractScaleFreeGraphBenchmark {
+
+    @Param({"gryo", "graphml"})
+    protected String format;
+
+    private GraphReader reader;
+    private byte[] serializedGraph;
+
+    @Setup
+    @Override
+    public void prepare() throws Exception {
+        super.prepare();
+        final GraphWriter writer;
+        switch (format) {
+            case "gryo":
+                writer = GryoWriter.build().create();
+                reader = GryoReader.build().create();
+                break;
+            case "graphml":
+                writer = GraphMLWriter.build().create();
+                reader = GraphMLReader.build().create();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeGraph(out, graph);
+        serializedGraph = out.toByteArray();
+    }
+
+    @Benchmark
+    public Graph readGraph() throws Exception {
+        final Graph loaded = TinkerGraph.open();
+        reader.readGraph(new ByteArrayInputStream(serializedGraph), loaded);
+        return loaded;
+    }
+}
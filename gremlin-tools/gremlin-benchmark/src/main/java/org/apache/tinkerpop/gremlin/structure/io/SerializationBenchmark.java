@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.apache.tinkerpop.benchmark.util.AbstractScaleFreeGraphBenchmark;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.bothE;
+
+/**
+ * Benchmarks the serialization of the objects that Gremlin Server and the OLAP input and output formats write most
+ * often: the {@code StarGraph} of a vertex, {@link Path} and {@code Traverser} results and the
+ * {@link ResponseMessage} that carries a batch of results to the driver.
+ */
+public class SerializationBenchmark extends AbstractScaleFreeGraphBenchmark {
+
+    private static final ByteBufAllocator ALLOCATOR = UnpooledByteBufAllocator.DEFAULT;
+
+    @Param({"gryo-v1", "graphson-v1", "graphson-v2"})
+    protected String format;
+
+    private GraphWriter writer;
+    private MessageSerializer messageSerializer;
+    private Vertex hub;
+    private Path path;
+    private Object traverser;
+    private ResponseMessage responseMessage;
+    private byte[] serializedResponseMessage;
+
+    @Setup
+    @Override
+    public void prepare() throws Exception {
+        super.prepare();
+        switch (format) {
+            case "gryo-v1":
+                writer = GryoWriter.build().create();
+                messageSerializer = Serializers.GRYO_V1D0.simpleInstance();
+                break;
+            case "graphson-v1":
+                writer = GraphSONWriter.build().mapper(GraphSONMapper.build().version(GraphSONVersion.V1_0).create()).create();
+                messageSerializer = Serializers.GRAPHSON_V1D0.simpleInstance();
+                break;
+            case "graphson-v2":
+                writer = GraphSONWriter.build().mapper(GraphSONMapper.build().version(GraphSONVersion.V2_0).create()).create();
+                messageSerializer = Serializers.GRAPHSON_V2D0.simpleInstance();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+
+        // the vertex with the most edges has the largest star graph
+        hub = g.V().order().by(bothE().count(), Order.decr).limit(1).next();
+        path = g.V(hub).out().out().path().limit(1).next();
+
+        // GraphSON 1.0 has no traverser serialization so results are unrolled to their objects
+        traverser = format.equals("graphson-v1") ? hub : g.V(hub).asAdmin().nextTraverser();
+
+        final List<Vertex> results = g.V().limit(64).toList();
+        responseMessage = ResponseMessage.build(UUID.randomUUID()).code(ResponseStatusCode.SUCCESS).result(results).create();
+        final ByteBuf buffer = messageSerializer.serializeResponseAsBinary(responseMessage, ALLOCATOR);
+        serializedResponseMessage = new byte[buffer.readableBytes()];
+        buffer.readBytes(serializedResponseMessage);
+        buffer.release();
+    }
+
+    @Benchmark
+    public byte[] writeStarGraph() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeVertex(out, hub, Direction.BOTH);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writePath() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeObject(out, path);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeTraverser() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeObject(out, traverser);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public int serializeResponseMessage() throws Exception {
+        final ByteBuf buffer = messageSerializer.serializeResponseAsBinary(responseMessage, ALLOCATOR);
+        final int size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+
+    @Benchmark
+    public ResponseMessage deserializeResponseMessage() throws Exception {
+        return messageSerializer.deserializeResponse(ALLOCATOR.buffer(serializedResponseMessage.length).writeBytes(serializedResponseMessage));
+    }
+}
@@ -40,6 +40,8 @@ public final class Constants {
     public static final String GREMLIN_HADOOP_GRAPH_FILTER = "gremlin.hadoop.graphFilter";
     public static final String GREMLIN_HADOOP_DEFAULT_GRAPH_COMPUTER = "gremlin.hadoop.defaultGraphComputer";
     public static final String GREMLIN_HADOOP_VERTEX_PROGRAM_INTERCEPTOR = "gremlin.hadoop.vertexProgramInterceptor";
+    public static final String GREMLIN_HADOOP_COLUMNAR_BLOCK_SIZE = "gremlin.hadoop.columnar.blockSize";
+    public static final String GREMLIN_HADOOP_COLUMNAR_PROPERTY_KEYS = "gremlin.hadoop.columnar.propertyKeys";
 
     public static final String GREMLIN_HADOOP_JARS_IN_DISTRIBUTED_CACHE = "gremlin.hadoop.jarsInDistributedCache";
     public static final String HIDDEN_G = Graph.Hidden.hide("g");
@@ -60,6 +62,8 @@ public final class Constants {
     public static final String GREMLIN_SPARK_PERSIST_STORAGE_LEVEL = "gremlin.spark.persistStorageLevel";
     public static final String GREMLIN_SPARK_SKIP_PARTITIONER = "gremlin.spark.skipPartitioner"; // don't partition the loadedGraphRDD
     public static final String GREMLIN_SPARK_SKIP_GRAPH_CACHE = "gremlin.spark.skipGraphCache";  // don't cache the loadedGraphRDD (ignores graphStorageLevel)
+    public static final String GREMLIN_SPARK_DELTA_SHUFFLE = "gremlin.spark.deltaShuffle";  // only shuffle changed views and messages (requires a partitioned graphRDD)
+    public static final String GREMLIN_SPARK_DELTA_SHUFFLE_CHECKPOINT_INTERVAL = "gremlin.spark.deltaShuffleCheckpointInterval"; // local checkpoint the cached views every n iterations (0 to never)
     public static final String SPARK_SERIALIZER = "spark.serializer";
 
     public static String getGraphLocation(final String location) {
@@ -36,6 +36,10 @@ import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopVertex;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopVertexProperty;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.FileSystemStorage;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar.ColumnarInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar.ColumnarOutputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar.ColumnarRecordReader;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar.ColumnarRecordWriter;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.graphson.GraphSONInputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.graphson.GraphSONOutputFormat;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.graphson.GraphSONRecordReader;
@@ -102,6 +106,10 @@ public final class HadoopGremlinPlugin extends AbstractGremlinPlugin {
                             HadoopVertexProperty.class,
                             ConfUtil.class,
                             VertexWritable.class,
+                            ColumnarInputFormat.class,
+                            ColumnarOutputFormat.class,
+                            ColumnarRecordReader.class,
+                            ColumnarRecordWriter.class,
                             GraphSONInputFormat.class,
                             GraphSONOutputFormat.class,
                             GraphSONRecordReader.class,
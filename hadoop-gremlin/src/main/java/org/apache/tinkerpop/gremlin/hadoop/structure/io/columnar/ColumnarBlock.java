@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The header of a block of vertices in the columnar format. A block on disk is laid out as a {@link #SYNC} marker,
+ * the length of the header, the header and then each column of the block deflated and in header order. The header
+ * records the number of vertices, the distinct vertex labels and, per column, its compressed and uncompressed size
+ * along with the minimum and maximum value when the values of the column are mutually {@link Comparable}.
+ */
+final class ColumnarBlock {
+
+    static final byte[] SYNC = ByteBuffer.allocate(16).putLong(-6052837899185946624L).putLong(1785327283612843265L).array();
+
+    static final byte ID = 0;
+    static final byte LABEL = 1;
+    static final byte PROPERTY = 2;
+    static final byte OUT_EDGES = 3;
+    static final byte IN_EDGES = 4;
+
+    int vertexCount;
+    Set<String> labels = new LinkedHashSet<>();
+    List<Column> columns = new ArrayList<>();
+
+    static final class Column {
+        byte type;
+        String key;
+        int compressedLength;
+        int length;
+        Object min;
+        Object max;
+
+        Column(final byte type, final String key) {
+            this.type = type;
+            this.key = key;
+        }
+    }
+
+    void write(final Kryo kryo, final Output output) {
+        output.writeInt(this.vertexCount, true);
+        output.writeInt(this.labels.size(), true);
+        for (final String label : this.labels) {
+            output.writeString(label);
+        }
+        output.writeInt(this.columns.size(), true);
+        for (final Column column : this.columns) {
+            output.writeByte(column.type);
+            output.writeString(column.key);
+            output.writeInt(column.compressedLength, true);
+            output.writeInt(column.length, true);
+            kryo.writeClassAndObject(output, column.min);
+            kryo.writeClassAndObject(output, column.max);
+        }
+    }
+
+    static ColumnarBlock read(final Kryo kryo, final Input input) {
+        final ColumnarBlock block = new ColumnarBlock();
+        block.vertexCount = input.readInt(true);
+        final int numberOfLabels = input.readInt(true);
+        for (int i = 0; i < numberOfLabels; i++) {
+            block.labels.add(input.readString());
+        }
+        final int numberOfColumns = input.readInt(true);
+        for (int i = 0; i < numberOfColumns; i++) {
+            final Column column = new Column(input.readByte(), input.readString());
+            column.compressedLength = input.readInt(true);
+            column.length = input.readInt(true);
+            column.min = kryo.readClassAndObject(input);
+            column.max = kryo.readClassAndObject(input);
+            block.columns.add(column);
+        }
+        return block;
+    }
+
+    static byte[] compress(final byte[] bytes) {
+        final Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final Output output = new Output(Math.max(64, bytes.length / 2), -1);
+            final byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                output.writeBytes(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toBytes();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(final byte[] compressed, final int length) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            final byte[] bytes = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                final int inflated = inflater.inflate(bytes, offset, length - offset);
+                if (0 == inflated && (inflater.finished() || inflater.needsInput()))
+                    throw new IllegalStateException("The column ended before its " + length + " bytes were inflated");
+                offset = offset + inflated;
+            }
+            return bytes;
+        } catch (final DataFormatException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
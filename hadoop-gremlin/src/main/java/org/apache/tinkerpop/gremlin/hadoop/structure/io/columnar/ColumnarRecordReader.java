@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShimServiceLoader;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads the blocks of a columnar file whose {@link ColumnarBlock#SYNC} marker starts within the split. Entire blocks
+ * are skipped when the block statistics prove that no vertex can pass the vertex filter of the {@link GraphFilter}.
+ * Edge columns of directions that the edge filter removes and property columns outside of
+ * {@link Constants#GREMLIN_HADOOP_COLUMNAR_PROPERTY_KEYS} are seeked over without being decompressed.
+ */
+public final class ColumnarRecordReader extends RecordReader<NullWritable, VertexWritable> {
+
+    private FSDataInputStream inputStream;
+    private long start;
+    private long end;
+    private long length;
+    private Kryo kryo;
+    private GraphFilter graphFilter = new GraphFilter();
+    private List<HasContainer> vertexFilterContainers = null;
+    private Set<String> propertyKeys = null;
+    private final VertexWritable vertexWritable = new VertexWritable();
+
+    private ColumnarBlock block = null;
+    private int vertexIndex = 0;
+    private Input ids;
+    private Input labels;
+    private Input outEdges;
+    private Input inEdges;
+    private final Map<String, Input> properties = new LinkedHashMap<>();
+
+    public ColumnarRecordReader() {
+
+    }
+
+    @Override
+    public void initialize(final InputSplit genericSplit, final TaskAttemptContext context) throws IOException {
+        final FileSplit split = (FileSplit) genericSplit;
+        final Configuration configuration = context.getConfiguration();
+        if (configuration.get(Constants.GREMLIN_HADOOP_GRAPH_FILTER, null) != null)
+            this.graphFilter = VertexProgramHelper.deserialize(ConfUtil.makeApacheConfiguration(configuration), Constants.GREMLIN_HADOOP_GRAPH_FILTER);
+        this.vertexFilterContainers = ColumnarRecordReader.getHasContainers(this.graphFilter);
+        final String[] keys = configuration.getStrings(Constants.GREMLIN_HADOOP_COLUMNAR_PROPERTY_KEYS);
+        if (null != keys && (!this.graphFilter.hasVertexFilter() || null != this.vertexFilterContainers)) {
+            this.propertyKeys = new HashSet<>(Arrays.asList(keys));
+            if (null != this.vertexFilterContainers)
+                this.vertexFilterContainers.forEach(hasContainer -> this.propertyKeys.add(hasContainer.getKey()));
+        }
+        KryoShimServiceLoader.applyConfiguration(ConfUtil.makeApacheConfiguration(configuration));
+        this.kryo = HadoopPools.getGryoPool().takeKryo();
+        final Path file = split.getPath();
+        if (null != new CompressionCodecFactory(configuration).getCodec(file)) {
+            throw new IllegalStateException("Compression is not supported for the columnar format as its columns are already compressed");
+        }
+        // open the file and seek to the first block of the split
+        this.inputStream = file.getFileSystem(configuration).open(file);
+        this.start = split.getStart();
+        this.length = file.getFileSystem(configuration).getFileStatus(file).getLen();
+        this.end = Math.min(this.start + split.getLength(), this.length);
+        this.seekToSync();
+    }
+
+    private void seekToSync() throws IOException {
+        this.inputStream.seek(this.start);
+        long position = this.start;
+        int match = 0;
+        while (match < ColumnarBlock.SYNC.length) {
+            // a sync marker belongs to this split if it starts before the end of the split
+            if (position - match >= this.end || position >= this.length) {
+                this.inputStream.seek(this.end);
+                return;
+            }
+            final byte current = this.inputStream.readByte();
+            position++;
+            match = current == ColumnarBlock.SYNC[match] ? match + 1 : (current == ColumnarBlock.SYNC[0] ? 1 : 0);
+        }
+        this.inputStream.seek(position - ColumnarBlock.SYNC.length);
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+        while (true) {
+            if (null == this.block || this.vertexIndex >= this.block.vertexCount) {
+                if (!this.nextBlock())
+                    return false;
+            } else {
+                final Optional<StarGraph> starGraph = this.nextVertex();
+                if (starGraph.isPresent()) {
+                    this.vertexWritable.set(starGraph.get().getStarVertex());
+                    return true;
+                }
+            }
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        this.block = null;
+        this.properties.clear();
+        this.ids = this.labels = this.outEdges = this.inEdges = null;
+        if (this.inputStream.getPos() >= this.end)
+            return false;
+        final byte[] sync = new byte[ColumnarBlock.SYNC.length];
+        this.inputStream.readFully(sync);
+        if (!Arrays.equals(sync, ColumnarBlock.SYNC))
+            throw new IllegalStateException("The columnar block at position " + (this.inputStream.getPos() - sync.length) + " does not start with a sync marker");
+        final byte[] header = new byte[this.inputStream.readInt()];
+        this.inputStream.readFully(header);
+        final ColumnarBlock block = ColumnarBlock.read(this.kryo, new Input(header));
+        if (!this.legalBlock(block)) {
+            long length = 0;
+            for (final ColumnarBlock.Column column : block.columns) {
+                length = length + column.compressedLength;
+            }
+            this.inputStream.seek(this.inputStream.getPos() + length);
+            return true;
+        }
+        for (final ColumnarBlock.Column column : block.columns) {
+            if (this.legalColumn(column)) {
+                final byte[] compressed = new byte[column.compressedLength];
+                this.inputStream.readFully(compressed);
+                final Input input = new Input(ColumnarBlock.decompress(compressed, column.length));
+                if (ColumnarBlock.ID == column.type)
+                    this.ids = input;
+                else if (ColumnarBlock.LABEL == column.type)
+                    this.labels = input;
+                else if (ColumnarBlock.OUT_EDGES == column.type)
+                    this.outEdges = input;
+                else if (ColumnarBlock.IN_EDGES == column.type)
+                    this.inEdges = input;
+                else
+                    this.properties.put(column.key, input);
+            } else
+                this.inputStream.seek(this.inputStream.getPos() + column.compressedLength);
+        }
+        this.block = block;
+        this.vertexIndex = 0;
+        return true;
+    }
+
+    private boolean legalBlock(final ColumnarBlock block) {
+        if (!this.graphFilter.hasVertexFilter())
+            return true;
+        if (block.labels.stream().allMatch(label -> this.graphFilter.checkVertexLegality(label).negative()))
+            return false;
+        if (null == this.vertexFilterContainers)
+            return true;
+        for (final HasContainer hasContainer : this.vertexFilterContainers) {
+            if (hasContainer.getKey().equals(T.label.getAccessor()))
+                continue;
+            final boolean id = hasContainer.getKey().equals(T.id.getAccessor());
+            final Optional<ColumnarBlock.Column> column = block.columns.stream()
+                    .filter(c -> id ? ColumnarBlock.ID == c.type : ColumnarBlock.PROPERTY == c.type && hasContainer.getKey().equals(c.key))
+                    .findAny();
+            if (!column.isPresent())
+                return false;   // no vertex in the block has the property
+            if (!ColumnarRecordReader.withinRange(hasContainer, column.get().min, column.get().max))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean legalColumn(final ColumnarBlock.Column column) {
+        if (ColumnarBlock.OUT_EDGES == column.type)
+            return this.graphFilter.checkEdgeLegality(Direction.OUT).positive();
+        else if (ColumnarBlock.IN_EDGES == column.type)
+            return this.graphFilter.checkEdgeLegality(Direction.IN).positive();
+        else if (ColumnarBlock.PROPERTY == column.type)
+            return null == this.propertyKeys || this.propertyKeys.contains(column.key);
+        else
+            return true;
+    }
+
+    private Optional<StarGraph> nextVertex() {
+        this.vertexIndex++;
+        final Object id = this.kryo.readClassAndObject(this.ids);
+        final String label = this.labels.readString();
+        final boolean legal = this.graphFilter.checkVertexLegality(label).positive();
+        final StarGraph starGraph = StarGraph.open();
+        final Vertex vertex = starGraph.addVertex(T.id, id, T.label, label);
+        for (final Map.Entry<String, Input> entry : this.properties.entrySet()) {
+            this.readProperties(entry.getValue(), entry.getKey(), legal ? vertex : null);
+        }
+        if (null != this.outEdges)
+            this.readEdges(this.outEdges, starGraph, Direction.OUT, legal);
+        if (null != this.inEdges)
+            this.readEdges(this.inEdges, starGraph, Direction.IN, legal);
+        if (!legal)
+            return Optional.empty();
+        return this.graphFilter.hasFilter() ? starGraph.applyGraphFilter(this.graphFilter) : Optional.of(starGraph);
+    }
+
+    private void readProperties(final Input input, final String key, final Vertex vertex) {
+        final int numberOfProperties = input.readInt(true);
+        for (int i = 0; i < numberOfProperties; i++) {
+            final Object id = this.kryo.readClassAndObject(input);
+            final Object value = this.kryo.readClassAndObject(input);
+            final int numberOfMetaProperties = input.readInt(true);
+            final Object[] keyValues = new Object[2 + 2 * numberOfMetaProperties];
+            keyValues[0] = T.id;
+            keyValues[1] = id;
+            for (int j = 0; j < numberOfMetaProperties; j++) {
+                keyValues[2 + 2 * j] = input.readString();
+                keyValues[3 + 2 * j] = this.kryo.readClassAndObject(input);
+            }
+            if (null != vertex)
+                vertex.property(VertexProperty.Cardinality.list, key, value, keyValues);
+        }
+    }
+
+    private void readEdges(final Input input, final StarGraph starGraph, final Direction direction, final boolean legal) {
+        final Vertex vertex = starGraph.getStarVertex();
+        final int numberOfEdges = input.readInt(true);
+        for (int i = 0; i < numberOfEdges; i++) {
+            final String label = input.readString();
+            final Object edgeId = this.kryo.readClassAndObject(input);
+            final Object adjacentId = this.kryo.readClassAndObject(input);
+            final int numberOfProperties = input.readInt(true);
+            final Object[] keyValues = new Object[2 + 2 * numberOfProperties];
+            keyValues[0] = T.id;
+            keyValues[1] = edgeId;
+            for (int j = 0; j < numberOfProperties; j++) {
+                keyValues[2 + 2 * j] = input.readString();
+                keyValues[3 + 2 * j] = this.kryo.readClassAndObject(input);
+            }
+            if (!legal || this.graphFilter.checkEdgeLegality(direction, label).negative())
+                continue;
+            if (direction.equals(Direction.OUT))
+                vertex.addEdge(label, starGraph.addVertex(T.id, adjacentId), keyValues); // a self-loop adds its in-edge as well
+            else if (null == this.outEdges || !vertex.id().equals(adjacentId) || this.graphFilter.checkEdgeLegality(Direction.OUT, label).negative())
+                starGraph.addVertex(T.id, adjacentId).addEdge(label, vertex, keyValues);
+        }
+    }
+
+    /**
+     * Get the {@link HasContainer}s of the vertex filter if the vertex filter is solely a chain of {@link HasStep}s.
+     */
+    private static List<HasContainer> getHasContainers(final GraphFilter graphFilter) {
+        if (!graphFilter.hasVertexFilter())
+            return null;
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        for (final Step<?, ?> step : graphFilter.getVertexFilter().getSteps()) {
+            if (!(step instanceof HasStep))
+                return null;
+            hasContainers.addAll(((HasStep<?>) step).getHasContainers());
+        }
+        return hasContainers;
+    }
+
+    /**
+     * Determines whether the {@link Compare} predicate of the {@link HasContainer} can hold for a value between the
+     * minimum and maximum of a column. If the predicate or the statistics can not be reasoned on, it is assumed so.
+     */
+    private static boolean withinRange(final HasContainer hasContainer, final Object min, final Object max) {
+        final Object value = hasContainer.getValue();
+        if (!(hasContainer.getBiPredicate() instanceof Compare) || null == min || null == max || null == value || !min.getClass().equals(value.getClass()))
+            return true;
+        final Comparable comparable = (Comparable) value;
+        switch ((Compare) hasContainer.getBiPredicate()) {
+            case eq:
+                return comparable.compareTo(min) >= 0 && comparable.compareTo(max) <= 0;
+            case gt:
+                return comparable.compareTo(max) < 0;
+            case gte:
+                return comparable.compareTo(max) <= 0;
+            case lt:
+                return comparable.compareTo(min) > 0;
+            case lte:
+                return comparable.compareTo(min) >= 0;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public NullWritable getCurrentKey() {
+        return NullWritable.get();
+    }
+
+    @Override
+    public VertexWritable getCurrentValue() {
+        return this.vertexWritable;
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+        if (this.end <= this.start)
+            return 1.0f;
+        return Math.min(1.0f, (float) (this.inputStream.getPos() - this.start) / (float) (this.end - this.start));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.inputStream.close();
+        if (null != this.kryo) {
+            HadoopPools.getGryoPool().offerKryo(this.kryo);
+            this.kryo = null;
+        }
+    }
+}
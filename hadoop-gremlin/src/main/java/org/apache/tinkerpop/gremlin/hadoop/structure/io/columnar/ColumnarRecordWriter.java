@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.HadoopPools;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShimServiceLoader;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes vertices in blocks of {@link Constants#GREMLIN_HADOOP_COLUMNAR_BLOCK_SIZE} where the ids, labels, each
+ * property key and the incident edges of each direction are written to separately compressed columns.
+ */
+public final class ColumnarRecordWriter extends RecordWriter<NullWritable, VertexWritable> {
+
+    private final DataOutputStream outputStream;
+    private final boolean hasEdges;
+    private final int blockSize;
+    private Kryo kryo;
+
+    private int vertexCount = 0;
+    private final ColumnBuffer ids = new ColumnBuffer(ColumnarBlock.ID, null);
+    private final ColumnBuffer labels = new ColumnBuffer(ColumnarBlock.LABEL, null);
+    private final ColumnBuffer outEdges = new ColumnBuffer(ColumnarBlock.OUT_EDGES, null);
+    private final ColumnBuffer inEdges = new ColumnBuffer(ColumnarBlock.IN_EDGES, null);
+    private final Map<String, ColumnBuffer> properties = new LinkedHashMap<>();
+    private final ColumnarBlock block = new ColumnarBlock();
+
+    public ColumnarRecordWriter(final DataOutputStream outputStream, final Configuration configuration) {
+        this.outputStream = outputStream;
+        this.hasEdges = configuration.getBoolean(Constants.GREMLIN_HADOOP_GRAPH_WRITER_HAS_EDGES, true);
+        this.blockSize = configuration.getInt(Constants.GREMLIN_HADOOP_COLUMNAR_BLOCK_SIZE, 10000);
+        KryoShimServiceLoader.applyConfiguration(ConfUtil.makeApacheConfiguration(configuration));
+        this.kryo = HadoopPools.getGryoPool().takeKryo();
+    }
+
+    @Override
+    public void write(final NullWritable key, final VertexWritable vertexWritable) throws IOException {
+        if (null == vertexWritable)
+            return;
+        final Vertex vertex = vertexWritable.get();
+        this.kryo.writeClassAndObject(this.ids.output, vertex.id());
+        this.ids.update(vertex.id());
+        this.labels.output.writeString(vertex.label());
+        this.block.labels.add(vertex.label());
+        final Set<String> keys = vertex.keys();
+        for (final String propertyKey : keys) {
+            ColumnBuffer column = this.properties.get(propertyKey);
+            if (null == column) {
+                column = new ColumnBuffer(ColumnarBlock.PROPERTY, propertyKey);
+                for (int i = 0; i < this.vertexCount; i++) {
+                    column.output.writeInt(0, true);
+                }
+                this.properties.put(propertyKey, column);
+            }
+            this.writeProperties(column, IteratorUtils.list(vertex.properties(propertyKey)));
+        }
+        for (final ColumnBuffer column : this.properties.values()) {
+            if (!keys.contains(column.key))
+                column.output.writeInt(0, true);
+        }
+        if (this.hasEdges) {
+            this.writeEdges(this.outEdges, IteratorUtils.list(vertex.edges(Direction.OUT)), Direction.OUT);
+            this.writeEdges(this.inEdges, IteratorUtils.list(vertex.edges(Direction.IN)), Direction.IN);
+        }
+        if (++this.vertexCount >= this.blockSize)
+            this.writeBlock();
+    }
+
+    private void writeProperties(final ColumnBuffer column, final List<VertexProperty<Object>> vertexProperties) {
+        column.output.writeInt(vertexProperties.size(), true);
+        for (final VertexProperty<Object> vertexProperty : vertexProperties) {
+            this.kryo.writeClassAndObject(column.output, vertexProperty.id());
+            this.kryo.writeClassAndObject(column.output, vertexProperty.value());
+            column.update(vertexProperty.value());
+            final List<Property<Object>> metaProperties = IteratorUtils.list(vertexProperty.properties());
+            column.output.writeInt(metaProperties.size(), true);
+            for (final Property<Object> metaProperty : metaProperties) {
+                column.output.writeString(metaProperty.key());
+                this.kryo.writeClassAndObject(column.output, metaProperty.value());
+            }
+        }
+    }
+
+    private void writeEdges(final ColumnBuffer column, final List<Edge> edges, final Direction direction) {
+        column.output.writeInt(edges.size(), true);
+        for (final Edge edge : edges) {
+            column.output.writeString(edge.label());
+            this.kryo.writeClassAndObject(column.output, edge.id());
+            this.kryo.writeClassAndObject(column.output, direction.equals(Direction.OUT) ? edge.inVertex().id() : edge.outVertex().id());
+            final List<Property<Object>> edgeProperties = IteratorUtils.list(edge.properties());
+            column.output.writeInt(edgeProperties.size(), true);
+            for (final Property<Object> property : edgeProperties) {
+                column.output.writeString(property.key());
+                this.kryo.writeClassAndObject(column.output, property.value());
+            }
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        this.block.vertexCount = this.vertexCount;
+        final Map<ColumnBuffer, byte[]> compressed = new LinkedHashMap<>();
+        compressed.put(this.ids, null);
+        compressed.put(this.labels, null);
+        for (final ColumnBuffer column : this.properties.values()) {
+            compressed.put(column, null);
+        }
+        if (this.hasEdges) {
+            compressed.put(this.outEdges, null);
+            compressed.put(this.inEdges, null);
+        }
+        for (final Map.Entry<ColumnBuffer, byte[]> entry : compressed.entrySet()) {
+            final byte[] bytes = entry.getKey().output.toBytes();
+            entry.setValue(ColumnarBlock.compress(bytes));
+            final ColumnarBlock.Column column = new ColumnarBlock.Column(entry.getKey().type, entry.getKey().key);
+            column.length = bytes.length;
+            column.compressedLength = entry.getValue().length;
+            column.min = entry.getKey().min;
+            column.max = entry.getKey().max;
+            this.block.columns.add(column);
+        }
+        final Output header = new Output(1024, -1);
+        this.block.write(this.kryo, header);
+        this.outputStream.write(ColumnarBlock.SYNC);
+        this.outputStream.writeInt(header.position());
+        this.outputStream.write(header.getBuffer(), 0, header.position());
+        for (final byte[] bytes : compressed.values()) {
+            this.outputStream.write(bytes);
+        }
+        // reset for the next block
+        this.vertexCount = 0;
+        this.block.labels.clear();
+        this.block.columns.clear();
+        this.ids.clear();
+        this.labels.clear();
+        this.outEdges.clear();
+        this.inEdges.clear();
+        this.properties.clear();
+    }
+
+    @Override
+    public synchronized void close(final TaskAttemptContext context) throws IOException {
+        if (this.vertexCount > 0)
+            this.writeBlock();
+        this.outputStream.close();
+        if (null != this.kryo) {
+            HadoopPools.getGryoPool().offerKryo(this.kryo);
+            this.kryo = null;
+        }
+    }
+
+    private static final class ColumnBuffer {
+        private final byte type;
+        private final String key;
+        private final Output output = new Output(4096, -1);
+        private boolean comparable = true;
+        private Object min;
+        private Object max;
+
+        private ColumnBuffer(final byte type, final String key) {
+            this.type = type;
+            this.key = key;
+        }
+
+        private void update(final Object value) {
+            if (!this.comparable)
+                return;
+            if (!(value instanceof Comparable) || (null != this.min && !this.min.getClass().equals(value.getClass()))) {
+                this.comparable = false;
+                this.min = null;
+                this.max = null;
+            } else {
+                if (null == this.min || ((Comparable) value).compareTo(this.min) < 0)
+                    this.min = value;
+                if (null == this.max || ((Comparable) value).compareTo(this.max) > 0)
+                    this.max = value;
+            }
+        }
+
+        private void clear() {
+            this.output.clear();
+            this.comparable = true;
+            this.min = null;
+            this.max = null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.script;
+
+import groovy.lang.Script;
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tinkerpop.gremlin.groovy.CompilerCustomizerProvider;
+import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
+import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+
+import javax.script.Bindings;
+import javax.script.ScriptException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+/**
+ * Shares a single {@link GremlinGroovyScriptEngine} between all {@link ScriptRecordReader} and
+ * {@link ScriptRecordWriter} instances of a JVM. As the engine caches the classes it compiles, a script is compiled
+ * once per JVM regardless of the number of splits that are processed.
+ */
+final class ScriptHelper {
+
+    private ScriptHelper() {
+    }
+
+    private static final class EngineHolder {
+        private static final GremlinGroovyScriptEngine ENGINE = new GremlinGroovyScriptEngine((CompilerCustomizerProvider) new DefaultImportCustomizerProvider());
+    }
+
+    /**
+     * Evaluates the script stored in the file referenced by the configuration key and returns the {@code Script}
+     * object it was evaluated as. The methods of the script (e.g. {@code parse()}) can then be invoked directly on
+     * that object and variables that are put into the bindings afterwards are visible to them.
+     */
+    static Script loadScript(final Configuration configuration, final String scriptFileKey, final Bindings bindings) throws IOException {
+        final FileSystem fs = FileSystem.get(configuration);
+        try (final InputStream stream = fs.open(new Path(configuration.get(scriptFileKey)));
+             final InputStreamReader reader = new InputStreamReader(stream)) {
+            return (Script) EngineHolder.ENGINE.eval(String.join("\n", IOUtils.toString(reader), "this"), bindings);
+        } catch (final ScriptException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    static Bindings createBindings() {
+        return EngineHolder.ENGINE.createBindings();
+    }
+}
@@ -18,18 +18,14 @@
  */
 package org.apache.tinkerpop.gremlin.hadoop.structure.io.script;
 
-import org.apache.commons.io.IOUtils;
+import groovy.lang.Script;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.FileSystem;
-import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.input.LineRecordReader;
-import org.apache.tinkerpop.gremlin.groovy.CompilerCustomizerProvider;
-import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
-import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
@@ -41,34 +37,33 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
 
 import javax.script.Bindings;
-import javax.script.Compilable;
-import javax.script.CompiledScript;
-import javax.script.ScriptEngine;
-import javax.script.ScriptException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 /**
+ * Parses each line of the split into a vertex with the {@code parse(line, factory)} method of the configured script.
+ * The script is compiled once per JVM and evaluated once per reader after which {@code parse()} is invoked directly
+ * for every line. Alternatively, a {@code BiFunction<String, StarGraph, Vertex>} class can be configured with
+ * {@link #PARSE_FUNCTION} to parse the lines without Groovy.
+ *
  * @author Daniel Kuppitz (http://gremlin.guru)
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class ScriptRecordReader extends RecordReader<NullWritable, VertexWritable> {
 
     protected final static String SCRIPT_FILE = "gremlin.hadoop.scriptInputFormat.script";
+    protected final static String PARSE_FUNCTION = "gremlin.hadoop.scriptInputFormat.parseFunction";
     //protected final static String SCRIPT_ENGINE = "gremlin.hadoop.scriptInputFormat.scriptEngine";
     private final static String GRAPH = "graph";
-    private final static String LINE = "line";
-    private final static String FACTORY = "factory";
-    private final static String READ_CALL = "parse(" + LINE + "," + FACTORY + ")";
+    private final static String PARSE = "parse";
     private final VertexWritable vertexWritable = new VertexWritable();
     private final LineRecordReader lineRecordReader;
 
-    private ScriptEngine engine;
-    private String parse;
-    private CompiledScript script;
+    private Bindings bindings;
+    private Script script;
+    private BiFunction<String, StarGraph, Vertex> parseFunction;
 
     private GraphFilter graphFilter = new GraphFilter();
 
@@ -82,15 +77,11 @@ public final class ScriptRecordReader extends RecordReader<NullWritable, VertexW
         final Configuration configuration = context.getConfiguration();
         if (configuration.get(Constants.GREMLIN_HADOOP_GRAPH_FILTER, null) != null)
             this.graphFilter = VertexProgramHelper.deserialize(ConfUtil.makeApacheConfiguration(configuration), Constants.GREMLIN_HADOOP_GRAPH_FILTER);
-        this.engine = new GremlinGroovyScriptEngine((CompilerCustomizerProvider) new DefaultImportCustomizerProvider());
-        //this.engine = ScriptEngineCache.get(configuration.get(SCRIPT_ENGINE, ScriptEngineCache.DEFAULT_SCRIPT_ENGINE));
-        final FileSystem fs = FileSystem.get(configuration);
-        try (final InputStream stream = fs.open(new Path(configuration.get(SCRIPT_FILE)));
-             final InputStreamReader reader = new InputStreamReader(stream)) {
-            this.parse = String.join("\n", IOUtils.toString(reader), READ_CALL);
-            script = ((Compilable) engine).compile(this.parse);
-        } catch (ScriptException e) {
-            throw new IOException(e.getMessage(), e);
+        if (null != configuration.get(PARSE_FUNCTION, null))
+            this.parseFunction = ReflectionUtils.newInstance(configuration.getClass(PARSE_FUNCTION, null, BiFunction.class), configuration);
+        else {
+            this.bindings = ScriptHelper.createBindings();
+            this.script = ScriptHelper.loadScript(configuration, SCRIPT_FILE, this.bindings);
         }
     }
 
@@ -99,21 +90,24 @@ public final class ScriptRecordReader extends RecordReader<NullWritable, VertexW
         while (true) {
             if (!this.lineRecordReader.nextKeyValue()) return false;
             try {
-                final Bindings bindings = this.engine.createBindings();
                 final StarGraph graph = StarGraph.open();
-                final ScriptElementFactory factory = new ScriptElementFactory(graph);
-                bindings.put(GRAPH, graph);
-                bindings.put(LINE, this.lineRecordReader.getCurrentValue().toString());
-                bindings.put(FACTORY, factory);
-                final StarGraph.StarVertex sv = (StarGraph.StarVertex) script.eval(bindings);
-                if (sv != null) {
+                final String line = this.lineRecordReader.getCurrentValue().toString();
+                final Vertex v;
+                if (null != this.parseFunction)
+                    v = this.parseFunction.apply(line, graph);
+                else {
+                    this.bindings.put(GRAPH, graph);
+                    v = (Vertex) this.script.invokeMethod(PARSE, new Object[]{line, new ScriptElementFactory(graph)});
+                }
+                if (v != null) {
+                    final StarGraph.StarVertex sv = v instanceof StarGraph.StarVertex ? (StarGraph.StarVertex) v : StarGraph.of(v).getStarVertex();
                     final Optional<StarGraph.StarVertex> vertex = sv.applyGraphFilter(this.graphFilter);
                     if (vertex.isPresent()) {
                         this.vertexWritable.set(vertex.get());
                         return true;
                     }
                 }
-            } catch (final ScriptException e) {
+            } catch (final Exception e) {
                 throw new IOException(e.getMessage(), e);
             }
         }
@@ -18,38 +18,39 @@
  */
 package org.apache.tinkerpop.gremlin.hadoop.structure.io.script;
 
+import groovy.lang.Script;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.FileSystem;
-import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapreduce.RecordWriter;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
-import org.apache.tinkerpop.gremlin.groovy.CompilerCustomizerProvider;
-import org.apache.tinkerpop.gremlin.groovy.DefaultImportCustomizerProvider;
-import org.apache.tinkerpop.gremlin.groovy.jsr223.GremlinGroovyScriptEngine;
+import org.apache.hadoop.util.ReflectionUtils;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 
-import javax.script.Bindings;
-import javax.script.ScriptEngine;
-import javax.script.ScriptException;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.util.function.Function;
 
 /**
+ * Writes each vertex as the line returned by the {@code stringify(vertex)} method of the configured script. The
+ * script is compiled once per JVM and evaluated once per writer after which {@code stringify()} is invoked directly
+ * for every vertex. Alternatively, a {@code Function<Vertex, String>} class can be configured with
+ * {@link #STRINGIFY_FUNCTION} to write the vertices without Groovy.
+ *
  * @author Daniel Kuppitz (http://gremlin.guru)
  */
 public final class ScriptRecordWriter extends RecordWriter<NullWritable, VertexWritable> {
 
     protected final static String SCRIPT_FILE = "gremlin.hadoop.scriptOutputFormat.script";
     protected final static String SCRIPT_ENGINE = "gremlin.hadoop.scriptOutputFormat.scriptEngine";
-    private final static String VERTEX = "vertex";
-    private final static String WRITE_CALL = "stringify(" + VERTEX + ")";
+    protected final static String STRINGIFY_FUNCTION = "gremlin.hadoop.scriptOutputFormat.stringifyFunction";
+    private final static String STRINGIFY = "stringify";
     private final static String UTF8 = "UTF-8";
     private final static byte[] NEWLINE;
     private final DataOutputStream out;
-    private final ScriptEngine engine;
+    private Script script;
+    private Function<Vertex, String> stringifyFunction;
 
     static {
         try {
@@ -62,13 +63,10 @@ public final class ScriptRecordWriter extends RecordWriter<NullWritable, VertexW
     public ScriptRecordWriter(final DataOutputStream out, final TaskAttemptContext context) throws IOException {
         this.out = out;
         final Configuration configuration = context.getConfiguration();
-        this.engine = new GremlinGroovyScriptEngine((CompilerCustomizerProvider) new DefaultImportCustomizerProvider());
-        //this.engine = ScriptEngineCache.get(configuration.get(SCRIPT_ENGINE, ScriptEngineCache.DEFAULT_SCRIPT_ENGINE));
-        final FileSystem fs = FileSystem.get(configuration);
-        try {
-            this.engine.eval(new InputStreamReader(fs.open(new Path(configuration.get(SCRIPT_FILE)))));
-        } catch (final ScriptException e) {
-            throw new IOException(e.getMessage(),e);
+        if (null != configuration.get(STRINGIFY_FUNCTION, null))
+            this.stringifyFunction = ReflectionUtils.newInstance(configuration.getClass(STRINGIFY_FUNCTION, null, Function.class), configuration);
+        else {
+            this.script = ScriptHelper.loadScript(configuration, SCRIPT_FILE, ScriptHelper.createBindings());
         }
     }
 
@@ -76,14 +74,14 @@ public final class ScriptRecordWriter extends RecordWriter<NullWritable, VertexW
     public void write(final NullWritable key, final VertexWritable vertex) throws IOException {
         if (null != vertex) {
             try {
-                final Bindings bindings = this.engine.createBindings();
-                bindings.put(VERTEX, vertex.get());
-                final String line = (String) engine.eval(WRITE_CALL, bindings);
+                final String line = null != this.stringifyFunction ?
+                        this.stringifyFunction.apply(vertex.get()) :
+                        (String) this.script.invokeMethod(STRINGIFY, new Object[]{vertex.get()});
                 if (line != null) {
                     this.out.write(line.getBytes(UTF8));
                     this.out.write(NEWLINE);
                 }
-            } catch (final ScriptException e) {
+            } catch (final Exception e) {
                 throw new IOException(e.getMessage(), e);
             }
         }
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.columnar;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.HadoopGraphProvider;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.GraphFilterAware;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarRecordReaderWriterTest {
+
+    private File gryoFile;
+    private File columnarFile;
+
+    @Before
+    public void writeColumnarFile() throws Exception {
+        this.gryoFile = new File(HadoopGraphProvider.PATHS.get("grateful-dead.kryo"));
+        final File outputDirectory = TestHelper.makeTestDataPath(ColumnarRecordReaderWriterTest.class, "columnar-" + UUID.randomUUID());
+        final Configuration configuration = configure();
+        configuration.set("mapreduce.output.fileoutputformat.outputdir", "file:///" + outputDirectory.getAbsolutePath());
+        configuration.setInt(Constants.GREMLIN_HADOOP_COLUMNAR_BLOCK_SIZE, 50);
+        final TaskAttemptContext job = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+        final RecordWriter<NullWritable, VertexWritable> writer = ReflectionUtils.newInstance(ColumnarOutputFormat.class, configuration).getRecordWriter(job);
+        for (final Vertex vertex : read(this.gryoFile, GryoInputFormat.class, configure(), 1).values()) {
+            writer.write(NullWritable.get(), new VertexWritable(vertex));
+        }
+        writer.close(job);
+        this.columnarFile = new File(outputDirectory.getAbsoluteFile() + "/_temporary/0/_temporary/" + job.getTaskAttemptID().getTaskID().toString().replace("task", "attempt") + "_0" + "/part-m-00000");
+        assertTrue(this.columnarFile.exists());
+        assertTrue(this.columnarFile.length() < this.gryoFile.length());
+    }
+
+    @Test
+    public void shouldSplitFileAndReadAllVertices() throws Exception {
+        final Map<Object, Vertex> expected = read(this.gryoFile, GryoInputFormat.class, configure(), 1);
+        for (int numberOfSplits = 1; numberOfSplits < 10; numberOfSplits++) {
+            final Map<Object, Vertex> vertices = read(this.columnarFile, ColumnarInputFormat.class, configure(), numberOfSplits);
+            assertEquals(808, vertices.size());
+            assertEquals(8049, vertices.values().stream().mapToLong(v -> IteratorUtils.count(v.edges(Direction.OUT))).sum());
+            assertEquals(8049, vertices.values().stream().mapToLong(v -> IteratorUtils.count(v.edges(Direction.IN))).sum());
+            final Vertex sugarMagnolia = vertices.values().stream().filter(v -> v.value("name").equals("SUGAR MAGNOLIA")).findAny().get();
+            assertEquals(92, IteratorUtils.count(sugarMagnolia.edges(Direction.OUT)));
+            assertEquals(77, IteratorUtils.count(sugarMagnolia.edges(Direction.IN)));
+            assertSameVertices(expected, vertices);
+        }
+    }
+
+    @Test
+    public void shouldReadSameVerticesAsGryoWithGraphFilter() throws Exception {
+        final List<GraphFilter> graphFilters = new ArrayList<>();
+        GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("artist"));
+        graphFilters.add(graphFilter);
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.hasLabel("song"));
+        graphFilter.setEdgeFilter(__.outE("followedBy"));
+        graphFilters.add(graphFilter);
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.has("performances", P.gt(400)));
+        graphFilter.setEdgeFilter(__.<Vertex>inE("followedBy").has("weight", P.gt(10)));
+        graphFilters.add(graphFilter);
+        graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.has("performances", P.gt(100000)));
+        graphFilters.add(graphFilter);
+        graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.<Vertex>bothE().limit(0));
+        graphFilters.add(graphFilter);
+
+        for (final GraphFilter filter : graphFilters) {
+            final Configuration configuration = configure();
+            GraphFilterAware.storeGraphFilter(new BaseConfiguration(), configuration, filter);
+            final Map<Object, Vertex> expected = read(this.gryoFile, GryoInputFormat.class, configuration, 1);
+            for (int numberOfSplits = 1; numberOfSplits < 4; numberOfSplits++) {
+                assertSameVertices(expected, read(this.columnarFile, ColumnarInputFormat.class, configuration, numberOfSplits));
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyReadProjectedPropertyKeys() throws Exception {
+        final Configuration configuration = configure();
+        configuration.setStrings(Constants.GREMLIN_HADOOP_COLUMNAR_PROPERTY_KEYS, "name");
+        final Map<Object, Vertex> vertices = read(this.columnarFile, ColumnarInputFormat.class, configuration, 3);
+        assertEquals(808, vertices.size());
+        for (final Vertex vertex : vertices.values()) {
+            assertEquals(1, IteratorUtils.count(vertex.properties()));
+            assertTrue(vertex.property("name").isPresent());
+        }
+        // the keys of a vertex filter are always read
+        final GraphFilter graphFilter = new GraphFilter();
+        graphFilter.setVertexFilter(__.has("songType", "original"));
+        GraphFilterAware.storeGraphFilter(new BaseConfiguration(), configuration, graphFilter);
+        for (final Vertex vertex : read(this.columnarFile, ColumnarInputFormat.class, configuration, 3).values()) {
+            assertEquals(2, IteratorUtils.count(vertex.properties()));
+            assertEquals("original", vertex.value("songType"));
+        }
+    }
+
+    private static Configuration configure() {
+        final Configuration configuration = new Configuration(false);
+        configuration.set("fs.file.impl", LocalFileSystem.class.getName());
+        configuration.set("fs.defaultFS", "file:///");
+        return configuration;
+    }
+
+    private static Map<Object, Vertex> read(final File file, final Class<? extends InputFormat<NullWritable, VertexWritable>> inputFormatClass,
+                                            final Configuration configuration, final int numberOfSplits) throws Exception {
+        final InputFormat<NullWritable, VertexWritable> inputFormat = ReflectionUtils.newInstance(inputFormatClass, configuration);
+        final TaskAttemptContext job = new TaskAttemptContextImpl(configuration, new TaskAttemptID(UUID.randomUUID().toString(), 0, TaskType.MAP, 0, 0));
+        final Map<Object, Vertex> vertices = new HashMap<>();
+        final long splitLength = (file.length() + numberOfSplits - 1) / numberOfSplits;
+        for (long start = 0; start < file.length(); start = start + splitLength) {
+            final FileSplit split = new FileSplit(new Path(file.getAbsoluteFile().toURI().toString()), start, Math.min(splitLength, file.length() - start), null);
+            final RecordReader<NullWritable, VertexWritable> reader = inputFormat.createRecordReader(split, job);
+            float lastProgress = -1f;
+            while (reader.nextKeyValue()) {
+                assertTrue(reader.getProgress() >= lastProgress);
+                lastProgress = reader.getProgress();
+                final Vertex vertex = reader.getCurrentValue().get();
+                assertNull(vertices.put(vertex.id(), vertex));
+            }
+            reader.close();
+        }
+        return vertices;
+    }
+
+    private static void assertSameVertices(final Map<Object, Vertex> expected, final Map<Object, Vertex> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (final Vertex vertex : expected.values()) {
+            final Vertex other = actual.get(vertex.id());
+            assertEquals(vertex.label(), other.label());
+            assertEquals(vertex.keys(), other.keys());
+            for (final String key : vertex.keys()) {
+                assertEquals(vertex.value(key), (Object) other.value(key));
+            }
+            for (final Direction direction : Direction.proper) {
+                final Set<Object> edges = IteratorUtils.stream(vertex.edges(direction)).map(Edge::id).collect(Collectors.toSet());
+                assertEquals(edges, IteratorUtils.stream(other.edges(direction)).map(Edge::id).collect(Collectors.toSet()));
+                assertEquals(IteratorUtils.count(vertex.edges(direction)), IteratorUtils.count(other.edges(direction)));
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.hadoop.structure.io.script;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.InputFormat;
+import org.apache.hadoop.mapreduce.OutputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.RecordReaderWriterTest;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.star.StarGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.io.File;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the script format with Java functions rather than Groovy scripts.
+ */
+public class ScriptFunctionRecordReaderWriterTest extends RecordReaderWriterTest {
+
+    @Override
+    protected Configuration configure(final File outputDirectory) {
+        final Configuration configuration = super.configure(outputDirectory);
+        configuration.set(ScriptRecordReader.PARSE_FUNCTION, GratefulDeadParser.class.getName());
+        configuration.set(ScriptRecordWriter.STRINGIFY_FUNCTION, GratefulDeadStringifier.class.getName());
+        return configuration;
+    }
+
+    @Override
+    protected String getInputFilename() {
+        return "grateful-dead.txt";
+    }
+
+    @Override
+    protected Class<? extends InputFormat<NullWritable, VertexWritable>> getInputFormat() {
+        return ScriptInputFormat.class;
+    }
+
+    @Override
+    protected Class<? extends OutputFormat<NullWritable, VertexWritable>> getOutputFormat() {
+        return ScriptOutputFormat.class;
+    }
+
+    public static class GratefulDeadParser implements BiFunction<String, StarGraph, Vertex> {
+        @Override
+        public Vertex apply(final String line, final StarGraph graph) {
+            final String[] parts = line.split("\t", 3);
+            final String[] vertex = parts[0].split(",", 3);
+            final Vertex v1 = graph.addVertex(T.id, Integer.valueOf(vertex[0]), T.label, vertex[1]);
+            if (vertex[1].equals("song")) {
+                final String[] properties = vertex[2].split(",");
+                v1.property("name", properties[0]);
+                v1.property("songType", properties[1]);
+                v1.property("performances", Integer.valueOf(properties[2]));
+            } else
+                v1.property("name", vertex[2]);
+            for (int i = 1; i < parts.length; i++) {
+                for (final String edge : parts[i].split("\\|")) {
+                    if (edge.isEmpty()) continue;
+                    final String[] e = edge.split(",");
+                    final Vertex v2 = graph.addVertex(T.id, Integer.valueOf(e[1]));
+                    final Edge added = 1 == i ? v1.addEdge(e[0], v2) : v2.addEdge(e[0], v1);
+                    if (3 == e.length) added.property("weight", Integer.valueOf(e[2]));
+                }
+            }
+            return v1;
+        }
+    }
+
+    public static class GratefulDeadStringifier implements Function<Vertex, String> {
+        @Override
+        public String apply(final Vertex vertex) {
+            final StringBuilder builder = new StringBuilder();
+            builder.append(vertex.id()).append(",").append(vertex.label()).append(",").append((String) vertex.value("name"));
+            if (vertex.label().equals("song"))
+                builder.append(",").append((String) vertex.value("songType")).append(",").append((Integer) vertex.value("performances"));
+            for (final Direction direction : Direction.proper) {
+                builder.append("\t").append(IteratorUtils.stream(vertex.edges(direction)).map(e -> {
+                    final Object other = direction.equals(Direction.OUT) ? e.inVertex().id() : e.outVertex().id();
+                    return e.label() + "," + other + (e.property("weight").isPresent() ? "," + e.value("weight") : "");
+                }).collect(Collectors.joining("|")));
+            }
+            return builder.toString();
+        }
+    }
+}
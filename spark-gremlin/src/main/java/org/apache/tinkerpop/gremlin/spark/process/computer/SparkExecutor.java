@@ -23,6 +23,8 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
 import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
@@ -48,6 +50,7 @@ import scala.Tuple2;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -82,6 +85,8 @@ public final class SparkExecutor {
             final Configuration vertexProgramConfiguration) { // has the VertexProgram.loadState() information
 
         boolean partitionedGraphRDD = graphRDD.partitioner().isPresent();
+        // delta shuffles require the views to stay co-partitioned with the graph so unchanged views can be joined locally
+        final boolean deltaShuffle = partitionedGraphRDD && graphComputerConfiguration.getBoolean(Constants.GREMLIN_SPARK_DELTA_SHUFFLE, false);
 
         if (partitionedGraphRDD && null != viewIncomingRDD) // the graphRDD and the viewRDD must have the same partitioner
             assert graphRDD.partitioner().get().equals(viewIncomingRDD.partitioner().get());
@@ -104,6 +109,7 @@ public final class SparkExecutor {
                     return () -> IteratorUtils.map(partitionIterator, vertexViewIncoming -> {
                         final StarGraph.StarVertex vertex = vertexViewIncoming._2()._1().get(); // get the vertex from the vertex writable
                         final boolean hasViewAndMessages = vertexViewIncoming._2()._2().isPresent(); // if this is the first iteration, then there are no views or messages
+                        final List<DetachedVertexProperty<Object>> incomingView = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getView() : Collections.emptyList();
                         final List<DetachedVertexProperty<Object>> previousView = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getView() : memory.isInitialIteration() ? new ArrayList<>() : Collections.emptyList();
                         // revive compute properties if they already exist
                         if (memory.isInitialIteration() && vertexComputeKeysArray.length > 0)
@@ -111,8 +117,12 @@ public final class SparkExecutor {
                         // drop any computed properties that are cached in memory
                         vertex.dropVertexProperties(vertexComputeKeysArray);
                         final List<M> incomingMessages = hasViewAndMessages ? vertexViewIncoming._2()._2().get().getIncomingMessages() : Collections.emptyList();
-                        IteratorUtils.removeOnNext(previousView.iterator()).forEachRemaining(property -> property.attach(Attachable.Method.create(vertex)));  // attach the view to the vertex
-                        assert previousView.isEmpty();
+                        if (deltaShuffle) // the incoming view is cached and is reused if the view does not change, so do not consume it
+                            previousView.forEach(property -> property.attach(Attachable.Method.create(vertex)));
+                        else {
+                            IteratorUtils.removeOnNext(previousView.iterator()).forEachRemaining(property -> property.attach(Attachable.Method.create(vertex)));  // attach the view to the vertex
+                            assert previousView.isEmpty();
+                        }
                         // do the vertex's vertex program iteration
                         messenger.setVertexAndIncomingMessages(vertex, incomingMessages); // set the messenger with the incoming messages
                         workerVertexProgram.execute(ComputerGraph.vertexProgram(vertex, workerVertexProgram), messenger, memory); // execute the vertex program on this vertex for this iteration
@@ -127,9 +137,11 @@ public final class SparkExecutor {
                         final List<Tuple2<Object, M>> outgoingMessages = messenger.getOutgoingMessages(); // get the outgoing messages being sent by this vertex
                         if (!partitionIterator.hasNext())
                             workerVertexProgram.workerIterationEnd(memory.asImmutable()); // if no more vertices in the partition, end the worker's iteration
-                        return (nextView.isEmpty() && outgoingMessages.isEmpty()) ?
+                        // with delta shuffles, only emit the view if it is different from the view the vertex started the iteration with
+                        final boolean emitView = deltaShuffle ? !SparkExecutor.equalViews(incomingView, nextView) : !nextView.isEmpty();
+                        return (!emitView && outgoingMessages.isEmpty()) ?
                                 null : // if there is no view nor outgoing messages, emit nothing
-                                new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages));  // else, emit the vertex id, its view, and its outgoing messages
+                                new Tuple2<>(vertex.id(), new ViewOutgoingPayload<>(nextView, outgoingMessages, emitView));  // else, emit the vertex id, its view, and its outgoing messages
                     });
                 }, true)  // true means that the partition is preserved
                 .filter(tuple -> null != tuple); // if there are no messages or views, then the tuple is null (memory optimization)
@@ -140,7 +152,9 @@ public final class SparkExecutor {
         /////////////////////////////////////////////////////////////
         final PairFlatMapFunction<Tuple2<Object, ViewOutgoingPayload<M>>, Object, Payload> messageFunction =
                 tuple -> () -> IteratorUtils.concat(
-                        IteratorUtils.of(new Tuple2<>(tuple._1(), tuple._2().getView())),      // emit the view payload
+                        deltaShuffle && !tuple._2().isViewChanged() ?
+                                Collections.emptyIterator() :                                          // an unchanged view is not shuffled
+                                IteratorUtils.of(new Tuple2<>(tuple._1(), tuple._2().getView())),      // emit the view payload
                         IteratorUtils.map(tuple._2().getOutgoingMessages().iterator(), message -> new Tuple2<>(message._1(), new MessagePayload<>(message._2()))));
         final MessageCombiner<M> messageCombiner = VertexProgram.<VertexProgram<M>>createVertexProgram(HadoopGraph.open(vertexProgramConfiguration), vertexProgramConfiguration).getMessageCombiner().orElse(null);
         final Function2<Payload, Payload, Payload> reducerFunction = (a, b) -> {      // reduce the view and outgoing messages into a single payload object representing the new view and incoming messages for a vertex
@@ -160,7 +174,8 @@ public final class SparkExecutor {
         /////////////////////////////////////////////////////////////
         /////////////////////////////////////////////////////////////
         // "message pass" by reducing on the vertex object id of the view and message payloads
-        final JavaPairRDD<Object, ViewIncomingPayload<M>> newViewIncomingRDD =
+        final JavaPairRDD<Object, ViewIncomingPayload<M>> newViewIncomingRDD = deltaShuffle ?
+                SparkExecutor.mergeDeltas(viewIncomingRDD, viewOutgoingRDD.flatMapToPair(messageFunction).reduceByKey(graphRDD.partitioner().get(), reducerFunction), memory.getIteration(), graphComputerConfiguration) :
                 (partitionedGraphRDD ?
                         viewOutgoingRDD.flatMapToPair(messageFunction).reduceByKey(graphRDD.partitioner().get(), reducerFunction) :
                         viewOutgoingRDD.flatMapToPair(messageFunction).reduceByKey(reducerFunction))
@@ -179,9 +194,42 @@ public final class SparkExecutor {
                 .foreachPartition(partitionIterator -> {
                     KryoShimServiceLoader.applyConfiguration(graphComputerConfiguration);
                 }); // need to complete a task so its BSP and the memory for this iteration is updated
+        // the previous views have been merged into the cached views of this iteration and are no longer needed
+        if (deltaShuffle && null != viewIncomingRDD)
+            viewIncomingRDD.unpersist(false);
         return newViewIncomingRDD;
     }
 
+    private static <M> JavaPairRDD<Object, ViewIncomingPayload<M>> mergeDeltas(
+            final JavaPairRDD<Object, ViewIncomingPayload<M>> viewIncomingRDD,
+            final JavaPairRDD<Object, Payload> deltaRDD,
+            final int iteration,
+            final Configuration graphComputerConfiguration) {
+        // both rdds share the graph's partitioner and thus, the join does not shuffle the previous views
+        final JavaPairRDD<Object, ViewIncomingPayload<M>> mergedRDD = null == viewIncomingRDD ?
+                deltaRDD.mapValues(payload -> ViewIncomingPayload.<M>mergeDelta(null, payload)) :
+                viewIncomingRDD.fullOuterJoin(deltaRDD).mapValues(tuple -> ViewIncomingPayload.mergeDelta(tuple._1().orNull(), tuple._2().orNull()));
+        final JavaPairRDD<Object, ViewIncomingPayload<M>> viewRDD = mergedRDD
+                .filter(tuple -> tuple._2().hasView() || !tuple._2().getIncomingMessages().isEmpty()) // vertices with neither a view nor messages are dropped
+                .persist(StorageLevel.fromString(graphComputerConfiguration.getString(Constants.GREMLIN_SPARK_GRAPH_STORAGE_LEVEL, "MEMORY_ONLY")));
+        // each merge joins onto the views of the previous iteration so the lineage grows with every iteration. a local
+        // checkpoint, written when the iteration completes, cuts it at the cached views
+        final int checkpointInterval = graphComputerConfiguration.getInt(Constants.GREMLIN_SPARK_DELTA_SHUFFLE_CHECKPOINT_INTERVAL, 10);
+        if (checkpointInterval > 0 && (iteration + 1) % checkpointInterval == 0)
+            viewRDD.rdd().localCheckpoint();
+        return viewRDD;
+    }
+
+    private static boolean equalViews(final List<DetachedVertexProperty<Object>> viewA, final List<DetachedVertexProperty<Object>> viewB) {
+        if (viewA.size() != viewB.size())
+            return false;
+        for (int i = 0; i < viewA.size(); i++) {
+            if (!viewA.get(i).key().equals(viewB.get(i).key()) || !Objects.equals(viewA.get(i).value(), viewB.get(i).value()))
+                return false;
+        }
+        return true;
+    }
+
     public static <M> JavaPairRDD<Object, VertexWritable> prepareFinalGraphRDD(
             final JavaPairRDD<Object, VertexWritable> graphRDD,
             final JavaPairRDD<Object, ViewIncomingPayload<M>> viewIncomingRDD,
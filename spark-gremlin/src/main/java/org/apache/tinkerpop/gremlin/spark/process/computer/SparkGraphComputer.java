@@ -247,6 +247,8 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
 
                 // final graph with view (for persisting and/or mapReducing -- may be null and thus, possible to save space/time)
                 JavaPairRDD<Object, VertexWritable> computedGraphRDD = null;
+                // the views and messages of the last vertex program iteration (cached when delta shuffles are enabled)
+                JavaPairRDD<Object, ViewIncomingPayload<Object>> viewIncomingRDD = null;
                 ////////////////////////////////
                 // process the vertex program //
                 ////////////////////////////////
@@ -268,7 +270,6 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                         this.vertexProgram.storeState(vertexProgramConfiguration);
                         // set up the vertex program and wire up configurations
                         this.vertexProgram.setup(memory);
-                        JavaPairRDD<Object, ViewIncomingPayload<Object>> viewIncomingRDD = null;
                         memory.broadcastMemory(sparkContext);
                         // execute the vertex program
                         while (true) {
@@ -351,6 +352,9 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                     }
                 }
 
+                // unpersist the cached views unless the persisted computed graph still depends on them
+                if (null != viewIncomingRDD && (!outputToSpark || this.persist.equals(GraphComputer.Persist.NOTHING)))
+                    viewIncomingRDD.unpersist();
                 // unpersist the loaded graph if it will not be used again (no PersistedInputRDD)
                 // if the graphRDD was loaded from Spark, but then partitioned or filtered, its a different RDD
                 if (!inputFromSpark || partitioned || filtered)
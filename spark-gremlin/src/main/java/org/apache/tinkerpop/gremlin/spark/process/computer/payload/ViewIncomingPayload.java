@@ -54,6 +54,11 @@ public final class ViewIncomingPayload<M> implements Payload {
         this.incomingMessages.add(messagePayload.getMessage());
     }
 
+    public ViewIncomingPayload(final List<DetachedVertexProperty<Object>> view, final List<M> incomingMessages) {
+        this.view = view;
+        this.incomingMessages = null == incomingMessages ? new ArrayList<>() : incomingMessages;
+    }
+
 
     public List<DetachedVertexProperty<Object>> getView() {
         return null == this.view ? Collections.emptyList() : this.view;
@@ -68,6 +73,30 @@ public final class ViewIncomingPayload<M> implements Payload {
         return null != this.view;
     }
 
+    /**
+     * Creates the payload for the next iteration of a vertex from its cached payload and the delta that was shuffled
+     * to it. If the delta does not carry a view, the view of the cached payload is retained. The messages of the
+     * cached payload were consumed in the previous iteration and are not retained.
+     */
+    public static <M> ViewIncomingPayload<M> mergeDelta(final ViewIncomingPayload<M> payload, final Payload delta) {
+        final ViewIncomingPayload<M> merged = new ViewIncomingPayload<>();
+        if (delta instanceof ViewPayload)
+            merged.view = ((ViewPayload) delta).getView();
+        else if (delta instanceof MessagePayload) {
+            merged.incomingMessages = new ArrayList<>(1);
+            merged.incomingMessages.add(((MessagePayload<M>) delta).getMessage());
+        } else if (delta instanceof ViewIncomingPayload) {
+            merged.view = ((ViewIncomingPayload<M>) delta).view;
+            merged.incomingMessages = ((ViewIncomingPayload<M>) delta).incomingMessages;
+        } else if (null != delta)
+            throw new IllegalArgumentException("The provided payload is an unsupported delta payload: " + delta);
+        if (null == merged.view && null != payload)
+            merged.view = payload.view;
+        if (null != merged.view && merged.view.isEmpty())
+            merged.view = null;
+        return merged;
+    }
+
     ////////////////////
 
 
@@ -31,6 +31,7 @@ public final class ViewOutgoingPayload<M> implements Payload {
 
     private List<DetachedVertexProperty<Object>> view;
     private List<Tuple2<Object, M>> outgoingMessages;
+    private boolean viewChanged = true;
 
     private ViewOutgoingPayload() {
 
@@ -41,10 +42,23 @@ public final class ViewOutgoingPayload<M> implements Payload {
         this.outgoingMessages = outgoingMessages.isEmpty() ? null : outgoingMessages;
     }
 
+    public ViewOutgoingPayload(final List<DetachedVertexProperty<Object>> view, final List<Tuple2<Object, M>> outgoingMessages, final boolean viewChanged) {
+        this(view, outgoingMessages);
+        this.viewChanged = viewChanged;
+    }
+
     public ViewPayload getView() {
         return new ViewPayload(this.view);
     }
 
+    /**
+     * Whether the view differs from the view the vertex had at the start of the iteration. When delta shuffles are
+     * enabled, an unchanged view is not shuffled.
+     */
+    public boolean isViewChanged() {
+        return this.viewChanged;
+    }
+
     public List<Tuple2<Object, M>> getOutgoingMessages() {
         return null == this.outgoingMessages ? Collections.emptyList() : this.outgoingMessages;
     }
@@ -187,10 +187,10 @@ public class GryoRegistrator implements KryoRegistrator {
             }
         }
         m.put(WrappedArray.ofRef.class, null);
-        m.put(MessagePayload.class, null);
-        m.put(ViewIncomingPayload.class, null);
-        m.put(ViewOutgoingPayload.class, null);
-        m.put(ViewPayload.class, null);
+        m.put(MessagePayload.class, new UnshadedSerializerAdapter<>(new MessagePayloadSerializer()));
+        m.put(ViewIncomingPayload.class, new UnshadedSerializerAdapter<>(new ViewIncomingPayloadSerializer()));
+        m.put(ViewOutgoingPayload.class, new UnshadedSerializerAdapter<>(new ViewOutgoingPayloadSerializer()));
+        m.put(ViewPayload.class, new UnshadedSerializerAdapter<>(new ViewPayloadSerializer()));
         m.put(VertexWritable.class, new UnshadedSerializerAdapter<>(new VertexWritableSerializer()));
         m.put(ObjectWritable.class, new UnshadedSerializerAdapter<>(new ObjectWritableSerializer<>()));
         //
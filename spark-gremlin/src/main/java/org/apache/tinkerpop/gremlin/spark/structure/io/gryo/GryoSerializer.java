@@ -97,10 +97,10 @@ public final class GryoSerializer extends Serializer {
                                 .addCustom(Class.forName("scala.reflect.ClassTag$$anon$1"), new JavaSerializer())
                                 .addCustom(Class.forName("scala.reflect.ManifestFactory$$anon$1"), new JavaSerializer())
                                 .addCustom(WrappedArray.ofRef.class, new WrappedArraySerializer())
-                                .addCustom(MessagePayload.class)
-                                .addCustom(ViewIncomingPayload.class)
-                                .addCustom(ViewOutgoingPayload.class)
-                                .addCustom(ViewPayload.class)
+                                .addCustom(MessagePayload.class, new MessagePayloadSerializer())
+                                .addCustom(ViewIncomingPayload.class, new ViewIncomingPayloadSerializer())
+                                .addCustom(ViewOutgoingPayload.class, new ViewOutgoingPayloadSerializer())
+                                .addCustom(ViewPayload.class, new ViewPayloadSerializer())
                                 .addCustom(SerializableConfiguration.class, new JavaSerializer())
                                 .addCustom(VertexWritable.class, new VertexWritableSerializer())
                                 .addCustom(ObjectWritable.class, new ObjectWritableSerializer())
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.InputShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.OutputShim;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The compact encoding of the payloads that {@code SparkGraphComputer} shuffles between vertex program iterations.
+ * Messages and property values are written as primitive columns when all the values of a column are of the same
+ * boxed type and the properties of a view are written as their key, id and value rather than as detached objects.
+ * Longs and integers use the variable length encoding of their Gryo serializers without a class and any other value
+ * falls back to Gryo's class and object encoding.
+ */
+final class PayloadEncoding {
+
+    private static final int NULL = -1;
+
+    private static final byte OBJECTS = 0;
+    private static final byte DOUBLES = 1;
+    private static final byte LONGS = 2;
+    private static final byte INTEGERS = 3;
+    private static final byte STRINGS = 4;
+
+    private static final byte VIEW_OBJECTS = 0;
+    private static final byte VIEW_COMPACT = 1;
+
+    private PayloadEncoding() {
+    }
+
+    static <O extends OutputShim> void writeValue(final KryoShim<?, O> kryo, final O output, final Object value) {
+        final byte type = typeOf(value);
+        output.writeByte(type);
+        writeValue(kryo, output, type, value);
+    }
+
+    static <I extends InputShim> Object readValue(final KryoShim<I, ?> kryo, final I input) {
+        return readValue(kryo, input, input.readByte());
+    }
+
+    /**
+     * Writes the values of the list as a single column. A {@code null} list is distinguished from an empty one.
+     */
+    static <O extends OutputShim, T> void writeColumn(final KryoShim<?, O> kryo, final O output, final List<T> list, final Function<T, Object> valueFunction) {
+        if (null == list) {
+            output.writeInt(NULL);
+            return;
+        }
+        output.writeInt(list.size());
+        if (list.isEmpty())
+            return;
+        byte type = typeOf(valueFunction.apply(list.get(0)));
+        for (int i = 1; i < list.size() && OBJECTS != type; i++) {
+            if (type != typeOf(valueFunction.apply(list.get(i))))
+                type = OBJECTS;
+        }
+        output.writeByte(type);
+        for (final T t : list) {
+            writeValue(kryo, output, type, valueFunction.apply(t));
+        }
+    }
+
+    static <I extends InputShim> List<Object> readColumn(final KryoShim<I, ?> kryo, final I input) {
+        final int size = input.readInt();
+        if (NULL == size)
+            return null;
+        final List<Object> list = new ArrayList<>(size);
+        if (0 == size)
+            return list;
+        final byte type = input.readByte();
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(kryo, input, type));
+        }
+        return list;
+    }
+
+    /**
+     * Writes the compute property view of a vertex. The properties are reduced to their key, id and value unless
+     * they have meta-properties, in which case they are written as objects. The vertex of a detached property is not
+     * serialized in either case.
+     */
+    static <O extends OutputShim> void writeView(final KryoShim<?, O> kryo, final O output, final List<DetachedVertexProperty<Object>> view) {
+        if (null == view) {
+            output.writeInt(NULL);
+            return;
+        }
+        output.writeInt(view.size());
+        if (view.isEmpty())
+            return;
+        boolean compact = true;
+        for (int i = 0; i < view.size() && compact; i++) {
+            compact = !view.get(i).properties().hasNext();
+        }
+        if (compact) {
+            output.writeByte(VIEW_COMPACT);
+            for (final DetachedVertexProperty<Object> property : view) {
+                output.writeString(property.key());
+                kryo.writeClassAndObject(output, property.id());
+                writeValue(kryo, output, property.value());
+            }
+        } else {
+            output.writeByte(VIEW_OBJECTS);
+            for (final DetachedVertexProperty<Object> property : view) {
+                kryo.writeClassAndObject(output, property);
+            }
+        }
+    }
+
+    static <I extends InputShim> List<DetachedVertexProperty<Object>> readView(final KryoShim<I, ?> kryo, final I input) {
+        final int size = input.readInt();
+        if (NULL == size)
+            return null;
+        final List<DetachedVertexProperty<Object>> view = new ArrayList<>(size);
+        if (0 == size)
+            return view;
+        if (VIEW_COMPACT == input.readByte()) {
+            for (int i = 0; i < size; i++) {
+                final String key = input.readString();
+                final Object id = kryo.readClassAndObject(input);
+                view.add(new DetachedVertexProperty<>(id, key, readValue(kryo, input), Collections.emptyMap()));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                view.add((DetachedVertexProperty<Object>) kryo.readClassAndObject(input));
+            }
+        }
+        return view;
+    }
+
+    private static byte typeOf(final Object value) {
+        if (value instanceof Double)
+            return DOUBLES;
+        else if (value instanceof Long)
+            return LONGS;
+        else if (value instanceof Integer)
+            return INTEGERS;
+        else if (value instanceof String)
+            return STRINGS;
+        else
+            return OBJECTS;
+    }
+
+    private static <O extends OutputShim> void writeValue(final KryoShim<?, O> kryo, final O output, final byte type, final Object value) {
+        switch (type) {
+            case DOUBLES:
+                output.writeDouble((Double) value);
+                break;
+            case LONGS:
+            case INTEGERS:
+                kryo.writeObject(output, value);
+                break;
+            case STRINGS:
+                output.writeString((String) value);
+                break;
+            default:
+                kryo.writeClassAndObject(output, value);
+        }
+    }
+
+    private static <I extends InputShim> Object readValue(final KryoShim<I, ?> kryo, final I input, final byte type) {
+        switch (type) {
+            case DOUBLES:
+                return input.readDouble();
+            case LONGS:
+                return kryo.readObject(input, Long.class);
+            case INTEGERS:
+                return kryo.readObject(input, Integer.class);
+            case STRINGS:
+                return input.readString();
+            default:
+                return kryo.readClassAndObject(input);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewIncomingPayload;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.InputShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.OutputShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.SerializerShim;
+
+import java.util.function.Function;
+
+/**
+ * Writes a {@link ViewIncomingPayload} with the compact {@link PayloadEncoding} where the incoming messages are a
+ * single column.
+ */
+public final class ViewIncomingPayloadSerializer implements SerializerShim<ViewIncomingPayload> {
+
+    @Override
+    public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final ViewIncomingPayload viewIncomingPayload) {
+        PayloadEncoding.writeView(kryo, output, viewIncomingPayload.hasView() ? viewIncomingPayload.getView() : null);
+        PayloadEncoding.writeColumn(kryo, output, viewIncomingPayload.getIncomingMessages(), Function.identity());
+    }
+
+    @Override
+    public <I extends InputShim> ViewIncomingPayload read(final KryoShim<I, ?> kryo, final I input, final Class<ViewIncomingPayload> clazz) {
+        return new ViewIncomingPayload<>(PayloadEncoding.readView(kryo, input), PayloadEncoding.readColumn(kryo, input));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewOutgoingPayload;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.InputShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.OutputShim;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.SerializerShim;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import scala.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes a {@link ViewOutgoingPayload} with the compact {@link PayloadEncoding} where the destination vertex ids
+ * and the outgoing messages are two separate columns.
+ */
+public final class ViewOutgoingPayloadSerializer implements SerializerShim<ViewOutgoingPayload> {
+
+    @Override
+    public <O extends OutputShim> void write(final KryoShim<?, O> kryo, final O output, final ViewOutgoingPayload viewOutgoingPayload) {
+        final List<Tuple2<Object, Object>> outgoingMessages = viewOutgoingPayload.getOutgoingMessages();
+        PayloadEncoding.writeView(kryo, output, viewOutgoingPayload.getView().getView());
+        PayloadEncoding.writeColumn(kryo, output, outgoingMessages, Tuple2::_1);
+        PayloadEncoding.writeColumn(kryo, output, outgoingMessages, Tuple2::_2);
+        output.writeByte(viewOutgoingPayload.isViewChanged() ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public <I extends InputShim> ViewOutgoingPayload read(final KryoShim<I, ?> kryo, final I input, final Class<ViewOutgoingPayload> clazz) {
+        final List<DetachedVertexProperty<Object>> view = PayloadEncoding.readView(kryo, input);
+        final List<Object> ids = PayloadEncoding.readColumn(kryo, input);
+        final List<Object> messages = PayloadEncoding.readColumn(kryo, input);
+        final List<Tuple2<Object, Object>> outgoingMessages = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            outgoingMessages.add(new Tuple2<>(ids.get(i), messages.get(i)));
+        }
+        return new ViewOutgoingPayload<>(null == view ? Collections.emptyList() : view, outgoingMessages, 1 == input.readByte());
+    }
+}
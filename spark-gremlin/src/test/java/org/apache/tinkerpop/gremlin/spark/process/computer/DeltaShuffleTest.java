@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.process.computer;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.hadoop.Constants;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoInputFormat;
+import org.apache.tinkerpop.gremlin.hadoop.structure.io.gryo.GryoOutputFormat;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.spark.AbstractSparkTest;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+
+public class DeltaShuffleTest extends AbstractSparkTest {
+
+    @Test
+    public void shouldComputeTheSameResultsWithDeltaShuffles() throws Exception {
+        final Map<String, Object> pageRanks = this.traversal(false).V().pageRank().by("pageRank").<String, Object>group().by("name").by("pageRank").next();
+        final Map<String, Object> deltaPageRanks = this.traversal(true).V().pageRank().by("pageRank").<String, Object>group().by("name").by("pageRank").next();
+        assertEquals(6, deltaPageRanks.size());
+        assertEquals(pageRanks.keySet(), deltaPageRanks.keySet());
+        for (final String name : pageRanks.keySet()) {
+            assertEquals(((List<Double>) pageRanks.get(name)).get(0), ((List<Double>) deltaPageRanks.get(name)).get(0), 0.000001d);
+        }
+        ///
+        assertEquals(this.traversal(false).V().peerPressure().by("cluster").<String, Object>group().by("name").by("cluster").next(),
+                this.traversal(true).V().peerPressure().by("cluster").<String, Object>group().by("name").by("cluster").next());
+        ///
+        assertEquals(this.traversal(false).V().repeat(both()).times(3).groupCount().by("name").next(),
+                this.traversal(true).V().repeat(both()).times(3).groupCount().by("name").next());
+        assertEquals(2l, this.traversal(true).V().repeat(out()).times(2).count().next().longValue());
+    }
+
+    @Test
+    public void shouldComputeTheSameResultsWithCheckpointedDeltaShuffles() throws Exception {
+        assertEquals(this.traversal(false).V().peerPressure().by("cluster").<String, Object>group().by("name").by("cluster").next(),
+                this.traversal(true, 1).V().peerPressure().by("cluster").<String, Object>group().by("name").by("cluster").next());
+        assertEquals(this.traversal(false).V().repeat(both()).times(3).groupCount().by("name").next(),
+                this.traversal(true, 2).V().repeat(both()).times(3).groupCount().by("name").next());
+    }
+
+    private GraphTraversalSource traversal(final boolean deltaShuffle) {
+        return this.traversal(deltaShuffle, 10);
+    }
+
+    private GraphTraversalSource traversal(final boolean deltaShuffle, final int checkpointInterval) {
+        final Configuration configuration = getBaseConfiguration();
+        configuration.setProperty(Constants.GREMLIN_HADOOP_INPUT_LOCATION, SparkHadoopGraphProvider.PATHS.get("tinkerpop-modern.kryo"));
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_READER, GryoInputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_GRAPH_WRITER, GryoOutputFormat.class.getCanonicalName());
+        configuration.setProperty(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, TestHelper.makeTestDataDirectory(DeltaShuffleTest.class, "deltaShuffle-" + deltaShuffle));
+        configuration.setProperty(Constants.GREMLIN_SPARK_DELTA_SHUFFLE, deltaShuffle);
+        configuration.setProperty(Constants.GREMLIN_SPARK_DELTA_SHUFFLE_CHECKPOINT_INTERVAL, checkpointInterval);
+        final Graph graph = GraphFactory.open(configuration);
+        return graph.traversal().withComputer(SparkGraphComputer.class);
+    }
+}
@@ -82,6 +82,8 @@ public class SparkHadoopGraphProvider extends HadoopGraphProvider {
         }
 
         config.put(Constants.GREMLIN_HADOOP_DEFAULT_GRAPH_COMPUTER, SparkGraphComputer.class.getCanonicalName());
+        config.put(Constants.GREMLIN_SPARK_DELTA_SHUFFLE, RANDOM.nextBoolean());
+        config.put(Constants.GREMLIN_SPARK_DELTA_SHUFFLE_CHECKPOINT_INTERVAL, RANDOM.nextInt(3));
         config.put("spark.master", "local[4]");
         config.put("spark.serializer", GryoSerializer.class.getCanonicalName());
         config.put("spark.kryo.registrationRequired", true);
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.spark.structure.io.gryo;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.MessagePayload;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewIncomingPayload;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewOutgoingPayload;
+import org.apache.tinkerpop.gremlin.spark.process.computer.payload.ViewPayload;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertexProperty;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.junit.Test;
+import scala.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PayloadSerializerTest {
+
+    private final Kryo compactKryo = new GryoSerializer(new SparkConf()).getGryoPool().getMapper().createMapper();
+    private final Kryo fieldKryo = GryoMapper.build()
+            .addCustom(MessagePayload.class, ViewIncomingPayload.class, ViewOutgoingPayload.class, ViewPayload.class)
+            .addCustom(Tuple2.class, new Tuple2Serializer())
+            .create().createMapper();
+
+    @Test
+    public void shouldRoundTripMessagePayloads() {
+        for (final Object message : Arrays.asList(0.15d, 10l, 3, "marko", null, Arrays.asList(1, "a"))) {
+            assertEquals(message, roundTrip(new MessagePayload<>(message)).getMessage());
+        }
+    }
+
+    @Test
+    public void shouldRoundTripViewIncomingPayloads() {
+        final ViewIncomingPayload<Object> payload = new ViewIncomingPayload<>(makeView(1l, 0.15d, 2), Arrays.asList(0.1d, 0.2d, 0.3d));
+        final ViewIncomingPayload<Object> copy = roundTrip(payload);
+        assertTrue(copy.hasView());
+        assertViews(payload.getView(), copy.getView());
+        assertEquals(payload.getIncomingMessages(), copy.getIncomingMessages());
+        assertEquals(Arrays.asList(1, "a", null), roundTrip(new ViewIncomingPayload<>(null, Arrays.asList(1, "a", null))).getIncomingMessages());
+        // a payload without a view must keep accepting messages once deserialized
+        final ViewIncomingPayload<Object> messagesOnly = roundTrip(new ViewIncomingPayload<>(new ViewPayload(makeView(1l, 0.15d, 2))));
+        messagesOnly.mergePayload(new MessagePayload<>(0.5d), null);
+        assertEquals(Collections.singletonList(0.5d), messagesOnly.getIncomingMessages());
+        assertFalse(roundTrip(new ViewIncomingPayload<>(null, null)).hasView());
+    }
+
+    @Test
+    public void shouldRoundTripViewOutgoingPayloads() {
+        final List<Tuple2<Object, Object>> messages = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            messages.add(new Tuple2<>(i, 1.0d / (i + 1)));
+        }
+        messages.add(new Tuple2<>("x", null));
+        final ViewOutgoingPayload<Object> payload = new ViewOutgoingPayload<>(makeView(1l, 0.15d, 10), messages, false);
+        final ViewOutgoingPayload<Object> copy = roundTrip(payload);
+        assertViews(payload.getView().getView(), copy.getView().getView());
+        assertEquals(messages, copy.getOutgoingMessages());
+        assertFalse(copy.isViewChanged());
+        final ViewOutgoingPayload<Object> empty = roundTrip(new ViewOutgoingPayload<>(Collections.emptyList(), Collections.emptyList()));
+        assertTrue(empty.getView().getView().isEmpty());
+        assertTrue(empty.getOutgoingMessages().isEmpty());
+        assertTrue(empty.isViewChanged());
+    }
+
+    @Test
+    public void shouldRoundTripViewsWithMetaProperties() {
+        final DetachedVertex vertex = new DetachedVertex(1l, "person", Collections.emptyMap());
+        final List<DetachedVertexProperty<Object>> view = new ArrayList<>();
+        view.add(new DetachedVertexProperty<>(10l, "name", "marko", Collections.singletonMap("since", 2010), vertex));
+        view.add(new DetachedVertexProperty<>(11l, "rank", 0.5d, Collections.emptyMap(), vertex));
+        final List<DetachedVertexProperty<Object>> copy = roundTrip(new ViewPayload(view)).getView();
+        assertViews(view, copy);
+        assertEquals(2010, (int) copy.get(0).value("since"));
+    }
+
+    @Test
+    public void shouldRoundTripWithGryoRegistrator() {
+        final com.esotericsoftware.kryo.Kryo kryo = new KryoSerializer(new SparkConf()
+                .set("spark.kryo.registrator", GryoRegistrator.class.getCanonicalName())
+                .set("spark.kryo.registrationRequired", "true")).newKryo();
+        final ViewIncomingPayload<Object> payload = new ViewIncomingPayload<>(makeView(1l, 0.15d, 2), Arrays.asList(0.1d, 0.2d));
+        final com.esotericsoftware.kryo.io.Output output = new com.esotericsoftware.kryo.io.Output(1024, -1);
+        kryo.writeClassAndObject(output, payload);
+        final ViewIncomingPayload<Object> copy = (ViewIncomingPayload<Object>) kryo.readClassAndObject(new com.esotericsoftware.kryo.io.Input(output.toBytes()));
+        assertViews(payload.getView(), copy.getView());
+        assertEquals(payload.getIncomingMessages(), copy.getIncomingMessages());
+    }
+
+    @Test
+    public void shouldWriteSmallerNumericPayloads() {
+        final List<Tuple2<Object, Object>> messages = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            messages.add(new Tuple2<>(i, 0.15d));
+        }
+        // a single message only has its class to save, which the type tag replaces
+        assertTrue(write(this.compactKryo, new MessagePayload<>(0.15d)).length <= write(this.fieldKryo, new MessagePayload<>(0.15d)).length);
+        assertSmaller(new ViewPayload(makeView(1l, 0.15d, 2)));
+        assertSmaller(new ViewIncomingPayload<>(makeView(1l, 0.15d, 2), Collections.singletonList(0.15d)));
+        assertSmaller(new ViewOutgoingPayload<>(makeView(1l, 0.15d, 2), messages));
+    }
+
+    private static List<DetachedVertexProperty<Object>> makeView(final Object vertexId, final Object value, final int size) {
+        final DetachedVertex vertex = new DetachedVertex(vertexId, "vertex", Collections.emptyMap());
+        final List<DetachedVertexProperty<Object>> view = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            view.add(new DetachedVertexProperty<>((long) i, "key" + i, value, Collections.emptyMap(), vertex));
+        }
+        return view;
+    }
+
+    private static void assertViews(final List<DetachedVertexProperty<Object>> expected, final List<DetachedVertexProperty<Object>> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).id(), actual.get(i).id());
+            assertEquals(expected.get(i).key(), actual.get(i).key());
+            assertEquals(expected.get(i).value(), actual.get(i).value());
+        }
+    }
+
+    private void assertSmaller(final Object payload) {
+        final int compactSize = write(this.compactKryo, payload).length;
+        final int fieldSize = write(this.fieldKryo, payload).length;
+        assertTrue(payload.getClass().getSimpleName() + " should be smaller: " + compactSize + " >= " + fieldSize, compactSize < fieldSize);
+    }
+
+    private <T> T roundTrip(final T payload) {
+        return (T) this.compactKryo.readClassAndObject(new Input(write(this.compactKryo, payload)));
+    }
+
+    private static byte[] write(final Kryo kryo, final Object object) {
+        final Output output = new Output(1024, -1);
+        kryo.writeClassAndObject(output, object);
+        return output.toBytes();
+    }
+}
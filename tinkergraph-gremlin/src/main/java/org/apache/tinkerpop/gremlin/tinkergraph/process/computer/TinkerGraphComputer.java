@@ -40,7 +40,6 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
@@ -49,6 +48,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -68,7 +68,7 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
@@ -159,24 +159,29 @@ public final class TinkerGraphComputer implements GraphComputer {
             final TinkerGraphComputerView view;
             final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers);
             try {
+                view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter,
+                        null == this.vertexProgram ? Collections.emptySet() : this.vertexProgram.getVertexComputeKeys());
+                final Object[] vertexArray = view.vertices();
                 if (null != this.vertexProgram) {
-                    view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, this.vertexProgram.getVertexComputeKeys());
+                    this.messageBoard = new TinkerMessageBoard(view, this.vertexProgram.getMessageCombiner().isPresent());
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
                         this.memory.completeSubRound();
                         workers.setVertexProgram(this.vertexProgram);
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final Partitions<Vertex> vertices = new Partitions<>(vertexArray, this.workers);
                         workers.executeVertexProgram(vertexProgram -> {
+                            final Partitions<Vertex>.Cursor cursor = vertices.cursor();
+                            final TinkerMessageBoard.SendBuffer sendBuffer = this.messageBoard.createSendBuffer();
                             vertexProgram.workerIterationStart(this.memory.asImmutable());
                             while (true) {
-                                final Vertex vertex = vertices.next();
+                                final Vertex vertex = cursor.next();
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
                                 if (null == vertex) break;
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        new TinkerMessenger<>(vertex, cursor.index(), this.messageBoard, sendBuffer, vertexProgram.getMessageCombiner()),
                                         this.memory
                                 );
                             }
@@ -192,21 +197,19 @@ public final class TinkerGraphComputer implements GraphComputer {
                         }
                     }
                     view.complete(); // drop all transient vertex compute keys
-                } else {
-                    // MapReduce only
-                    view = TinkerHelper.createGraphComputerView(this.graph, this.graphFilter, Collections.emptySet());
                 }
 
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
                     final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                    final Partitions<Vertex> vertices = new Partitions<>(vertexArray, this.workers);
                     workers.setMapReduce(mapReduce);
                     workers.executeMapReduce(workerMapReduce -> {
+                        final Partitions<Vertex>.Cursor cursor = vertices.cursor();
                         workerMapReduce.workerStart(MapReduce.Stage.MAP);
                         while (true) {
                             if (Thread.interrupted()) throw new TraversalInterruptedException();
-                            final Vertex vertex = vertices.next();
+                            final Vertex vertex = cursor.next();
                             if (null == vertex) break;
                             workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
                         }
@@ -218,12 +221,13 @@ public final class TinkerGraphComputer implements GraphComputer {
                     // no need to run combiners as this is single machine
                     if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                         final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
+                        final Partitions<Map.Entry<?, Queue<?>>> keyValues = new Partitions<>(mapEmitter.reduceMap.entrySet().toArray(), this.workers);
                         workers.executeMapReduce(workerMapReduce -> {
+                            final Partitions<Map.Entry<?, Queue<?>>>.Cursor cursor = keyValues.cursor();
                             workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
                             while (true) {
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                final Map.Entry<?, Queue<?>> entry = keyValues.next();
+                                final Map.Entry<?, Queue<?>> entry = cursor.next();
                                 if (null == entry) break;
                                 workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
                             }
@@ -259,16 +263,78 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
+    /**
+     * Splits the elements of an iteration into one contiguous range per worker. Each worker claims chunks from the
+     * front of its own range and, once that is used up, steals chunks from the ranges of the other workers, so that
+     * workers only ever contend on an atomic counter and only when claiming a chunk.
+     */
+    private static final class Partitions<V> {
+
+        private static final int MAX_CHUNK_SIZE = 256;
+
+        private final Object[] elements;
+        private final int[] ends;
+        private final AtomicInteger[] positions;
+        private final int chunkSize;
+        private final AtomicInteger nextHome = new AtomicInteger();
+
+        public Partitions(final Object[] elements, final int partitions) {
+            this.elements = elements;
+            this.ends = new int[partitions];
+            this.positions = new AtomicInteger[partitions];
+            for (int i = 0; i < partitions; i++) {
+                this.positions[i] = new AtomicInteger((int) ((long) elements.length * i / partitions));
+                this.ends[i] = (int) ((long) elements.length * (i + 1) / partitions);
+            }
+            // small chunks keep the tail of an iteration balanced while large ones keep claiming cheap
+            this.chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, elements.length / (partitions * 8)));
+        }
 
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
+        /**
+         * Gets the cursor for a worker which starts on the next range that has no worker of its own.
+         */
+        public Cursor cursor() {
+            return new Cursor(this.nextHome.getAndIncrement() % this.positions.length);
         }
 
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
+        public final class Cursor {
+
+            private int partition;
+            private int position = 0;
+            private int end = 0;
+
+            private Cursor(final int home) {
+                this.partition = home;
+            }
+
+            public V next() {
+                if (this.position < this.end || this.claim())
+                    return (V) elements[this.position++];
+                return null;
+            }
+
+            /**
+             * Gets the position in the elements of the element last returned by {@link #next()}.
+             */
+            public int index() {
+                return this.position - 1;
+            }
+
+            private boolean claim() {
+                for (int i = 0; i < positions.length; i++) {
+                    final int candidate = (this.partition + i) % positions.length;
+                    if (positions[candidate].get() >= ends[candidate])
+                        continue;
+                    final int start = positions[candidate].getAndAdd(chunkSize);
+                    if (start < ends[candidate]) {
+                        this.partition = candidate;
+                        this.position = start;
+                        this.end = Math.min(start + chunkSize, ends[candidate]);
+                        return true;
+                    }
+                }
+                return false;
+            }
         }
     }
 
@@ -43,8 +43,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -53,16 +51,17 @@ public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    private final Map<String, ComputeColumn> computeColumns = new ConcurrentHashMap<>();
     private final Set<Object> legalVertices = new HashSet<>();
     private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
     private final GraphFilter graphFilter;
+    private final Object[] vertices;
+    private final Map<Object, Integer> ordinals;
 
     public TinkerGraphComputerView(final TinkerGraph graph, final GraphFilter graphFilter, final Set<VertexComputeKey> computeKeys) {
         this.graph = graph;
         this.computeKeys = new HashMap<>();
         computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
-        this.computeProperties = new ConcurrentHashMap<>();
         this.graphFilter = graphFilter;
         if (this.graphFilter.hasFilter()) {
             graph.vertices().forEachRemaining(vertex -> {
@@ -78,19 +77,40 @@ public final class TinkerGraphComputerView {
                 }
             });
         }
+        // vertices can not be added or removed while the view is in place so each legal vertex gets a dense ordinal
+        // which addresses its compute key values and its messages
+        final List<Vertex> legal = new ArrayList<>();
+        graph.vertices().forEachRemaining(vertex -> {
+            if (this.legalVertex(vertex))
+                legal.add(vertex);
+        });
+        this.vertices = legal.toArray();
+        this.ordinals = new HashMap<>(this.vertices.length * 4 / 3 + 1);
+        for (int i = 0; i < this.vertices.length; i++) {
+            this.ordinals.put(((Vertex) this.vertices[i]).id(), i);
+        }
+        this.computeKeys.keySet().forEach(key -> this.computeColumns.put(key, new ComputeColumn(this.vertices.length)));
+    }
+
+    /**
+     * Gets the vertices of the computation where the position of each is its ordinal.
+     */
+    Object[] vertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Gets the ordinal of the vertex or -1 if the vertex is not part of the computation.
+     */
+    int ordinal(final Vertex vertex) {
+        final Integer ordinal = this.ordinals.get(vertex.id());
+        return null == ordinal ? -1 : ordinal;
     }
 
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
+            return this.computeColumns.get(key).add(vertex, this.vertexOrdinal(vertex), key, value);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
@@ -104,21 +124,32 @@ public final class TinkerGraphComputerView {
     }
 
     public List<Property> getProperties(final TinkerVertex vertex) {
-        final Stream<Property> a = TinkerHelper.getProperties(vertex).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(vertex) ?
-                this.computeProperties.get(vertex).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
-        return Stream.concat(a, b).collect(Collectors.toList());
+        final List<Property> properties = new ArrayList<>();
+        TinkerHelper.getProperties(vertex).values().forEach(properties::addAll);
+        final int ordinal = this.ordinal(vertex);
+        if (-1 != ordinal) {
+            this.computeColumns.forEach((key, column) -> properties.addAll(column.get(vertex, ordinal, key)));
+        }
+        return properties;
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
         if (isComputeKey(key)) {
-            this.removeValue(vertex, key, property);
+            final int ordinal = this.ordinal(vertex);
+            if (-1 != ordinal)
+                this.computeColumns.get(key).remove(ordinal, property);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
     }
 
+    /**
+     * Determines if the vertex property is a value of a compute key, which only lives in this view.
+     */
+    public boolean isComputeProperty(final VertexProperty<?> vertexProperty) {
+        return vertexProperty instanceof ComputeProperty;
+    }
+
     public boolean legalVertex(final Vertex vertex) {
         return !this.graphFilter.hasVertexFilter() || this.legalVertices.contains(vertex.id());
     }
@@ -130,10 +161,8 @@ public final class TinkerGraphComputerView {
     protected void complete() {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
-            if (computeKey.isTransient()) {
-                final List<VertexProperty<?>> toRemove = this.computeProperties.values().stream().flatMap(map -> map.getOrDefault(computeKey.getKey(), Collections.emptyList()).stream()).collect(Collectors.toList());
-                toRemove.forEach(VertexProperty::remove);
-            }
+            if (computeKey.isTransient())
+                this.computeColumns.put(computeKey.getKey(), new ComputeColumn(this.vertices.length));
         }
     }
 
@@ -191,17 +220,18 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+        this.computeColumns.forEach((key, column) -> {
+            for (int ordinal = 0; ordinal < this.vertices.length; ordinal++) {
+                final TinkerVertex vertex = (TinkerVertex) this.vertices[ordinal];
+                column.get(vertex, ordinal, key).forEach(vertexProperty -> {
+                    final VertexProperty<?> newVertexProperty = vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
                     vertexProperty.properties().forEachRemaining(property -> {
                         newVertexProperty.property(property.key(), property.value());
                     });
                 });
-            });
+            }
         });
-        this.computeProperties.clear();
+        this.computeColumns.clear();
     }
 
     //////////////////////
@@ -210,26 +240,205 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.containsKey(key);
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new ConcurrentHashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = Collections.synchronizedList(new ArrayList<>());
-            v.add(property);
-            return v;
-        });
+    private int vertexOrdinal(final Vertex vertex) {
+        final int ordinal = this.ordinal(vertex);
+        if (-1 == ordinal)
+            throw new IllegalStateException(String.format("The vertex %s is not part of the computation", vertex.id()));
+        return ordinal;
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.computeIfPresent(vertex, (k, v) -> {
-            v.computeIfPresent(key, (k1, v1) -> {
-                v1.remove(property);
-                return v1;
-            });
-            return v;
-        });
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = null == column ? -1 : this.ordinal(vertex);
+        return -1 == ordinal ? Collections.emptyList() : column.get(vertex, ordinal, key);
+    }
+
+    /**
+     * The values of a single compute key indexed by vertex ordinal. A single value with a {@code Long} identifier is
+     * held as a type tag, the identifier and either the primitive value itself or a reference to it, and only becomes a
+     * {@link VertexProperty} when it is read. A vertex with more than one value for the key, or with a value that has
+     * meta-properties, keeps a list of the {@link VertexProperty} objects instead. Each vertex is only ever written by
+     * the worker that executes it, so the slots of a vertex need no synchronization.
+     */
+    private final class ComputeColumn {
+
+        private static final byte EMPTY = 0;
+        private static final byte DOUBLE = 1;
+        private static final byte LONG = 2;
+        private static final byte INTEGER = 3;
+        private static final byte FLOAT = 4;
+        private static final byte BOOLEAN = 5;
+        private static final byte OBJECT = 6;
+        private static final byte PROPERTIES = 7;
+
+        private final byte[] types;
+        private final long[] ids;
+        private volatile long[] payloads;
+        private volatile Object[] objects;
+
+        private ComputeColumn(final int size) {
+            this.types = new byte[size];
+            this.ids = new long[size];
+        }
+
+        private <V> VertexProperty<V> add(final TinkerVertex vertex, final int ordinal, final String key, final V value) {
+            final ComputeProperty<V> property = new ComputeProperty<>(vertex, ordinal, key, value);
+            final Object id = property.id();
+            if (EMPTY == this.types[ordinal] && id instanceof Long) {
+                this.ids[ordinal] = (Long) id;
+                if (value instanceof Double) {
+                    this.payloads()[ordinal] = Double.doubleToRawLongBits((Double) value);
+                    this.types[ordinal] = DOUBLE;
+                } else if (value instanceof Long) {
+                    this.payloads()[ordinal] = (Long) value;
+                    this.types[ordinal] = LONG;
+                } else if (value instanceof Integer) {
+                    this.payloads()[ordinal] = (Integer) value;
+                    this.types[ordinal] = INTEGER;
+                } else if (value instanceof Float) {
+                    this.payloads()[ordinal] = Float.floatToRawIntBits((Float) value);
+                    this.types[ordinal] = FLOAT;
+                } else if (value instanceof Boolean) {
+                    this.payloads()[ordinal] = (Boolean) value ? 1L : 0L;
+                    this.types[ordinal] = BOOLEAN;
+                } else {
+                    this.objects()[ordinal] = value;
+                    this.types[ordinal] = OBJECT;
+                }
+            } else {
+                this.properties(vertex, ordinal, key).add(property);
+            }
+            return property;
+        }
+
+        private List<VertexProperty<?>> get(final TinkerVertex vertex, final int ordinal, final String key) {
+            final byte type = this.types[ordinal];
+            if (EMPTY == type)
+                return Collections.emptyList();
+            else if (PROPERTIES == type)
+                return (List<VertexProperty<?>>) this.objects[ordinal];
+            else
+                return Collections.singletonList(this.materialize(vertex, ordinal, key));
+        }
+
+        private void remove(final int ordinal, final VertexProperty<?> property) {
+            final byte type = this.types[ordinal];
+            if (PROPERTIES == type) {
+                final List<VertexProperty<?>> properties = (List<VertexProperty<?>>) this.objects[ordinal];
+                properties.remove(property);
+                if (properties.isEmpty())
+                    this.clear(ordinal);
+            } else if (EMPTY != type && property.id().equals(this.ids[ordinal])) {
+                this.clear(ordinal);
+            }
+        }
+
+        /**
+         * Gets the list of {@link VertexProperty} objects of the vertex, converting a single value into one first.
+         */
+        private List<VertexProperty<?>> properties(final TinkerVertex vertex, final int ordinal, final String key) {
+            final byte type = this.types[ordinal];
+            if (PROPERTIES == type)
+                return (List<VertexProperty<?>>) this.objects[ordinal];
+            final List<VertexProperty<?>> properties = new ArrayList<>(2);
+            if (EMPTY != type)
+                properties.add(this.materialize(vertex, ordinal, key));
+            this.objects()[ordinal] = properties;
+            this.types[ordinal] = PROPERTIES;
+            return properties;
+        }
+
+        /**
+         * Ensures that the property is held as an object so that meta-properties added to it are kept.
+         */
+        private void retain(final ComputeProperty<?> property) {
+            final int ordinal = property.ordinal;
+            final byte type = this.types[ordinal];
+            if (EMPTY != type && PROPERTIES != type && property.id().equals(this.ids[ordinal])) {
+                this.types[ordinal] = EMPTY;
+                this.properties((TinkerVertex) property.element(), ordinal, property.key()).add(property);
+            }
+        }
+
+        private VertexProperty<?> materialize(final TinkerVertex vertex, final int ordinal, final String key) {
+            final long payload = OBJECT == this.types[ordinal] ? 0L : this.payloads[ordinal];
+            final Object value;
+            switch (this.types[ordinal]) {
+                case DOUBLE:
+                    value = Double.longBitsToDouble(payload);
+                    break;
+                case LONG:
+                    value = payload;
+                    break;
+                case INTEGER:
+                    value = (int) payload;
+                    break;
+                case FLOAT:
+                    value = Float.intBitsToFloat((int) payload);
+                    break;
+                case BOOLEAN:
+                    value = 0 != payload;
+                    break;
+                default:
+                    value = this.objects[ordinal];
+            }
+            return new ComputeProperty<>(this.ids[ordinal], vertex, ordinal, key, value);
+        }
+
+        private void clear(final int ordinal) {
+            this.types[ordinal] = EMPTY;
+            if (null != this.objects)
+                this.objects[ordinal] = null;
+        }
+
+        private long[] payloads() {
+            long[] payloads = this.payloads;
+            if (null == payloads) {
+                synchronized (this) {
+                    if (null == (payloads = this.payloads))
+                        this.payloads = payloads = new long[this.types.length];
+                }
+            }
+            return payloads;
+        }
+
+        private Object[] objects() {
+            Object[] objects = this.objects;
+            if (null == objects) {
+                synchronized (this) {
+                    if (null == (objects = this.objects))
+                        this.objects = objects = new Object[this.types.length];
+                }
+            }
+            return objects;
+        }
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    private final class ComputeProperty<V> extends TinkerVertexProperty<V> {
+
+        private final int ordinal;
+
+        private ComputeProperty(final TinkerVertex vertex, final int ordinal, final String key, final V value) {
+            super(vertex, key, value);
+            this.ordinal = ordinal;
+        }
+
+        private ComputeProperty(final Object id, final TinkerVertex vertex, final int ordinal, final String key, final V value) {
+            super(id, vertex, key, value);
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            final ComputeColumn column = computeColumns.get(this.key());
+            if (null != column)
+                column.retain(this);
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -18,29 +18,186 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Queue;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * Holds the messages of the current and previous iteration of a {@link TinkerGraphComputer} job. Messages are
+ * addressed by the ordinal that the {@link TinkerGraphComputerView} gives the receiving vertex.
+ * <p/>
+ * When the vertex program has a {@link MessageCombiner}, there is exactly one slot per vertex which holds the
+ * combined message and senders combine into it directly. Otherwise each worker appends to its own {@link SendBuffer}
+ * without any coordination and the buffers are merged into a flat array grouped by vertex when the iteration
+ * completes.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    private static final Object BUSY = new Object();
+
+    private final TinkerGraphComputerView view;
+    private final boolean combine;
+
     public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    public Set<MessageScope> currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+    // combined messages
+    private AtomicReferenceArray<Object> sendSlots;
+    private AtomicReferenceArray<Object> receiveSlots;
+
+    // uncombined messages where the messages of vertex i are at [receiveOffsets[i], receiveOffsets[i + 1])
+    private final List<SendBuffer> sendBuffers = Collections.synchronizedList(new ArrayList<>());
+    private int[] receiveOffsets;
+    private Object[] receiveMessages = new Object[0];
+
+    public TinkerMessageBoard(final TinkerGraphComputerView view, final boolean combine) {
+        this.view = view;
+        this.combine = combine;
+        final int size = view.vertices().length;
+        if (combine) {
+            this.sendSlots = new AtomicReferenceArray<>(size);
+            this.receiveSlots = new AtomicReferenceArray<>(size);
+        } else {
+            this.receiveOffsets = new int[size + 1];
+        }
+    }
+
+    /**
+     * Gets the ordinal of the vertex in this job or -1 if the vertex is not part of it.
+     */
+    public int ordinal(final Vertex vertex) {
+        return this.view.ordinal(vertex);
+    }
+
+    /**
+     * Creates the buffer that a single worker sends its messages to for the current iteration.
+     */
+    public SendBuffer createSendBuffer() {
+        final SendBuffer buffer = new SendBuffer();
+        if (!this.combine)
+            this.sendBuffers.add(buffer);
+        return buffer;
+    }
+
+    public void send(final SendBuffer buffer, final int ordinal, final M message, final MessageCombiner<M> combiner) {
+        if (this.combine) {
+            // the slot is held with a marker while combining as combiners are free to mutate the messages they are given
+            Object current;
+            while (BUSY == (current = this.sendSlots.getAndSet(ordinal, BUSY))) {
+                Thread.yield();
+            }
+            try {
+                current = null == current ? message : combiner.combine((M) current, message);
+            } finally {
+                this.sendSlots.set(ordinal, current);
+            }
+        } else {
+            buffer.add(ordinal, message);
+        }
+    }
+
+    public Iterator<M> receive(final int ordinal) {
+        if (this.combine) {
+            final M message = (M) this.receiveSlots.get(ordinal);
+            return null == message ? Collections.emptyIterator() : IteratorUtils.of(message);
+        } else {
+            final int start = this.receiveOffsets[ordinal];
+            final int end = this.receiveOffsets[ordinal + 1];
+            return start == end ? Collections.emptyIterator() : new MessageIterator<>(this.receiveMessages, start, end);
+        }
+    }
 
     public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        if (this.combine) {
+            final AtomicReferenceArray<Object> slots = this.receiveSlots;
+            this.receiveSlots = this.sendSlots;
+            for (int i = 0; i < slots.length(); i++) {
+                slots.lazySet(i, null);
+            }
+            this.sendSlots = slots;
+        } else {
+            // count the messages per vertex, turn the counts into offsets and then place each message
+            final int[] offsets = new int[this.receiveOffsets.length];
+            int total = 0;
+            for (final SendBuffer buffer : this.sendBuffers) {
+                for (int i = 0; i < buffer.size; i++) {
+                    offsets[buffer.ordinals[i] + 1]++;
+                }
+                total += buffer.size;
+            }
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+            final Object[] messages = new Object[total];
+            final int[] positions = Arrays.copyOf(offsets, offsets.length - 1);
+            for (final SendBuffer buffer : this.sendBuffers) {
+                for (int i = 0; i < buffer.size; i++) {
+                    messages[positions[buffer.ordinals[i]]++] = buffer.messages[i];
+                }
+            }
+            this.sendBuffers.clear();
+            this.receiveOffsets = offsets;
+            this.receiveMessages = messages;
+        }
         this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.currentMessageScopes = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * The messages sent by one worker in the order they were sent.
+     */
+    static final class SendBuffer {
+
+        private int[] ordinals = new int[16];
+        private Object[] messages = new Object[16];
+        private int size = 0;
+
+        private void add(final int ordinal, final Object message) {
+            if (this.size == this.ordinals.length) {
+                this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+                this.messages = Arrays.copyOf(this.messages, this.size * 2);
+            }
+            this.ordinals[this.size] = ordinal;
+            this.messages[this.size++] = message;
+        }
+    }
+
+    private static final class MessageIterator<M> implements Iterator<M> {
+
+        private final Object[] messages;
+        private final int end;
+        private int position;
+
+        private MessageIterator(final Object[] messages, final int start, final int end) {
+            this.messages = messages;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.position < this.end;
+        }
+
+        @Override
+        public M next() {
+            if (this.position >= this.end)
+                throw new NoSuchElementException();
+            return (M) this.messages[this.position++];
+        }
     }
 }
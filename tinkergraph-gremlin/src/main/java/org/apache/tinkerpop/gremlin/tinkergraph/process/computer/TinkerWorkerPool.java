@@ -24,10 +24,13 @@ import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
 /**
@@ -36,19 +39,24 @@ import java.util.function.Consumer;
  */
 public final class TinkerWorkerPool implements AutoCloseable {
 
-    private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
+    private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").daemon(true).build();
+
+    /**
+     * The threads that run the workers of every {@link TinkerGraphComputer} job. Threads are created as they are
+     * needed and reused by later jobs rather than each job starting and stopping a pool of its own.
+     */
+    private static final ExecutorService WORKER_POOL = Executors.newCachedThreadPool(THREAD_FACTORY_WORKER);
 
     private final int numberOfWorkers;
-    private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
+    private final List<Future<Object>> futures = new ArrayList<>();
 
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
 
     public TinkerWorkerPool(final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
-        this.workerPool = Executors.newFixedThreadPool(numberOfWorkers, THREAD_FACTORY_WORKER);
-        this.completionService = new ExecutorCompletionService<>(this.workerPool);
+        this.completionService = new ExecutorCompletionService<>(WORKER_POOL);
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -61,12 +69,12 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     public void executeVertexProgram(final Consumer<VertexProgram> worker) throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
-            this.completionService.submit(() -> {
+            this.futures.add(this.completionService.submit(() -> {
                 final VertexProgram vp = this.vertexProgramPool.take();
                 worker.accept(vp);
                 this.vertexProgramPool.offer(vp);
                 return null;
-            });
+            }));
         }
         for (int i = 0; i < this.numberOfWorkers; i++) {
             try {
@@ -77,16 +85,17 @@ public final class TinkerWorkerPool implements AutoCloseable {
                 throw new IllegalStateException(e.getMessage(), e);
             }
         }
+        this.futures.clear();
     }
 
     public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
-            this.completionService.submit(() -> {
+            this.futures.add(this.completionService.submit(() -> {
                 final MapReduce mr = this.mapReducePool.take();
                 worker.accept(mr);
                 this.mapReducePool.offer(mr);
                 return null;
-            });
+            }));
         }
         for (int i = 0; i < this.numberOfWorkers; i++) {
             try {
@@ -97,14 +106,21 @@ public final class TinkerWorkerPool implements AutoCloseable {
                 throw new IllegalStateException(e.getMessage(), e);
             }
         }
+        this.futures.clear();
     }
 
+    /**
+     * Interrupts the workers of this job that are still running. The threads themselves are shared and stay alive.
+     */
     public void closeNow() throws Exception {
-        this.workerPool.shutdownNow();
+        for (final Future<Object> future : this.futures) {
+            future.cancel(true);
+        }
+        this.futures.clear();
     }
 
     @Override
     public void close() throws Exception {
-        this.workerPool.shutdown();
+        this.futures.clear();
     }
-}
\ No newline at end of file
+}
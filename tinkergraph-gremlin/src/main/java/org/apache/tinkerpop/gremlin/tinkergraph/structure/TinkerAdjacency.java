@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.function.Consumer;
+
+/**
+ * The edges incident to a {@link TinkerVertex} in one direction when TinkerGraph is configured with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY}. Edges are grouped by label into arrays that grow by
+ * doubling and shrink by half when they fall to a quarter full. Each {@link TinkerEdge} remembers its slot in the
+ * arrays of its out and in vertices so that it can be removed in constant time by moving the last edge of the same
+ * label into its place.
+ */
+final class TinkerAdjacency {
+
+    private static final int INITIAL_CAPACITY = 2;
+
+    private final boolean out;
+    private String[] labels = new String[1];
+    private TinkerEdge[][] edges = new TinkerEdge[1][];
+    private int[] sizes = new int[1];
+    private int labelCount = 0;
+
+    TinkerAdjacency(final boolean out) {
+        this.out = out;
+    }
+
+    void add(final String label, final TinkerEdge edge) {
+        int index = this.indexOf(label);
+        if (-1 == index) {
+            if (this.labelCount == this.labels.length) {
+                final int capacity = this.labels.length * 2;
+                this.labels = copyOf(this.labels, new String[capacity]);
+                this.edges = copyOf(this.edges, new TinkerEdge[capacity][]);
+                this.sizes = copyOf(this.sizes, capacity);
+            }
+            index = this.labelCount++;
+            this.labels[index] = label;
+            this.edges[index] = new TinkerEdge[INITIAL_CAPACITY];
+            this.sizes[index] = 0;
+        }
+
+        TinkerEdge[] labelEdges = this.edges[index];
+        final int size = this.sizes[index];
+        if (size == labelEdges.length) {
+            labelEdges = copyOf(labelEdges, new TinkerEdge[labelEdges.length * 2]);
+            this.edges[index] = labelEdges;
+        }
+        labelEdges[size] = edge;
+        this.setSlot(edge, size);
+        this.sizes[index] = size + 1;
+    }
+
+    void remove(final String label, final TinkerEdge edge) {
+        final int index = this.indexOf(label);
+        if (-1 == index)
+            return;
+
+        final TinkerEdge[] labelEdges = this.edges[index];
+        final int slot = this.getSlot(edge);
+        final int last = this.sizes[index] - 1;
+        if (slot < 0 || slot > last || labelEdges[slot] != edge)
+            return;
+
+        if (slot != last) {
+            labelEdges[slot] = labelEdges[last];
+            this.setSlot(labelEdges[slot], slot);
+        }
+        labelEdges[last] = null;
+        this.setSlot(edge, -1);
+        this.sizes[index] = last;
+
+        if (0 == last) {
+            this.removeLabel(index);
+        } else if (labelEdges.length > INITIAL_CAPACITY && last <= labelEdges.length / 4) {
+            this.edges[index] = copyOf(labelEdges, new TinkerEdge[labelEdges.length / 2]);
+        }
+    }
+
+    /**
+     * Passes the edges with any of the labels to the consumer, or all edges if no labels are provided.
+     */
+    void forEach(final String[] edgeLabels, final Consumer<TinkerEdge> consumer) {
+        if (0 == edgeLabels.length) {
+            for (int i = 0; i < this.labelCount; i++) {
+                forEach(this.edges[i], this.sizes[i], consumer);
+            }
+        } else {
+            for (final String label : edgeLabels) {
+                final int index = this.indexOf(label);
+                if (-1 != index)
+                    forEach(this.edges[index], this.sizes[index], consumer);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return 0 == this.labelCount;
+    }
+
+    private int indexOf(final String label) {
+        // labels are interned by the graph so try the cheap reference check before falling back to equals()
+        for (int i = 0; i < this.labelCount; i++) {
+            if (this.labels[i] == label)
+                return i;
+        }
+        for (int i = 0; i < this.labelCount; i++) {
+            if (this.labels[i].equals(label))
+                return i;
+        }
+        return -1;
+    }
+
+    private void removeLabel(final int index) {
+        final int last = --this.labelCount;
+        this.labels[index] = this.labels[last];
+        this.edges[index] = this.edges[last];
+        this.sizes[index] = this.sizes[last];
+        this.labels[last] = null;
+        this.edges[last] = null;
+        this.sizes[last] = 0;
+    }
+
+    private int getSlot(final TinkerEdge edge) {
+        return this.out ? edge.outSlot : edge.inSlot;
+    }
+
+    private void setSlot(final TinkerEdge edge, final int slot) {
+        if (this.out)
+            edge.outSlot = slot;
+        else
+            edge.inSlot = slot;
+    }
+
+    private static void forEach(final TinkerEdge[] edges, final int size, final Consumer<TinkerEdge> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(edges[i]);
+        }
+    }
+
+    private static <A> A[] copyOf(final A[] source, final A[] target) {
+        System.arraycopy(source, 0, target, 0, Math.min(source.length, target.length));
+        return target;
+    }
+
+    private static int[] copyOf(final int[] source, final int length) {
+        final int[] target = new int[length];
+        System.arraycopy(source, 0, target, 0, Math.min(source.length, length));
+        return target;
+    }
+}
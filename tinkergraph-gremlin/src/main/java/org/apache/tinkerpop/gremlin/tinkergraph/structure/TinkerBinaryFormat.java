@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads and writes the {@code binary} value of {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}. All of the
+ * vertices are written before any of the edges, each as a single record of Gryo serialized identifiers and values,
+ * so that the file is read in one sequential pass over a buffered stream. Each record is decoded straight into the
+ * graph and the vertices of each edge are resolved against the graph itself, so there is no intermediate
+ * {@code StarGraph} per vertex and no second cache of the whole graph keyed by vertex as there is with
+ * {@code GryoReader}. The whole file is read on load as the records are not indexed for random access.
+ */
+final class TinkerBinaryFormat {
+
+    private static final int MAGIC = 0x544b5331;
+
+    private TinkerBinaryFormat() {}
+
+    static void write(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = createKryo();
+        try (final OutputStream stream = new FileOutputStream(file);
+             final Output output = new Output(65536)) {
+            output.setOutputStream(stream);
+            output.writeInt(MAGIC);
+
+            output.writeLong(graph.vertices.size());
+            for (final Vertex vertex : graph.vertices.values()) {
+                kryo.writeClassAndObject(output, vertex.id());
+                output.writeString(vertex.label());
+                final List<VertexProperty<Object>> vertexProperties = new ArrayList<>();
+                vertex.properties().forEachRemaining(vertexProperties::add);
+                output.writeInt(vertexProperties.size(), true);
+                for (final VertexProperty<?> vertexProperty : vertexProperties) {
+                    kryo.writeClassAndObject(output, vertexProperty.id());
+                    output.writeString(vertexProperty.key());
+                    kryo.writeClassAndObject(output, vertexProperty.value());
+                    writeProperties(kryo, output, vertexProperty.properties());
+                }
+            }
+
+            output.writeLong(graph.edges.size());
+            for (final Edge edge : graph.edges.values()) {
+                kryo.writeClassAndObject(output, edge.id());
+                output.writeString(edge.label());
+                kryo.writeClassAndObject(output, edge.outVertex().id());
+                kryo.writeClassAndObject(output, edge.inVertex().id());
+                writeProperties(kryo, output, edge.properties());
+            }
+        }
+    }
+
+    static void read(final TinkerGraph graph, final File file) throws IOException {
+        try (final Input input = new Input(new FileInputStream(file), 65536)) {
+            if (input.readInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph binary file", file));
+
+            final Kryo kryo = createKryo();
+            final long vertexCount = input.readLong();
+            for (long i = 0; i < vertexCount; i++) {
+                final Vertex vertex = graph.addVertex(T.id, kryo.readClassAndObject(input), T.label, input.readString());
+                final int propertyCount = input.readInt(true);
+                for (int j = 0; j < propertyCount; j++) {
+                    final Object propertyId = kryo.readClassAndObject(input);
+                    final String key = input.readString();
+                    final Object value = kryo.readClassAndObject(input);
+                    vertex.property(VertexProperty.Cardinality.list, key, value, readProperties(kryo, input, T.id, propertyId));
+                }
+            }
+
+            final long edgeCount = input.readLong();
+            for (long i = 0; i < edgeCount; i++) {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = graph.vertices.get(kryo.readClassAndObject(input));
+                final Vertex inVertex = graph.vertices.get(kryo.readClassAndObject(input));
+                outVertex.addEdge(label, inVertex, readProperties(kryo, input, T.id, id));
+            }
+        }
+    }
+
+    private static void writeProperties(final Kryo kryo, final Output output, final Iterator<? extends Property<?>> properties) {
+        final List<Property<?>> list = new ArrayList<>();
+        properties.forEachRemaining(list::add);
+        output.writeInt(list.size(), true);
+        for (final Property<?> property : list) {
+            output.writeString(property.key());
+            kryo.writeClassAndObject(output, property.value());
+        }
+    }
+
+    /**
+     * Reads key/value pairs into an array that starts with the given leading values.
+     */
+    private static Object[] readProperties(final Kryo kryo, final Input input, final Object... leading) {
+        final int count = input.readInt(true);
+        final Object[] keyValues = new Object[leading.length + count * 2];
+        System.arraycopy(leading, 0, keyValues, 0, leading.length);
+        for (int i = leading.length; i < keyValues.length; i = i + 2) {
+            keyValues[i] = input.readString();
+            keyValues[i + 1] = kryo.readClassAndObject(input);
+        }
+        return keyValues;
+    }
+
+    private static Kryo createKryo() {
+        return GryoMapper.build().addRegistry(TinkerIoRegistry.instance()).create().createMapper();
+    }}
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Off-heap storage for vertex property values when TinkerGraph is configured with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_OFF_HEAP_PROPERTIES}. There is one column per property key and each
+ * {@link TinkerVertex} owns a slot in every column at its dense ordinal. A slot holds a type tag, the property
+ * identifier and an eight byte payload which is either the primitive value itself or the address of a
+ * {@code String} in the column's string pages. Columns are allocated in direct {@code ByteBuffer} chunks as ordinals
+ * are handed out, so the values never become heap objects until they are read. The ordinal of a removed vertex is
+ * handed out to the next vertex that is added.
+ * <p/>
+ * Only a single value of a supported type with a {@code Long} identifier and no meta-properties can be held in a
+ * column. The vertex keeps everything else in its own property map.
+ */
+final class TinkerColumnStore {
+
+    private static final byte EMPTY = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte SHORT = 5;
+    private static final byte BYTE = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte STRING = 8;
+
+    private static final int SLOT_BYTES = 17;
+    private static final int ID_OFFSET = 1;
+    private static final int VALUE_OFFSET = 9;
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SLOTS = 1 << CHUNK_BITS;
+    private static final int PAGE_BYTES = 1 << 20;
+
+    private final Map<String, Column> columns = new ConcurrentHashMap<>();
+    private final AtomicInteger ordinals = new AtomicInteger();
+    // ordinals of removed vertices are handed out again so that the chunks only grow with the number of live vertices
+    private final Queue<Integer> releasedOrdinals = new ConcurrentLinkedQueue<>();
+
+    int nextOrdinal() {
+        final Integer ordinal = this.releasedOrdinals.poll();
+        return null == ordinal ? this.ordinals.getAndIncrement() : ordinal;
+    }
+
+    /**
+     * Stores the value in the column of the key, returning {@code false} if the value can not be held off-heap.
+     */
+    boolean put(final String key, final int ordinal, final long id, final Object value) {
+        if (!isSupported(value))
+            return false;
+        return this.columns.computeIfAbsent(key, k -> new Column()).put(ordinal, id, value);
+    }
+
+    boolean contains(final String key, final int ordinal) {
+        final Column column = this.columns.get(key);
+        return null != column && column.contains(ordinal);
+    }
+
+    /**
+     * Gets the value in the column of the key or {@code null} if the slot is empty.
+     */
+    Object get(final String key, final int ordinal) {
+        final Column column = this.columns.get(key);
+        return null == column ? null : column.get(ordinal);
+    }
+
+    long id(final String key, final int ordinal) {
+        return this.columns.get(key).id(ordinal);
+    }
+
+    void remove(final String key, final int ordinal) {
+        final Column column = this.columns.get(key);
+        if (null != column)
+            column.remove(ordinal);
+    }
+
+    /**
+     * Empties the slots of a removed vertex in every column and releases its ordinal for reuse.
+     */
+    void removeAll(final int ordinal) {
+        for (final Column column : this.columns.values()) {
+            column.remove(ordinal);
+        }
+        this.releasedOrdinals.add(ordinal);
+    }
+
+    /**
+     * Gets the keys that have a value in a column for the ordinal.
+     */
+    List<String> keys(final int ordinal) {
+        final List<String> keys = new ArrayList<>();
+        this.columns.forEach((key, column) -> {
+            if (column.contains(ordinal))
+                keys.add(key);
+        });
+        return keys;
+    }
+
+    /**
+     * Gets the number of direct {@code ByteBuffer} chunks allocated for slots over all columns.
+     */
+    int chunks() {
+        int chunks = 0;
+        for (final Column column : this.columns.values()) {
+            for (final ByteBuffer chunk : column.chunks) {
+                if (null != chunk) chunks++;
+            }
+        }
+        return chunks;
+    }
+
+    void clear() {
+        this.columns.clear();
+        this.releasedOrdinals.clear();
+        this.ordinals.set(0);
+    }
+
+    private static boolean isSupported(final Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Float ||
+                value instanceof Short || value instanceof Byte || value instanceof Boolean || value instanceof String;
+    }
+
+    private static final class Column {
+
+        private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+        // strings are appended to fixed size pages and addressed by page and offset from the slot payload. replacing
+        // or removing a string leaves garbage behind which is reclaimed by rewriting the live strings to new pages
+        private ByteBuffer[] pages = new ByteBuffer[0];
+        private int pagePosition = PAGE_BYTES;
+        private long liveBytes = 0;
+        private long garbageBytes = 0;
+
+        boolean contains(final int ordinal) {
+            final ByteBuffer chunk = this.chunk(ordinal);
+            return null != chunk && EMPTY != chunk.get(offset(ordinal));
+        }
+
+        long id(final int ordinal) {
+            return this.chunk(ordinal).getLong(offset(ordinal) + ID_OFFSET);
+        }
+
+        Object get(final int ordinal) {
+            final ByteBuffer chunk = this.chunk(ordinal);
+            if (null == chunk)
+                return null;
+            final int offset = offset(ordinal);
+            final byte type = chunk.get(offset);
+            final long payload = chunk.getLong(offset + VALUE_OFFSET);
+            switch (type) {
+                case EMPTY:
+                    return null;
+                case INTEGER:
+                    return (int) payload;
+                case LONG:
+                    return payload;
+                case DOUBLE:
+                    return Double.longBitsToDouble(payload);
+                case FLOAT:
+                    return Float.intBitsToFloat((int) payload);
+                case SHORT:
+                    return (short) payload;
+                case BYTE:
+                    return (byte) payload;
+                case BOOLEAN:
+                    return 0 != payload;
+                default:
+                    return this.readString(ordinal);
+            }
+        }
+
+        synchronized boolean put(final int ordinal, final long id, final Object value) {
+            final byte type;
+            final long payload;
+            if (value instanceof String) {
+                final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > PAGE_BYTES - 4)
+                    return false;
+                this.release(ordinal);
+                type = STRING;
+                payload = this.writeString(bytes);
+            } else {
+                this.release(ordinal);
+                if (value instanceof Integer) {
+                    type = INTEGER;
+                    payload = (Integer) value;
+                } else if (value instanceof Long) {
+                    type = LONG;
+                    payload = (Long) value;
+                } else if (value instanceof Double) {
+                    type = DOUBLE;
+                    payload = Double.doubleToRawLongBits((Double) value);
+                } else if (value instanceof Float) {
+                    type = FLOAT;
+                    payload = Float.floatToRawIntBits((Float) value);
+                } else if (value instanceof Short) {
+                    type = SHORT;
+                    payload = (Short) value;
+                } else if (value instanceof Byte) {
+                    type = BYTE;
+                    payload = (Byte) value;
+                } else {
+                    type = BOOLEAN;
+                    payload = (Boolean) value ? 1L : 0L;
+                }
+            }
+
+            final ByteBuffer chunk = this.allocate(ordinal);
+            final int offset = offset(ordinal);
+            chunk.putLong(offset + ID_OFFSET, id);
+            chunk.putLong(offset + VALUE_OFFSET, payload);
+            chunk.put(offset, type);
+            this.compactIfNeeded();
+            return true;
+        }
+
+        synchronized void remove(final int ordinal) {
+            final ByteBuffer chunk = this.chunk(ordinal);
+            if (null != chunk) {
+                this.release(ordinal);
+                chunk.put(offset(ordinal), EMPTY);
+                this.compactIfNeeded();
+            }
+        }
+
+        private synchronized Object readString(final int ordinal) {
+            // the slot may have changed since the caller read its type so check it again under the lock
+            final ByteBuffer chunk = this.chunk(ordinal);
+            final int offset = offset(ordinal);
+            if (STRING != chunk.get(offset))
+                return this.get(ordinal);
+            final long address = chunk.getLong(offset + VALUE_OFFSET);
+            final ByteBuffer page = this.pages[(int) (address >>> 32)];
+            final int position = (int) address;
+            final byte[] bytes = new byte[page.getInt(position)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = page.get(position + 4 + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long writeString(final byte[] bytes) {
+            final int length = bytes.length + 4;
+            if (this.pagePosition + length > PAGE_BYTES) {
+                this.pages = Arrays.copyOf(this.pages, this.pages.length + 1);
+                this.pages[this.pages.length - 1] = ByteBuffer.allocateDirect(PAGE_BYTES);
+                this.pagePosition = 0;
+            }
+            final int pageIndex = this.pages.length - 1;
+            final ByteBuffer page = this.pages[pageIndex];
+            final int position = this.pagePosition;
+            page.putInt(position, bytes.length);
+            for (int i = 0; i < bytes.length; i++) {
+                page.put(position + 4 + i, bytes[i]);
+            }
+            this.pagePosition += length;
+            this.liveBytes += length;
+            return ((long) pageIndex << 32) | position;
+        }
+
+        /**
+         * Accounts for the string held by the slot, if any, as garbage.
+         */
+        private void release(final int ordinal) {
+            final ByteBuffer chunk = this.chunk(ordinal);
+            if (null == chunk)
+                return;
+            final int offset = offset(ordinal);
+            if (STRING == chunk.get(offset)) {
+                final long address = chunk.getLong(offset + VALUE_OFFSET);
+                final int length = this.pages[(int) (address >>> 32)].getInt((int) address) + 4;
+                this.liveBytes -= length;
+                this.garbageBytes += length;
+            }
+        }
+
+        private void compactIfNeeded() {
+            if (this.garbageBytes > PAGE_BYTES && this.garbageBytes > this.liveBytes)
+                this.compact();
+        }
+
+        private void compact() {
+            final ByteBuffer[] oldPages = this.pages;
+            this.pages = new ByteBuffer[0];
+            this.pagePosition = PAGE_BYTES;
+            this.liveBytes = 0;
+            this.garbageBytes = 0;
+            final ByteBuffer[] chunks = this.chunks;
+            for (final ByteBuffer chunk : chunks) {
+                if (null == chunk)
+                    continue;
+                for (int slot = 0; slot < CHUNK_SLOTS; slot++) {
+                    final int offset = slot * SLOT_BYTES;
+                    if (STRING == chunk.get(offset)) {
+                        final long address = chunk.getLong(offset + VALUE_OFFSET);
+                        final ByteBuffer page = oldPages[(int) (address >>> 32)];
+                        final int position = (int) address;
+                        final byte[] bytes = new byte[page.getInt(position)];
+                        for (int i = 0; i < bytes.length; i++) {
+                            bytes[i] = page.get(position + 4 + i);
+                        }
+                        chunk.putLong(offset + VALUE_OFFSET, this.writeString(bytes));
+                    }
+                }
+            }
+        }
+
+        private ByteBuffer chunk(final int ordinal) {
+            final ByteBuffer[] chunks = this.chunks;
+            final int index = ordinal >>> CHUNK_BITS;
+            return index < chunks.length ? chunks[index] : null;
+        }
+
+        private ByteBuffer allocate(final int ordinal) {
+            final int index = ordinal >>> CHUNK_BITS;
+            ByteBuffer[] chunks = this.chunks;
+            if (index >= chunks.length || null == chunks[index]) {
+                // chunks are only allocated for ordinals that have a value and the array is copied so that readers
+                // never see it change underneath them
+                chunks = Arrays.copyOf(chunks, Math.max(index + 1, chunks.length));
+                chunks[index] = ByteBuffer.allocateDirect(CHUNK_SLOTS * SLOT_BYTES);
+                this.chunks = chunks;
+            }
+            return chunks[index];
+        }
+
+        private static int offset(final int ordinal) {
+            return (ordinal & (CHUNK_SLOTS - 1)) * SLOT_BYTES;
+        }
+    }
+}
@@ -43,6 +43,8 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     protected Map<String, Property> properties;
     protected final Vertex inVertex;
     protected final Vertex outVertex;
+    protected int outSlot = -1;
+    protected int inSlot = -1;
 
     protected TinkerEdge(final Object id, final Vertex outVertex, final String label, final Vertex inVertex) {
         super(id, label);
@@ -60,6 +62,10 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         if (null == this.properties) this.properties = new HashMap<>();
         this.properties.put(key, newProperty);
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+
+        // properties set while the edge is being added are written to the write-ahead log along with the edge
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.writeAheadLog && graph.edges.get(this.id) == this) graph.writeAheadLog.addProperty(newProperty);
         return newProperty;
 
     }
@@ -84,16 +90,22 @@ public final class TinkerEdge extends TinkerElement implements Edge {
             if (null != edges)
                 edges.remove(this);
         }
+        if (null != outVertex && null != outVertex.outAdjacency)
+            outVertex.outAdjacency.remove(this.label, this);
         if (null != inVertex && null != inVertex.inEdges) {
             final Set<Edge> edges = inVertex.inEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
+        if (null != inVertex && null != inVertex.inAdjacency)
+            inVertex.inAdjacency.remove(this.label, this);
 
         TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        graph.edges.remove(this.id());
         this.properties = null;
         this.removed = true;
+        if (null != graph.writeAheadLog) graph.writeAheadLog.removeEdge(this);
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -32,6 +33,7 @@ import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.IoCore;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
+import org.apache.tinkerpop.gremlin.structure.util.GraphStatistics;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
@@ -40,6 +42,8 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -67,7 +71,7 @@ import java.util.stream.Stream;
 @Graph.OptIn(Graph.OptIn.SUITE_GROOVY_PROCESS_COMPUTER)
 @Graph.OptIn(Graph.OptIn.SUITE_GROOVY_ENVIRONMENT)
 @Graph.OptIn(Graph.OptIn.SUITE_GROOVY_ENVIRONMENT_INTEGRATE)
-public final class TinkerGraph implements Graph {
+public final class TinkerGraph implements Graph, GraphStatistics {
 
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
@@ -116,6 +120,11 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_OFF_HEAP_PROPERTIES = "gremlin.tinkergraph.offHeapProperties";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC = "gremlin.tinkergraph.writeAheadLogSync";
+    public static final String GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD = "gremlin.tinkergraph.snapshotThreshold";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -127,11 +136,16 @@ public final class TinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerWriteAheadLog writeAheadLog = null;
+    private volatile TinkerStatistics statistics = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final boolean compactAdjacency;
+    protected final Map<String, String> edgeLabels = new ConcurrentHashMap<>();
+    protected final TinkerColumnStore columnStore;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -148,6 +162,9 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
 
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+        columnStore = configuration.getBoolean(GREMLIN_TINKERGRAPH_OFF_HEAP_PROPERTIES, false) ? new TinkerColumnStore() : null;
+
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
 
@@ -156,6 +173,14 @@ public final class TinkerGraph implements Graph {
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
         if (graphLocation != null) loadGraph();
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false)) {
+            if (null == graphLocation)
+                throw new IllegalStateException(String.format("The %s must be specified to use %s",
+                        GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+            openWriteAheadLog(configuration.getLong(GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 100000L),
+                    configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC, false));
+        }
     }
 
     /**
@@ -202,8 +227,9 @@ public final class TinkerGraph implements Graph {
             idValue = vertexIdManager.getNextId(this);
         }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
+        final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        if (null != this.writeAheadLog) this.writeAheadLog.addVertex(vertex);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -241,16 +267,25 @@ public final class TinkerGraph implements Graph {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
+        this.edgeLabels.clear();
+        if (null != this.columnStore) this.columnStore.clear();
         this.variables = null;
         this.currentId.set(-1L);
         this.vertexIndex = null;
         this.edgeIndex = null;
         this.graphComputerView = null;
+        this.statistics = null;
+        if (null != this.writeAheadLog) this.writeAheadLog.clear();
     }
 
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        TraversalStrategies.GlobalCache.clearTraversalCache(this);
+        // the write-ahead log already holds everything since the last snapshot so there is no need to rewrite the graph
+        if (writeAheadLog != null)
+            writeAheadLog.close();
+        else if (graphLocation != null)
+            saveGraph();
     }
 
     @Override
@@ -283,6 +318,8 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals("binary")) {
+                    TinkerBinaryFormat.read(this, f);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -292,29 +329,43 @@ public final class TinkerGraph implements Graph {
         }
     }
 
-    private void saveGraph() {
+    private void openWriteAheadLog(final long snapshotThreshold, final boolean sync) {
+        final String logLocation = graphLocation + ".wal";
+        try {
+            writeAheadLog = TinkerWriteAheadLog.open(this, new File(logLocation), snapshotThreshold, sync);
+        } catch (Exception ex) {
+            throw new RuntimeException(String.format("Could not open write-ahead log at %s", logLocation), ex);
+        }
+    }
+
+    void saveGraph() {
         final File f = new File(graphLocation);
-        if (f.exists()) {
-            f.delete();
-        } else {
-            final File parent = f.getParentFile();
+        final File parent = f.getParentFile();
 
-            // the parent would be null in the case of an relative path if the graphLocation was simply: "f.gryo"
-            if (parent != null && !parent.exists()) {
-                parent.mkdirs();
-            }
+        // the parent would be null in the case of an relative path if the graphLocation was simply: "f.gryo"
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
         }
 
+        // write to a temporary file first so that the previous graph is only replaced once the new one is complete
+        final String tempLocation = graphLocation + ".tmp";
+        final File temp = new File(tempLocation);
+        if (temp.exists()) temp.delete();
+
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(tempLocation);
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(tempLocation);
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(tempLocation);
+            } else if (graphFormat.equals("binary")) {
+                TinkerBinaryFormat.write(this, temp);
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(tempLocation);
             }
+            if (temp.exists())
+                Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (Exception ex) {
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
@@ -489,18 +540,32 @@ public final class TinkerGraph implements Graph {
      * Create an index for said element class ({@link Vertex} or {@link Edge}) and said property key.
      * Whenever an element has the specified key mutated, the index is updated.
      * When the index is created, all existing elements are indexed to ensure that they are captured by the index.
+     * The element label can be indexed by using {@code T.label.getAccessor()} as the key.
      *
      * @param key          the property key to index
      * @param elementClass the element class to index
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. If the key is already indexed with a different type, the index is rebuilt with the new type.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -540,6 +605,125 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered tuple of
+     * keys, which may include {@code T.label.getAccessor()}. A composite index answers traversals that have an
+     * equality or {@code within()} predicate on every one of its keys. Elements that do not have a value for all the
+     * keys are not part of the index.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index together
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the key tuples of the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of key tuples currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexes(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the type of the index for said element class ({@link Vertex} or {@link Edge}) and key.
+     *
+     * @param key          the property key of the index
+     * @param elementClass the element class of the index
+     * @param <E>          The type of the element class
+     * @return the type of the index or {@code null} if the key is not indexed
+     */
+    public <E extends Element> IndexType getIndexType(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? null : this.vertexIndex.getIndexType(key);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? null : this.edgeIndex.getIndexType(key);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * The types of index that can be created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * A hash index which answers equality and {@code within()} lookups.
+         */
+        HASH,
+
+        /**
+         * A sorted index which answers equality and {@code within()} lookups as well as ranges given by
+         * {@code gt()}, {@code gte()}, {@code lt()}, {@code lte()}, {@code between()}, {@code inside()} and
+         * {@code outside()}. Only values that are {@code Comparable} are indexed and numbers of different types are
+         * ordered together.
+         */
+        SORTED
+    }
+
+    ///////////// GRAPH STATISTICS ///////////////
+
+    @Override
+    public long getVertexCount(final String label) {
+        return this.getStatistics().getVertexCount(label);
+    }
+
+    @Override
+    public double getAverageDegree(final Direction direction, final String edgeLabel) {
+        return this.getStatistics().getAverageDegree(direction, edgeLabel);
+    }
+
+    @Override
+    public long getIndexCardinality(final String key) {
+        final TinkerIndex<TinkerVertex> index = this.vertexIndex;
+        return null == index ? 0L : index.cardinality(key);
+    }
+
+    private TinkerStatistics getStatistics() {
+        TinkerStatistics statistics = this.statistics;
+        if (null == statistics || statistics.isStale(this)) {
+            statistics = new TinkerStatistics(this);
+            this.statistics = statistics;
+        }
+        return statistics;
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
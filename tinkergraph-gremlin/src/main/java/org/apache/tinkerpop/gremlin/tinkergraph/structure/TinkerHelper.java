@@ -20,6 +20,8 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -61,16 +63,24 @@ public final class TinkerHelper {
             idValue = graph.edgeIdManager.getNextId(graph);
         }
 
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
+        // compact adjacency lists find labels by reference before equality so every edge shares one label instance
+        final String edgeLabel = graph.compactAdjacency ? graph.edgeLabels.computeIfAbsent(label, l -> l) : label;
+        edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
         ElementHelper.attachProperties(edge, keyValues);
         graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
+        TinkerHelper.addOutEdge(outVertex, edgeLabel, edge);
+        TinkerHelper.addInEdge(inVertex, edgeLabel, edge);
+        if (null != graph.writeAheadLog) graph.writeAheadLog.addEdge((TinkerEdge) edge);
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (((TinkerGraph) vertex.graph()).compactAdjacency) {
+            if (null == vertex.outAdjacency) vertex.outAdjacency = new TinkerAdjacency(true);
+            vertex.outAdjacency.add(label, (TinkerEdge) edge);
+            return;
+        }
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
@@ -81,6 +91,11 @@ public final class TinkerHelper {
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
+        if (((TinkerGraph) vertex.graph()).compactAdjacency) {
+            if (null == vertex.inAdjacency) vertex.inAdjacency = new TinkerAdjacency(false);
+            vertex.inAdjacency.add(label, (TinkerEdge) edge);
+            return;
+        }
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
@@ -98,6 +113,34 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final P<?> predicate) {
+        return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, predicate);
+    }
+
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final P<?> predicate) {
+        return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, predicate);
+    }
+
+    /**
+     * Gets the vertices from the cheapest index that can answer the {@link HasContainer}s. The vertices still need
+     * to be filtered by the {@link HasContainer}s.
+     *
+     * @return the vertices from the index or {@code null} if there is no index that can answer them
+     */
+    public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.query(hasContainers);
+    }
+
+    /**
+     * Gets the edges from the cheapest index that can answer the {@link HasContainer}s. The edges still need to be
+     * filtered by the {@link HasContainer}s.
+     *
+     * @return the edges from the index or {@code null} if there is no index that can answer them
+     */
+    public static List<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.query(hasContainers);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -115,7 +158,21 @@ public final class TinkerHelper {
     }
 
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
-        return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+        final TinkerColumnStore columnStore = ((TinkerGraph) vertex.graph()).columnStore;
+        if (null == columnStore)
+            return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+
+        final List<String> columnKeys = columnStore.keys(vertex.ordinal);
+        if (columnKeys.isEmpty())
+            return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
+
+        final Map<String, List<VertexProperty>> properties = null == vertex.properties ? new HashMap<>() : new HashMap<>(vertex.properties);
+        for (final String key : columnKeys) {
+            final VertexProperty property = vertex.columnProperty(key);
+            if (null != property)
+                properties.put(key, Collections.singletonList(property));
+        }
+        return properties;
     }
 
     public static void autoUpdateIndex(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
@@ -164,6 +221,8 @@ public final class TinkerHelper {
                     edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
                 else
                     Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
+            } else if (vertex.outAdjacency != null) {
+                vertex.outAdjacency.forEach(edgeLabels, edges::add);
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
@@ -174,6 +233,8 @@ public final class TinkerHelper {
                     edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
                 else
                     Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
+            } else if (vertex.inAdjacency != null) {
+                vertex.inAdjacency.forEach(edgeLabels, edges::add);
             }
         }
         return (Iterator) edges.iterator();
@@ -189,6 +250,8 @@ public final class TinkerHelper {
                     vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
                 else
                     Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+            } else if (vertex.outAdjacency != null) {
+                vertex.outAdjacency.forEach(edgeLabels, edge -> vertices.add(edge.inVertex));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
@@ -199,6 +262,8 @@ public final class TinkerHelper {
                     vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
                 else
                     Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+            } else if (vertex.inAdjacency != null) {
+                vertex.inAdjacency.forEach(edgeLabels, edge -> vertices.add(edge.outVertex));
             }
         }
         return (Iterator) vertices.iterator();
@@ -18,27 +18,48 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
-import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * The most key tuples that a composite index lookup will be expanded into from {@code within()} predicates.
+     */
+    private static final int MAX_COMPOSITE_LOOKUPS = 1024;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<List<String>, Map<List<Object>, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
+    protected Map<List<String>, Map<T, List<List<Object>>>> compositeEntries = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
     private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> sortedKeys = new HashSet<>();
+    private final Set<List<String>> compositeKeys = new HashSet<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -47,9 +68,16 @@ final class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
+        // a sorted index can only order values that are comparable - anything else is left out of the index and
+        // canQuery() makes sure that such a value is never used to query it
+        if (this.sortedKeys.contains(key) && !(value instanceof Comparable))
+            return;
+
         Map<Object, Set<T>> keyMap = this.index.get(key);
         if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
+            keyMap = this.sortedKeys.contains(key) ?
+                    new ConcurrentSkipListMap<>(TinkerIndex::compareValues) :
+                    new ConcurrentHashMap<>();
             this.index.put(key, keyMap);
         }
         Set<T> objects = keyMap.get(value);
@@ -74,6 +102,102 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Gets the elements that may satisfy the predicate for the key. The returned list is a superset of the matching
+     * elements and should still be filtered by the caller. The predicate must first be validated with
+     * {@link #canQuery(String, P)}.
+     */
+    public List<T> get(final String key, final P<?> predicate) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null == keyMap)
+            return Collections.emptyList();
+
+        final Set<T> elements = new LinkedHashSet<>();
+        this.collect(key, keyMap, predicate, set -> {
+            elements.addAll(set);
+            return true;
+        });
+        return new ArrayList<>(elements);
+    }
+
+    /**
+     * Chooses the index that is expected to return the fewest elements for the {@link HasContainer}s and gets the
+     * elements from it. The sizes of the index buckets are the cardinality statistics used to cost each candidate:
+     * equality lookups on single or composite keys are costed exactly and ranges on sorted indices are only counted
+     * until they exceed the cheapest candidate found so far. The returned list is a superset of the matching elements
+     * and should still be filtered by the caller.
+     *
+     * @return the elements from the cheapest index or {@code null} if no index can answer the {@link HasContainer}s
+     */
+    public List<T> query(final List<HasContainer> hasContainers) {
+        final List<Lookup<T>> lookups = new ArrayList<>();
+
+        for (final List<String> keys : this.compositeKeys) {
+            final List<List<Object>> tuples = this.lookupTuples(keys, hasContainers);
+            if (null != tuples)
+                lookups.add(new CompositeLookup(keys, tuples));
+        }
+
+        final Map<String, List<P<Object>>> ranges = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            final String key = hasContainer.getKey();
+            final P<?> predicate = hasContainer.getPredicate();
+            if (!this.canQuery(key, predicate))
+                continue;
+            // between() and inside() get split into separate containers, so fold the bounds on a key back together
+            // to let a sorted index scan the narrowest range
+            if (isRange(predicate))
+                ranges.computeIfAbsent(key, k -> new ArrayList<>()).add((P<Object>) predicate);
+            else
+                lookups.add(new KeyLookup(key, predicate));
+        }
+        for (final Map.Entry<String, List<P<Object>>> entry : ranges.entrySet()) {
+            lookups.add(new KeyLookup(entry.getKey(), 1 == entry.getValue().size() ?
+                    entry.getValue().get(0) :
+                    new AndP<>(entry.getValue())));
+        }
+
+        if (lookups.isEmpty())
+            return null;
+        else if (1 == lookups.size())
+            return lookups.get(0).get();
+
+        Lookup<T> cheapest = null;
+        long cheapestCount = Long.MAX_VALUE;
+        for (final Lookup<T> lookup : lookups) {
+            final long count = lookup.count(cheapestCount);
+            if (count < cheapestCount) {
+                cheapest = lookup;
+                cheapestCount = count;
+                if (0 == count) break;
+            }
+        }
+        return null == cheapest ? lookups.get(0).get() : cheapest.get();
+    }
+
+    /**
+     * Determines if the index for the key can be used to answer the predicate.  Equality and {@link Contains#within}
+     * are answered by any index while ranges require an index created as {@link TinkerGraph.IndexType#SORTED}.
+     */
+    public boolean canQuery(final String key, final P<?> predicate) {
+        if (!this.indexedKeys.contains(key))
+            return false;
+
+        if (predicate instanceof OrP)
+            return ((OrP<?>) predicate).getPredicates().stream().allMatch(p -> this.canQuery(key, p));
+        else if (predicate instanceof AndP)
+            return ((AndP<?>) predicate).getPredicates().stream().anyMatch(p -> this.canQuery(key, p));
+
+        final boolean sorted = this.sortedKeys.contains(key);
+        final Object value = predicate.getValue();
+        if (predicate.getBiPredicate() == Compare.eq)
+            return !sorted || value instanceof Comparable;
+        else if (predicate.getBiPredicate() == Contains.within)
+            return value instanceof Collection && (!sorted || ((Collection<?>) value).stream().allMatch(v -> v instanceof Comparable));
+        else
+            return sorted && isRange(predicate) && value instanceof Comparable;
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -87,17 +211,23 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
-    public void remove(final String key, final Object value, final T element) {
+    /**
+     * Counts the elements that the predicate would get from the index for the key, stopping once the count exceeds
+     * the maximum.
+     */
+    public long count(final String key, final P<?> predicate, final long max) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
-                }
-            }
-        }
+        if (null == keyMap)
+            return 0;
+
+        final long[] count = {0};
+        this.collect(key, keyMap, predicate, set -> (count[0] += set.size()) <= max);
+        return count[0];
+    }
+
+    public void remove(final String key, final Object value, final T element) {
+        this.removeValue(key, value, element);
+        this.updateComposites(key, element);
     }
 
     public void removeElement(final T element) {
@@ -107,38 +237,52 @@ final class TinkerIndex<T extends Element> {
                     set.remove(element);
                 }
             }
+            for (final List<String> keys : this.compositeKeys) {
+                this.removeComposite(keys, element);
+            }
         }
     }
 
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
             if (oldValue != null)
-                this.remove(key, oldValue, element);
+                this.removeValue(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateComposites(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
-            this.remove(key, oldValue, element);
+            this.removeValue(key, oldValue, element);
+        this.updateComposites(key, element);
     }
 
     public void createKeyIndex(final String key) {
-        if (null == key)
-            throw Graph.Exceptions.argumentCanNotBeNull("key");
-        if (key.isEmpty())
-            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        this.createKeyIndex(key, TinkerGraph.IndexType.HASH);
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
+        validateKey(key);
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
+
+        final boolean sorted = indexType == TinkerGraph.IndexType.SORTED;
+        if (this.indexedKeys.contains(key)) {
+            if (sorted == this.sortedKeys.contains(key))
+                return;
+
+            // the key is already indexed but with the other type so rebuild it
+            this.dropKeyIndex(key);
+        }
 
-        if (this.indexedKeys.contains(key))
-            return;
         this.indexedKeys.add(key);
+        if (sorted) this.sortedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().<T>parallelStream() :
                 this.graph.edges.values().<T>parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
+                .forEach(e -> valuesOf((T) e, key).forEach(value -> this.put(key, value, (T) e)));
     }
 
     public void dropKeyIndex(final String key) {
@@ -146,9 +290,373 @@ final class TinkerIndex<T extends Element> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.sortedKeys.remove(key);
+    }
+
+    public void createCompositeIndex(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.size() < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys: " + keys);
+        keys.forEach(TinkerIndex::validateKey);
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys of a composite index must be unique: " + keys);
+
+        final List<String> compositeKey = Collections.unmodifiableList(new ArrayList<>(keys));
+        if (this.compositeKeys.contains(compositeKey))
+            return;
+
+        this.compositeIndex.put(compositeKey, new ConcurrentHashMap<>());
+        this.compositeEntries.put(compositeKey, new ConcurrentHashMap<>());
+        this.compositeKeys.add(compositeKey);
+
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> this.putComposite(compositeKey, (T) e));
+    }
+
+    public void dropCompositeIndex(final List<String> keys) {
+        if (this.compositeKeys.remove(keys)) {
+            this.compositeIndex.remove(keys).clear();
+            this.compositeEntries.remove(keys).clear();
+        }
+    }
+
+    /**
+     * Gets the number of distinct values that are indexed for the key.
+     */
+    public long cardinality(final String key) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        return null == keyMap ? 0L : keyMap.size();
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public Set<List<String>> getCompositeKeys() {
+        return this.compositeKeys;
+    }
+
+    public TinkerGraph.IndexType getIndexType(final String key) {
+        if (!this.indexedKeys.contains(key))
+            return null;
+        return this.sortedKeys.contains(key) ? TinkerGraph.IndexType.SORTED : TinkerGraph.IndexType.HASH;
+    }
+
+    private void removeValue(final String key, final Object value, final T element) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (null != keyMap) {
+            Set<T> objects = keyMap.get(value);
+            if (null != objects) {
+                objects.remove(element);
+                if (objects.size() == 0) {
+                    keyMap.remove(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reindexes the element in each composite index that covers the key. This is called after the element has been
+     * mutated so the current values of the element are the ones to index.
+     */
+    private void updateComposites(final String key, final T element) {
+        for (final List<String> keys : this.compositeKeys) {
+            if (keys.contains(key)) {
+                this.removeComposite(keys, element);
+                this.putComposite(keys, element);
+            }
+        }
+    }
+
+    private void putComposite(final List<String> keys, final T element) {
+        final List<List<Object>> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            final List<Object> keyValues = valuesOf(element, key);
+            if (keyValues.isEmpty())
+                return;
+            values.add(keyValues);
+        }
+
+        final List<List<Object>> tuples = cartesianProduct(values, Integer.MAX_VALUE);
+        final Map<List<Object>, Set<T>> tupleMap = this.compositeIndex.get(keys);
+        for (final List<Object> tuple : tuples) {
+            tupleMap.computeIfAbsent(tuple, t -> new HashSet<>()).add(element);
+        }
+        this.compositeEntries.get(keys).put(element, tuples);
+    }
+
+    private void removeComposite(final List<String> keys, final T element) {
+        final List<List<Object>> tuples = this.compositeEntries.get(keys).remove(element);
+        if (null == tuples)
+            return;
+
+        final Map<List<Object>, Set<T>> tupleMap = this.compositeIndex.get(keys);
+        for (final List<Object> tuple : tuples) {
+            final Set<T> objects = tupleMap.get(tuple);
+            if (null != objects) {
+                objects.remove(element);
+                if (objects.isEmpty())
+                    tupleMap.remove(tuple);
+            }
+        }
+    }
+
+    /**
+     * Gets the key tuples to look up in the composite index or {@code null} if the {@link HasContainer}s do not
+     * give an equality or {@code within()} predicate for each of its keys.
+     */
+    private List<List<Object>> lookupTuples(final List<String> keys, final List<HasContainer> hasContainers) {
+        final List<List<Object>> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            List<Object> keyValues = null;
+            for (final HasContainer hasContainer : hasContainers) {
+                if (!hasContainer.getKey().equals(key))
+                    continue;
+                if (hasContainer.getBiPredicate() == Compare.eq) {
+                    keyValues = Collections.singletonList(hasContainer.getValue());
+                    break;
+                } else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection) {
+                    keyValues = new ArrayList<>((Collection<?>) hasContainer.getValue());
+                    break;
+                }
+            }
+            if (null == keyValues)
+                return null;
+            values.add(keyValues);
+        }
+        return cartesianProduct(values, MAX_COMPOSITE_LOOKUPS);
+    }
+
+    private static List<List<Object>> cartesianProduct(final List<List<Object>> values, final int max) {
+        List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+        for (final List<Object> keyValues : values) {
+            if ((long) tuples.size() * keyValues.size() > max)
+                return null;
+            final List<List<Object>> extended = new ArrayList<>(tuples.size() * keyValues.size());
+            for (final List<Object> tuple : tuples) {
+                for (final Object value : keyValues) {
+                    final List<Object> next = new ArrayList<>(tuple.size() + 1);
+                    next.addAll(tuple);
+                    next.add(value);
+                    extended.add(next);
+                }
+            }
+            tuples = extended;
+        }
+        return tuples;
+    }
+
+    /**
+     * Gets the values of the key for the element where {@link org.apache.tinkerpop.gremlin.structure.T#label} can be indexed like any property key.
+     */
+    private static List<Object> valuesOf(final Element element, final String key) {
+        if (org.apache.tinkerpop.gremlin.structure.T.label.getAccessor().equals(key))
+            return Collections.singletonList(element.label());
+
+        final List<Object> values = new ArrayList<>();
+        element.properties(key).forEachRemaining(property -> values.add(property.value()));
+        return values;
+    }
+
+    private static void validateKey(final String key) {
+        if (null == key)
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (key.isEmpty())
+            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+    }
+
+    /**
+     * Passes the index buckets that may satisfy the predicate to the sink until the sink returns {@code false}.
+     *
+     * @return {@code false} if the sink stopped the collection
+     */
+    private boolean collect(final String key, final Map<Object, Set<T>> keyMap, final P<?> predicate, final Predicate<Set<T>> sink) {
+        if (predicate instanceof OrP) {
+            for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                if (!this.collect(key, keyMap, p, sink))
+                    return false;
+            }
+            return true;
+        } else if (predicate instanceof AndP) {
+            return this.collectConjunction(key, keyMap, ((AndP<?>) predicate).getPredicates(), sink);
+        } else if (predicate.getBiPredicate() == Compare.eq) {
+            final Set<T> set = keyMap.get(predicate.getValue());
+            return null == set || sink.test(set);
+        } else if (predicate.getBiPredicate() == Contains.within) {
+            for (final Object value : (Collection<?>) predicate.getValue()) {
+                final Set<T> set = keyMap.get(value);
+                if (null != set && !sink.test(set))
+                    return false;
+            }
+            return true;
+        } else {
+            return this.collectConjunction(key, keyMap, Collections.singletonList(predicate), sink);
+        }
+    }
+
+    /**
+     * Narrows the ranges of the predicates down to a single scan of the sorted index. Predicates that can not be
+     * expressed as a range of the sorted index are ignored as the result only needs to be a superset of the matches.
+     */
+    private boolean collectConjunction(final String key, final Map<Object, Set<T>> keyMap, final List<? extends P<?>> predicates, final Predicate<Set<T>> sink) {
+        Object low = null, high = null;
+        boolean lowInclusive = false, highInclusive = false;
+        for (final P<?> p : predicates) {
+            if (!(keyMap instanceof NavigableMap) || !isRange(p) || !(p.getValue() instanceof Comparable))
+                continue;
+            final Object value = p.getValue();
+            if (p.getBiPredicate() == Compare.gt || p.getBiPredicate() == Compare.gte) {
+                if (null != low && !isSameType(low, value)) continue;
+                final int c = null == low ? 1 : compareValues(value, low);
+                if (c > 0 || (c == 0 && p.getBiPredicate() == Compare.gt)) {
+                    low = value;
+                    lowInclusive = p.getBiPredicate() == Compare.gte;
+                }
+            } else {
+                if (null != high && !isSameType(high, value)) continue;
+                final int c = null == high ? -1 : compareValues(value, high);
+                if (c < 0 || (c == 0 && p.getBiPredicate() == Compare.lt)) {
+                    high = value;
+                    highInclusive = p.getBiPredicate() == Compare.lte;
+                }
+            }
+        }
+
+        if (null == low && null == high) {
+            // nothing could be turned into a range so use the first predicate that the index can answer
+            for (final P<?> p : predicates) {
+                if (!isRange(p) && this.canQuery(key, p))
+                    return this.collect(key, keyMap, p, sink);
+            }
+            return true;
+        }
+
+        if (null != low && null != high && !isSameType(low, high))
+            high = null;
+
+        final NavigableMap<Object, Set<T>> sorted = (NavigableMap<Object, Set<T>>) keyMap;
+        final NavigableMap<Object, Set<T>> range;
+        if (null != low && null != high) {
+            final int c = compareValues(low, high);
+            if (c > 0 || (c == 0 && !(lowInclusive && highInclusive)))
+                return true;
+            range = sorted.subMap(low, lowInclusive, high, highInclusive);
+        } else if (null != low) {
+            range = sorted.tailMap(low, lowInclusive);
+        } else {
+            range = sorted.headMap(high, highInclusive).descendingMap();
+        }
+
+        // values of other types sort before or after the range but can never match it
+        final Object bound = null == low ? high : low;
+        for (final Map.Entry<Object, Set<T>> entry : range.entrySet()) {
+            if (!isSameType(entry.getKey(), bound))
+                break;
+            if (!sink.test(entry.getValue()))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isRange(final P<?> predicate) {
+        return predicate.getBiPredicate() == Compare.gt || predicate.getBiPredicate() == Compare.gte ||
+                predicate.getBiPredicate() == Compare.lt || predicate.getBiPredicate() == Compare.lte;
+    }
+
+    private static boolean isSameType(final Object a, final Object b) {
+        return (a instanceof Number && b instanceof Number) || a.getClass().equals(b.getClass());
+    }
+
+    /**
+     * Orders values the way {@link Compare} does so that numbers of different types sort together. Values of
+     * different types are grouped by their class name.
+     */
+    static int compareValues(final Object a, final Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            if (a.getClass().equals(b.getClass()))
+                return ((Comparable) a).compareTo(b);
+            final double da = ((Number) a).doubleValue();
+            final double db = ((Number) b).doubleValue();
+            if (Double.isNaN(da) || Double.isNaN(db) || Double.isInfinite(da) || Double.isInfinite(db))
+                return Double.compare(da, db);
+            return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+        } else if (a.getClass().equals(b.getClass())) {
+            return ((Comparable) a).compareTo(b);
+        } else {
+            return typeName(a).compareTo(typeName(b));
+        }
+    }
+
+    private static String typeName(final Object value) {
+        return value instanceof Number ? Number.class.getName() : value.getClass().getName();
+    }
+
+    /**
+     * A candidate index lookup for {@link #query(List)}.
+     */
+    private interface Lookup<T> {
+        long count(final long max);
+
+        List<T> get();
+    }
+
+    private final class KeyLookup implements Lookup<T> {
+        private final String key;
+        private final P<?> predicate;
+
+        private KeyLookup(final String key, final P<?> predicate) {
+            this.key = key;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public long count(final long max) {
+            return TinkerIndex.this.count(this.key, this.predicate, max);
+        }
+
+        @Override
+        public List<T> get() {
+            return TinkerIndex.this.get(this.key, this.predicate);
+        }
+    }
+
+    private final class CompositeLookup implements Lookup<T> {
+        private final List<String> keys;
+        private final List<List<Object>> tuples;
+
+        private CompositeLookup(final List<String> keys, final List<List<Object>> tuples) {
+            this.keys = keys;
+            this.tuples = tuples;
+        }
+
+        @Override
+        public long count(final long max) {
+            final Map<List<Object>, Set<T>> tupleMap = compositeIndex.get(this.keys);
+            long count = 0;
+            for (final List<Object> tuple : this.tuples) {
+                final Set<T> set = tupleMap.get(tuple);
+                if (null != set && (count += set.size()) > max)
+                    break;
+            }
+            return count;
+        }
+
+        @Override
+        public List<T> get() {
+            final Map<List<Object>, Set<T>> tupleMap = compositeIndex.get(this.keys);
+            if (1 == this.tuples.size()) {
+                final Set<T> set = tupleMap.get(this.tuples.get(0));
+                return null == set ? Collections.emptyList() : new ArrayList<>(set);
+            }
+            final Set<T> elements = new LinkedHashSet<>();
+            for (final List<Object> tuple : this.tuples) {
+                final Set<T> set = tupleMap.get(tuple);
+                if (null != set) elements.addAll(set);
+            }
+            return new ArrayList<>(elements);
+        }
+    }
 }
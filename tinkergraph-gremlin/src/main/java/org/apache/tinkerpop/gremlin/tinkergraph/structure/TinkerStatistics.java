@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The label counts of a {@link TinkerGraph} at the time they were taken. {@link TinkerGraph} takes them again once
+ * the number of vertices or edges has drifted by more than a tenth from the counts of the last time.
+ */
+final class TinkerStatistics {
+
+    private final long vertexCount;
+    private final long edgeCount;
+    private final Map<String, Long> vertexLabelCounts = new HashMap<>();
+    private final Map<String, Long> edgeLabelCounts = new HashMap<>();
+
+    TinkerStatistics(final TinkerGraph graph) {
+        long vertexCount = 0L;
+        for (final Vertex vertex : graph.vertices.values()) {
+            this.vertexLabelCounts.merge(vertex.label(), 1L, Long::sum);
+            vertexCount++;
+        }
+        long edgeCount = 0L;
+        for (final Edge edge : graph.edges.values()) {
+            this.edgeLabelCounts.merge(edge.label(), 1L, Long::sum);
+            edgeCount++;
+        }
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+    }
+
+    boolean isStale(final TinkerGraph graph) {
+        return hasDrifted(this.vertexCount, graph.vertices.size()) || hasDrifted(this.edgeCount, graph.edges.size());
+    }
+
+    long getVertexCount(final String label) {
+        return null == label ? this.vertexCount : this.vertexLabelCounts.getOrDefault(label, 0L);
+    }
+
+    double getAverageDegree(final Direction direction, final String edgeLabel) {
+        if (0L == this.vertexCount)
+            return 0.0d;
+        final long edgeCount = null == edgeLabel ? this.edgeCount : this.edgeLabelCounts.getOrDefault(edgeLabel, 0L);
+        return (Direction.BOTH == direction ? 2.0d : 1.0d) * edgeCount / this.vertexCount;
+    }
+
+    private static boolean hasDrifted(final long count, final long currentCount) {
+        return Math.abs(currentCount - count) * 10L > count;
+    }
+}
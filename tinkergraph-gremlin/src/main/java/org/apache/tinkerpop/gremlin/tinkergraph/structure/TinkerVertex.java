@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
@@ -28,8 +29,10 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -45,11 +48,16 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     protected Map<String, List<VertexProperty>> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    protected TinkerAdjacency outAdjacency;
+    protected TinkerAdjacency inAdjacency;
+    protected final int ordinal;
     private final TinkerGraph graph;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label);
         this.graph = graph;
+        this.ordinal = null == graph.columnStore ? -1 : graph.columnStore.nextOrdinal();
+        TinkerHelper.autoUpdateIndex(this, T.label.getAccessor(), this.label, null);
     }
 
     @Override
@@ -75,8 +83,10 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
                     throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
                 else
                     return list.get(0);
-            } else
-                return VertexProperty.<V>empty();
+            } else {
+                final VertexProperty<V> vertexProperty = this.columnProperty(key);
+                return null == vertexProperty ? VertexProperty.<V>empty() : vertexProperty;
+            }
         }
     }
 
@@ -98,6 +108,20 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
                     graph.vertexPropertyIdManager.convert(optionalId.get()) :
                     graph.vertexPropertyIdManager.getNextId(graph);
 
+            if (null != this.graph.columnStore) {
+                if (this.graph.columnStore.contains(key, this.ordinal)) {
+                    // the key is about to have more than one value so they are all kept together on the heap
+                    this.moveToHeap(this.columnProperty(key));
+                } else if ((0 == keyValues.length || (2 == keyValues.length && optionalId.isPresent())) && idValue instanceof Long &&
+                        (null == this.properties || !this.properties.containsKey(key)) &&
+                        this.graph.columnStore.put(key, this.ordinal, (Long) idValue, value)) {
+                    TinkerHelper.autoUpdateIndex(this, key, value, null);
+                    final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+                    if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.addVertexProperty(vertexProperty);
+                    return vertexProperty;
+                }
+            }
+
             final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
 
             if (null == this.properties) this.properties = new HashMap<>();
@@ -105,6 +129,7 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             list.add(vertexProperty);
             this.properties.put(key, list);
             TinkerHelper.autoUpdateIndex(this, key, value, null);
+            if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.addVertexProperty(vertexProperty);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         }
@@ -112,10 +137,15 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public Set<String> keys() {
-        if (null == this.properties) return Collections.emptySet();
-        return TinkerHelper.inComputerMode((TinkerGraph) graph()) ?
-                Vertex.super.keys() :
-                this.properties.keySet();
+        // a removed vertex may have handed its ordinal to another vertex so it has nothing in the columns
+        final List<String> columnKeys = null == this.graph.columnStore || this.removed ? Collections.emptyList() : this.graph.columnStore.keys(this.ordinal);
+        if (null == this.properties && columnKeys.isEmpty()) return Collections.emptySet();
+        if (TinkerHelper.inComputerMode((TinkerGraph) graph())) return Vertex.super.keys();
+        if (columnKeys.isEmpty()) return this.properties.keySet();
+
+        final Set<String> keys = null == this.properties ? new HashSet<>() : new HashSet<>(this.properties.keySet());
+        keys.addAll(columnKeys);
+        return keys;
     }
 
     @Override
@@ -131,9 +161,11 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         this.edges(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
         this.properties = null;
+        if (null != this.graph.columnStore) this.graph.columnStore.removeAll(this.ordinal);
         TinkerHelper.removeElementIndex(this);
         this.graph.vertices.remove(this.id);
         this.removed = true;
+        if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.removeVertex(this);
     }
 
     @Override
@@ -165,7 +197,21 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
         if (this.removed) return Collections.emptyIterator();
         if (TinkerHelper.inComputerMode((TinkerGraph) graph()))
             return (Iterator) ((TinkerGraph) graph()).graphComputerView.getProperties(TinkerVertex.this).stream().filter(p -> ElementHelper.keyExists(p.key(), propertyKeys)).iterator();
-        else {
+        else if (null != this.graph.columnStore) {
+            final List<VertexProperty> properties = new ArrayList<>();
+            if (null != this.properties) {
+                this.properties.forEach((key, list) -> {
+                    if (ElementHelper.keyExists(key, propertyKeys))
+                        properties.addAll(list);
+                });
+            }
+            for (final String key : propertyKeys.length == 0 ? this.graph.columnStore.keys(this.ordinal) : Arrays.asList(propertyKeys)) {
+                final VertexProperty property = this.columnProperty(key);
+                if (null != property)
+                    properties.add(property);
+            }
+            return (Iterator) properties.iterator();
+        } else {
             if (null == this.properties) return Collections.emptyIterator();
             if (propertyKeys.length == 1) {
                 final List<VertexProperty> properties = this.properties.getOrDefault(propertyKeys[0], Collections.emptyList());
@@ -180,4 +226,31 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
                 return (Iterator) this.properties.entrySet().stream().filter(entry -> ElementHelper.keyExists(entry.getKey(), propertyKeys)).flatMap(entry -> entry.getValue().stream()).collect(Collectors.toList()).iterator();
         }
     }
+
+    /**
+     * Gets a view of the property held in the off-heap column of the key or {@code null} if there is no value there.
+     */
+    <V> VertexProperty<V> columnProperty(final String key) {
+        if (null == this.graph.columnStore || this.removed) return null;
+        final V value = (V) this.graph.columnStore.get(key, this.ordinal);
+        return null == value ? null : new TinkerVertexProperty<>(this.graph.columnStore.id(key, this.ordinal), this, key, value);
+    }
+
+    /**
+     * Determines if the property is the one currently held in the off-heap column of its key.
+     */
+    boolean inColumn(final VertexProperty<?> vertexProperty) {
+        return null != this.graph.columnStore && !this.removed && vertexProperty.id() instanceof Long &&
+                this.graph.columnStore.contains(vertexProperty.key(), this.ordinal) &&
+                this.graph.columnStore.id(vertexProperty.key(), this.ordinal) == (Long) vertexProperty.id();
+    }
+
+    /**
+     * Moves a property out of its off-heap column and into the property map of the vertex.
+     */
+    void moveToHeap(final VertexProperty<?> vertexProperty) {
+        this.graph.columnStore.remove(vertexProperty.key(), this.ordinal);
+        if (null == this.properties) this.properties = new HashMap<>();
+        this.properties.computeIfAbsent(vertexProperty.key(), k -> new ArrayList<>()).add(vertexProperty);
+    }
 }
@@ -117,9 +117,13 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public <U> Property<U> property(final String key, final U value) {
         if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
+        // meta-properties can not be held off-heap so the property has to join the others on the heap first
+        if (this.vertex.inColumn(this)) this.vertex.moveToHeap(this);
         final Property<U> property = new TinkerProperty<>(this, key, value);
         if (this.properties == null) this.properties = new HashMap<>();
         this.properties.put(key, property);
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        if (null != graph.writeAheadLog) graph.writeAheadLog.addProperty(property);
         return property;
     }
 
@@ -130,7 +134,12 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+        if (this.vertex.inColumn(this)) {
+            ((TinkerGraph) this.vertex.graph()).columnStore.remove(this.key, this.vertex.ordinal);
+            TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+            this.removed = true;
+            this.logRemoval();
+        } else if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
             this.vertex.properties.get(this.key).remove(this);
             if (this.vertex.properties.get(this.key).size() == 0) {
                 this.vertex.properties.remove(this.key);
@@ -144,9 +153,15 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
             if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
             this.properties = null;
             this.removed = true;
+            this.logRemoval();
         }
     }
 
+    private void logRemoval() {
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        if (null != graph.writeAheadLog) graph.writeAheadLog.removeVertexProperty(this);
+    }
+
     @Override
     public <U> Iterator<Property<U>> properties(final String... propertyKeys) {
         if (null == this.properties) return Collections.emptyIterator();
@@ -0,0 +1,424 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.KryoException;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * An append-only log of the mutations made to a {@link TinkerGraph} since its last snapshot, used when the graph is
+ * configured with {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG}. Each mutation is serialized with Gryo and
+ * written to the file as it happens, so a graph whose process goes away without closing it loses at most the record
+ * that was being written. Records are left to the operating system to write to disk unless
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC} is set, so without it a crash of the operating system
+ * or a loss of power can lose the records written shortly before it.
+ * <p/>
+ * Once {@link TinkerGraph#GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD} records have been written the log is moved aside
+ * to a file with a {@code .previous} extension and a new log is started, so that writers carry on while the graph is
+ * saved to its {@code graphLocation} in the background. The previous log is deleted once the graph is saved and until
+ * then it is replayed before the current log when the graph is opened.
+ * <p/>
+ * Every record is written once its mutation is visible in the graph, so a snapshot taken after any record holds
+ * everything the log held before it. Replaying the log skips additions of elements that already exist and removals
+ * of elements that do not, which makes it safe to replay a log over a snapshot that already contains some or all of
+ * its mutations, as happens when the snapshot is saved while mutations are still written to the current log.
+ */
+final class TinkerWriteAheadLog implements AutoCloseable {
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte ADD_META_PROPERTY = 4;
+    private static final byte ADD_EDGE_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final Logger logger = LoggerFactory.getLogger(TinkerWriteAheadLog.class);
+    private static final BasicThreadFactory THREAD_FACTORY_SNAPSHOT = new BasicThreadFactory.Builder().namingPattern("tinker-snapshot-%d").daemon(true).build();
+
+    private final TinkerGraph graph;
+    private final File file;
+    private final File previousFile;
+    private final long snapshotThreshold;
+    private final boolean sync;
+    private final Kryo kryo = createKryo();
+    private final Output output = new Output(4096, -1);
+    private final ExecutorService snapshotService = Executors.newSingleThreadExecutor(THREAD_FACTORY_SNAPSHOT);
+    private FileOutputStream stream;
+    private Future<?> snapshot = null;
+    private long records = 0;
+
+    private TinkerWriteAheadLog(final TinkerGraph graph, final File file, final long snapshotThreshold, final boolean sync) throws IOException {
+        this.graph = graph;
+        this.file = file;
+        this.previousFile = previousFile(file);
+        this.snapshotThreshold = snapshotThreshold;
+        this.sync = sync;
+        this.stream = new FileOutputStream(file, true);
+    }
+
+    /**
+     * Replays the previous log and then the log at the location over the graph and opens the log for appending. A
+     * previous log that is left over from a snapshot that did not complete is saved into a snapshot again right away.
+     */
+    static TinkerWriteAheadLog open(final TinkerGraph graph, final File file, final long snapshotThreshold,
+                                    final boolean sync) throws IOException {
+        final File previousFile = previousFile(file);
+        if (previousFile.exists()) replay(graph, previousFile);
+        if (file.exists()) replay(graph, file);
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) parent.mkdirs();
+        final TinkerWriteAheadLog log = new TinkerWriteAheadLog(graph, file, snapshotThreshold, sync);
+        if (previousFile.exists()) log.startSnapshot();
+        return log;
+    }
+
+    synchronized void addVertex(final TinkerVertex vertex) {
+        this.begin(ADD_VERTEX);
+        this.kryo.writeClassAndObject(this.output, vertex.id());
+        this.output.writeString(vertex.label());
+        this.flush();
+    }
+
+    synchronized void addEdge(final TinkerEdge edge) {
+        this.begin(ADD_EDGE);
+        this.kryo.writeClassAndObject(this.output, edge.id());
+        this.output.writeString(edge.label());
+        this.kryo.writeClassAndObject(this.output, edge.outVertex.id());
+        this.kryo.writeClassAndObject(this.output, edge.inVertex.id());
+        // properties given to addEdge() are set before the edge is in the graph so they are written with it
+        this.output.writeInt(edge.keys().size(), true);
+        edge.properties().forEachRemaining(property -> {
+            this.output.writeString(property.key());
+            this.kryo.writeClassAndObject(this.output, property.value());
+        });
+        this.flush();
+    }
+
+    synchronized void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.begin(ADD_VERTEX_PROPERTY);
+        this.writeVertexProperty(vertexProperty);
+        this.kryo.writeClassAndObject(this.output, vertexProperty.value());
+        this.flush();
+    }
+
+    synchronized void addProperty(final Property<?> property) {
+        if (this.isComputeProperty(property)) return;
+        if (property.element() instanceof Edge) {
+            this.begin(ADD_EDGE_PROPERTY);
+            this.kryo.writeClassAndObject(this.output, property.element().id());
+        } else {
+            this.begin(ADD_META_PROPERTY);
+            this.writeVertexProperty((VertexProperty<?>) property.element());
+        }
+        this.output.writeString(property.key());
+        this.kryo.writeClassAndObject(this.output, property.value());
+        this.flush();
+    }
+
+    synchronized void removeVertex(final TinkerVertex vertex) {
+        this.begin(REMOVE_VERTEX);
+        this.kryo.writeClassAndObject(this.output, vertex.id());
+        this.flush();
+    }
+
+    synchronized void removeEdge(final TinkerEdge edge) {
+        this.begin(REMOVE_EDGE);
+        this.kryo.writeClassAndObject(this.output, edge.id());
+        this.flush();
+    }
+
+    synchronized void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.begin(REMOVE_VERTEX_PROPERTY);
+        this.writeVertexProperty(vertexProperty);
+        this.flush();
+    }
+
+    synchronized void removeProperty(final Property<?> property) {
+        if (this.isComputeProperty(property)) return;
+        if (property.element() instanceof Edge) {
+            this.begin(REMOVE_EDGE_PROPERTY);
+            this.kryo.writeClassAndObject(this.output, property.element().id());
+        } else {
+            this.begin(REMOVE_META_PROPERTY);
+            this.writeVertexProperty((VertexProperty<?>) property.element());
+        }
+        this.output.writeString(property.key());
+        this.flush();
+    }
+
+    synchronized void clear() {
+        this.begin(CLEAR);
+        this.flush();
+    }
+
+    /**
+     * Moves the log aside and saves the graph to its {@code graphLocation} in the background, unless the previous
+     * snapshot is still being saved in which case the log keeps growing until the next record after it is done.
+     */
+    synchronized void snapshot() {
+        if ((null != this.snapshot && !this.snapshot.isDone()) || this.previousFile.exists())
+            return;
+        try {
+            this.stream.close();
+            Files.move(this.file.toPath(), this.previousFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            this.stream = new FileOutputStream(this.file, false);
+        } catch (IOException ioe) {
+            throw new IllegalStateException(String.format("Could not rotate the write-ahead log at %s", this.file), ioe);
+        }
+        this.records = 0;
+        this.startSnapshot();
+    }
+
+    private void startSnapshot() {
+        this.snapshot = this.snapshotService.submit(() -> {
+            try {
+                this.graph.saveGraph();
+                Files.delete(this.previousFile.toPath());
+            } catch (Exception ex) {
+                // the previous log stays in place to be replayed on open and the next snapshot tries again
+                logger.warn(String.format("Could not save a snapshot of the graph for the write-ahead log at %s", this.file), ex);
+            }
+        });
+    }
+
+    /**
+     * Waits for a snapshot that is being saved and closes the log.
+     */
+    @Override
+    public void close() {
+        final Future<?> snapshot;
+        synchronized (this) {
+            snapshot = this.snapshot;
+        }
+        try {
+            if (null != snapshot) snapshot.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            // the snapshot logs its own failures
+        } finally {
+            this.snapshotService.shutdown();
+        }
+        synchronized (this) {
+            try {
+                this.stream.close();
+            } catch (IOException ioe) {
+                throw new IllegalStateException(String.format("Could not close the write-ahead log at %s", this.file), ioe);
+            }
+        }
+    }
+
+    /**
+     * Determines if the property is a meta-property of a compute key value, which only lives in the view of the
+     * {@code GraphComputer} and is never part of the graph. Everything else is written during an OLAP job as well.
+     */
+    private boolean isComputeProperty(final Property<?> property) {
+        final TinkerGraphComputerView view = this.graph.graphComputerView;
+        return null != view && property.element() instanceof VertexProperty &&
+                view.isComputeProperty((VertexProperty<?>) property.element());
+    }
+
+    private void writeVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.kryo.writeClassAndObject(this.output, vertexProperty.element().id());
+        this.output.writeString(vertexProperty.key());
+        this.kryo.writeClassAndObject(this.output, vertexProperty.id());
+    }
+
+    /**
+     * Starts a record in the buffer, dropping whatever was left there by a record that failed to serialize.
+     */
+    private void begin(final byte type) {
+        this.output.clear();
+        this.output.writeByte(type);
+    }
+
+    private void flush() {
+        try {
+            this.stream.write(this.output.getBuffer(), 0, this.output.position());
+            if (this.sync) this.stream.getChannel().force(false);
+        } catch (IOException ioe) {
+            throw new IllegalStateException(String.format("Could not write to the write-ahead log at %s", this.file), ioe);
+        }
+        if (++this.records >= this.snapshotThreshold)
+            this.snapshot();
+    }
+
+    private static void replay(final TinkerGraph graph, final File file) throws IOException {
+        final Kryo kryo = createKryo();
+        long validLength = 0;
+        try (final Input input = new Input(new FileInputStream(file))) {
+            while (!input.eof()) {
+                apply(graph, kryo, input);
+                validLength = input.total();
+            }
+        } catch (KryoException ke) {
+            // the last record was only partly written before the graph went away so drop it and carry on from the
+            // last complete one
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+    }
+
+    private static void apply(final TinkerGraph graph, final Kryo kryo, final Input input) {
+        final byte type = input.readByte();
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                if (!graph.vertices.containsKey(id))
+                    graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = graph.vertices.get(kryo.readClassAndObject(input));
+                final Vertex inVertex = graph.vertices.get(kryo.readClassAndObject(input));
+                final Object[] keyValues = new Object[2 + input.readInt(true) * 2];
+                keyValues[0] = T.id;
+                keyValues[1] = id;
+                for (int i = 2; i < keyValues.length; i = i + 2) {
+                    keyValues[i] = input.readString();
+                    keyValues[i + 1] = kryo.readClassAndObject(input);
+                }
+                if (!graph.edges.containsKey(id) && null != outVertex && null != inVertex)
+                    outVertex.addEdge(label, inVertex, keyValues);
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object id = kryo.readClassAndObject(input);
+                final Object value = kryo.readClassAndObject(input);
+                if (null != vertex && null == findVertexProperty(vertex, key, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case ADD_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = readVertexProperty(graph, kryo, input);
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                if (null != vertexProperty)
+                    vertexProperty.property(key, value);
+                break;
+            }
+            case ADD_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = kryo.readClassAndObject(input);
+                if (null != edge)
+                    edge.property(key, value);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(input));
+                if (null != vertex)
+                    vertex.remove();
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(input));
+                if (null != edge)
+                    edge.remove();
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vertexProperty = readVertexProperty(graph, kryo, input);
+                if (null != vertexProperty)
+                    vertexProperty.remove();
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = readVertexProperty(graph, kryo, input);
+                final String key = input.readString();
+                if (null != vertexProperty)
+                    vertexProperty.property(key).ifPresent(v -> vertexProperty.property(key).remove());
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = graph.edges.get(kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != edge)
+                    edge.property(key).remove();
+                break;
+            }
+            case CLEAR:
+                graph.clear();
+                break;
+            default:
+                throw new KryoException(String.format("Unexpected write-ahead log record type %s", type));
+        }
+    }
+
+    private static VertexProperty<?> readVertexProperty(final TinkerGraph graph, final Kryo kryo, final Input input) {
+        final Vertex vertex = graph.vertices.get(kryo.readClassAndObject(input));
+        final String key = input.readString();
+        final Object id = kryo.readClassAndObject(input);
+        return null == vertex ? null : findVertexProperty(vertex, key, id);
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final String key, final Object id) {
+        final Iterator<VertexProperty<Object>> vertexProperties = vertex.properties(key);
+        while (vertexProperties.hasNext()) {
+            final VertexProperty<?> vertexProperty = vertexProperties.next();
+            if (vertexProperty.id().equals(id))
+                return vertexProperty;
+        }
+        return null;
+    }
+
+    private static File previousFile(final File file) {
+        return new File(file.getPath() + ".previous");
+    }
+
+    private static Kryo createKryo() {
+        return GryoMapper.build().addRegistry(TinkerIoRegistry.instance()).create().createMapper();
+    }
+}
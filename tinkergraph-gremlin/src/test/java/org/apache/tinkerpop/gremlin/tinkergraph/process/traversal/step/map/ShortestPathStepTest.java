@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.ShortestPathStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasId;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShortestPathStepTest {
+
+    private static final List<Supplier<GraphTraversal<Vertex, Vertex>>> STEPS = Arrays.asList(
+            __::out, __::in, __::both, () -> __.both("knows"), () -> __.both("created"));
+
+    @Test
+    public void shouldReplaceRepeatWithShortestPathStep() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final Traversal.Admin<?, ?> traversal = g.V(1).repeat(both().simplePath()).until(hasId(6)).path().limit(1).asAdmin();
+        traversal.applyStrategies();
+        assertTrue(TraversalHelper.hasStepOfClass(ShortestPathStep.class, traversal));
+    }
+
+    @Test
+    public void shouldFindAShortestSimplePathBetweenAllVertices() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        for (final Supplier<GraphTraversal<Vertex, Vertex>> step : STEPS) {
+            for (final Vertex source : g.V().toList()) {
+                for (final Vertex target : g.V().toList()) {
+                    assertShortestPath(g, step, source.id(), target.id());
+                    // ids tested by their string form can't be looked up and are searched from the source only
+                    assertShortestPath(g, step, source.id(), target.id().toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindAShortestSimplePathInGrid() {
+        final Graph graph = TinkerGraph.open();
+        final int size = 8;
+        final Vertex[][] grid = new Vertex[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                grid[i][j] = graph.addVertex();
+                if (i > 0) grid[i - 1][j].addEdge("next", grid[i][j]);
+                if (j > 0) grid[i][j - 1].addEdge("next", grid[i][j]);
+            }
+        }
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(2 * size - 1, g.V(grid[0][0]).repeat(out().simplePath()).until(hasId(grid[size - 1][size - 1].id())).path().limit(1).next().size());
+        assertEquals(2 * size - 1, g.V(grid[0][0]).repeat(both().simplePath()).until(hasId(grid[size - 1][size - 1].id())).path().limit(1).next().size());
+        assertEquals(size, g.V(grid[size - 1][0]).repeat(both().simplePath()).until(hasId(grid[size - 1][size - 1].id(), grid[0][0].id())).path().limit(1).next().size());
+        assertEquals(0, g.V(grid[size - 1][size - 1]).repeat(out().simplePath()).until(hasId(grid[0][0].id())).path().limit(1).toList().size());
+    }
+
+    @Test
+    public void shouldNotRevisitObjectsOfThePathBeforeRepeat() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        // vadas and peter are only reached through marko and lop which are already on the path
+        assertEquals(0, g.V(1).out("created").repeat(both().simplePath()).until(hasId(2)).limit(1).toList().size());
+        assertEquals(0, g.V(3).in("created").hasId(1).repeat(both().simplePath()).until(hasId(6)).limit(1).toList().size());
+        assertEquals(3, g.V(3).in("created").hasId(4).repeat(both().simplePath()).until(hasId(2)).path().limit(1).next().size() - 1);
+    }
+
+    private static void assertShortestPath(final GraphTraversalSource g, final Supplier<GraphTraversal<Vertex, Vertex>> step,
+                                           final Object sourceId, final Object targetId) {
+        final List<Path> all = g.withoutStrategies(ShortestPathStrategy.class).V(sourceId).repeat(step.get().simplePath()).until(hasId(targetId)).path().toList();
+        final List<Path> shortest = g.V(sourceId).repeat(step.get().simplePath()).until(hasId(targetId)).path().limit(1).toList();
+        if (all.isEmpty())
+            assertTrue(shortest.isEmpty());
+        else {
+            assertEquals(1, shortest.size());
+            assertTrue(all.contains(shortest.get(0)));
+            assertEquals(all.stream().mapToInt(Path::size).min().getAsInt(), shortest.get(0).size());
+        }
+    }
+}
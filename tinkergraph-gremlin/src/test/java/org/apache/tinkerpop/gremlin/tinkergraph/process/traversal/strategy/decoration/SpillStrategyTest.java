@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.decoration;
+
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.both;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.count;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.unfold;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpillStrategyTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private GraphTraversalSource g;
+    private GraphTraversalSource spilling;
+
+    @Before
+    public void setup() throws Exception {
+        final Configuration configuration = new BaseConfiguration();
+        configuration.setProperty(SpillFile.SPILL_DIRECTORY, this.temporaryFolder.getRoot().getAbsolutePath());
+        final Graph graph = TinkerGraph.open(configuration);
+        final Random random = new Random(12345L);
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(T.id, i, T.label, i % 3 == 0 ? "software" : "person", "name", "v" + i, "age", random.nextInt(50));
+        }
+        final List<Vertex> vertices = graph.traversal().V().toList();
+        for (int i = 0; i < 2000; i++) {
+            vertices.get(random.nextInt(vertices.size())).addEdge("knows", vertices.get(random.nextInt(vertices.size())), "weight", random.nextDouble());
+        }
+        this.g = graph.traversal();
+        this.spilling = graph.traversal().withStrategies(SpillStrategy.build().threshold(7).create());
+    }
+
+    @Test
+    public void shouldOrderTheSameAsInMemory() {
+        assertEquals(g.V().order().by("age").by("name", Order.decr).values("name").toList(),
+                spilling.V().order().by("age").by("name", Order.decr).values("name").toList());
+        assertEquals(g.V().both().order().by(outE().count(), Order.decr).by(T.id).toList(),
+                spilling.V().both().order().by(outE().count(), Order.decr).by(T.id).toList());
+        assertEquals(g.V().values("age").order().toList(), spilling.V().values("age").order().toList());
+        assertEquals(g.E().order().by("weight").values("weight").toList(), spilling.E().order().by("weight").values("weight").toList());
+        spilling.V().both().order().by("age").forEachRemaining(vertex -> assertEquals(TinkerVertex.class, vertex.getClass()));
+        assertTrue(spilling.V().both().order().by(T.id).values("name").hasNext());
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldShuffleTheSameTraversersAsInMemory() {
+        final List<Object> shuffled = spilling.V().both().order().by(Order.shuffle).id().toList();
+        final List<Object> expected = g.V().both().id().toList();
+        assertEquals(expected.size(), shuffled.size());
+        assertEquals(g.V().both().id().groupCount().next(), spilling.inject(shuffled).unfold().groupCount().next());
+    }
+
+    @Test
+    public void shouldGroupTheSameAsInMemory() {
+        assertEquals(g.V().group().by("age").by("name").next(), spilling.V().group().by("age").by("name").next());
+        assertEquals(g.V().group().by("age").by(out().count()).next(), spilling.V().group().by("age").by(out().count()).next());
+        assertEquals(g.V().both().groupCount().by(T.id).next(), spilling.V().both().groupCount().by(T.id).next());
+        assertEquals(g.V().group().by(T.label).by(out().values("age").sum()).next(), spilling.V().group().by(T.label).by(out().values("age").sum()).next());
+        final Map<Vertex, List<Vertex>> groups = spilling.V().both().<Vertex, List<Vertex>>group().by().next();
+        assertEquals(g.V().both().group().by().next(), groups);
+        groups.keySet().forEach(vertex -> assertEquals(TinkerVertex.class, vertex.getClass()));
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldDedupTheSameAsInMemory() {
+        assertEquals(g.V().both().both().dedup().toList(), spilling.V().both().both().dedup().toList());
+        assertEquals(g.V().both().both().dedup().count().next(), spilling.V().both().both().dedup().count().next());
+        assertEquals(g.V().dedup().by("age").toList(), spilling.V().dedup().by("age").toList());
+        assertEquals(g.V().both().dedup().values("name").toList(), spilling.V().both().dedup().values("name").toList());
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+        assertEquals(g.V().repeat(both().dedup()).times(3).count().next(), spilling.V().repeat(both().dedup()).times(3).count().next());
+        assertEquals(g.V().local(both().both().dedup().count()).toList(), spilling.V().local(both().both().dedup().count()).toList());
+    }
+
+    @Test
+    public void shouldDedupInFirstSeenOrder() {
+        assertTrue(g.V().both().both().dedup().count().next() > 7);
+        assertEquals(g.V().both().both().dedup().limit(20).toList(), spilling.V().both().both().dedup().limit(20).toList());
+        assertEquals(g.V().both().values("age").dedup().toList(), spilling.V().both().values("age").dedup().toList());
+        assertEquals(g.V().both().dedup().by("age").values("age").toList(), spilling.V().both().dedup().by("age").values("age").toList());
+    }
+
+    @Test
+    public void shouldSplitPartitionsWithMoreKeysThanTheThreshold() {
+        // with a threshold of one, every partition that is given more than one key is split again
+        final GraphTraversalSource tiny = g.withStrategies(SpillStrategy.build().threshold(1).create());
+        assertEquals(g.V().both().both().dedup().toList(), tiny.V().both().both().dedup().toList());
+        assertEquals(g.V().both().groupCount().by(T.id).next(), tiny.V().both().groupCount().by(T.id).next());
+        assertEquals(g.V().group().by("age").by("name").next(), tiny.V().group().by("age").by("name").next());
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldAttachGraphObjectsNestedInSpilledValues() {
+        final List<List<Vertex>> deduped = spilling.V().map(both().fold()).dedup().toList();
+        assertEquals(g.V().map(both().fold()).dedup().toList(), deduped);
+        deduped.forEach(vertices -> vertices.forEach(vertex -> assertEquals(TinkerVertex.class, vertex.getClass())));
+        final List<List<Vertex>> ordered = spilling.V().map(both().fold()).order().by(count(Scope.local)).by(unfold().id().sum()).toList();
+        assertEquals(g.V().map(both().fold()).order().by(count(Scope.local)).by(unfold().id().sum()).toList(), ordered);
+        ordered.forEach(vertices -> vertices.forEach(vertex -> assertEquals(TinkerVertex.class, vertex.getClass())));
+        final Map<List<Vertex>, Long> groups = spilling.V().map(out().fold()).<List<Vertex>>groupCount().next();
+        assertEquals(g.V().map(out().fold()).groupCount().next(), groups);
+        groups.keySet().forEach(vertices -> vertices.forEach(vertex -> assertEquals(TinkerVertex.class, vertex.getClass())));
+    }
+
+    @Test
+    public void shouldDeleteSpillFilesWhenClosed() throws Exception {
+        final Traversal<Vertex, Vertex> order = spilling.V().both().order().by("age").limit(10);
+        order.next();
+        assertTrue(this.temporaryFolder.getRoot().list().length > 0);
+        order.close();
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+
+        final Traversal<Vertex, Vertex> dedup = spilling.V().both().both().dedup();
+        for (int i = 0; i < 20; i++) {
+            dedup.next();
+        }
+        assertTrue(this.temporaryFolder.getRoot().list().length > 0);
+        dedup.close();
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+
+        final Traversal<Vertex, Map<Object, Object>> group = spilling.V().local(both().<Object, Object>group().by("age"));
+        group.next();
+        group.close();
+        assertEquals(0, this.temporaryFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldNotSpillWhenPathIsRequired() {
+        final Traversal.Admin<?, ?> traversal = spilling.V().as("a").out().order().by("age").select("a").asAdmin();
+        traversal.applyStrategies();
+        TraversalHelper.getStepsOfAssignableClassRecursively(Spilling.class, traversal).forEach(step -> assertEquals(Integer.MAX_VALUE, step.getSpillThreshold()));
+        assertEquals(g.V().as("a").out().order().by("age").by(T.id).select("a").toList(),
+                spilling.V().as("a").out().order().by("age").by(T.id).select("a").toList());
+    }
+
+    @Test
+    public void shouldSpillTheModernGraph() {
+        final GraphTraversalSource modern = TinkerFactory.createModern().traversal().withStrategies(SpillStrategy.build().threshold(1).create());
+        assertEquals(6, modern.V().both().dedup().count().next().intValue());
+        assertEquals(TinkerFactory.createModern().traversal().V().order().by("name").values("name").toList(),
+                modern.V().order().by("name").values("name").toList());
+    }
+
+    @Test
+    public void shouldCreateFromConfiguration() {
+        final SpillStrategy strategy = SpillStrategy.build().threshold(1000).create();
+        final SpillStrategy created = SpillStrategy.create(strategy.getConfiguration());
+        assertEquals(1000, created.getThreshold());
+        // the directory is taken from the graph and never from the configuration of the strategy
+        final Map<String, Object> remote = new HashMap<>();
+        remote.put(SpillStrategy.THRESHOLD, 10);
+        remote.put("directory", "/etc");
+        assertFalse(SpillStrategy.create(new MapConfiguration(remote)).getConfiguration().containsKey("directory"));
+        assertEquals(100000, SpillStrategy.create(SpillStrategy.build().create().getConfiguration()).getThreshold());
+    }
+}
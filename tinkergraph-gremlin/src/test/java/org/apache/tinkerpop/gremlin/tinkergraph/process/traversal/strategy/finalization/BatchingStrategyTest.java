@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batching;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.BatchingStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.has;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchingStrategyTest {
+
+    private GraphTraversalSource g;
+    private GraphTraversalSource batching;
+
+    @Before
+    public void setup() {
+        final Graph graph = TinkerGraph.open();
+        final Random random = new Random(12345L);
+        for (int i = 0; i < 300; i++) {
+            graph.addVertex(T.id, i, T.label, i % 3 == 0 ? "software" : "person", "name", "v" + i, "age", random.nextInt(50));
+        }
+        final List<Vertex> vertices = graph.traversal().V().toList();
+        for (int i = 0; i < 1500; i++) {
+            vertices.get(random.nextInt(vertices.size())).addEdge("knows", vertices.get(random.nextInt(vertices.size())), "weight", random.nextDouble());
+        }
+        this.g = graph.traversal();
+        this.batching = graph.traversal().withStrategies(BatchingStrategy.build().batchSize(7).create());
+    }
+
+    @Test
+    public void shouldOnlyBatchStepsWithoutSideEffects() {
+        final Traversal.Admin<?, ?> traversal = batching.V().out().has("age", P.gt(20)).values("name").dedup().asAdmin();
+        traversal.applyStrategies();
+        assertEquals(7, TraversalHelper.getFirstStepOfAssignableClass(VertexStep.class, traversal).get().getBatchSize());
+        assertEquals(7, TraversalHelper.getFirstStepOfAssignableClass(HasStep.class, traversal).get().getBatchSize());
+        assertEquals(7, TraversalHelper.getFirstStepOfAssignableClass(PropertiesStep.class, traversal).get().getBatchSize());
+        TraversalHelper.getStepsOfAssignableClassRecursively(Batching.class, traversal).stream()
+                .filter(step -> !(step instanceof VertexStep || step instanceof HasStep || step instanceof PropertiesStep))
+                .forEach(step -> assertEquals(1, step.getBatchSize()));
+    }
+
+    @Test
+    public void shouldEmitTheSameTraversersInTheSameOrder() {
+        assertEquals(g.V().out().out().has("age", P.gt(20)).values("name").toList(),
+                batching.V().out().out().has("age", P.gt(20)).values("name").toList());
+        assertEquals(g.V().outE().inV().id().toList(), batching.V().outE().inV().id().toList());
+        assertEquals(g.V().both().hasLabel("software").label().toList(), batching.V().both().hasLabel("software").label().toList());
+        assertEquals(g.V().values("age").is(P.lt(10)).toList(), batching.V().values("age").is(P.lt(10)).toList());
+        assertEquals(g.V().out().barrier().out().values("age").sum().next(), batching.V().out().barrier().out().values("age").sum().next());
+    }
+
+    @Test
+    public void shouldBatchChildTraversals() {
+        assertEquals(g.V().where(out().out().has("age", 3)).id().toList(),
+                batching.V().where(out().out().has("age", 3)).id().toList());
+        assertEquals(g.V().local(out().has("age", P.gt(40)).values("name").fold()).toList(),
+                batching.V().local(out().has("age", P.gt(40)).values("name").fold()).toList());
+        assertEquals(g.V(0).repeat(out().has("age", P.gt(5))).times(3).id().groupCount().next(),
+                batching.V(0).repeat(out().has("age", P.gt(5))).times(3).id().groupCount().next());
+        assertEquals(g.V().union(out().has("age", P.gt(30)), has("age", P.lt(5))).id().toList(),
+                batching.V().union(out().has("age", P.gt(30)), has("age", P.lt(5))).id().toList());
+    }
+
+    @Test
+    public void shouldStopEarly() {
+        assertEquals(g.V().out().has("age", P.gt(20)).limit(10).toList(), batching.V().out().has("age", P.gt(20)).limit(10).toList());
+        assertTrue(batching.V().out().out().has("age", P.gt(20)).hasNext());
+        final Traversal<Vertex, Object> expected = g.V().out().values("name");
+        final Traversal<Vertex, Object> traversal = batching.V().out().values("name");
+        assertEquals(expected.next(), traversal.next());
+        assertEquals(expected.toList(), traversal.toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowBatchSizeBelowOne() {
+        BatchingStrategy.build().batchSize(0).create();
+    }
+}
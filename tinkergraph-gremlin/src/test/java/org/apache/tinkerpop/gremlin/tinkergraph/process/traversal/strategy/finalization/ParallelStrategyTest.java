@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Parallelizing;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.LazyBarrierStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ParallelStrategyTest {
+
+    private GraphTraversalSource g;
+    private GraphTraversalSource parallel;
+
+    @Before
+    public void setup() {
+        final Graph graph = TinkerGraph.open();
+        final Random random = new Random(12345L);
+        for (int i = 0; i < 500; i++) {
+            graph.addVertex(T.id, i, T.label, i % 3 == 0 ? "software" : "person", "name", "v" + i, "age", random.nextInt(50));
+        }
+        final List<Vertex> vertices = graph.traversal().V().toList();
+        for (int i = 0; i < 2000; i++) {
+            vertices.get(random.nextInt(vertices.size())).addEdge("knows", vertices.get(random.nextInt(vertices.size())), "weight", random.nextInt(10));
+        }
+        this.g = graph.traversal();
+        this.parallel = graph.traversal().withStrategies(ParallelStrategy.build().parallelism(4).chunkSize(16).create());
+    }
+
+    @Test
+    public void shouldReduceTheSameAsOnOneThread() {
+        assertEquals(g.V().out().out().count().next(), parallel.V().out().out().count().next());
+        assertEquals(g.V().out().groupCount().by("age").next(), parallel.V().out().groupCount().by("age").next());
+        assertEquals(g.V().out().group().by(T.label).by(outE().values("weight").sum()).next(),
+                parallel.V().out().group().by(T.label).by(outE().values("weight").sum()).next());
+        assertEquals(g.V().has("age", P.gt(20)).values("name").fold().next(), parallel.V().has("age", P.gt(20)).values("name").fold().next());
+        assertEquals(g.E().values("weight").sum().next(), parallel.E().values("weight").sum().next());
+        assertEquals(g.V().values("age").mean().next(), parallel.V().values("age").mean().next());
+        assertEquals(g.V().out().values("age").max().next(), parallel.V().out().values("age").max().next());
+        assertEquals(g.V().out().values("age").min().next(), parallel.V().out().values("age").min().next());
+        assertEquals(g.V().hasLabel("nothing").out().count().next(), parallel.V().hasLabel("nothing").out().count().next());
+        assertEquals(g.V(1).out().count().next(), parallel.V(1).out().count().next());
+        assertEquals(g.V().local(out().count()).sum().next(), parallel.V().local(out().count()).sum().next());
+        assertEquals(g.V().out().groupCount().by("age").unfold().count().next(),
+                parallel.V().out().groupCount().by("age").unfold().count().next());
+    }
+
+    @Test
+    public void shouldOnlyReduceTheFirstBarrierInParallel() {
+        assertParallelism(4, parallel.V().out().groupCount().by("age"));
+        assertParallelism(4, parallel.V().out().barrier().out().count());
+        assertParallelism(4, parallel.V().where(out().count().is(P.gt(3))).count());
+        assertParallelism(1, parallel.V().aggregate("x").count());
+        assertParallelism(1, parallel.V().limit(10).count());
+        assertParallelism(1, parallel.V().order().by("age").count());
+        assertParallelism(1, parallel.V().map(t -> t.get()).count());
+        assertParallelism(4, parallel.V().local(out().count()).count());
+        assertParallelism(1, parallel.V().union(out().count(), out().count()).count());
+        assertParallelism(1, parallel.inject(1, 2, 3).count());
+        assertParallelism(1, g.V().out().count());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void shouldThrowTheExceptionOfTheReducingThread() {
+        parallel.V().values("name").sum().next();
+    }
+
+    @Test
+    public void shouldInterruptTheReducingThreads() throws Exception {
+        final GraphTraversalSource slow = parallel.withoutStrategies(LazyBarrierStrategy.class);
+        final AtomicReference<Throwable> thrown = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                slow.V().out().out().out().out().out().out().out().out().out().out().count().next();
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        thread.start();
+        Thread.sleep(250);
+        thread.interrupt();
+        thread.join(10000);
+        assertFalse(thread.isAlive());
+        assertThat(thrown.get(), instanceOf(TraversalInterruptedException.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowParallelismBelowOne() {
+        ParallelStrategy.build().parallelism(0).create();
+    }
+
+    private static void assertParallelism(final int parallelism, final Traversal<?, ?> traversal) {
+        traversal.asAdmin().applyStrategies();
+        assertEquals(parallelism, TraversalHelper.getStepsOfAssignableClass(Parallelizing.class, traversal.asAdmin()).stream()
+                .mapToInt(Parallelizing::getParallelism).max().orElse(1));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.SubgraphStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OptimizedTraversalCache;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.has;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OptimizedTraversalCacheTest {
+
+    private OptimizedTraversalCache cache;
+    private GraphTraversalSource g;
+
+    @Before
+    public void setup() {
+        TraversalStrategies.GlobalCache.registerTraversalCache(TinkerGraph.class, 3);
+        this.cache = TraversalStrategies.GlobalCache.getTraversalCache(TinkerGraph.class).get();
+        this.g = TinkerFactory.createModern().traversal();
+    }
+
+    @After
+    public void teardown() {
+        TraversalStrategies.GlobalCache.registerTraversalCache(TinkerGraph.class, 0);
+    }
+
+    @Test
+    public void shouldReuseTheOptimizedTraversalOfTheSameBytecode() {
+        final Traversal.Admin<?, ?> first = g.V().out().where(out().count().is(0)).groupCount().by("name").asAdmin();
+        first.applyStrategies();
+        final Traversal.Admin<?, ?> second = g.V().out().where(out().count().is(0)).groupCount().by("name").asAdmin();
+        second.applyStrategies();
+        assertEquals(1, cache.size());
+        assertEquals(first.toString(), second.toString());
+        assertEquals(first.next(), second.next());
+        assertEquals(g.V().both().dedup().count().next(), g.V().both().dedup().count().next());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldNotReuseTheOptimizedTraversalAcrossGraphsOrStrategies() {
+        final GraphTraversalSource other = TinkerGraph.open().traversal();
+        final GraphTraversalSource software = g.withStrategies(SubgraphStrategy.build().vertices(has("lang")).create());
+        final GraphTraversalSource people = g.withStrategies(SubgraphStrategy.build().vertices(has("age")).create());
+        assertEquals(6L, g.V().count().next().longValue());
+        assertEquals(0L, other.V().count().next().longValue());
+        assertEquals(2L, software.V().count().next().longValue());
+        assertEquals(4L, people.V().count().next().longValue());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void shouldKeepSideEffectsRegisteredByStrategies() {
+        final GraphTraversalSource sack = g.withSack(1.0d);
+        assertEquals(6.0d, sack.V().sack().sum().next());
+        assertEquals(6.0d, sack.V().sack().sum().next());
+        final GraphTraversalSource sideEffect = g.withSideEffect("x", 7);
+        assertEquals(7, sideEffect.V().limit(1).select("x").next());
+        assertEquals(7, sideEffect.V().limit(1).select("x").next());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedTraversal() {
+        g.V().out().iterate();
+        g.V().in().iterate();
+        g.V().both().iterate();
+        g.V().out().iterate();
+        g.V().outE().iterate();
+        assertEquals(3, cache.size());
+        assertEquals(3, cache.getMaximumSize());
+    }
+
+    @Test
+    public void shouldClearTheTraversalsOfAClosedGraph() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        graph.traversal().V().out().iterate();
+        graph.traversal().V().in().iterate();
+        g.V().out().iterate();
+        assertEquals(3, cache.size());
+        graph.close();
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldRemoveTheCache() {
+        assertTrue(TraversalStrategies.GlobalCache.getTraversalCache(TinkerGraph.class).isPresent());
+        TraversalStrategies.GlobalCache.registerTraversalCache(TinkerGraph.class, 0);
+        assertFalse(TraversalStrategies.GlobalCache.getTraversalCache(TinkerGraph.class).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowANegativeMaximumSize() {
+        TraversalStrategies.GlobalCache.registerTraversalCache(TinkerGraph.class, -1);
+    }
+}
@@ -21,8 +21,11 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -57,9 +60,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -68,6 +75,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -77,6 +85,28 @@ import static org.mockito.Mockito.mock;
  */
 public class TinkerGraphTest {
 
+    @Test
+    public void shouldEstimateGraphStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        assertEquals(6L, graph.getVertexCount(null));
+        assertEquals(4L, graph.getVertexCount("person"));
+        assertEquals(0L, graph.getVertexCount("nothing"));
+        assertEquals(1.0d, graph.getAverageDegree(Direction.OUT, null), 0.0001d);
+        assertEquals(2.0d / 6.0d, graph.getAverageDegree(Direction.IN, "knows"), 0.0001d);
+        assertEquals(8.0d / 6.0d, graph.getAverageDegree(Direction.BOTH, "created"), 0.0001d);
+        assertEquals(0L, graph.getIndexCardinality("name"));
+        graph.createIndex("name", Vertex.class);
+        assertEquals(6L, graph.getIndexCardinality("name"));
+
+        // statistics are taken again once the graph has grown by more than a tenth
+        graph.addVertex(T.label, "person", "name", "alice");
+        assertEquals(5L, graph.getVertexCount("person"));
+        assertEquals(7L, graph.getIndexCardinality("name"));
+        graph.clear();
+        assertEquals(0L, graph.getVertexCount(null));
+        assertEquals(0.0d, graph.getAverageDegree(Direction.OUT, null), 0.0d);
+    }
+
     @Test
     public void shouldManageIndices() {
         final TinkerGraph g = TinkerGraph.open();
@@ -299,6 +329,336 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRanges() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("age", Vertex.class));
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32L);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "stephen", "age", "unknown");
+
+        // spy on the names that make it past the index lookup on "age" to be sure that the range is used
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("marko"));
+            return true;
+        }, "x")).has("age", P.between(28, 35)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("josh", t);
+            return true;
+        }, "x")).has("age", P.inside(29, 35)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.outside(28, 33)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("marko"));
+            return true;
+        }, "x")).has("age", P.lte(29)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.within(27, 35)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("stephen", t);
+            return true;
+        }, "x")).has("age", "unknown").count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gt(30)).has("age", P.lt(31)).count().next());
+    }
+
+    @Test
+    public void shouldUpdateSortedEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        final Edge e = v.addEdge("friend", v, "oid", "2", "weight", 0.6f);
+        v.addEdge("friend", v, "oid", "3", "weight", 0.9d);
+
+        assertEquals(new Long(2), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertTrue(t.equals("2") || t.equals("3"));
+            return true;
+        }, "x")).has("weight", P.gte(0.55)).count().next());
+
+        e.property("weight", 0.1f);
+        assertEquals(new Long(1), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertEquals("3", t);
+            return true;
+        }, "x")).has("weight", P.gte(0.55)).count().next());
+
+        e.remove();
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.lt(0.55)).count().next());
+    }
+
+    @Test
+    public void shouldRebuildIndexWithNewIndexType() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "peter", "age", 35);
+
+        g.createIndex("age", Vertex.class);
+        assertEquals(TinkerGraph.IndexType.HASH, g.getIndexType("age", Vertex.class));
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(TinkerGraph.IndexType.SORTED, g.getIndexType("age", Vertex.class));
+
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("peter", t);
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+
+        g.dropIndex("age", Vertex.class);
+        assertEquals(null, g.getIndexType("age", Vertex.class));
+    }
+
+    @Test
+    public void shouldIndexVertexLabels() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex(T.label, "person", "name", "marko");
+        g.addVertex(T.label, "software", "name", "lop");
+
+        g.createIndex(T.label.getAccessor(), Vertex.class);
+        g.addVertex(T.label, "person", "name", "josh");
+        g.addVertex(T.label, "software", "name", "ripple");
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).hasLabel("person").count().next());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class);
+        g.createIndex("name", Vertex.class);
+        g.createIndex("rank", Vertex.class, TinkerGraph.IndexType.SORTED);
+
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "name" + i, "age", 29, "rank", i);
+        }
+
+        // the "age" index is checked first but the "name" index has far fewer elements for the lookup
+        assertEquals(new Long(1), g.traversal().V().has("rank", P.test((t, u) -> {
+            assertEquals(50, t);
+            return true;
+        }, 0)).has("age", 29).has("name", "name50").count().next());
+
+        // the range on the sorted index is more selective than the equality on "age"
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("name98") || t.equals("name99"));
+            return true;
+        }, "x")).has("age", 29).has("rank", P.gt(97)).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex(T.label, "person", "name", "marko", "tenant", "a", "status", "active");
+        g.addVertex(T.label, "person", "name", "vadas", "tenant", "a", "status", "inactive");
+        g.addVertex(T.label, "person", "name", "josh", "tenant", "b", "status", "active");
+        g.addVertex(T.label, "software", "name", "lop", "tenant", "a", "status", "active");
+
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(1, g.getCompositeIndexes(Vertex.class).size());
+        assertTrue(g.getCompositeIndexes(Vertex.class).contains(Arrays.asList(T.label.getAccessor(), "tenant", "status")));
+
+        final Vertex peter = g.addVertex(T.label, "person", "name", "peter", "tenant", "a", "status", "active");
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("peter"));
+            return true;
+        }, "x")).hasLabel("person").has("status", "active").has("tenant", "a").count().next());
+        assertEquals(new Long(3), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).hasLabel("person").has("status", P.within("active", "inactive")).has("tenant", "a").count().next());
+
+        peter.property("status", "inactive");
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("marko", t);
+            return true;
+        }, "x")).hasLabel("person").has("status", "active").has("tenant", "a").count().next());
+
+        g.traversal().V().has("name", "marko").drop().iterate();
+        assertEquals(new Long(0), g.traversal().V().hasLabel("person").has("status", "active").has("tenant", "a").count().next());
+
+        g.dropCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(0, g.getCompositeIndexes(Vertex.class).size());
+        assertEquals(new Long(2), g.traversal().V().hasLabel("person").has("tenant", "a").count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeEdgeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Edge.class, T.label.getAccessor(), "oid");
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        final Edge e = v.addEdge("friend", v, "oid", "2", "weight", 0.6f);
+        v.addEdge("enemy", v, "oid", "2", "weight", 0.7f);
+
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.test((t, u) -> {
+            assertEquals(0.6f, t);
+            return true;
+        }, 0.5)).hasLabel("friend").has("oid", "2").count().next());
+
+        e.property("oid").remove();
+        assertEquals(new Long(0), g.traversal().E().hasLabel("friend").has("oid", "2").count().next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithOneKey() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, "name");
+    }
+
+    @Test
+    public void shouldAddAndRemoveEdgesWithCompactAdjacency() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        final GraphTraversalSource g = graph.traversal();
+
+        final Vertex hub = graph.addVertex("name", "hub");
+        final List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final Vertex v = graph.addVertex("name", "v" + i);
+            edges.add(hub.addEdge(i % 2 == 0 ? "knows" : "likes", v, "weight", i));
+            v.addEdge("knows", hub);
+        }
+        hub.addEdge("self", hub);
+
+        assertEquals(new Long(1001), g.V(hub).outE().count().next());
+        assertEquals(new Long(500), g.V(hub).out(new String("likes")).count().next());
+        assertEquals(new Long(1001), g.V(hub).in("knows", "self").count().next());
+        assertEquals(new Long(2002), g.V(hub).both().count().next());
+
+        // remove most of the edges so that the lists are compacted along the way
+        for (int i = 0; i < 990; i++) {
+            edges.get(i).remove();
+        }
+        assertEquals(new Long(5), g.V(hub).out("knows").count().next());
+        assertEquals(new Long(5), g.V(hub).out("likes").count().next());
+        assertEquals(Arrays.asList(990, 991, 992, 993, 994, 995, 996, 997, 998, 999),
+                g.V(hub).outE("knows", "likes").values("weight").order().toList());
+
+        g.V(hub).outE("self").drop().iterate();
+        assertEquals(new Long(1000), g.V(hub).in().count().next());
+
+        hub.remove();
+        assertEquals(new Long(0), g.E().count().next());
+        assertEquals(new Long(0), g.V().has("name", "v0").bothE().count().next());
+    }
+
+    @Test
+    public void shouldStorePropertiesOffHeap() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        graph.createIndex("name", Vertex.class);
+        final GraphTraversalSource g = graph.traversal();
+
+        for (int i = 0; i < 10000; i++) {
+            graph.addVertex("name", "v" + i, "age", i, "big", (long) i, "score", i / 2d, "ok", i % 2 == 0, "tiny", (byte) 1);
+        }
+        final Vertex v = g.V().has("name", "v42").next();
+        assertEquals(42, (int) v.value("age"));
+        assertEquals(42L, (long) v.value("big"));
+        assertEquals(21d, v.value("score"), 0.0d);
+        assertTrue(v.value("ok"));
+        assertEquals((byte) 1, (byte) v.value("tiny"));
+        assertEquals(new HashSet<>(Arrays.asList("name", "age", "big", "score", "ok", "tiny")), v.keys());
+        assertEquals(new Long(5000), g.V().has("ok", true).count().next());
+
+        // replacing a value clears the old one from the column and the index
+        v.property("name", "marko");
+        assertEquals("marko", v.value("name"));
+        assertFalse(g.V().has("name", "v42").hasNext());
+        assertEquals(v, g.V().has("name", "marko").next());
+
+        // meta-properties and multiple values move the property to the heap but keep its identifier
+        final Object id = v.property("age").id();
+        v.property("age").property("since", 2010);
+        assertEquals(id, v.property("age").id());
+        assertEquals(2010, (int) v.property("age").value("since"));
+        v.property(VertexProperty.Cardinality.list, "name", "okram");
+        assertEquals(Arrays.asList("marko", "okram"), g.V(v).values("name").order().toList());
+        assertEquals(v, g.V().has("name", "okram").next());
+
+        v.property("score").remove();
+        assertFalse(v.property("score").isPresent());
+        assertEquals(5, v.keys().size());
+        g.V().has("name", P.within("v1", "v2")).drop().iterate();
+        assertEquals(new Long(9998), g.V().count().next());
+        assertEquals(new Long(9998), g.V().values("big").count().next());
+
+        // values that can not be held off-heap stay on the heap
+        final Vertex u = graph.addVertex("list", Arrays.asList(1, 2), "created", new Date(0));
+        assertEquals(Arrays.asList(1, 2), u.value("list"));
+        assertEquals(new Date(0), u.value("created"));
+
+        graph.clear();
+        assertEquals(new Long(0), g.V().count().next());
+        assertFalse(graph.addVertex().properties().hasNext());
+    }
+
+    @Test
+    public void shouldReuseOffHeapSlotsOfRemovedVertices() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        for (int i = 0; i < 10000; i++) {
+            graph.addVertex("name", "v" + i, "age", i);
+        }
+        final int chunks = graph.columnStore.chunks();
+        assertEquals(6, chunks);
+
+        for (int round = 0; round < 5; round++) {
+            final List<Vertex> removed = graph.traversal().V().toList();
+            removed.forEach(Vertex::remove);
+            for (int i = 0; i < 10000; i++) {
+                graph.addVertex("name", "r" + round + "v" + i, "age", i);
+            }
+            assertEquals(chunks, graph.columnStore.chunks());
+
+            // the vertex that was removed does not see the values of the vertex that took its slots
+            assertTrue(removed.get(0).keys().isEmpty());
+            assertFalse(removed.get(0).property("name").isPresent());
+        }
+        assertEquals(new Long(10000), graph.traversal().V().count().next());
+        assertEquals(9999, (int) graph.traversal().V().has("name", "r4v9999").values("age").next());
+    }
+
+    @Test
+    public void shouldReclaimOffHeapStrings() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_OFF_HEAP_PROPERTIES, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(graph.addVertex("text", "x"));
+        }
+        final String large = String.join("", Collections.nCopies(50000, "y"));
+        for (int i = 0; i < 200; i++) {
+            final Vertex v = vertices.get(i % vertices.size());
+            v.property("text", large + i);
+            assertEquals(large + i, v.value("text"));
+        }
+        for (int i = 0; i < vertices.size(); i++) {
+            assertEquals(large + (i + 100), vertices.get(i).value("text"));
+        }
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -441,6 +801,177 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToBinary() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToBinary.bin";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "binary");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToBinaryAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToBinaryMulti.bin";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "binary");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        // multi-properties are written with their identifiers so the default cardinality does not need to be list
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldRecoverFromWriteAheadLog.kryo";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final Vertex temp = graph.addVertex("name", "temp");
+        temp.addEdge("knows", graph.vertices(1).next(), "weight", 0.1d);
+        graph.vertices(1).next().property("name").property("since", 2000);
+        graph.edges(7).next().property("weight", 0.7d);
+        graph.edges(7).next().property("weight").remove();
+        graph.edges(7).next().property("weight", 0.5d);
+        temp.remove();
+
+        // the graph is never closed so nothing is there but the log
+        assertFalse(new File(graphLocation).exists());
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(recoveredGraph, true, false);
+        assertEquals(2000, (int) recoveredGraph.vertices(1).next().property("name").value("since"));
+        recoveredGraph.close();
+
+        // a record that was cut short is dropped
+        try (final FileOutputStream out = new FileOutputStream(graphLocation + ".wal", true)) {
+            out.write(new byte[]{1, 2});
+        }
+        final TinkerGraph truncatedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(truncatedGraph, true, false);
+        truncatedGraph.addVertex(T.id, 100);
+        truncatedGraph.close();
+        assertEquals(new Long(7), TinkerGraph.open(conf).traversal().V().count().next());
+    }
+
+    @Test
+    public void shouldSnapshotWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldSnapshotWriteAheadLog.kryo";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+        new File(graphLocation + ".wal.previous").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_SNAPSHOT_THRESHOLD, 5);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // close() waits for the snapshot that is saved in the background
+        assertTrue(new File(graphLocation).exists());
+        assertFalse(new File(graphLocation + ".wal.previous").exists());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+
+        // replaying a log over a snapshot that already holds its mutations changes nothing
+        reloadedGraph.io(IoCore.gryo()).writeGraph(graphLocation);
+        reloadedGraph.close();
+        final TinkerGraph replayedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(replayedGraph, true, false);
+        replayedGraph.close();
+    }
+
+    @Test
+    public void shouldReplayPreviousWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldReplayPreviousWriteAheadLog.kryo";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+        new File(graphLocation + ".wal.previous").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG_SYNC, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        // a log that was moved aside for a snapshot that never got saved is replayed before the current one
+        Files.move(new File(graphLocation + ".wal").toPath(), new File(graphLocation + ".wal.previous").toPath());
+        final TinkerGraph rotatedGraph = TinkerGraph.open(conf);
+        rotatedGraph.addVertex(T.id, 100);
+        rotatedGraph.close();
+        assertTrue(new File(graphLocation).exists());
+        assertFalse(new File(graphLocation + ".wal.previous").exists());
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(new Long(7), recoveredGraph.traversal().V().count().next());
+        recoveredGraph.close();
+    }
+
+    @Test
+    public void shouldLogMutationsMadeDuringGraphComputer() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldLogMutationsMadeDuringGraphComputer.kryo";
+        new File(graphLocation).delete();
+        new File(graphLocation + ".wal").delete();
+        new File(graphLocation + ".wal.previous").delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        TinkerHelper.createGraphComputerView(graph, new GraphFilter(), Collections.singleton(VertexComputeKey.of("rank", false)));
+        graph.vertices(1).next().property("rank", 0.5d).property("iteration", 1);
+        final Vertex temp = graph.addVertex(T.id, 100);
+        graph.vertices(1).next().addEdge("knows", temp, T.id, 100);
+        graph.edges(7).next().remove();
+        TinkerHelper.dropGraphComputerView(graph);
+
+        // the graph is never closed so the mutations made while the view was in place come from the log
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertTrue(recoveredGraph.vertices(100).hasNext());
+        assertTrue(recoveredGraph.edges(100).hasNext());
+        assertFalse(recoveredGraph.edges(7).hasNext());
+        assertFalse(recoveredGraph.vertices(1).next().property("rank").isPresent());
+        recoveredGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireGraphLocationForWriteAheadLog() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
     @Test
     public void shouldPersistToGryoAndHandleMultiProperties() {
         final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToGryoMulti.kryo";